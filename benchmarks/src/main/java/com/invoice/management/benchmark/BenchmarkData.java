@@ -0,0 +1,90 @@
+package com.invoice.management.benchmark;
+
+import com.invoice.management.constant.Countries;
+import com.invoice.management.dto.InvoiceDTO;
+import com.invoice.management.dto.PersonDTO;
+import com.invoice.management.entity.InvoiceEntity;
+import com.invoice.management.entity.PersonEntity;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Deterministic fixtures shared by the benchmarks.
+ */
+public final class BenchmarkData {
+
+    private static final LocalDate BASE_DATE = LocalDate.of(2024, 1, 1);
+
+    private BenchmarkData() {
+    }
+
+    /**
+     * Creates a fully populated person entity.
+     *
+     * @param id the identifier of the person
+     * @return the person entity
+     */
+    public static PersonEntity person(long id) {
+        PersonEntity person = new PersonEntity();
+        person.setId(id);
+        person.setName("Person " + id);
+        person.setIdentificationNumber(String.format("%08d", id));
+        person.setTaxNumber(String.format("CZ%08d", id));
+        person.setAccountNumber("1234567890");
+        person.setBankCode("0800");
+        person.setIban("CZ6555101000001234567890");
+        person.setTelephone("+420123456789");
+        person.setMail("person" + id + "@example.com");
+        person.setStreet("Street " + id);
+        person.setZip("12345");
+        person.setCity("Prague");
+        person.setCountry(Countries.CZECHIA);
+        person.setNote("Benchmark person");
+        return person;
+    }
+
+    /**
+     * Creates a fully populated invoice entity with a buyer and a seller.
+     *
+     * @param id the identifier of the invoice
+     * @return the invoice entity
+     */
+    public static InvoiceEntity invoice(long id) {
+        InvoiceEntity invoice = new InvoiceEntity();
+        invoice.setId(id);
+        invoice.setInvoiceNumber((int) id);
+        invoice.setIssued(BASE_DATE.plusDays(id % 365));
+        invoice.setDueDate(BASE_DATE.plusDays(id % 365 + 30));
+        invoice.setProduct("Product " + id);
+        invoice.setPrice(1000L + id);
+        invoice.setVat(21);
+        invoice.setNote("Benchmark invoice");
+        invoice.setBuyer(person(2 * id));
+        invoice.setSeller(person(2 * id + 1));
+        return invoice;
+    }
+
+    /**
+     * Creates a list of fully populated invoice DTOs.
+     *
+     * @param count the number of invoices
+     * @return the invoice DTOs
+     */
+    public static List<InvoiceDTO> invoiceDTOs(int count) {
+        List<InvoiceDTO> invoices = new ArrayList<>(count);
+        for (long id = 1; id <= count; id++) {
+            invoices.add(new InvoiceDTO(id, (int) id, BASE_DATE, BASE_DATE.plusDays(30), "Product " + id,
+                    1000L + id, 21, "Benchmark invoice", personDTO(2 * id), personDTO(2 * id + 1), 0L));
+        }
+        return invoices;
+    }
+
+    private static PersonDTO personDTO(long id) {
+        return new PersonDTO(id, "Person " + id, String.format("%08d", id), String.format("CZ%08d", id),
+                "1234567890", "0800", "CZ6555101000001234567890", "+420123456789",
+                "person" + id + "@example.com", "Street " + id, "12345", "Prague", Countries.CZECHIA,
+                false, "Benchmark person");
+    }
+}
@@ -0,0 +1,88 @@
+package com.invoice.management.benchmark;
+
+import com.invoice.management.entity.InvoiceEntity;
+import com.invoice.management.entity.PersonEntity;
+import org.hibernate.SessionFactory;
+import org.hibernate.boot.MetadataSources;
+import org.hibernate.boot.model.naming.CamelCaseToUnderscoresNamingStrategy;
+import org.hibernate.boot.registry.StandardServiceRegistry;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of the invoice price sums behind the statistics endpoint as the invoice history grows.
+ * The current-year sum is bounded by an {@code issued} range, so it should stay flat across
+ * {@code historyYears}, while the all-time sum grows with the table.
+ * H2 has no partitions; here the range is served by the issued/price index, on a partitioned MySQL table
+ * by partition pruning plus the same index.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CurrentYearStatisticsBenchmark {
+
+    private static final int INVOICES_PER_YEAR = 20_000;
+
+    @Param({"0", "5", "20"})
+    private int historyYears;
+
+    private SessionFactory sessionFactory;
+    private LocalDate currentYearStart;
+
+    @Setup
+    public void setUp() {
+        StandardServiceRegistry registry = new StandardServiceRegistryBuilder()
+                .applySetting("hibernate.connection.url", "jdbc:h2:mem:statistics" + historyYears + ";MODE=MySQL;OPTIMIZE_REUSE_RESULTS=0")
+                .applySetting("hibernate.hbm2ddl.auto", "create")
+                .applySetting("hibernate.physical_naming_strategy", CamelCaseToUnderscoresNamingStrategy.class.getName())
+                .build();
+        sessionFactory = new MetadataSources(registry)
+                .addAnnotatedClass(InvoiceEntity.class)
+                .addAnnotatedClass(PersonEntity.class)
+                .buildMetadata()
+                .buildSessionFactory();
+        currentYearStart = LocalDate.now().withDayOfYear(1);
+
+        sessionFactory.inTransaction(session -> {
+            PersonEntity person = BenchmarkData.person(0);
+            session.persist(person);
+            for (int year = historyYears; year >= 0; year--) {
+                LocalDate yearStart = currentYearStart.minusYears(year);
+                session.createNativeMutationQuery("INSERT INTO invoice "
+                                + "(invoice_number, issued, due_date, product, price, vat, buyer_id, seller_id) "
+                                + "SELECT x, DATEADD('DAY', MOD(x, 365), DATE '" + yearStart + "'), "
+                                + "DATEADD('DAY', MOD(x, 365) + 30, DATE '" + yearStart + "'), 'Product', MOD(x * 37, 10000), 21, "
+                                + person.getId() + ", " + person.getId() + " FROM SYSTEM_RANGE(1, " + INVOICES_PER_YEAR + ")")
+                        .executeUpdate();
+            }
+            session.createNativeMutationQuery("ANALYZE").executeUpdate();
+        });
+    }
+
+    @TearDown
+    public void tearDown() {
+        sessionFactory.close();
+    }
+
+    @Benchmark
+    public long currentYearSum() {
+        return sessionFactory.fromSession(session -> session.createQuery(
+                        "SELECT COALESCE(SUM(i.price), 0) FROM invoice i WHERE i.issued >= :from AND i.issued < :to", Long.class)
+                .setParameter("from", currentYearStart)
+                .setParameter("to", currentYearStart.plusYears(1))
+                .getSingleResult());
+    }
+
+    @Benchmark
+    public long allTimeSum() {
+        return sessionFactory.fromSession(session -> session.createQuery(
+                        "SELECT COALESCE(SUM(i.price), 0) FROM invoice i", Long.class)
+                .getSingleResult());
+    }
+}
@@ -0,0 +1,76 @@
+package com.invoice.management.benchmark;
+
+import com.invoice.management.entity.InvoiceEntity;
+import com.invoice.management.entity.PersonEntity;
+import com.invoice.management.utils.FilterUtils;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.SessionFactory;
+import org.hibernate.boot.MetadataSources;
+import org.hibernate.boot.registry.StandardServiceRegistry;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of building the invoice filter predicates against a real Hibernate CriteriaBuilder.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FilterBenchmark {
+
+    private final Map<String, String> noFilters = Map.of();
+    private final Map<String, String> allFilters = Map.of(
+            "buyerID", "1",
+            "sellerID", "2",
+            "product", "Consulting",
+            "minPrice", "100",
+            "maxPrice", "5000"
+    );
+
+    private SessionFactory sessionFactory;
+    private CriteriaBuilder criteriaBuilder;
+
+    @Setup
+    public void setUp() {
+        StandardServiceRegistry registry = new StandardServiceRegistryBuilder()
+                .applySetting("hibernate.connection.url", "jdbc:h2:mem:benchmark;MODE=MySQL")
+                .applySetting("hibernate.hbm2ddl.auto", "none")
+                .build();
+        sessionFactory = new MetadataSources(registry)
+                .addAnnotatedClass(InvoiceEntity.class)
+                .addAnnotatedClass(PersonEntity.class)
+                .buildMetadata()
+                .buildSessionFactory();
+        criteriaBuilder = sessionFactory.getCriteriaBuilder();
+    }
+
+    @TearDown
+    public void tearDown() {
+        sessionFactory.close();
+    }
+
+    @Benchmark
+    public Predicate noFilters() {
+        return toPredicate(noFilters);
+    }
+
+    @Benchmark
+    public Predicate allFilters() {
+        return toPredicate(allFilters);
+    }
+
+    private Predicate toPredicate(Map<String, String> params) {
+        CriteriaQuery<InvoiceEntity> query = criteriaBuilder.createQuery(InvoiceEntity.class);
+        Root<InvoiceEntity> root = query.from(InvoiceEntity.class);
+        return FilterUtils.createInvoiceSpecification(params).toPredicate(root, query, criteriaBuilder);
+    }
+}
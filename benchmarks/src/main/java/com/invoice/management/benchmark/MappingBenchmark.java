@@ -0,0 +1,54 @@
+package com.invoice.management.benchmark;
+
+import com.invoice.management.dto.InvoiceDTO;
+import com.invoice.management.dto.PersonDTO;
+import com.invoice.management.dto.mapper.InvoiceMapperImpl;
+import com.invoice.management.dto.mapper.PersonMapperImpl;
+import com.invoice.management.entity.InvoiceEntity;
+import com.invoice.management.entity.PersonEntity;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Field;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of the MapStruct entity-to-DTO mappers.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MappingBenchmark {
+
+    private PersonMapperImpl personMapper;
+    private InvoiceMapperImpl invoiceMapper;
+    private PersonEntity person;
+    private InvoiceEntity invoice;
+
+    @Setup
+    public void setUp() {
+        personMapper = new PersonMapperImpl();
+        invoiceMapper = new InvoiceMapperImpl();
+
+        // The generated Spring component uses field injection for the nested mapper
+        Field personMapperField = ReflectionUtils.findField(InvoiceMapperImpl.class, "personMapper");
+        ReflectionUtils.makeAccessible(personMapperField);
+        ReflectionUtils.setField(personMapperField, invoiceMapper, personMapper);
+
+        person = BenchmarkData.person(1);
+        invoice = BenchmarkData.invoice(1);
+    }
+
+    @Benchmark
+    public PersonDTO personToDTO() {
+        return personMapper.toDTO(person);
+    }
+
+    @Benchmark
+    public InvoiceDTO invoiceToDTO() {
+        return invoiceMapper.toDTO(invoice);
+    }
+}
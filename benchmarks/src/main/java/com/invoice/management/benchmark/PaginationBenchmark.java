@@ -0,0 +1,33 @@
+package com.invoice.management.benchmark;
+
+import com.invoice.management.utils.PaginationUtils;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Pageable;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of parsing the page, limit and sort query parameters into a Pageable.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PaginationBenchmark {
+
+    private final Map<String, String> defaultParams = Map.of();
+    private final Map<String, String> fullParams = Map.of("page", "7", "limit", "50", "sort", "issued,desc");
+
+    @Benchmark
+    public Pageable createPageableWithDefaults() {
+        return PaginationUtils.createPageable(defaultParams);
+    }
+
+    @Benchmark
+    public Pageable createPageableWithAllParams() {
+        return PaginationUtils.createPageable(fullParams);
+    }
+}
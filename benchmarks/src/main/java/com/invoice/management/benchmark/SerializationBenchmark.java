@@ -0,0 +1,63 @@
+package com.invoice.management.benchmark;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.invoice.management.dto.InvoiceDTO;
+import com.invoice.management.dto.PaginatedResponse;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization and deserialization of an invoice page at different page sizes,
+ * in each format the controllers negotiate through the Accept header.
+ * The encoded size of the page is printed once per trial.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SerializationBenchmark {
+
+    private static final TypeReference<PaginatedResponse<InvoiceDTO>> INVOICE_PAGE = new TypeReference<>() {
+    };
+
+    @Param({"10", "100", "1000"})
+    private int pageSize;
+
+    @Param({"json", "smile", "cbor"})
+    private String format;
+
+    private ObjectMapper objectMapper;
+    private PaginatedResponse<InvoiceDTO> page;
+    private byte[] encodedPage;
+
+    @Setup
+    public void setUp() throws IOException {
+        objectMapper = switch (format) {
+            case "smile" -> SmileMapper.builder().addModule(new JavaTimeModule()).build();
+            case "cbor" -> CBORMapper.builder().addModule(new JavaTimeModule()).build();
+            default -> JsonMapper.builder().addModule(new JavaTimeModule()).build();
+        };
+        page = new PaginatedResponse<>(BenchmarkData.invoiceDTOs(pageSize), 1, 10, pageSize * 10);
+        encodedPage = objectMapper.writeValueAsBytes(page);
+        System.out.printf("%n%s page of %d invoices: %d bytes%n", format, pageSize, encodedPage.length);
+    }
+
+    @Benchmark
+    public byte[] serializeInvoicePage() throws IOException {
+        return objectMapper.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public PaginatedResponse<InvoiceDTO> deserializeInvoicePage() throws IOException {
+        return objectMapper.readValue(encodedPage, INVOICE_PAGE);
+    }
+}
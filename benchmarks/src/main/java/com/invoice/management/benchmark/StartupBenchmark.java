@@ -0,0 +1,134 @@
+package com.invoice.management.benchmark;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Measures the time from launching the application until its first successful {@code GET /api/invoices}
+ * response, which is what a freshly scaled-out node needs before it can take traffic, and the resident set
+ * size of the process at that point (Linux only).
+ * The given command is launched once per run, polled until it answers and then stopped, so the numbers
+ * of different launch commands (plain jar, fast-start profile, AOT, AppCDS archive, native executable)
+ * can be compared.
+ *
+ * <p>Run with: {@code java -cp target/benchmarks.jar com.invoice.management.benchmark.StartupBenchmark
+ * <command...>}, configured by the {@code startup.runs} (default 5), {@code startup.url}
+ * (default http://localhost:8080/api/invoices) and {@code startup.timeout} (seconds, default 120)
+ * system properties.</p>
+ */
+public class StartupBenchmark {
+
+    private static final Duration POLL_INTERVAL = Duration.ofMillis(20);
+
+    /**
+     * Runs the startup benchmark.
+     *
+     * @param args the command that starts the application
+     * @throws Exception if the application cannot be launched or does not answer in time
+     */
+    public static void main(String[] args) throws Exception {
+        if (args.length == 0) {
+            System.err.println("Usage: StartupBenchmark <command that starts the application...>");
+            System.exit(2);
+        }
+        int runs = Integer.getInteger("startup.runs", 5);
+        URI uri = URI.create(System.getProperty("startup.url", "http://localhost:8080/api/invoices"));
+        Duration timeout = Duration.ofSeconds(Long.getLong("startup.timeout", 120));
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+
+        List<Long> millis = new ArrayList<>();
+        List<Long> residentKilobytes = new ArrayList<>();
+        for (int run = 1; run <= runs; run++) {
+            Sample sample = measure(Arrays.asList(args), client, uri, timeout);
+            millis.add(sample.millis());
+            residentKilobytes.add(sample.residentKilobytes());
+            System.out.printf("run %d: %d ms, RSS %s%n", run, sample.millis(), megabytes(sample.residentKilobytes()));
+        }
+        millis.sort(null);
+        residentKilobytes.sort(null);
+        System.out.printf("time to first %s response over %d runs: min %d ms, median %d ms, max %d ms%n",
+                uri.getPath(), runs, millis.get(0), millis.get(millis.size() / 2), millis.get(millis.size() - 1));
+        System.out.printf("RSS at first response: median %s%n", megabytes(residentKilobytes.get(residentKilobytes.size() / 2)));
+    }
+
+    private static Sample measure(List<String> command, HttpClient client, URI uri,
+                                  Duration timeout) throws Exception {
+        Path log = Files.createTempFile("startup-benchmark", ".log");
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(log.toFile())
+                .start();
+        try {
+            HttpRequest request = HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(5)).GET().build();
+            while (true) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException("Application exited with " + process.exitValue() + ", see " + log);
+                }
+                if (System.nanoTime() - start > timeout.toNanos()) {
+                    throw new IllegalStateException("No successful response within " + timeout + ", see " + log);
+                }
+                if (isOk(client, request)) {
+                    long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+                    long resident = residentKilobytes(process.toHandle());
+                    Files.delete(log);
+                    return new Sample(elapsed, resident);
+                }
+                Thread.sleep(POLL_INTERVAL.toMillis());
+            }
+        } finally {
+            // SIGTERM, so a training run with -XX:ArchiveClassesAtExit still writes its archive
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly().waitFor();
+            }
+        }
+    }
+
+    /**
+     * Sums the resident set size of the process and its descendants, so launch scripts that do not
+     * {@code exec} are measured correctly, or returns -1 where {@code /proc} is not available.
+     */
+    private static long residentKilobytes(ProcessHandle process) {
+        long total = 0;
+        for (ProcessHandle handle : Stream.concat(Stream.of(process), process.descendants()).toList()) {
+            try {
+                for (String line : Files.readAllLines(Path.of("/proc", String.valueOf(handle.pid()), "status"))) {
+                    if (line.startsWith("VmRSS:")) {
+                        total += Long.parseLong(line.replaceAll("\\D", ""));
+                    }
+                }
+            } catch (IOException e) {
+                return -1;
+            }
+        }
+        return total;
+    }
+
+    private static String megabytes(long kilobytes) {
+        return kilobytes < 0 ? "n/a" : (kilobytes / 1024) + " MB";
+    }
+
+    private static boolean isOk(HttpClient client, HttpRequest request) throws InterruptedException {
+        try {
+            return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200;
+        } catch (IOException e) {
+            // not listening yet
+            return false;
+        }
+    }
+
+    private record Sample(long millis, long residentKilobytes) {
+    }
+}
@@ -0,0 +1,46 @@
+package com.invoice.management.service;
+
+import com.invoice.management.dto.PersonStatisticsDTO;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the in-memory sort in {@link PersonServiceImpl#sortStatistics(List, String)}.
+ * Lives in the service package because the sort is package-private.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StatisticsSortBenchmark {
+
+    @Param({"100", "10000"})
+    private int size;
+
+    @Param({"name,asc", "revenue,desc", "id,asc"})
+    private String sort;
+
+    private List<PersonStatisticsDTO> source;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        source = new ArrayList<>(size);
+        for (long id = 1; id <= size; id++) {
+            source.add(new PersonStatisticsDTO(id, "Person " + random.nextInt(size), (long) random.nextInt(1_000_000)));
+        }
+    }
+
+    @Benchmark
+    public List<PersonStatisticsDTO> sortStatistics() {
+        List<PersonStatisticsDTO> statistics = new ArrayList<>(source);
+        PersonServiceImpl.sortStatistics(statistics, sort);
+        return statistics;
+    }
+}
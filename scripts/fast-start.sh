@@ -0,0 +1,50 @@
+#!/usr/bin/env bash
+# Builds and launches the fast-start variant of the application: the AOT-processed jar, exploded onto a
+# plain classpath, with an AppCDS archive recorded by a training run.
+#
+#   scripts/fast-start.sh build [app args...]   build, extract and record target/fast-start/app.jsa
+#   scripts/fast-start.sh run [app args...]     start with the fast-start profile and the archive
+#
+# The training run starts the application with the given arguments, waits for the first successful
+# GET $TRAINING_URL and stops it, so it needs a reachable database, just like a normal start.
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+DIR=target/fast-start
+TRAINING_URL=${TRAINING_URL:-http://localhost:8080/api/invoices}
+JVM_OPTS=(-Dspring.aot.enabled=true -Dspring.profiles.active=fast-start ${FAST_START_JAVA_OPTS:-})
+
+classpath() {
+  # AppCDS only archives classes loaded from jars, so the application classes are packed into one
+  echo "$DIR/application.jar:$(find "$DIR/BOOT-INF/lib" -name '*.jar' | sort | tr '\n' ':')"
+}
+
+build() {
+  mvn -B -q -Pfast-start clean package -DskipTests
+  mkdir -p "$DIR"
+  (cd "$DIR" && jar -xf ../SpringInvoiceDatabase-1.0-SNAPSHOT.jar)
+  jar -cf "$DIR/application.jar" -C "$DIR/BOOT-INF/classes" .
+
+  java -XX:ArchiveClassesAtExit="$DIR/app.jsa" -Xlog:cds=off "${JVM_OPTS[@]}" -cp "$(classpath)" \
+    com.invoice.management.ApplicationMain "$@" &
+  local pid=$!
+  until curl -sf -o /dev/null "$TRAINING_URL"; do
+    kill -0 "$pid" 2>/dev/null || { echo "training run exited before $TRAINING_URL answered" >&2; exit 1; }
+    sleep 0.5
+  done
+  # The archive is written when the JVM exits, which SIGTERM allows for
+  kill -TERM "$pid"
+  wait "$pid" || true
+  echo "AppCDS archive written to $DIR/app.jsa"
+}
+
+run() {
+  exec java -XX:SharedArchiveFile="$DIR/app.jsa" "${JVM_OPTS[@]}" -cp "$(classpath)" \
+    com.invoice.management.ApplicationMain "$@"
+}
+
+case "${1:-}" in
+  build) shift; build "$@" ;;
+  run) shift; run "$@" ;;
+  *) echo "usage: $0 build|run [application arguments...]" >&2; exit 2 ;;
+esac
@@ -2,12 +2,16 @@ package com.invoice.management;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcAutoConfiguration;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcTransactionManagerAutoConfiguration;
 
 /**
  * Main application class for the Invoice Project.
  * This class is responsible for bootstrapping and launching the Spring Boot application.
+ * R2DBC is only used by the optional reactive read path, which sets up its own connection pool; the auto-configured
+ * connection factory would require a URL, and its reactive transaction manager would replace the JPA one.
  */
-@SpringBootApplication
+@SpringBootApplication(exclude = {R2dbcAutoConfiguration.class, R2dbcTransactionManagerAutoConfiguration.class})
 public class ApplicationMain {
 
     /**
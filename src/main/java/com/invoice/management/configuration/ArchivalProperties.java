@@ -0,0 +1,33 @@
+package com.invoice.management.configuration;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuration of the person archival job, bound from {@code persistence.archival.*}.
+ */
+@Data
+@ConfigurationProperties(prefix = "persistence.archival")
+public class ArchivalProperties {
+    /**
+     * Cron expression of the scheduled run; "-" disables the schedule but keeps the admin trigger.
+     */
+    private String cron = "0 30 3 * * *";
+
+    /**
+     * Number of person versions moved per transaction.
+     */
+    private int batchSize = 500;
+
+    /**
+     * Pause between two batches, which leaves the database to online traffic.
+     */
+    private Duration pause = Duration.ofMillis(200);
+
+    /**
+     * Maximum duration of one run; the remaining versions are left to the next run.
+     */
+    private Duration maxDuration = Duration.ofMinutes(10);
+}
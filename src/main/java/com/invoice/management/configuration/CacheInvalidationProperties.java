@@ -0,0 +1,62 @@
+package com.invoice.management.configuration;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuration of the bus invalidating node-local caches across instances,
+ * bound from {@code persistence.cache-invalidation.*}.
+ */
+@Data
+@ConfigurationProperties(prefix = "persistence.cache-invalidation")
+public class CacheInvalidationProperties {
+    /**
+     * The implementation of the bus.
+     */
+    private Bus bus = Bus.DATABASE;
+
+    /**
+     * Delay between two polls of the invalidation table, or two flushes of the in-JVM bus;
+     * together with the time a poll takes, this is how long another instance may serve a stale entry.
+     */
+    private Duration pollInterval = Duration.ofSeconds(1);
+
+    /**
+     * Maximum number of invalidations read per query.
+     */
+    private int batchSize = 500;
+
+    /**
+     * How long a missing invalidation ID is waited for, since IDs are taken before their transaction commits.
+     * Should exceed the longest write transaction; once it passes, every cache is invalidated in full.
+     */
+    private Duration gapTimeout = Duration.ofMinutes(1);
+
+    /**
+     * How long invalidations stay in the table; pruned on the same interval. An instance that cannot poll
+     * for longer than this misses invalidations and should be restarted.
+     */
+    private Duration retention = Duration.ofHours(1);
+
+    /**
+     * Implementations of the cache invalidation bus.
+     */
+    public enum Bus {
+        /**
+         * Polls a shared table written in the transactions of the changes, for several instances.
+         */
+        DATABASE,
+
+        /**
+         * Delivers between the application contexts of one JVM, for tests.
+         */
+        JVM,
+
+        /**
+         * No bus, for a single instance.
+         */
+        NONE
+    }
+}
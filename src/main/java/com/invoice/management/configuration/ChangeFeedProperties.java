@@ -0,0 +1,39 @@
+package com.invoice.management.configuration;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuration of the server-sent change feed, bound from {@code change-feed.*}.
+ */
+@Data
+@ConfigurationProperties(prefix = "change-feed")
+public class ChangeFeedProperties {
+    /**
+     * Number of events buffered per subscriber; a subscriber falling further behind is disconnected
+     * and resumes from the replay window when it reconnects.
+     */
+    private int subscriberBuffer = 256;
+
+    /**
+     * Number of recent events kept for resuming by Last-Event-ID.
+     */
+    private int replaySize = 1000;
+
+    /**
+     * Lifetime of one stream; clients reconnect with their last event ID afterwards.
+     */
+    private Duration timeout = Duration.ofMinutes(30);
+
+    /**
+     * Interval of the comment lines that keep idle streams open through proxies.
+     */
+    private Duration heartbeat = Duration.ofSeconds(15);
+
+    /**
+     * Number of threads writing buffered events to the subscribers.
+     */
+    private int dispatchThreads = 2;
+}
@@ -0,0 +1,64 @@
+package com.invoice.management.configuration;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Configuration of the gzip response compression, bound from {@code web.compression.*}.
+ */
+@Data
+@ConfigurationProperties(prefix = "web.compression")
+public class CompressionProperties {
+    /**
+     * Whether responses are compressed at all.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Responses smaller than this are sent uncompressed, since the gzip framing would eat most of the saving.
+     */
+    private DataSize minResponseSize = DataSize.ofKilobytes(1);
+
+    /**
+     * Responses are buffered up to this size to be compressed in one go; larger ones are sent uncompressed
+     * as they are written.
+     */
+    private DataSize maxBufferSize = DataSize.ofMegabytes(4);
+
+    /**
+     * The deflate level from 1 (fastest) to 9 (smallest).
+     */
+    private int level = 6;
+
+    /**
+     * CPU time per window that compression may use, as a fraction of one core; once it is spent,
+     * responses are sent uncompressed until the next window starts.
+     */
+    private double cpuBudget = 0.25;
+
+    /**
+     * Length of one CPU budget window.
+     */
+    private Duration cpuBudgetWindow = Duration.ofSeconds(1);
+
+    /**
+     * Content types that are compressed; binary formats other than CBOR and Smile are left alone.
+     */
+    private List<String> mimeTypes = List.of("application/json", "application/*+json", "application/cbor",
+            "application/x-jackson-smile", "text/*");
+
+    /**
+     * Ant-style paths whose compressed bodies are cached by content, so an unchanged response is not
+     * compressed again on the next hit.
+     */
+    private List<String> cachedPaths = List.of("/api/invoices/statistics", "/api/persons/statistics", "/api/persons/*");
+
+    /**
+     * Upper bound on the compressed bytes kept in the cache.
+     */
+    private DataSize cacheMaxSize = DataSize.ofMegabytes(16);
+}
@@ -0,0 +1,33 @@
+package com.invoice.management.configuration;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuration of the idempotency key store of the create endpoints, bound from {@code idempotency.*}.
+ */
+@Data
+@ConfigurationProperties(prefix = "idempotency")
+public class IdempotencyProperties {
+    /**
+     * How long a key and its response are kept after the first request; a retry after that creates a new entity.
+     */
+    private Duration ttl = Duration.ofHours(24);
+
+    /**
+     * Maximum number of keys kept; the least recently used keys are evicted first.
+     */
+    private long maxKeys = 100_000;
+
+    /**
+     * How long a duplicate waits for the first request with the same key to finish before it is rejected.
+     */
+    private Duration inFlightTimeout = Duration.ofSeconds(10);
+
+    /**
+     * Maximum length of a key.
+     */
+    private int maxKeyLength = 255;
+}
@@ -0,0 +1,17 @@
+package com.invoice.management.configuration;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration of the invoice number allocator, bound from {@code invoice-number.*}.
+ */
+@Data
+@ConfigurationProperties(prefix = "invoice-number")
+public class InvoiceNumberProperties {
+    /**
+     * Number of invoice numbers an instance reserves per seller at once. Larger blocks touch the reservation row
+     * less often; numbers of a block that are not used before a restart are skipped.
+     */
+    private int blockSize = 100;
+}
@@ -0,0 +1,75 @@
+package com.invoice.management.configuration;
+
+import com.invoice.management.ApplicationMain;
+import com.invoice.management.validation.ValidDueDateValidator;
+import jakarta.persistence.Entity;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+import org.springframework.core.type.filter.AnnotationTypeFilter;
+import org.springframework.util.ClassUtils;
+
+import java.lang.annotation.Annotation;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Configuration class for the GraalVM native image build ({@code mvn -Pnative native:compile}).
+ * Spring AOT already covers the beans, including the MapStruct mappers (generated as Spring components)
+ * and the aspect and transaction proxies; the hints registered here cover what is reached reflectively
+ * outside the bean factory. They are evaluated at build time only and cost nothing on the JVM.
+ */
+@Configuration
+@ImportRuntimeHints(NativeImageConfiguration.ApplicationRuntimeHints.class)
+public class NativeImageConfiguration {
+
+    private static final String BASE_PACKAGE = ApplicationMain.class.getPackageName();
+
+    /**
+     * Registers the reflection hints of the application types.
+     * <ul>
+     *     <li>DTOs, bound by Jackson and, for sparse fieldsets, filled through a {@code BeanWrapper}; the
+     *     Lombok-generated accessors and constructors are plain members by then.</li>
+     *     <li>Entities, whose fields Hibernate reads and writes, and their JPA static metamodel classes,
+     *     whose attribute fields Hibernate assigns on boot.</li>
+     *     <li>{@link ValidDueDateValidator}, which Hibernate Validator instantiates by reflection.</li>
+     * </ul>
+     */
+    static class ApplicationRuntimeHints implements RuntimeHintsRegistrar {
+
+        private final BindingReflectionHintsRegistrar bindingRegistrar = new BindingReflectionHintsRegistrar();
+
+        @Override
+        public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+            classesIn(BASE_PACKAGE + ".dto", null, classLoader)
+                    .forEach(dto -> bindingRegistrar.registerReflectionHints(hints.reflection(), dto));
+
+            classesIn(BASE_PACKAGE + ".entity", Entity.class, classLoader).forEach(entity -> {
+                hints.reflection().registerType(entity, MemberCategory.values());
+                hints.reflection().registerType(TypeReference.of(entity.getName() + "_"),
+                        MemberCategory.PUBLIC_FIELDS, MemberCategory.DECLARED_FIELDS);
+            });
+
+            hints.reflection().registerType(ValidDueDateValidator.class, MemberCategory.INVOKE_DECLARED_CONSTRUCTORS);
+        }
+
+        /**
+         * Returns the classes directly in the given package, optionally only those with the given annotation.
+         */
+        private static Stream<Class<?>> classesIn(String packageName, Class<? extends Annotation> annotation, ClassLoader classLoader) {
+            ClassPathScanningCandidateComponentProvider scanner = new ClassPathScanningCandidateComponentProvider(false);
+            scanner.addIncludeFilter(annotation == null ? (reader, factory) -> true : new AnnotationTypeFilter(annotation));
+            Set<BeanDefinition> candidates = scanner.findCandidateComponents(packageName);
+            return candidates.stream()
+                    .map(BeanDefinition::getBeanClassName)
+                    .filter(name -> ClassUtils.getPackageName(name).equals(packageName))
+                    .map(name -> ClassUtils.resolveClassName(name, classLoader));
+        }
+    }
+}
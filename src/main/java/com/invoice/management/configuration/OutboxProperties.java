@@ -0,0 +1,55 @@
+package com.invoice.management.configuration;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuration of the outbox relay, bound from {@code persistence.outbox.*}.
+ */
+@Data
+@ConfigurationProperties(prefix = "persistence.outbox")
+public class OutboxProperties {
+    /**
+     * Whether this instance relays the outbox on a schedule. Only one instance should,
+     * since concurrent relays deliver the same events twice.
+     */
+    private boolean relayEnabled = true;
+
+    /**
+     * Delay between the end of one relay run and the start of the next.
+     */
+    private Duration pollInterval = Duration.ofMillis(200);
+
+    /**
+     * Number of events read, delivered and deleted per transaction.
+     */
+    private int batchSize = 1000;
+
+    /**
+     * Maximum duration of one run; a backlog is drained batch after batch until then.
+     */
+    private Duration maxDuration = Duration.ofSeconds(10);
+
+    /**
+     * Settings of the file sink.
+     */
+    private File file = new File();
+
+    /**
+     * Configuration of the sink appending the events to a JSON-lines file.
+     */
+    @Data
+    public static class File {
+        /**
+         * Whether the file sink is registered.
+         */
+        private boolean enabled = false;
+
+        /**
+         * The file the events are appended to.
+         */
+        private String path = "outbox/events.jsonl";
+    }
+}
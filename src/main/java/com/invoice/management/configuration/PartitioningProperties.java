@@ -0,0 +1,29 @@
+package com.invoice.management.configuration;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Period;
+
+/**
+ * Configuration of the invoice partition maintenance, bound from {@code persistence.partitioning.*}.
+ * Only takes effect once the invoice table was partitioned with {@code db/partitioning/invoice-partitioning.sql}.
+ */
+@Data
+@ConfigurationProperties(prefix = "persistence.partitioning")
+public class PartitioningProperties {
+    /**
+     * Cron expression of the scheduled maintenance; "-" disables the schedule but keeps the admin trigger.
+     */
+    private String cron = "0 0 2 * * *";
+
+    /**
+     * Range of issue dates held by one partition.
+     */
+    private Period interval = Period.ofYears(1);
+
+    /**
+     * Number of intervals beyond today that must already have their own partition.
+     */
+    private int ahead = 2;
+}
@@ -0,0 +1,54 @@
+package com.invoice.management.configuration;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.util.Set;
+
+/**
+ * Configuration class for persistence settings that are not tied to a background job.
+ * Binds the settings of the invoice number allocator and refuses to alter the schema of a partitioned
+ * invoice table.
+ */
+@Configuration
+@EnableConfigurationProperties(InvoiceNumberProperties.class)
+public class PersistenceConfiguration {
+
+    private static final Set<String> READ_ONLY_SCHEMA_ACTIONS = Set.of("none", "validate");
+
+    /**
+     * Stops the startup before Hibernate alters a partitioned invoice table, since the schema update would try
+     * to recreate the foreign keys that partitioning dropped. Runs only when the schema action writes.
+     *
+     * @param dataSource the application data source
+     * @return the customizer checking the schema action against the invoice table
+     */
+    @Bean
+    public HibernatePropertiesCustomizer partitionedSchemaGuard(DataSource dataSource) {
+        return properties -> {
+            Object action = properties.get(AvailableSettings.HBM2DDL_AUTO);
+            if (action != null && !READ_ONLY_SCHEMA_ACTIONS.contains(action.toString())
+                    && isInvoicePartitioned(new JdbcTemplate(dataSource))) {
+                throw new IllegalStateException("The invoice table is partitioned, so spring.jpa.hibernate.ddl-auto="
+                        + action + " would recreate its foreign keys; start with the partitioned profile instead");
+            }
+        };
+    }
+
+    private static boolean isInvoicePartitioned(JdbcTemplate jdbcTemplate) {
+        String product = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                connection.getMetaData().getDatabaseProductName());
+        if (!"MySQL".equals(product)) {
+            return false;
+        }
+        return !jdbcTemplate.queryForList("SELECT 1 FROM information_schema.partitions "
+                + "WHERE table_schema = DATABASE() AND table_name = 'invoice' AND partition_name IS NOT NULL "
+                + "LIMIT 1").isEmpty();
+    }
+}
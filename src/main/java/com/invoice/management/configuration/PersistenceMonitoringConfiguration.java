@@ -0,0 +1,51 @@
+package com.invoice.management.configuration;
+
+import com.invoice.management.monitoring.SlowQueryLog;
+import com.invoice.management.monitoring.SlowQueryProperties;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.lang.NonNull;
+
+import javax.sql.DataSource;
+
+/**
+ * Configuration class for persistence monitoring.
+ * Wraps the application DataSource in a datasource proxy that reports every statement to the {@link SlowQueryLog}
+ * when {@code persistence.slow-query.enabled} is set.
+ */
+@Configuration
+@EnableConfigurationProperties(SlowQueryProperties.class)
+public class PersistenceMonitoringConfiguration {
+
+    /**
+     * Wraps the DataSource once it is initialized. The log and its properties are resolved lazily,
+     * so the post-processor itself can be registered before any regular bean exists.
+     *
+     * @param properties   the slow-query log configuration
+     * @param slowQueryLog the listener receiving the statements
+     * @return the post-processor
+     */
+    @Bean
+    public static BeanPostProcessor slowQueryLogDataSourcePostProcessor(ObjectProvider<SlowQueryProperties> properties,
+                                                                       ObjectProvider<SlowQueryLog> slowQueryLog) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(@NonNull Object bean, @NonNull String beanName) {
+                if (bean instanceof DataSource dataSource && properties.getObject().isEnabled()) {
+                    SlowQueryLog listener = slowQueryLog.getObject();
+                    return ProxyDataSourceBuilder.create(dataSource)
+                            .name("slow-query-log")
+                            .listener(listener)
+                            .proxyResultSet()
+                            .methodListener(listener)
+                            .build();
+                }
+                return bean;
+            }
+        };
+    }
+}
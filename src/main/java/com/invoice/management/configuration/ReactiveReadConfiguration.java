@@ -0,0 +1,88 @@
+package com.invoice.management.configuration;
+
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import jakarta.annotation.PreDestroy;
+import org.springframework.boot.actuate.metrics.r2dbc.ConnectionPoolMetrics;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.util.StringUtils;
+
+/**
+ * Configuration class for the reactive read path.
+ * Opens a pool of R2DBC connections of its own beside the JDBC one, sized independently, since a reactive
+ * request holds a connection only while rows are actually flowing.
+ * The pool is deliberately not a bean: Spring Boot takes a {@code ConnectionFactory} bean for the primary
+ * database and would back off from configuring the JDBC datasource.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "web.reactive", name = "enabled", havingValue = "true")
+public class ReactiveReadConfiguration {
+
+    private final ConnectionPool connectionPool;
+
+    /**
+     * Creates the connection pool of the reactive read path. Credentials not set for it are taken
+     * from the JDBC datasource, so both paths log in as the same user.
+     *
+     * @param properties           the reactive read path configuration
+     * @param dataSourceProperties the JDBC datasource configuration
+     */
+    public ReactiveReadConfiguration(ReactiveReadProperties properties, DataSourceProperties dataSourceProperties) {
+        if (!StringUtils.hasText(properties.getUrl())) {
+            throw new IllegalStateException("web.reactive.url is required when the reactive read path is enabled");
+        }
+        String username = properties.getUsername() != null ? properties.getUsername() : dataSourceProperties.getUsername();
+        String password = properties.getPassword() != null ? properties.getPassword() : dataSourceProperties.getPassword();
+
+        ConnectionFactoryOptions.Builder options = ConnectionFactoryOptions.parse(properties.getUrl()).mutate();
+        if (username != null) {
+            options.option(ConnectionFactoryOptions.USER, username);
+        }
+        if (password != null) {
+            options.option(ConnectionFactoryOptions.PASSWORD, password);
+        }
+
+        connectionPool = new ConnectionPool(ConnectionPoolConfiguration.builder(ConnectionFactories.get(options.build()))
+                .name("reactive-reads")
+                .initialSize(properties.getInitialPoolSize())
+                .maxSize(properties.getMaxPoolSize())
+                .maxAcquireTime(properties.getMaxAcquireTime())
+                .build());
+    }
+
+    /**
+     * Creates the client issuing the statements of the reactive read path.
+     *
+     * @return the database client
+     */
+    @Bean
+    public DatabaseClient reactiveDatabaseClient() {
+        return DatabaseClient.create(connectionPool);
+    }
+
+    /**
+     * Publishes the acquired, idle and pending connections of the pool as {@code r2dbc.pool.*} metrics.
+     *
+     * @return the binder of the pool metrics
+     */
+    @Bean
+    public MeterBinder reactiveConnectionPoolMetrics() {
+        return new ConnectionPoolMetrics(connectionPool, "reactive-reads", Tags.empty());
+    }
+
+    /**
+     * Closes all connections of the pool.
+     */
+    @PreDestroy
+    public void closeConnectionPool() {
+        connectionPool.dispose();
+    }
+}
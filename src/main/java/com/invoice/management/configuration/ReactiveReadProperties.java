@@ -0,0 +1,59 @@
+package com.invoice.management.configuration;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuration of the reactive read path, bound from {@code web.reactive.*}.
+ */
+@Data
+@ConfigurationProperties(prefix = "web.reactive")
+public class ReactiveReadProperties {
+    /**
+     * Whether the reactive read endpoints are served at all.
+     */
+    private boolean enabled = false;
+
+    /**
+     * The port of the reactive server, separate from the servlet one; 0 picks a free port.
+     */
+    private int port = 8081;
+
+    /**
+     * The R2DBC URL of the database, e.g. {@code r2dbc:mysql://localhost/InvoiceDatabase}.
+     */
+    private String url;
+
+    /**
+     * The database user, the one of the JDBC datasource when not set.
+     */
+    private String username;
+
+    /**
+     * The database password, the one of the JDBC datasource when not set.
+     */
+    private String password;
+
+    /**
+     * Connections opened when the pool starts.
+     */
+    private int initialPoolSize = 2;
+
+    /**
+     * Upper bound on the open connections, shared by all concurrent requests.
+     */
+    private int maxPoolSize = 10;
+
+    /**
+     * How long a request waits for a free connection before it fails with 503.
+     */
+    private Duration maxAcquireTime = Duration.ofSeconds(5);
+
+    /**
+     * Rows requested from the database at a time while a list is streamed, so a slow client
+     * holds back the query instead of buffering the whole result.
+     */
+    private int fetchSize = 64;
+}
@@ -0,0 +1,36 @@
+package com.invoice.management.configuration;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuration of the in-memory revenue rollup behind the person statistics, bound from
+ * {@code persistence.revenue-rollup.*}.
+ */
+@Data
+@ConfigurationProperties(prefix = "persistence.revenue-rollup")
+public class RevenueRollupProperties {
+    /**
+     * Whether the rollup is written to and restored from a snapshot file. Without it, every start
+     * rebuilds the rollup from all invoices.
+     */
+    private boolean snapshotEnabled = true;
+
+    /**
+     * The snapshot file; it is replaced atomically on every write.
+     */
+    private String snapshotPath = "snapshot/revenue-rollup.bin";
+
+    /**
+     * Delay between catching up with invoices added by other instances and writing the next snapshot.
+     */
+    private Duration interval = Duration.ofMinutes(5);
+
+    /**
+     * Snapshots older than this are discarded on startup in favor of a full rebuild, which bounds how long
+     * an update or delete made elsewhere while this instance was down can go unnoticed.
+     */
+    private Duration maxSnapshotAge = Duration.ofHours(6);
+}
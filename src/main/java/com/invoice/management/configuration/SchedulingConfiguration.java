@@ -0,0 +1,16 @@
+package com.invoice.management.configuration;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Configuration class for background jobs.
+ * Enables {@code @Scheduled} methods and binds the settings of the jobs.
+ */
+@Configuration
+@EnableScheduling
+@EnableConfigurationProperties({ArchivalProperties.class, PartitioningProperties.class, OutboxProperties.class,
+        RevenueRollupProperties.class, CacheInvalidationProperties.class})
+public class SchedulingConfiguration {
+}
@@ -1,22 +1,50 @@
 package com.invoice.management.configuration;
 
+import com.invoice.management.utils.StreamingUtils;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
 import org.springframework.lang.NonNull;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.EnableWebMvc;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 /**
  * Configuration class for web-related settings.
- * This class is responsible for configuring Cross-Origin Resource Sharing (CORS) settings.
+ * This class is responsible for configuring Cross-Origin Resource Sharing (CORS) settings
+ * and binds the settings of the change feed stream, the idempotency key store, the response compression
+ * and the reactive read path.
+ * With the Jackson CBOR and Smile data formats on the classpath, {@code @EnableWebMvc} registers their message
+ * converters after the JSON one, so clients can ask for {@code application/cbor} or
+ * {@code application/x-jackson-smile} through the Accept header while JSON stays the default.
+ * Streamed list pages are written on Spring Boot's application task executor, since {@code @EnableWebMvc}
+ * would otherwise fall back to a new thread per response.
  */
 @Configuration
 @EnableWebMvc
+@EnableConfigurationProperties({ChangeFeedProperties.class, IdempotencyProperties.class, CompressionProperties.class,
+        ReactiveReadProperties.class})
 public class WebConfiguration implements WebMvcConfigurer {
 
+    private final AsyncTaskExecutor applicationTaskExecutor;
+
+    /**
+     * Constructs a new WebConfiguration.
+     *
+     * @param applicationTaskExecutor the executor that writes asynchronous response bodies
+     */
+    public WebConfiguration(@Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+                            AsyncTaskExecutor applicationTaskExecutor) {
+        this.applicationTaskExecutor = applicationTaskExecutor;
+    }
+
     /**
      * Configures CORS settings for the application.
-     * Allows all origins, specific HTTP methods, and credentials for all endpoints.
+     * Allows all origins, specific HTTP methods, and credentials for all endpoints,
+     * and exposes the pagination headers of streamed list pages.
      *
      * @param registry The CorsRegistry to configure
      */
@@ -26,6 +54,18 @@ public class WebConfiguration implements WebMvcConfigurer {
         registry.addMapping("/**")
                 .allowedMethods("HEAD", "GET", "POST", "PUT", "DELETE", "OPTIONS")
                 .allowedOriginPatterns("**")
-                .allowCredentials(true);
+                .allowCredentials(true)
+                .exposedHeaders(StreamingUtils.CURRENT_PAGE_HEADER, StreamingUtils.TOTAL_PAGES_HEADER,
+                        StreamingUtils.TOTAL_ITEMS_HEADER);
+    }
+
+    /**
+     * Writes asynchronous response bodies, such as streamed list pages, on the application task executor.
+     *
+     * @param configurer The AsyncSupportConfigurer to configure
+     */
+    @Override
+    public void configureAsyncSupport(@NonNull AsyncSupportConfigurer configurer) {
+        configurer.setTaskExecutor(applicationTaskExecutor);
     }
 }
@@ -0,0 +1,17 @@
+package com.invoice.management.constant;
+
+/**
+ * Enum representing the node-local caches that are invalidated across instances through the
+ * cache invalidation bus. The keys of a region are the IDs named below.
+ */
+public enum CacheRegion {
+    /**
+     * The "person" second-level cache region, keyed by person ID.
+     */
+    PERSON,
+
+    /**
+     * The revenue rollup behind the person statistics, keyed by seller ID.
+     */
+    SELLER_REVENUE
+}
@@ -0,0 +1,31 @@
+package com.invoice.management.constant;
+
+/**
+ * Enum representing the kinds of changes published on the change feed.
+ */
+public enum ChangeEventType {
+    /**
+     * An invoice was created
+     */
+    INVOICE_CREATED,
+
+    /**
+     * An invoice was updated
+     */
+    INVOICE_UPDATED,
+
+    /**
+     * An invoice was deleted
+     */
+    INVOICE_DELETED,
+
+    /**
+     * A person version was created, either as a new person or as the new version of an updated one
+     */
+    PERSON_CREATED,
+
+    /**
+     * A person version was hidden, either by removing the person or by replacing it with a new version
+     */
+    PERSON_HIDDEN
+}
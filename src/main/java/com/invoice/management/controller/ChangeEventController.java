@@ -0,0 +1,38 @@
+package com.invoice.management.controller;
+
+import com.invoice.management.service.ChangeFeedService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * REST Controller streaming invoice and person changes as server-sent events,
+ * so clients can refresh when something changed instead of polling.
+ */
+@RestController
+@RequestMapping("/api/events")
+public class ChangeEventController {
+
+    @Autowired
+    private ChangeFeedService changeFeedService;
+
+    /**
+     * Opens a stream of committed changes. Each event carries its ID, which EventSource sends back
+     * in the Last-Event-ID header when it reconnects.
+     *
+     * @param lastEventHeader The ID of the last received event, as sent by a reconnecting EventSource
+     * @param lastEventId     The ID of the last received event, for clients that cannot set headers
+     * @param sellerID        Only invoices of this seller and changes of this person (optional)
+     * @param buyerID         Only invoices of this buyer and changes of this person (optional)
+     * @return The emitter streaming the events
+     */
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamEvents(
+            @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventHeader,
+            @RequestParam(required = false) Long lastEventId,
+            @RequestParam(required = false) Long sellerID,
+            @RequestParam(required = false) Long buyerID) {
+        return changeFeedService.subscribe(lastEventHeader != null ? lastEventHeader : lastEventId, sellerID, buyerID);
+    }
+}
@@ -1,19 +1,42 @@
 package com.invoice.management.controller;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.invoice.management.dto.BatchResponse;
 import com.invoice.management.dto.InvoiceDTO;
 import com.invoice.management.dto.PaginatedResponse;
+import com.invoice.management.exception.InvalidInvoicePatchException;
+import com.invoice.management.exception.InvoiceVersionMismatchException;
+import com.invoice.management.exception.InvoiceVersionRequiredException;
+import com.invoice.management.service.IdempotencyService;
 import com.invoice.management.service.InvoiceService;
+import com.invoice.management.utils.PaginationUtils;
+import com.invoice.management.utils.StreamingUtils;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
 import jakarta.validation.Valid;
+import jakarta.validation.Validator;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * REST Controller for managing invoices.
  * This controller handles CRUD operations for invoices and provides endpoints for
  * retrieving invoice statistics and filtered invoice lists.
+ * Single invoices are returned with their version as {@code ETag}, which updates can state in {@code If-Match}.
  */
 @RestController
 @RequestMapping("/api/invoices")
@@ -22,39 +45,110 @@ public class InvoiceController {
     @Autowired
     private InvoiceService invoiceService;
 
+    @Autowired
+    private IdempotencyService idempotencyService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private Validator validator;
+
     /**
      * Creates a new invoice.
      *
-     * @param invoiceDTO The invoice data transfer object containing the invoice details
+     * @param idempotencyKey The optional key under which a retry replays the first response instead of creating a duplicate
+     * @param invoiceDTO     The invoice data transfer object containing the invoice details
      * @return The created invoice DTO
      */
     @PostMapping
-    @ResponseStatus(HttpStatus.CREATED)
-    public InvoiceDTO createInvoice(@Valid @RequestBody InvoiceDTO invoiceDTO) {
-        return invoiceService.createInvoice(invoiceDTO);
+    public ResponseEntity<InvoiceDTO> createInvoice(@RequestHeader(value = IdempotencyService.IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
+                                                    @Valid @RequestBody InvoiceDTO invoiceDTO) {
+        IdempotencyService.Result<InvoiceDTO> result = idempotencyService.execute("POST /api/invoices", idempotencyKey, invoiceDTO,
+                () -> invoiceService.createInvoice(invoiceDTO));
+        ResponseEntity.BodyBuilder response = ResponseEntity.status(HttpStatus.CREATED);
+        if (result.replayed()) {
+            response.header(IdempotencyService.IDEMPOTENT_REPLAYED_HEADER, "true");
+        }
+        return response.body(result.body());
     }
 
     /**
      * Retrieves an invoice by its ID.
      *
      * @param invoiceId The ID of the invoice to retrieve
-     * @return The invoice DTO
+     * @return The invoice DTO, with its version as ETag
      */
     @GetMapping("/{invoiceId}")
-    public InvoiceDTO getInvoice(@PathVariable Long invoiceId) {
-        return invoiceService.getInvoiceById(invoiceId);
+    public ResponseEntity<InvoiceDTO> getInvoice(@PathVariable Long invoiceId) {
+        return withETag(invoiceService.getInvoiceById(invoiceId));
+    }
+
+    /**
+     * Retrieves only the requested fields of an invoice, e.g. {@code GET /api/invoices/1?fields=_id,invoiceNumber,price,dueDate,seller.name}.
+     *
+     * @param invoiceId The ID of the invoice to retrieve
+     * @param fields    The comma-separated fields to return
+     * @return The requested properties of the invoice
+     */
+    @GetMapping(value = "/{invoiceId}", params = "fields")
+    public ObjectNode getInvoiceFields(@PathVariable Long invoiceId, @RequestParam String fields) {
+        return invoiceService.getInvoiceFieldsById(invoiceId, fields);
     }
 
     /**
      * Updates an existing invoice.
+     * With an {@code If-Match} header, the update is rejected with 412 unless the invoice still has that version.
      *
      * @param invoiceId  The ID of the invoice to update
+     * @param ifMatch    The optional ETag of the version the update is based on
      * @param invoiceDTO The invoice data transfer object containing the updated invoice details
-     * @return The updated invoice DTO
+     * @return The updated invoice DTO, with its new version as ETag
      */
     @PutMapping("/{invoiceId}")
-    public InvoiceDTO updateInvoice(@PathVariable Long invoiceId, @Valid @RequestBody InvoiceDTO invoiceDTO) {
-        return invoiceService.updateInvoice(invoiceId, invoiceDTO);
+    public ResponseEntity<InvoiceDTO> updateInvoice(@PathVariable Long invoiceId,
+                                                    @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                    @Valid @RequestBody InvoiceDTO invoiceDTO) {
+        invoiceDTO.setVersion(ifMatch != null ? expectedVersion(ifMatch) : null);
+        return withETag(invoiceService.updateInvoice(invoiceId, invoiceDTO));
+    }
+
+    /**
+     * Changes some properties of an invoice with a JSON merge patch, e.g. {@code {"price": 1500, "note": null}},
+     * applied as a single versioned UPDATE statement without loading the invoice.
+     * The {@code If-Match} header is required; {@code *} patches whatever version is current.
+     *
+     * @param invoiceId The ID of the invoice to update
+     * @param ifMatch   The ETag of the version the patch is based on
+     * @param patch     The properties to change, see {@link InvoiceService#PATCHABLE_FIELDS}
+     * @return An empty response with the new version as ETag
+     */
+    @PatchMapping(value = "/{invoiceId}", consumes = {"application/merge-patch+json", MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<Void> patchInvoice(@PathVariable Long invoiceId,
+                                             @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                             @RequestBody ObjectNode patch) {
+        if (ifMatch == null) {
+            throw new InvoiceVersionRequiredException("If-Match header with the ETag of the invoice is required");
+        }
+        Set<String> fields = new LinkedHashSet<>();
+        patch.fieldNames().forEachRemaining(fields::add);
+        InvoiceDTO values;
+        try {
+            values = objectMapper.treeToValue(patch, InvoiceDTO.class);
+        } catch (JsonProcessingException e) {
+            throw new InvalidInvoicePatchException(e.getOriginalMessage());
+        }
+
+        Set<ConstraintViolation<InvoiceDTO>> violations = new HashSet<>();
+        fields.stream()
+                .filter(InvoiceService.PATCHABLE_FIELDS::contains)
+                .forEach(field -> violations.addAll(validator.validateProperty(values, field)));
+        if (!violations.isEmpty()) {
+            throw new ConstraintViolationException(violations);
+        }
+
+        long newVersion = invoiceService.patchInvoice(invoiceId, expectedVersion(ifMatch), values, fields);
+        return ResponseEntity.noContent().eTag(String.valueOf(newVersion)).build();
     }
 
     /**
@@ -70,6 +164,8 @@ public class InvoiceController {
 
     /**
      * Retrieves a paginated list of invoices based on the provided parameters.
+     * Requests combining {@code fields}, {@code ids} and {@code stream=true} match none of the other list
+     * handlers and end up here, where they are rejected.
      *
      * @param params A map of query parameters for filtering and sorting
      * @param sort   The sort order (default: "id,asc")
@@ -84,12 +180,81 @@ public class InvoiceController {
             @RequestParam(defaultValue = "1") int page,
             @RequestParam(defaultValue = "10") int limit
     ) {
+        PaginationUtils.rejectConflictingParameters(params);
         params.put("sort", sort);
         params.put("page", String.valueOf(page));
         params.put("limit", String.valueOf(limit));
         return invoiceService.getInvoices(params);
     }
 
+    /**
+     * Retrieves a paginated list of invoices with only the requested fields,
+     * e.g. {@code GET /api/invoices?fields=_id,invoiceNumber,price,dueDate,seller.name}.
+     * Only the columns behind the requested fields are read, and associations are joined only when selected.
+     *
+     * @param params A map of query parameters for filtering and sorting
+     * @param fields The comma-separated fields to return
+     * @param sort   The sort order (default: "id,asc")
+     * @param page   The page number (default: 1)
+     * @param limit  The number of items per page (default: 10)
+     * @return A paginated response containing the requested properties of every invoice
+     */
+    @GetMapping(params = {"fields", "!ids", "stream!=true"})
+    public PaginatedResponse<ObjectNode> getInvoiceFields(
+            @RequestParam Map<String, String> params,
+            @RequestParam String fields,
+            @RequestParam(defaultValue = "id,asc") String sort,
+            @RequestParam(defaultValue = "1") int page,
+            @RequestParam(defaultValue = "10") int limit
+    ) {
+        params.put("sort", sort);
+        params.put("page", String.valueOf(page));
+        params.put("limit", String.valueOf(limit));
+        return invoiceService.getInvoiceFields(params, fields);
+    }
+
+    /**
+     * Streams a page of invoices as a plain JSON array, e.g. {@code GET /api/invoices?stream=true&limit=1000}.
+     * Each invoice is written as soon as it is read, so large pages do not have to fit in memory;
+     * the pagination metadata is returned in the {@code X-Current-Page}, {@code X-Total-Pages}
+     * and {@code X-Total-Items} headers.
+     *
+     * @param params A map of query parameters for filtering and sorting
+     * @param sort   The sort order (default: "id,asc")
+     * @param page   The page number (default: 1)
+     * @param limit  The number of items per page (default: 10)
+     * @return The streamed JSON array of invoice DTOs
+     */
+    @GetMapping(params = {"stream=true", "!fields", "!ids"}, produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamInvoices(
+            @RequestParam Map<String, String> params,
+            @RequestParam(defaultValue = "id,asc") String sort,
+            @RequestParam(defaultValue = "1") int page,
+            @RequestParam(defaultValue = "10") int limit
+    ) {
+        params.put("sort", sort);
+        params.put("page", String.valueOf(page));
+        params.put("limit", String.valueOf(limit));
+        Pageable pageable = PaginationUtils.createPageable(params);
+        long total = invoiceService.countInvoices(params);
+        return ResponseEntity.ok()
+                .headers(StreamingUtils.paginationHeaders(pageable, total))
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(StreamingUtils.jsonArray(objectMapper, InvoiceDTO.class,
+                        consumer -> invoiceService.streamInvoices(params, consumer)));
+    }
+
+    /**
+     * Retrieves several invoices at once, e.g. {@code GET /api/invoices?ids=1,2,3}.
+     *
+     * @param ids The IDs of the invoices to retrieve
+     * @return The invoices found in the requested order, and the IDs that do not exist
+     */
+    @GetMapping(params = {"ids", "!fields", "stream!=true"})
+    public BatchResponse<InvoiceDTO> getInvoicesByIds(@RequestParam List<Long> ids) {
+        return invoiceService.getInvoicesByIds(ids);
+    }
+
     /**
      * Retrieves invoice statistics.
      *
@@ -131,4 +296,31 @@ public class InvoiceController {
             @RequestParam(defaultValue = "10") int limit) {
         return invoiceService.getPersonPurchases(identificationNumber, page, limit);
     }
+
+    private static ResponseEntity<InvoiceDTO> withETag(InvoiceDTO invoice) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (invoice.getVersion() != null) {
+            response.eTag(String.valueOf(invoice.getVersion()));
+        }
+        return response.body(invoice);
+    }
+
+    /**
+     * Reads the version from an {@code If-Match} ETag such as {@code "3"}, or null for {@code *}, which matches
+     * any version; a tag that is not a version of this API can never match.
+     */
+    private static Long expectedVersion(String ifMatch) {
+        String tag = ifMatch.trim();
+        if ("*".equals(tag)) {
+            return null;
+        }
+        if (tag.startsWith("\"") && tag.endsWith("\"") && tag.length() > 1) {
+            tag = tag.substring(1, tag.length() - 1);
+        }
+        try {
+            return Long.valueOf(tag);
+        } catch (NumberFormatException e) {
+            throw new InvoiceVersionMismatchException("If-Match " + ifMatch + " does not match the invoice");
+        }
+    }
 }
@@ -0,0 +1,177 @@
+package com.invoice.management.controller;
+
+import com.invoice.management.dto.ArchivalReportDTO;
+import com.invoice.management.dto.InvoicePartitionDTO;
+import com.invoice.management.dto.OutboxStatusDTO;
+import com.invoice.management.dto.PersistenceStatisticsDTO;
+import com.invoice.management.dto.SlowQueryDTO;
+import com.invoice.management.monitoring.PersistenceStatistics;
+import com.invoice.management.monitoring.SlowQueryLog;
+import com.invoice.management.service.InvoicePartitionService;
+import com.invoice.management.service.OutboxService;
+import com.invoice.management.service.PersonArchivalService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * REST Controller exposing persistence diagnostics to operators.
+ */
+@RestController
+@RequestMapping("/admin/persistence")
+public class PersistenceAdminController {
+
+    @Autowired
+    private SlowQueryLog slowQueryLog;
+
+    @Autowired
+    private PersistenceStatistics persistenceStatistics;
+
+    @Autowired
+    private PersonArchivalService personArchivalService;
+
+    @Autowired
+    private InvoicePartitionService invoicePartitionService;
+
+    @Autowired
+    private OutboxService outboxService;
+
+    /**
+     * Retrieves the slowest SQL fingerprints of the rolling window.
+     *
+     * @param limit The maximum number of fingerprints (default: the configured top size)
+     * @return The fingerprints ordered by their slowest execution
+     */
+    @GetMapping("/slow-queries")
+    public List<SlowQueryDTO> getSlowQueries(@RequestParam(required = false) Integer limit) {
+        return slowQueryLog.slowest(limit);
+    }
+
+    /**
+     * Clears the rolling window of slow queries.
+     */
+    @DeleteMapping("/slow-queries")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void resetSlowQueries() {
+        slowQueryLog.reset();
+    }
+
+    /**
+     * Retrieves the Hibernate statistics accumulated since the last reset,
+     * per entity, per query and per second-level cache region.
+     *
+     * @return The current statistics
+     */
+    @GetMapping("/stats")
+    public PersistenceStatisticsDTO getStatistics() {
+        return persistenceStatistics.current();
+    }
+
+    /**
+     * Resets the Hibernate statistics and drops all stored snapshots.
+     */
+    @DeleteMapping("/stats")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void resetStatistics() {
+        persistenceStatistics.reset();
+    }
+
+    /**
+     * Stores a snapshot of the current Hibernate statistics.
+     *
+     * @return The current statistics, including the ID of the new snapshot
+     */
+    @PostMapping("/stats/snapshots")
+    @ResponseStatus(HttpStatus.CREATED)
+    public PersistenceStatisticsDTO takeStatisticsSnapshot() {
+        return persistenceStatistics.snapshot();
+    }
+
+    /**
+     * Retrieves how much the Hibernate statistics changed since a snapshot.
+     *
+     * @param snapshotId The ID of the snapshot to compare against
+     * @return The difference between now and the snapshot
+     */
+    @GetMapping("/stats/snapshots/{snapshotId}/diff")
+    public PersistenceStatisticsDTO getStatisticsDiff(@PathVariable long snapshotId) {
+        return persistenceStatistics.diff(snapshotId);
+    }
+
+    /**
+     * Runs the person archival now instead of waiting for its schedule.
+     *
+     * @return The report of the run
+     */
+    @PostMapping("/archival")
+    public ArchivalReportDTO runArchival() {
+        return personArchivalService.archiveHiddenPersons();
+    }
+
+    /**
+     * Retrieves the report of the most recent archival run.
+     *
+     * @return The last report, or no content if no run finished since startup
+     */
+    @GetMapping("/archival")
+    public ResponseEntity<ArchivalReportDTO> getLastArchivalReport() {
+        return personArchivalService.getLastReport()
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.noContent().build());
+    }
+
+    /**
+     * Retrieves the partitions of the invoice table and the archived former partitions.
+     *
+     * @return The partitions, empty if the invoice table is not partitioned
+     */
+    @GetMapping("/partitions")
+    public List<InvoicePartitionDTO> getPartitions() {
+        return invoicePartitionService.getPartitions();
+    }
+
+    /**
+     * Creates the upcoming invoice partitions now instead of waiting for the schedule.
+     *
+     * @return The partitions that were created
+     */
+    @PostMapping("/partitions")
+    public List<InvoicePartitionDTO> createUpcomingPartitions() {
+        return invoicePartitionService.createUpcomingPartitions();
+    }
+
+    /**
+     * Moves a past invoice partition into a read-only archive table.
+     *
+     * @param name The name of the partition
+     * @return The archived partition
+     */
+    @PostMapping("/partitions/{name}/archive")
+    public InvoicePartitionDTO archivePartition(@PathVariable String name) {
+        return invoicePartitionService.archivePartition(name);
+    }
+
+    /**
+     * Retrieves the state of the outbox relay.
+     *
+     * @return The pending and relayed event counts and the registered sinks
+     */
+    @GetMapping("/outbox")
+    public OutboxStatusDTO getOutboxStatus() {
+        return outboxService.getStatus();
+    }
+
+    /**
+     * Relays the pending outbox events now instead of waiting for the next poll.
+     *
+     * @return The state of the relay after the run
+     */
+    @PostMapping("/outbox/relay")
+    public OutboxStatusDTO relayOutbox() {
+        outboxService.relay();
+        return outboxService.getStatus();
+    }
+}
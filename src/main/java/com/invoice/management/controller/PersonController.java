@@ -1,15 +1,25 @@
 package com.invoice.management.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.invoice.management.dto.BatchResponse;
 import com.invoice.management.dto.InvoiceDTO;
 import com.invoice.management.dto.PaginatedResponse;
 import com.invoice.management.dto.PersonDTO;
+import com.invoice.management.service.IdempotencyService;
 import com.invoice.management.service.PersonService;
+import com.invoice.management.utils.PaginationUtils;
+import com.invoice.management.utils.StreamingUtils;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -24,16 +34,29 @@ public class PersonController {
     @Autowired
     private PersonService personService;
 
+    @Autowired
+    private IdempotencyService idempotencyService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
     /**
      * Creates a new person.
      *
-     * @param personDTO The person data transfer object containing the person details
+     * @param idempotencyKey The optional key under which a retry replays the first response instead of creating a duplicate
+     * @param personDTO     The person data transfer object containing the person details
      * @return The created person DTO
      */
     @PostMapping
-    @ResponseStatus(HttpStatus.CREATED)
-    public PersonDTO addPerson(@Valid @RequestBody PersonDTO personDTO) {
-        return personService.addPerson(personDTO);
+    public ResponseEntity<PersonDTO> addPerson(@RequestHeader(value = IdempotencyService.IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
+                                               @Valid @RequestBody PersonDTO personDTO) {
+        IdempotencyService.Result<PersonDTO> result = idempotencyService.execute("POST /api/persons", idempotencyKey, personDTO,
+                () -> personService.addPerson(personDTO));
+        ResponseEntity.BodyBuilder response = ResponseEntity.status(HttpStatus.CREATED);
+        if (result.replayed()) {
+            response.header(IdempotencyService.IDEMPOTENT_REPLAYED_HEADER, "true");
+        }
+        return response.body(result.body());
     }
 
     /**
@@ -47,6 +70,18 @@ public class PersonController {
         return personService.getPersonById(personId);
     }
 
+    /**
+     * Retrieves only the requested fields of a person, e.g. {@code GET /api/persons/1?fields=_id,name,city}.
+     *
+     * @param personId The ID of the person to retrieve
+     * @param fields   The comma-separated fields to return
+     * @return The requested properties of the person
+     */
+    @GetMapping(value = "/{personId}", params = "fields")
+    public ObjectNode getPersonFields(@PathVariable Long personId, @RequestParam String fields) {
+        return personService.getPersonFieldsById(personId, fields);
+    }
+
     /**
      * Updates an existing person.
      *
@@ -72,6 +107,8 @@ public class PersonController {
 
     /**
      * Retrieves a paginated list of persons based on the provided parameters.
+     * Requests combining {@code fields}, {@code ids} and {@code stream=true} match none of the other list
+     * handlers and end up here, where they are rejected.
      *
      * @param params A map of query parameters for filtering and sorting
      * @param sort   The sort order (default: "id,asc")
@@ -86,12 +123,103 @@ public class PersonController {
             @RequestParam(defaultValue = "1") int page,
             @RequestParam(defaultValue = "10") int limit
     ) {
+        PaginationUtils.rejectConflictingParameters(params);
         params.put("sort", sort);
         params.put("page", String.valueOf(page));
         params.put("limit", String.valueOf(limit));
         return personService.getPersons(params);
     }
 
+    /**
+     * Retrieves a paginated list of persons with only the requested fields,
+     * e.g. {@code GET /api/persons?fields=_id,name,city}.
+     * Only the columns behind the requested fields are read, and associations are joined only when selected.
+     *
+     * @param params A map of query parameters for filtering and sorting
+     * @param fields The comma-separated fields to return
+     * @param sort   The sort order (default: "id,asc")
+     * @param page   The page number (default: 1)
+     * @param limit  The number of items per page (default: 10)
+     * @return A paginated response containing the requested properties of every person
+     */
+    @GetMapping(params = {"fields", "!ids", "stream!=true"})
+    public PaginatedResponse<ObjectNode> getPersonFields(
+            @RequestParam Map<String, String> params,
+            @RequestParam String fields,
+            @RequestParam(defaultValue = "id,asc") String sort,
+            @RequestParam(defaultValue = "1") int page,
+            @RequestParam(defaultValue = "10") int limit
+    ) {
+        params.put("sort", sort);
+        params.put("page", String.valueOf(page));
+        params.put("limit", String.valueOf(limit));
+        return personService.getPersonFields(params, fields);
+    }
+
+    /**
+     * Streams a page of persons as a plain JSON array, e.g. {@code GET /api/persons?stream=true&limit=1000}.
+     * Each person is written as soon as it is read, so large pages do not have to fit in memory;
+     * the pagination metadata is returned in the {@code X-Current-Page}, {@code X-Total-Pages}
+     * and {@code X-Total-Items} headers.
+     *
+     * @param params A map of query parameters for filtering and sorting
+     * @param sort   The sort order (default: "id,asc")
+     * @param page   The page number (default: 1)
+     * @param limit  The number of items per page (default: 10)
+     * @return The streamed JSON array of person DTOs
+     */
+    @GetMapping(params = {"stream=true", "!fields", "!ids"}, produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamPersons(
+            @RequestParam Map<String, String> params,
+            @RequestParam(defaultValue = "id,asc") String sort,
+            @RequestParam(defaultValue = "1") int page,
+            @RequestParam(defaultValue = "10") int limit
+    ) {
+        params.put("sort", sort);
+        params.put("page", String.valueOf(page));
+        params.put("limit", String.valueOf(limit));
+        Pageable pageable = PaginationUtils.createPageable(params);
+        long total = personService.countPersons(params);
+        return ResponseEntity.ok()
+                .headers(StreamingUtils.paginationHeaders(pageable, total))
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(StreamingUtils.jsonArray(objectMapper, PersonDTO.class,
+                        consumer -> personService.streamPersons(params, consumer)));
+    }
+
+    /**
+     * Retrieves several persons at once, e.g. {@code GET /api/persons?ids=1,2,3}, including hidden versions.
+     *
+     * @param ids The IDs of the persons to retrieve
+     * @return The persons found in the requested order, and the IDs that do not exist
+     */
+    @GetMapping(params = {"ids", "!fields", "stream!=true"})
+    public BatchResponse<PersonDTO> getPersonsByIds(@RequestParam List<Long> ids) {
+        return personService.getPersonsByIds(ids);
+    }
+
+    /**
+     * Retrieves the current version of a person by their identification number.
+     *
+     * @param identificationNumber The identification number of the person
+     * @return The person DTO of the current version
+     */
+    @GetMapping("/identification/{identificationNumber}")
+    public PersonDTO getPersonByIdentificationNumber(@PathVariable String identificationNumber) {
+        return personService.getPersonByIdentificationNumber(identificationNumber);
+    }
+
+    /**
+     * Retrieves all versions of a person, newest first, including the hidden ones left behind by updates.
+     *
+     * @param identificationNumber The identification number of the person
+     * @return The list of person DTOs of all versions
+     */
+    @GetMapping("/identification/{identificationNumber}/history")
+    public List<PersonDTO> getPersonHistory(@PathVariable String identificationNumber) {
+        return personService.getPersonHistory(identificationNumber);
+    }
+
     /**
      * Retrieves a paginated list of sales invoices for a specific person.
      *
@@ -129,14 +257,14 @@ public class PersonController {
      *
      * @param page  The page number (default: 1)
      * @param limit The number of items per page (default: 10)
-     * @param sort  The sort order (default: "personName,asc")
+     * @param sort  The sort order (default: "name,asc")
      * @return A ResponseEntity containing a map of person statistics
      */
     @GetMapping("/statistics")
     public ResponseEntity<Map<String, Object>> getPersonStatistics(
             @RequestParam(defaultValue = "1") int page,
             @RequestParam(defaultValue = "10") int limit,
-            @RequestParam(defaultValue = "personName,asc") String sort) {
+            @RequestParam(defaultValue = "name,asc") String sort) {
         return ResponseEntity.ok(personService.getPersonStatistics(page, limit, sort));
     }
 }
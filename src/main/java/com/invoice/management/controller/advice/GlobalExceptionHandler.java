@@ -1,12 +1,26 @@
 package com.invoice.management.controller.advice;
 
 import com.invoice.management.dto.ErrorResponse;
+import com.invoice.management.exception.ArchivalInProgressException;
+import com.invoice.management.exception.BatchSizeExceededException;
+import com.invoice.management.exception.ConflictingParametersException;
+import com.invoice.management.exception.IdempotencyKeyInProgressException;
+import com.invoice.management.exception.IdempotencyKeyReusedException;
+import com.invoice.management.exception.InvalidFieldSelectionException;
+import com.invoice.management.exception.InvalidIdempotencyKeyException;
+import com.invoice.management.exception.InvalidInvoicePatchException;
 import com.invoice.management.exception.InvoiceNotFoundException;
+import com.invoice.management.exception.InvoiceVersionMismatchException;
+import com.invoice.management.exception.InvoiceVersionRequiredException;
+import com.invoice.management.exception.PartitionNotArchivableException;
+import com.invoice.management.exception.PartitionNotFoundException;
 import com.invoice.management.exception.PersonNotFoundException;
+import com.invoice.management.exception.StatisticsSnapshotNotFoundException;
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.validation.ConstraintViolationException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -58,6 +72,176 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(error, HttpStatus.NOT_FOUND);
     }
 
+    /**
+     * Handles StatisticsSnapshotNotFoundException.
+     *
+     * @param ex The caught StatisticsSnapshotNotFoundException
+     * @return ResponseEntity containing ErrorResponse with NOT_FOUND status
+     */
+    @ExceptionHandler(StatisticsSnapshotNotFoundException.class)
+    public ResponseEntity<ErrorResponse> handleStatisticsSnapshotNotFoundException(StatisticsSnapshotNotFoundException ex) {
+        ErrorResponse error = new ErrorResponse(HttpStatus.NOT_FOUND.value(), ex.getMessage());
+        return new ResponseEntity<>(error, HttpStatus.NOT_FOUND);
+    }
+
+    /**
+     * Handles ArchivalInProgressException.
+     *
+     * @param ex The caught ArchivalInProgressException
+     * @return ResponseEntity containing ErrorResponse with CONFLICT status
+     */
+    @ExceptionHandler(ArchivalInProgressException.class)
+    public ResponseEntity<ErrorResponse> handleArchivalInProgressException(ArchivalInProgressException ex) {
+        ErrorResponse error = new ErrorResponse(HttpStatus.CONFLICT.value(), ex.getMessage());
+        return new ResponseEntity<>(error, HttpStatus.CONFLICT);
+    }
+
+    /**
+     * Handles PartitionNotFoundException.
+     *
+     * @param ex The caught PartitionNotFoundException
+     * @return ResponseEntity containing ErrorResponse with NOT_FOUND status
+     */
+    @ExceptionHandler(PartitionNotFoundException.class)
+    public ResponseEntity<ErrorResponse> handlePartitionNotFoundException(PartitionNotFoundException ex) {
+        ErrorResponse error = new ErrorResponse(HttpStatus.NOT_FOUND.value(), ex.getMessage());
+        return new ResponseEntity<>(error, HttpStatus.NOT_FOUND);
+    }
+
+    /**
+     * Handles PartitionNotArchivableException.
+     *
+     * @param ex The caught PartitionNotArchivableException
+     * @return ResponseEntity containing ErrorResponse with CONFLICT status
+     */
+    @ExceptionHandler(PartitionNotArchivableException.class)
+    public ResponseEntity<ErrorResponse> handlePartitionNotArchivableException(PartitionNotArchivableException ex) {
+        ErrorResponse error = new ErrorResponse(HttpStatus.CONFLICT.value(), ex.getMessage());
+        return new ResponseEntity<>(error, HttpStatus.CONFLICT);
+    }
+
+    /**
+     * Handles BatchSizeExceededException.
+     *
+     * @param ex The caught BatchSizeExceededException
+     * @return ResponseEntity containing ErrorResponse with BAD_REQUEST status
+     */
+    @ExceptionHandler(BatchSizeExceededException.class)
+    public ResponseEntity<ErrorResponse> handleBatchSizeExceededException(BatchSizeExceededException ex) {
+        ErrorResponse error = new ErrorResponse(HttpStatus.BAD_REQUEST.value(), ex.getMessage());
+        return new ResponseEntity<>(error, HttpStatus.BAD_REQUEST);
+    }
+
+    /**
+     * Handles InvalidIdempotencyKeyException.
+     *
+     * @param ex The caught InvalidIdempotencyKeyException
+     * @return ResponseEntity containing ErrorResponse with BAD_REQUEST status
+     */
+    @ExceptionHandler(InvalidIdempotencyKeyException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidIdempotencyKeyException(InvalidIdempotencyKeyException ex) {
+        ErrorResponse error = new ErrorResponse(HttpStatus.BAD_REQUEST.value(), ex.getMessage());
+        return new ResponseEntity<>(error, HttpStatus.BAD_REQUEST);
+    }
+
+    /**
+     * Handles ConflictingParametersException.
+     *
+     * @param ex The caught ConflictingParametersException
+     * @return ResponseEntity containing ErrorResponse with BAD_REQUEST status
+     */
+    @ExceptionHandler(ConflictingParametersException.class)
+    public ResponseEntity<ErrorResponse> handleConflictingParametersException(ConflictingParametersException ex) {
+        ErrorResponse error = new ErrorResponse(HttpStatus.BAD_REQUEST.value(), ex.getMessage());
+        return new ResponseEntity<>(error, HttpStatus.BAD_REQUEST);
+    }
+
+    /**
+     * Handles InvalidFieldSelectionException.
+     *
+     * @param ex The caught InvalidFieldSelectionException
+     * @return ResponseEntity containing ErrorResponse with BAD_REQUEST status
+     */
+    @ExceptionHandler(InvalidFieldSelectionException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidFieldSelectionException(InvalidFieldSelectionException ex) {
+        ErrorResponse error = new ErrorResponse(HttpStatus.BAD_REQUEST.value(), ex.getMessage());
+        return new ResponseEntity<>(error, HttpStatus.BAD_REQUEST);
+    }
+
+    /**
+     * Handles IdempotencyKeyReusedException.
+     *
+     * @param ex The caught IdempotencyKeyReusedException
+     * @return ResponseEntity containing ErrorResponse with UNPROCESSABLE_ENTITY status
+     */
+    @ExceptionHandler(IdempotencyKeyReusedException.class)
+    public ResponseEntity<ErrorResponse> handleIdempotencyKeyReusedException(IdempotencyKeyReusedException ex) {
+        ErrorResponse error = new ErrorResponse(HttpStatus.UNPROCESSABLE_ENTITY.value(), ex.getMessage());
+        return new ResponseEntity<>(error, HttpStatus.UNPROCESSABLE_ENTITY);
+    }
+
+    /**
+     * Handles IdempotencyKeyInProgressException.
+     *
+     * @param ex The caught IdempotencyKeyInProgressException
+     * @return ResponseEntity containing ErrorResponse with CONFLICT status
+     */
+    @ExceptionHandler(IdempotencyKeyInProgressException.class)
+    public ResponseEntity<ErrorResponse> handleIdempotencyKeyInProgressException(IdempotencyKeyInProgressException ex) {
+        ErrorResponse error = new ErrorResponse(HttpStatus.CONFLICT.value(), ex.getMessage());
+        return new ResponseEntity<>(error, HttpStatus.CONFLICT);
+    }
+
+    /**
+     * Handles InvalidInvoicePatchException.
+     *
+     * @param ex The caught InvalidInvoicePatchException
+     * @return ResponseEntity containing ErrorResponse with BAD_REQUEST status
+     */
+    @ExceptionHandler(InvalidInvoicePatchException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidInvoicePatchException(InvalidInvoicePatchException ex) {
+        ErrorResponse error = new ErrorResponse(HttpStatus.BAD_REQUEST.value(), ex.getMessage());
+        return new ResponseEntity<>(error, HttpStatus.BAD_REQUEST);
+    }
+
+    /**
+     * Handles InvoiceVersionMismatchException.
+     *
+     * @param ex The caught InvoiceVersionMismatchException
+     * @return ResponseEntity containing ErrorResponse with PRECONDITION_FAILED status
+     */
+    @ExceptionHandler(InvoiceVersionMismatchException.class)
+    public ResponseEntity<ErrorResponse> handleInvoiceVersionMismatchException(InvoiceVersionMismatchException ex) {
+        ErrorResponse error = new ErrorResponse(HttpStatus.PRECONDITION_FAILED.value(), ex.getMessage());
+        return new ResponseEntity<>(error, HttpStatus.PRECONDITION_FAILED);
+    }
+
+    /**
+     * Handles InvoiceVersionRequiredException.
+     *
+     * @param ex The caught InvoiceVersionRequiredException
+     * @return ResponseEntity containing ErrorResponse with PRECONDITION_REQUIRED status
+     */
+    @ExceptionHandler(InvoiceVersionRequiredException.class)
+    public ResponseEntity<ErrorResponse> handleInvoiceVersionRequiredException(InvoiceVersionRequiredException ex) {
+        ErrorResponse error = new ErrorResponse(HttpStatus.PRECONDITION_REQUIRED.value(), ex.getMessage());
+        return new ResponseEntity<>(error, HttpStatus.PRECONDITION_REQUIRED);
+    }
+
+    /**
+     * Handles ObjectOptimisticLockingFailureException.
+     * This exception is thrown when another transaction updated or deleted the entity after it was read.
+     *
+     * @param ex The caught ObjectOptimisticLockingFailureException
+     * @return ResponseEntity containing ErrorResponse with CONFLICT status
+     */
+    @ExceptionHandler(ObjectOptimisticLockingFailureException.class)
+    public ResponseEntity<ErrorResponse> handleOptimisticLockingFailureException(ObjectOptimisticLockingFailureException ex) {
+        ErrorResponse error = new ErrorResponse(HttpStatus.CONFLICT.value(),
+                "The resource was modified concurrently, reload it and retry");
+        return new ResponseEntity<>(error, HttpStatus.CONFLICT);
+    }
+
     /**
      * Handles MethodArgumentNotValidException.
      * This exception is thrown when @Valid validation fails.
@@ -0,0 +1,77 @@
+package com.invoice.management.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Data Transfer Object (DTO) representing the outcome of one person archival run.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ArchivalReportDTO {
+    /**
+     * The time the run started.
+     */
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private LocalDateTime startedAt;
+
+    /**
+     * The duration of the run in milliseconds, including the pauses between batches.
+     */
+    private long durationMillis;
+
+    /**
+     * The number of batches that were moved.
+     */
+    private int batches;
+
+    /**
+     * The number of batches that were rolled back, e.g. because an invoice started referencing a version meanwhile.
+     */
+    private int failedBatches;
+
+    /**
+     * The number of person versions moved to the archive.
+     */
+    private long rowsMoved;
+
+    /**
+     * Whether the run stopped at its maximum duration with versions left to archive.
+     */
+    private boolean truncated;
+
+    /**
+     * The number of rows in the person table before the run.
+     */
+    private long personRowsBefore;
+
+    /**
+     * The number of rows in the person table after the run.
+     */
+    private long personRowsAfter;
+
+    /**
+     * The number of rows in the archive table before the run.
+     */
+    private long archiveRowsBefore;
+
+    /**
+     * The number of rows in the archive table after the run.
+     */
+    private long archiveRowsAfter;
+
+    /**
+     * The size of the person table with its indexes before the run, or null if the database does not report it.
+     */
+    private Long personBytesBefore;
+
+    /**
+     * The size of the person table with its indexes after the run, or null if the database does not report it.
+     */
+    private Long personBytesAfter;
+}
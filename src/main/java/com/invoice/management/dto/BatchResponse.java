@@ -0,0 +1,26 @@
+package com.invoice.management.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object (DTO) representing the result of a lookup by a list of IDs.
+ * IDs that do not exist are reported instead of failing the whole lookup.
+ *
+ * @param <T> The type of items contained in the response
+ */
+@Data
+@AllArgsConstructor
+public class BatchResponse<T> {
+    /**
+     * The items found, in the order of the requested IDs; duplicate IDs are returned once.
+     */
+    private List<T> items;
+
+    /**
+     * The requested IDs that do not exist, in request order.
+     */
+    private List<Long> missingIds;
+}
@@ -0,0 +1,41 @@
+package com.invoice.management.dto;
+
+import com.invoice.management.constant.CacheRegion;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Data Transfer Object (DTO) representing one cache invalidation read from the shared table.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CacheInvalidationDTO {
+    /**
+     * The position of the invalidation in the table.
+     */
+    private Long id;
+
+    /**
+     * The cache the entry belongs to.
+     */
+    private CacheRegion region;
+
+    /**
+     * The key of the entry within the region.
+     */
+    private Long entryKey;
+
+    /**
+     * The instance that wrote the invalidation.
+     */
+    private String origin;
+
+    /**
+     * The time the invalidation was written.
+     */
+    private LocalDateTime createdAt;
+}
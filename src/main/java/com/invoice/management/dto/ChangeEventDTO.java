@@ -0,0 +1,87 @@
+package com.invoice.management.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.invoice.management.constant.ChangeEventType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Data Transfer Object (DTO) representing one committed change on the change feed.
+ * Events only identify what changed; clients fetch the current state through the regular endpoints.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ChangeEventDTO {
+    /**
+     * The position of the event in the feed, assigned once the change is committed.
+     */
+    private Long id;
+
+    /**
+     * The kind of change.
+     */
+    private ChangeEventType type;
+
+    /**
+     * The ID of the invoice or person version that changed.
+     */
+    private Long entityId;
+
+    /**
+     * The ID of the seller of the invoice, or null for person events.
+     */
+    private Long sellerId;
+
+    /**
+     * The ID of the buyer of the invoice, or null for person events.
+     */
+    private Long buyerId;
+
+    /**
+     * The identification number of the person, or null for invoice events.
+     */
+    private String identificationNumber;
+
+    /**
+     * The time the change was made.
+     */
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private LocalDateTime occurredAt;
+
+    /**
+     * The ID of the seller an update moved the invoice away from, otherwise null.
+     * Only used within the application, so it is not part of the feed.
+     */
+    @JsonIgnore
+    private Long previousSellerId;
+
+    /**
+     * Creates an event for a changed invoice.
+     *
+     * @param type      the kind of change
+     * @param invoiceId the ID of the invoice
+     * @param sellerId  the ID of the seller
+     * @param buyerId   the ID of the buyer
+     * @return the event, not yet assigned a feed position
+     */
+    public static ChangeEventDTO invoice(ChangeEventType type, Long invoiceId, Long sellerId, Long buyerId) {
+        return new ChangeEventDTO(null, type, invoiceId, sellerId, buyerId, null, LocalDateTime.now(), null);
+    }
+
+    /**
+     * Creates an event for a changed person version.
+     *
+     * @param type                 the kind of change
+     * @param personId             the ID of the person version
+     * @param identificationNumber the identification number of the person
+     * @return the event, not yet assigned a feed position
+     */
+    public static ChangeEventDTO person(ChangeEventType type, Long personId, String identificationNumber) {
+        return new ChangeEventDTO(null, type, personId, null, null, identificationNumber, LocalDateTime.now(), null);
+    }
+}
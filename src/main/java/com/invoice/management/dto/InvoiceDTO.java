@@ -29,9 +29,8 @@ public class InvoiceDTO {
 
     /**
      * The invoice number.
-     * Must be a positive integer.
+     * Must be a positive integer; when omitted on creation, the next number of the seller is allocated.
      */
-    @NotNull(message = "Invoice number is required")
     @Positive(message = "Invoice number must be positive")
     private Integer invoiceNumber;
 
@@ -98,4 +97,11 @@ public class InvoiceDTO {
     @NotNull(message = "Seller is required")
     @Valid
     private PersonDTO seller;
+
+    /**
+     * The version of the invoice, also returned in the {@code ETag} header.
+     * Read-only; a conditional update states the expected version in the {@code If-Match} header.
+     */
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Long version;
 }
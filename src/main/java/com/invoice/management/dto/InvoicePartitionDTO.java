@@ -0,0 +1,47 @@
+package com.invoice.management.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * Data Transfer Object (DTO) representing one range partition of the invoice table or an archived former partition.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class InvoicePartitionDTO {
+    /**
+     * The partition name, derived from the first issue date it holds (e.g. p20250101).
+     */
+    private String name;
+
+    /**
+     * The table holding the rows: invoice for live partitions, invoice_archive_&lt;name&gt; for archived ones.
+     */
+    private String table;
+
+    /**
+     * The first issue date no longer held by the partition, or null for the catch-all partition and archives.
+     */
+    @JsonFormat(pattern = "yyyy-MM-dd")
+    private LocalDate upperBound;
+
+    /**
+     * The approximate number of rows, as estimated by the database.
+     */
+    private long rows;
+
+    /**
+     * The size of the rows and indexes in bytes.
+     */
+    private long sizeBytes;
+
+    /**
+     * Whether writes to the rows are rejected.
+     */
+    private boolean readOnly;
+}
@@ -0,0 +1,34 @@
+package com.invoice.management.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data Transfer Object (DTO) representing the current version of an invoice and its parties,
+ * read by primary key after a partial update instead of loading the invoice.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class InvoiceVersionDTO {
+    /**
+     * The unique identifier of the invoice.
+     */
+    private Long id;
+
+    /**
+     * The current version of the invoice.
+     */
+    private Long version;
+
+    /**
+     * The ID of the seller of the invoice.
+     */
+    private Long sellerId;
+
+    /**
+     * The ID of the buyer of the invoice.
+     */
+    private Long buyerId;
+}
@@ -0,0 +1,54 @@
+package com.invoice.management.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.invoice.management.constant.ChangeEventType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Data Transfer Object (DTO) representing one change relayed from the outbox to the sinks.
+ * Delivery is at-least-once, so sinks use the ID to recognize an event they already received.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class OutboxEventDTO {
+    /**
+     * The position of the event in the outbox.
+     */
+    private Long id;
+
+    /**
+     * The kind of change.
+     */
+    private ChangeEventType type;
+
+    /**
+     * The ID of the invoice or person version that changed.
+     */
+    private Long entityId;
+
+    /**
+     * The ID of the seller of the invoice, or null for person events.
+     */
+    private Long sellerId;
+
+    /**
+     * The ID of the buyer of the invoice, or null for person events.
+     */
+    private Long buyerId;
+
+    /**
+     * The identification number of the person, or null for invoice events.
+     */
+    private String identificationNumber;
+
+    /**
+     * The time the change was made.
+     */
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private LocalDateTime occurredAt;
+}
@@ -0,0 +1,43 @@
+package com.invoice.management.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Data Transfer Object (DTO) representing the state of the outbox relay.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class OutboxStatusDTO {
+    /**
+     * The number of events not yet relayed.
+     */
+    private long pending;
+
+    /**
+     * The number of events relayed since startup.
+     */
+    private long relayed;
+
+    /**
+     * The number of batches that failed in a sink since startup and were left for a retry.
+     */
+    private long failedBatches;
+
+    /**
+     * The time the last relay run finished, or null if none has run yet.
+     */
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private LocalDateTime lastRelayAt;
+
+    /**
+     * The names of the sinks the events are relayed to.
+     */
+    private List<String> sinks;
+}
@@ -0,0 +1,55 @@
+package com.invoice.management.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Data Transfer Object (DTO) representing Hibernate statistics, either cumulative or as the difference
+ * between a snapshot and now. Counters are grouped per entity, per query and per second-level cache region.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class PersistenceStatisticsDTO {
+    /**
+     * The ID of the snapshot these statistics were stored as, or the snapshot they are compared against.
+     */
+    private Long snapshotId;
+
+    /**
+     * The start of the covered interval: the last statistics reset, or the time of the snapshot for a diff.
+     */
+    @JsonFormat(shape = JsonFormat.Shape.STRING)
+    private Instant since;
+
+    /**
+     * The time the statistics were read.
+     */
+    @JsonFormat(shape = JsonFormat.Shape.STRING)
+    private Instant capturedAt;
+
+    /**
+     * Session-level counters such as opened sessions, flushes, entity loads and collection fetches.
+     */
+    private Map<String, Number> session;
+
+    /**
+     * Counters per entity, keyed by the entity class name.
+     */
+    private Map<String, Map<String, Number>> entities;
+
+    /**
+     * Counters per executed query, keyed by the query string.
+     */
+    private Map<String, Map<String, Number>> queries;
+
+    /**
+     * Counters per second-level cache region, keyed by the region name.
+     */
+    private Map<String, Map<String, Number>> cacheRegions;
+}
@@ -0,0 +1,48 @@
+package com.invoice.management.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data Transfer Object (DTO) representing one normalized SQL statement in the slow-query top-N.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class SlowQueryDTO {
+    /**
+     * The SQL statement with literals and IN lists normalized.
+     */
+    private String fingerprint;
+
+    /**
+     * How many times the statement was executed in the reported windows.
+     */
+    private long executions;
+
+    /**
+     * The slowest execution in milliseconds.
+     */
+    private double maxMillis;
+
+    /**
+     * The average execution time in milliseconds.
+     */
+    private double averageMillis;
+
+    /**
+     * The number of rows read or updated by the slowest execution.
+     */
+    private long rows;
+
+    /**
+     * The bind-parameter types of the slowest execution.
+     */
+    private String parameterShape;
+
+    /**
+     * The service method that issued the slowest execution.
+     */
+    private String origin;
+}
@@ -5,6 +5,7 @@ import com.invoice.management.entity.InvoiceEntity;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import org.mapstruct.MappingTarget;
+import org.mapstruct.NullValuePropertyMappingStrategy;
 
 /**
  * Mapper interface for converting between InvoiceEntity and InvoiceDTO.
@@ -21,6 +22,7 @@ public interface InvoiceMapper {
      */
     @Mapping(target = "buyer", source = "buyer")
     @Mapping(target = "seller", source = "seller")
+    @Mapping(target = "version", ignore = true)
     InvoiceEntity toEntity(InvoiceDTO source);
 
     /**
@@ -35,12 +37,15 @@ public interface InvoiceMapper {
 
     /**
      * Updates an existing InvoiceEntity with data from an InvoiceDTO.
+     * An omitted invoice number keeps the current one; the version is maintained by Hibernate.
      *
      * @param dto    The source InvoiceDTO
      * @param entity The target InvoiceEntity to update
      */
     @Mapping(target = "id", ignore = true)
+    @Mapping(target = "invoiceNumber", nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
     @Mapping(target = "buyer", ignore = true)
     @Mapping(target = "seller", ignore = true)
+    @Mapping(target = "version", ignore = true)
     void updateEntityFromDto(InvoiceDTO dto, @MappingTarget InvoiceEntity entity);
 }
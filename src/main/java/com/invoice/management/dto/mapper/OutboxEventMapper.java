@@ -0,0 +1,23 @@
+package com.invoice.management.dto.mapper;
+
+import com.invoice.management.dto.ChangeEventDTO;
+import com.invoice.management.entity.OutboxEventEntity;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+/**
+ * Mapper interface for converting change events to outbox rows.
+ * This interface uses MapStruct to generate the implementation.
+ */
+@Mapper(componentModel = "spring")
+public interface OutboxEventMapper {
+
+    /**
+     * Converts a ChangeEventDTO to an OutboxEventEntity.
+     *
+     * @param source The source ChangeEventDTO
+     * @return The resulting OutboxEventEntity, not yet assigned an outbox position
+     */
+    @Mapping(target = "id", ignore = true)
+    OutboxEventEntity toEntity(ChangeEventDTO source);
+}
@@ -1,6 +1,7 @@
 package com.invoice.management.dto.mapper;
 
 import com.invoice.management.dto.PersonDTO;
+import com.invoice.management.entity.PersonArchiveEntity;
 import com.invoice.management.entity.PersonEntity;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
@@ -29,4 +30,12 @@ public interface PersonMapper {
      * @return The resulting PersonDTO
      */
     PersonDTO toDTO(PersonEntity source);
+
+    /**
+     * Converts an archived person version to a PersonDTO.
+     *
+     * @param source The source PersonArchiveEntity
+     * @return The resulting PersonDTO
+     */
+    PersonDTO toDTO(PersonArchiveEntity source);
 }
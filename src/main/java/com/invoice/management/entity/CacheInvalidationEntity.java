@@ -0,0 +1,54 @@
+package com.invoice.management.entity;
+
+import com.invoice.management.constant.CacheRegion;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entity class representing the invalidation of one cache entry, for the other instances to apply.
+ * Rows are written in the same transaction as the change that made the entry stale, and pruned after the
+ * configured retention instead of being deleted on delivery, since every instance reads every row.
+ */
+@Entity(name = "cache_invalidation")
+@Table(name = "cache_invalidation", indexes = {
+        @Index(name = "idx_cache_invalidation_created_at", columnList = "createdAt")
+})
+@Getter
+@Setter
+public class CacheInvalidationEntity {
+
+    /**
+     * The position of the invalidation; instances poll for the IDs above the highest one they applied.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * The cache the entry belongs to.
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 32)
+    private CacheRegion region;
+
+    /**
+     * The key of the entry within the region.
+     */
+    @Column(nullable = false)
+    private Long entryKey;
+
+    /**
+     * The instance that wrote the invalidation, which skips it when polling.
+     */
+    @Column(nullable = false, length = 36)
+    private String origin;
+
+    /**
+     * The time the invalidation was written.
+     */
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+}
@@ -3,13 +3,27 @@ package com.invoice.management.entity;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.time.LocalDate;
 
 /**
  * Entity class representing an Invoice in the database.
+ * The declared indexes follow the query shapes used by the repository and {@code FilterUtils}:
+ * seller/buyer lookups ordered by issue date, price range filters ordered by ID and issue date ranges,
+ * which also cover the price sums of the statistics.
+ * On MySQL the table can be range-partitioned on {@code issued} with {@code db/partitioning/invoice-partitioning.sql}.
+ * Concurrent updates are detected through the {@link #version} column, and updates write only the changed columns.
  */
 @Entity(name = "invoice")
+@Table(name = "invoice", indexes = {
+        @Index(name = "idx_invoice_seller_issued", columnList = "seller_id, issued"),
+        @Index(name = "idx_invoice_buyer_issued", columnList = "buyer_id, issued"),
+        @Index(name = "idx_invoice_price_id", columnList = "price, id"),
+        @Index(name = "idx_invoice_issued_price", columnList = "issued, price")
+})
+@DynamicUpdate
 @Getter
 @Setter
 public class InvoiceEntity {
@@ -77,4 +91,13 @@ public class InvoiceEntity {
     @ManyToOne
     @JoinColumn(name = "seller_id", nullable = false)
     private PersonEntity seller;
+
+    /**
+     * The version of the invoice, incremented by every update.
+     * The column default keeps the bulk inserts that do not know the column working.
+     */
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
 }
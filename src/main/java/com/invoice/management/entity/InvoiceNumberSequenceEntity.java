@@ -0,0 +1,33 @@
+package com.invoice.management.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Entity class holding the invoice number reservations of one seller.
+ * Sellers are identified by their identification number, so numbering continues across person versions.
+ * The row is only touched when an instance reserves a new block of numbers, never per invoice.
+ */
+@Entity(name = "invoice_number_sequence")
+@Table(name = "invoice_number_sequence")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class InvoiceNumberSequenceEntity {
+
+    /**
+     * The identification number of the seller.
+     */
+    @Id
+    private String identificationNumber;
+
+    /**
+     * The first invoice number not reserved by any block yet.
+     */
+    @Column(nullable = false)
+    private long nextValue;
+}
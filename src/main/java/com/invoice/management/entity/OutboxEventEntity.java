@@ -0,0 +1,60 @@
+package com.invoice.management.entity;
+
+import com.invoice.management.constant.ChangeEventType;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entity class representing a change that still has to be relayed to the outbox sinks.
+ * Rows are written in the same transaction as the change they describe and deleted once every sink received them.
+ */
+@Entity(name = "outbox_event")
+@Table(name = "outbox_event")
+@Getter
+@Setter
+public class OutboxEventEntity {
+
+    /**
+     * The position of the change in the outbox.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * The kind of change.
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 32)
+    private ChangeEventType type;
+
+    /**
+     * The ID of the invoice or person version that changed.
+     */
+    @Column(nullable = false)
+    private Long entityId;
+
+    /**
+     * The ID of the seller of the invoice, or null for person changes.
+     */
+    private Long sellerId;
+
+    /**
+     * The ID of the buyer of the invoice, or null for person changes.
+     */
+    private Long buyerId;
+
+    /**
+     * The identification number of the person, or null for invoice changes.
+     */
+    private String identificationNumber;
+
+    /**
+     * The time the change was made.
+     */
+    @Column(nullable = false)
+    private LocalDateTime occurredAt;
+}
@@ -0,0 +1,116 @@
+package com.invoice.management.entity;
+
+import com.invoice.management.constant.Countries;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entity class representing an archived person version.
+ * Hidden person versions that no invoice references are moved here by the archival job,
+ * keeping their original ID, so the person table only holds rows that are still needed.
+ */
+@Entity(name = "person_archive")
+@Table(name = "person_archive", indexes = {
+        @Index(name = "idx_person_archive_identification_number", columnList = "identificationNumber")
+})
+@Getter
+@Setter
+public class PersonArchiveEntity {
+
+    /**
+     * The ID the person version had in the person table.
+     */
+    @Id
+    private long id;
+
+    /**
+     * The name of the person or company.
+     */
+    @Column(nullable = false)
+    private String name;
+
+    /**
+     * The identification number of the person or company.
+     */
+    @Column(nullable = false)
+    private String identificationNumber;
+
+    /**
+     * The tax number of the person or company.
+     */
+    private String taxNumber;
+
+    /**
+     * The account number of the person or company.
+     */
+    @Column(nullable = false)
+    private String accountNumber;
+
+    /**
+     * The bank code associated with the account.
+     */
+    @Column(nullable = false)
+    private String bankCode;
+
+    /**
+     * The International Bank Account Number (IBAN).
+     */
+    private String iban;
+
+    /**
+     * The telephone number of the person or company.
+     */
+    @Column(nullable = false)
+    private String telephone;
+
+    /**
+     * The email address of the person or company.
+     */
+    @Column(nullable = false)
+    private String mail;
+
+    /**
+     * The street address of the person or company.
+     */
+    @Column(nullable = false)
+    private String street;
+
+    /**
+     * The ZIP code of the person or company.
+     */
+    @Column(nullable = false)
+    private String zip;
+
+    /**
+     * The city of the person or company.
+     */
+    @Column(nullable = false)
+    private String city;
+
+    /**
+     * The country of the person or company.
+     */
+    @Column(nullable = false)
+    @Enumerated(EnumType.STRING)
+    private Countries country;
+
+    /**
+     * Additional notes about the person or company.
+     */
+    private String note;
+
+    /**
+     * Indicates whether the person or company was hidden; always true for archived versions.
+     */
+    @Column(nullable = false)
+    private boolean hidden = true;
+
+    /**
+     * The time the version was moved to the archive.
+     */
+    @Column(nullable = false)
+    private LocalDateTime archivedAt;
+}
@@ -4,13 +4,25 @@ import com.invoice.management.constant.Countries;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.util.List;
 
 /**
  * Entity class representing a Person (individual or company) in the database.
+ * The declared indexes cover the {@code hidden = false} listing ordered by name
+ * and lookups by identification number.
+ * Persons are eligible for the "person" second-level cache region, which is only active
+ * when {@code persistence.second-level-cache.enabled} is set.
  */
 @Entity(name = "person")
+@Table(name = "person", indexes = {
+        @Index(name = "idx_person_hidden_name", columnList = "hidden, name"),
+        @Index(name = "idx_person_identification_number", columnList = "identificationNumber")
+})
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "person")
 @Getter
 @Setter
 public class PersonEntity {
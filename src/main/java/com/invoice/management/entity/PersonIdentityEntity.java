@@ -0,0 +1,34 @@
+package com.invoice.management.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Entity class pointing from an identification number to the current version of the person.
+ * Person rows are never updated in place; every edit hides the previous row and inserts a new one,
+ * so this table resolves the live version with a single primary key lookup.
+ */
+@Entity(name = "person_identity")
+@Table(name = "person_identity")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class PersonIdentityEntity {
+
+    /**
+     * The identification number shared by all versions of the person.
+     */
+    @Id
+    private String identificationNumber;
+
+    /**
+     * The current (not hidden) version of the person, or null if the person was removed.
+     */
+    @OneToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "current_version_id")
+    private PersonEntity currentVersion;
+}
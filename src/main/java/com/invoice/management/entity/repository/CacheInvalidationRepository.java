@@ -0,0 +1,60 @@
+package com.invoice.management.entity.repository;
+
+import com.invoice.management.dto.CacheInvalidationDTO;
+import com.invoice.management.entity.CacheInvalidationEntity;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repository interface for the shared table of cache invalidations.
+ */
+public interface CacheInvalidationRepository extends JpaRepository<CacheInvalidationEntity, Long> {
+
+    /**
+     * Finds the invalidations with an ID above the given one, projected straight into DTOs.
+     *
+     * @param afterId  the ID the instance polled up to
+     * @param pageable the maximum number of invalidations, as the first page
+     * @return the invalidations in ID order
+     */
+    @Query("SELECT new com.invoice.management.dto.CacheInvalidationDTO(c.id, c.region, c.entryKey, c.origin, c.createdAt) "
+            + "FROM cache_invalidation c WHERE c.id > :afterId ORDER BY c.id")
+    List<CacheInvalidationDTO> findAfter(@Param("afterId") long afterId, Pageable pageable);
+
+    /**
+     * Finds the invalidations with the given IDs, which a previous poll skipped because they were not committed yet.
+     *
+     * @param ids the IDs to look up again
+     * @return the invalidations that are committed by now
+     */
+    @Query("SELECT new com.invoice.management.dto.CacheInvalidationDTO(c.id, c.region, c.entryKey, c.origin, c.createdAt) "
+            + "FROM cache_invalidation c WHERE c.id IN :ids")
+    List<CacheInvalidationDTO> findAllByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Finds the highest invalidation ID, where a starting instance begins polling.
+     *
+     * @return the highest ID, zero when the table is empty
+     */
+    @Query("SELECT COALESCE(MAX(c.id), 0) FROM cache_invalidation c")
+    long findMaxId();
+
+    /**
+     * Deletes the invalidations written before the given time in a single statement.
+     *
+     * @param cutoff the time before which invalidations are pruned
+     * @return the number of deleted invalidations
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM cache_invalidation c WHERE c.createdAt < :cutoff")
+    int deleteOlderThan(@Param("cutoff") LocalDateTime cutoff);
+}
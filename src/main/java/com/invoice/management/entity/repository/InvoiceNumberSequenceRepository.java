@@ -0,0 +1,40 @@
+package com.invoice.management.entity.repository;
+
+import com.invoice.management.entity.InvoiceNumberSequenceEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+/**
+ * Repository interface for the per-seller invoice number reservations.
+ */
+public interface InvoiceNumberSequenceRepository extends JpaRepository<InvoiceNumberSequenceEntity, String> {
+
+    /**
+     * Reserves the next block of numbers in one atomic statement: inserts the reservation row of the seller,
+     * or moves its reservation mark forward if it exists. Concurrent reservations of the same seller wait for
+     * each other on the row, so each of them advances the mark exactly once.
+     *
+     * @param identificationNumber the identification number of the seller
+     * @param initialValue         the reservation mark of a newly inserted row, i.e. the end of its first block
+     * @param blockSize            the number of numbers to reserve
+     * @return the number of affected rows as reported by the database
+     */
+    @Modifying
+    @Query(value = "INSERT INTO invoice_number_sequence (identification_number, next_value) "
+            + "VALUES (:identificationNumber, :initialValue) "
+            + "ON DUPLICATE KEY UPDATE next_value = next_value + :blockSize", nativeQuery = true)
+    int reserve(@Param("identificationNumber") String identificationNumber,
+                @Param("initialValue") long initialValue,
+                @Param("blockSize") long blockSize);
+
+    /**
+     * Reads the reservation mark of the seller, e.g. right after reserving a block.
+     *
+     * @param identificationNumber the identification number of the seller
+     * @return the first number not reserved yet
+     */
+    @Query("SELECT s.nextValue FROM invoice_number_sequence s WHERE s.identificationNumber = :identificationNumber")
+    long findNextValue(@Param("identificationNumber") String identificationNumber);
+}
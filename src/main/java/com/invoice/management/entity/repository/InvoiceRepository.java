@@ -1,16 +1,45 @@
 package com.invoice.management.entity.repository;
 
+import com.invoice.management.dto.InvoiceVersionDTO;
+import com.invoice.management.dto.PersonStatisticsDTO;
 import com.invoice.management.entity.InvoiceEntity;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 
 /**
  * Repository interface for Invoice entities.
  * Extends JpaRepository to inherit basic CRUD operations and JpaSpecificationExecutor for specification-based querying.
  */
-public interface InvoiceRepository extends JpaRepository<InvoiceEntity, Long>, JpaSpecificationExecutor<InvoiceEntity> {
+public interface InvoiceRepository extends JpaRepository<InvoiceEntity, Long>, JpaSpecificationExecutor<InvoiceEntity>,
+        InvoiceRepositoryCustom {
+
+    /**
+     * Sums the prices of the invoices issued in the half-open range [from, to).
+     * The range is a plain predicate on {@code issued}, so a partitioned table only reads the matching partitions.
+     *
+     * @param from the first issue date included
+     * @param to   the first issue date excluded
+     * @return the sum of the prices, zero when no invoice matches
+     */
+    @Query("SELECT COALESCE(SUM(i.price), 0) FROM invoice i WHERE i.issued >= :from AND i.issued < :to")
+    long sumPriceIssuedBetween(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    /**
+     * Sums the prices of all invoices.
+     *
+     * @return the sum of the prices, zero when there are no invoices
+     */
+    @Query("SELECT COALESCE(SUM(i.price), 0) FROM invoice i")
+    long sumPrice();
 
     /**
      * Finds all invoices where the given identification number matches the seller's identification number.
@@ -29,4 +58,61 @@ public interface InvoiceRepository extends JpaRepository<InvoiceEntity, Long>, J
      * @return a Page of InvoiceEntity objects
      */
     Page<InvoiceEntity> findByBuyer_IdentificationNumber(String identificationNumber, Pageable pageable);
+
+    /**
+     * Finds the highest invoice number a seller used so far, across all versions of the seller.
+     * Only read once per seller, when its invoice number reservations are started.
+     *
+     * @param identificationNumber the identification number of the seller
+     * @return the highest invoice number, or null if the seller has no invoices
+     */
+    @Query("SELECT MAX(i.invoiceNumber) FROM invoice i WHERE i.seller.identificationNumber = :identificationNumber")
+    Integer findMaxInvoiceNumberBySeller(@Param("identificationNumber") String identificationNumber);
+
+    /**
+     * Finds the current version and the parties of an invoice, reading the foreign keys without joining the persons.
+     *
+     * @param id the ID of the invoice
+     * @return the version and the parties, empty if the invoice does not exist
+     */
+    @Query("SELECT new com.invoice.management.dto.InvoiceVersionDTO(i.id, i.version, i.seller.id, i.buyer.id) "
+            + "FROM invoice i WHERE i.id = :id")
+    Optional<InvoiceVersionDTO> findVersionById(@Param("id") long id);
+
+    /**
+     * Finds the highest invoice ID, which the statistics rollup uses as its high-water mark.
+     *
+     * @return the highest ID, zero when there are no invoices
+     */
+    @Query("SELECT COALESCE(MAX(i.id), 0) FROM invoice i")
+    long findMaxId();
+
+    /**
+     * Finds the sellers of the invoices with an ID in the half-open range (afterId, upToId].
+     *
+     * @param afterId the high-water mark the invoices are newer than
+     * @param upToId  the highest ID included
+     * @return the distinct seller IDs
+     */
+    @Query("SELECT DISTINCT i.seller.id FROM invoice i WHERE i.id > :afterId AND i.id <= :upToId")
+    List<Long> findSellerIdsBetween(@Param("afterId") long afterId, @Param("upToId") long upToId);
+
+    /**
+     * Sums the prices of all invoices per seller.
+     *
+     * @return the revenue of every seller with at least one invoice
+     */
+    @Query("SELECT new com.invoice.management.dto.PersonStatisticsDTO(i.seller.id, i.seller.name, SUM(i.price)) "
+            + "FROM invoice i GROUP BY i.seller.id, i.seller.name")
+    List<PersonStatisticsDTO> sumPriceBySeller();
+
+    /**
+     * Sums the prices of the invoices of the given sellers per seller.
+     *
+     * @param sellerIds the IDs of the sellers
+     * @return the revenue of those of the sellers that still have invoices
+     */
+    @Query("SELECT new com.invoice.management.dto.PersonStatisticsDTO(i.seller.id, i.seller.name, SUM(i.price)) "
+            + "FROM invoice i WHERE i.seller.id IN :sellerIds GROUP BY i.seller.id, i.seller.name")
+    List<PersonStatisticsDTO> sumPriceBySellers(@Param("sellerIds") Collection<Long> sellerIds);
 }
@@ -0,0 +1,65 @@
+package com.invoice.management.entity.repository;
+
+import com.invoice.management.dto.InvoicePartitionDTO;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Custom repository fragment for maintaining the range partitions of the invoice table,
+ * and for partial updates of invoices.
+ * The partition methods are MySQL-specific; on other databases, or when the table is not partitioned,
+ * the lookups return empty lists.
+ */
+public interface InvoiceRepositoryCustom {
+
+    /**
+     * Returns the partitions of the invoice table in ascending range order.
+     *
+     * @return the partitions, empty if the table is not partitioned
+     */
+    List<InvoicePartitionDTO> findPartitions();
+
+    /**
+     * Returns the read-only archive tables created from former partitions.
+     *
+     * @return the archived partitions ordered by name
+     */
+    List<InvoicePartitionDTO> findArchivedPartitions();
+
+    /**
+     * Splits a new partition off the catch-all partition, which must be the last one and named pmax.
+     *
+     * @param name       the name of the new partition
+     * @param upperBound the first issue date not held by the new partition
+     */
+    void addPartition(String name, LocalDate upperBound);
+
+    /**
+     * Moves the rows of a partition into a new standalone table by exchanging the partition,
+     * drops the emptied partition and makes the new table read-only with triggers rejecting every write.
+     * The steps are DDL statements, which MySQL commits one by one, so the archival is not atomic. Each step
+     * is skipped when it already took place; after a failure, run the archival of the same partition again
+     * to complete it. Only if both the partition and the archive table hold invoices, e.g. because rows were
+     * written to the archive table by hand, does it stop with an {@link IllegalStateException}; move
+     * the rows back into the invoice table or drop the archive table, then run it again.
+     *
+     * @param name         the name of the partition
+     * @param archiveTable the name of the archive table to create
+     */
+    void archivePartition(String name, String archiveTable);
+
+    /**
+     * Updates the given attributes of an invoice in a single statement, without reading it first,
+     * and increments its version.
+     * When only one of the issue and due dates is updated, the statement also requires the due date to stay
+     * after the issue date, so a patch cannot make a stored invoice invalid.
+     *
+     * @param id      the ID of the invoice
+     * @param version the expected current version, or null to update any version
+     * @param values  the new values by attribute name
+     * @return the number of updated rows, zero if the invoice does not exist, its version differs or the dates would be invalid
+     */
+    int patchInvoice(long id, Long version, Map<String, Object> values);
+}
@@ -0,0 +1,194 @@
+package com.invoice.management.entity.repository;
+
+import com.invoice.management.dto.InvoicePartitionDTO;
+import com.invoice.management.entity.InvoiceEntity;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaUpdate;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.Session;
+import org.hibernate.query.NativeQuery;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Implementation of {@link InvoiceRepositoryCustom}.
+ * Partition names and bounds cannot be bound as parameters in DDL, so callers must only pass names
+ * they validated against {@link #findPartitions()}. Every statement is synchronized on the invoice entity only,
+ * so Hibernate does not evict the unrelated second-level cache regions; the archival runs on plain JDBC,
+ * since its DDL statements cannot share a transaction anyway.
+ * Partial updates are criteria updates, which Hibernate synchronizes on the invoice entity by itself.
+ */
+public class InvoiceRepositoryImpl implements InvoiceRepositoryCustom {
+
+    private static final String CATCH_ALL_PARTITION = "pmax";
+    private static final String READ_ONLY_MESSAGE = "Archived invoices are read-only";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<InvoicePartitionDTO> findPartitions() {
+        if (!isMySql()) {
+            return List.of();
+        }
+        List<Object[]> rows = entityManager.createNativeQuery("SELECT partition_name, partition_description, "
+                        + "table_rows, data_length + index_length FROM information_schema.partitions "
+                        + "WHERE table_schema = DATABASE() AND table_name = 'invoice' AND partition_name IS NOT NULL "
+                        + "ORDER BY partition_ordinal_position")
+                .getResultList();
+        return rows.stream()
+                .map(row -> new InvoicePartitionDTO((String) row[0], "invoice", upperBound((String) row[1]),
+                        toLong(row[2]), toLong(row[3]), false))
+                .toList();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<InvoicePartitionDTO> findArchivedPartitions() {
+        if (!isMySql()) {
+            return List.of();
+        }
+        List<Object[]> rows = entityManager.createNativeQuery("SELECT table_name, table_rows, data_length + index_length "
+                        + "FROM information_schema.tables "
+                        + "WHERE table_schema = DATABASE() AND table_name LIKE 'invoice\\_archive\\_%' ORDER BY table_name")
+                .getResultList();
+        return rows.stream()
+                .map(row -> new InvoicePartitionDTO(((String) row[0]).substring("invoice_archive_".length()),
+                        (String) row[0], null, toLong(row[1]), toLong(row[2]), true))
+                .toList();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional
+    public void addPartition(String name, LocalDate upperBound) {
+        execute("ALTER TABLE invoice REORGANIZE PARTITION " + CATCH_ALL_PARTITION + " INTO ("
+                + "PARTITION " + name + " VALUES LESS THAN ('" + upperBound + "'), "
+                + "PARTITION " + CATCH_ALL_PARTITION + " VALUES LESS THAN (MAXVALUE))");
+    }
+
+    /**
+     * {@inheritDoc}
+     * MySQL commits every DDL statement on its own, so the steps run outside of a transaction, one after the other.
+     * Each step first checks whether it already took place, which makes an archival that failed half-way
+     * complete when it is run again.
+     */
+    @Override
+    public void archivePartition(String name, String archiveTable) {
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + archiveTable + " LIKE invoice");
+        if (isPartitioned(archiveTable)) {
+            jdbcTemplate.execute("ALTER TABLE " + archiveTable + " REMOVE PARTITIONING");
+        }
+        if (hasPartition(name)) {
+            // an archive table holding rows already received the partition; exchanging again would swap them back
+            if (!hasRows(archiveTable)) {
+                jdbcTemplate.execute("ALTER TABLE invoice EXCHANGE PARTITION " + name + " WITH TABLE " + archiveTable);
+            } else if (hasRows("invoice PARTITION (" + name + ")")) {
+                throw new IllegalStateException("Both partition " + name + " and " + archiveTable + " hold invoices");
+            }
+            jdbcTemplate.execute("ALTER TABLE invoice DROP PARTITION " + name);
+        }
+        for (String event : List.of("INSERT", "UPDATE", "DELETE")) {
+            String trigger = archiveTable + "_" + event.toLowerCase();
+            if (!hasTrigger(trigger)) {
+                jdbcTemplate.execute("CREATE TRIGGER " + trigger + " BEFORE " + event
+                        + " ON " + archiveTable + " FOR EACH ROW "
+                        + "SIGNAL SQLSTATE '45000' SET MESSAGE_TEXT = '" + READ_ONLY_MESSAGE + "'");
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional
+    public int patchInvoice(long id, Long version, Map<String, Object> values) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaUpdate<InvoiceEntity> update = builder.createCriteriaUpdate(InvoiceEntity.class);
+        Root<InvoiceEntity> invoice = update.from(InvoiceEntity.class);
+        values.forEach(update::set);
+        update.set(invoice.<Long>get("version"), builder.sum(invoice.<Long>get("version"), 1L));
+
+        List<Predicate> predicates = new ArrayList<>();
+        predicates.add(builder.equal(invoice.get("id"), id));
+        if (version != null) {
+            predicates.add(builder.equal(invoice.get("version"), version));
+        }
+        if (values.containsKey("dueDate") && !values.containsKey("issued")) {
+            predicates.add(builder.lessThan(invoice.<LocalDate>get("issued"), (LocalDate) values.get("dueDate")));
+        } else if (values.containsKey("issued") && !values.containsKey("dueDate")) {
+            predicates.add(builder.greaterThan(invoice.<LocalDate>get("dueDate"), (LocalDate) values.get("issued")));
+        }
+        update.where(predicates.toArray(Predicate[]::new));
+        return entityManager.createQuery(update).executeUpdate();
+    }
+
+    private void execute(String statement) {
+        entityManager.createNativeQuery(statement)
+                .unwrap(NativeQuery.class)
+                .addSynchronizedEntityClass(InvoiceEntity.class)
+                .executeUpdate();
+    }
+
+    private boolean isPartitioned(String table) {
+        return exists("SELECT 1 FROM information_schema.partitions WHERE table_schema = DATABASE() "
+                + "AND table_name = ? AND partition_name IS NOT NULL", table);
+    }
+
+    private boolean hasPartition(String name) {
+        return exists("SELECT 1 FROM information_schema.partitions WHERE table_schema = DATABASE() "
+                + "AND table_name = 'invoice' AND partition_name = ?", name);
+    }
+
+    private boolean hasTrigger(String name) {
+        return exists("SELECT 1 FROM information_schema.triggers WHERE trigger_schema = DATABASE() AND trigger_name = ?", name);
+    }
+
+    private boolean hasRows(String table) {
+        return exists("SELECT 1 FROM " + table + " LIMIT 1");
+    }
+
+    private boolean exists(String query, Object... args) {
+        return !jdbcTemplate.queryForList(query, args).isEmpty();
+    }
+
+    private boolean isMySql() {
+        String product = entityManager.unwrap(Session.class)
+                .doReturningWork(connection -> connection.getMetaData().getDatabaseProductName());
+        return "MySQL".equals(product);
+    }
+
+    /**
+     * Parses a RANGE COLUMNS bound as reported by information_schema, e.g. {@code '2026-01-01'} or MAXVALUE.
+     */
+    private static LocalDate upperBound(String description) {
+        if (description == null || "MAXVALUE".equalsIgnoreCase(description)) {
+            return null;
+        }
+        return LocalDate.parse(description.replace("'", ""));
+    }
+
+    private static long toLong(Object value) {
+        return value instanceof Number number ? number.longValue() : 0L;
+    }
+}
@@ -0,0 +1,39 @@
+package com.invoice.management.entity.repository;
+
+import com.invoice.management.dto.OutboxEventDTO;
+import com.invoice.management.entity.OutboxEventEntity;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+/**
+ * Repository interface for the outbox of change events.
+ */
+public interface OutboxEventRepository extends JpaRepository<OutboxEventEntity, Long> {
+
+    /**
+     * Finds the oldest pending events, projected straight into DTOs so a batch is never managed
+     * by the persistence context and costs no dirty checking when its transaction commits.
+     *
+     * @param pageable the maximum number of events, as the first page
+     * @return the events in outbox order
+     */
+    @Query("SELECT new com.invoice.management.dto.OutboxEventDTO(e.id, e.type, e.entityId, e.sellerId, e.buyerId, "
+            + "e.identificationNumber, e.occurredAt) FROM outbox_event e ORDER BY e.id")
+    List<OutboxEventDTO> findOldest(Pageable pageable);
+
+    /**
+     * Deletes the events with IDs from {@code first} to {@code last}, inclusive, in a single statement.
+     *
+     * @param first the ID of the first relayed event
+     * @param last  the ID of the last relayed event
+     * @return the number of deleted events, which the relay compares against the size of the batch
+     */
+    @Modifying
+    @Query("DELETE FROM outbox_event e WHERE e.id BETWEEN :first AND :last")
+    int deleteRange(@Param("first") long first, @Param("last") long last);
+}
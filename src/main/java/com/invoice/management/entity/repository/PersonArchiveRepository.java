@@ -0,0 +1,37 @@
+package com.invoice.management.entity.repository;
+
+import com.invoice.management.entity.PersonArchiveEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+/**
+ * Repository interface for archived person versions.
+ */
+public interface PersonArchiveRepository extends JpaRepository<PersonArchiveEntity, Long>, PersonArchiveRepositoryCustom {
+
+    /**
+     * Finds all archived versions of a person, newest first.
+     *
+     * @param identificationNumber the identification number of the person
+     * @return the archived versions of the person
+     */
+    List<PersonArchiveEntity> findByIdentificationNumberOrderByIdDesc(String identificationNumber);
+
+    /**
+     * Finds the next hidden person versions that can be archived, in ID order after the given ID.
+     * A version can be archived when no invoice references it and no identity points at it.
+     *
+     * @param afterId   the last ID of the previous batch
+     * @param batchSize the maximum number of IDs
+     * @return the IDs of the archivable versions
+     */
+    @Query(value = "SELECT p.id FROM person p WHERE p.hidden = TRUE AND p.id > :afterId "
+            + "AND NOT EXISTS (SELECT 1 FROM invoice i WHERE i.seller_id = p.id) "
+            + "AND NOT EXISTS (SELECT 1 FROM invoice i WHERE i.buyer_id = p.id) "
+            + "AND NOT EXISTS (SELECT 1 FROM person_identity pi WHERE pi.current_version_id = p.id) "
+            + "ORDER BY p.id LIMIT :batchSize", nativeQuery = true)
+    List<Long> findArchivableIds(@Param("afterId") long afterId, @Param("batchSize") int batchSize);
+}
@@ -0,0 +1,30 @@
+package com.invoice.management.entity.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Custom repository fragment for moving person versions into the archive.
+ */
+public interface PersonArchiveRepositoryCustom {
+
+    /**
+     * Copies the given hidden person versions into the archive and deletes them from the person table.
+     * Versions that an invoice or an identity references by the time the statements run are left in place,
+     * so the result may be smaller than the number of IDs given.
+     * Must run inside a transaction, so a batch is either moved completely or not at all.
+     *
+     * @param ids        the IDs of the person versions to move
+     * @param archivedAt the archival timestamp stored with each version
+     * @return the number of person rows moved
+     */
+    int moveToArchive(List<Long> ids, LocalDateTime archivedAt);
+
+    /**
+     * Returns the on-disk size of a table including its indexes, where the database reports it.
+     *
+     * @param table the table name
+     * @return the size in bytes, or null if the database does not expose it
+     */
+    Long tableSizeBytes(String table);
+}
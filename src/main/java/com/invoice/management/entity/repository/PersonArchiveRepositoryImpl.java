@@ -0,0 +1,75 @@
+package com.invoice.management.entity.repository;
+
+import com.invoice.management.entity.PersonArchiveEntity;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.hibernate.query.NativeQuery;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Implementation of {@link PersonArchiveRepositoryCustom}.
+ * The copy is a native INSERT ... SELECT synchronized on the archive table only, and the delete is a JPQL
+ * bulk delete, so Hibernate evicts just the affected second-level cache regions.
+ * Both statements re-check that no invoice or identity references the version, because a partitioned
+ * invoice table has no foreign keys to stop a reference created after the candidates were selected.
+ */
+public class PersonArchiveRepositoryImpl implements PersonArchiveRepositoryCustom {
+
+    private static final String COLUMNS = "id, name, identification_number, tax_number, account_number, bank_code, "
+            + "iban, telephone, mail, street, zip, city, country, note, hidden";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int moveToArchive(List<Long> ids, LocalDateTime archivedAt) {
+        entityManager.createNativeQuery("INSERT INTO person_archive (" + COLUMNS + ", archived_at) "
+                        + "SELECT " + COLUMNS + ", :archivedAt FROM person p WHERE p.id IN (:ids) AND p.hidden = TRUE "
+                        + "AND NOT EXISTS (SELECT 1 FROM invoice i WHERE i.seller_id = p.id OR i.buyer_id = p.id) "
+                        + "AND NOT EXISTS (SELECT 1 FROM person_identity pi WHERE pi.current_version_id = p.id)")
+                .unwrap(NativeQuery.class)
+                .addSynchronizedEntityClass(PersonArchiveEntity.class)
+                .setParameter("archivedAt", archivedAt)
+                .setParameterList("ids", ids)
+                .executeUpdate();
+        int moved = entityManager.createQuery("DELETE FROM person p WHERE p.id IN :ids AND p.hidden = TRUE "
+                        + "AND NOT EXISTS (SELECT i FROM invoice i WHERE i.seller = p OR i.buyer = p) "
+                        + "AND NOT EXISTS (SELECT pi FROM person_identity pi WHERE pi.currentVersion = p)")
+                .setParameter("ids", ids)
+                .executeUpdate();
+        // An invoice committed between the two statements keeps its person; drop the copy made of it.
+        entityManager.createNativeQuery("DELETE FROM person_archive WHERE id IN (:ids) AND archived_at = :archivedAt "
+                        + "AND EXISTS (SELECT 1 FROM person p WHERE p.id = person_archive.id)")
+                .unwrap(NativeQuery.class)
+                .addSynchronizedEntityClass(PersonArchiveEntity.class)
+                .setParameter("archivedAt", archivedAt)
+                .setParameterList("ids", ids)
+                .executeUpdate();
+        return moved;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Long tableSizeBytes(String table) {
+        String product = entityManager.unwrap(Session.class)
+                .doReturningWork(connection -> connection.getMetaData().getDatabaseProductName());
+        if (!"MySQL".equals(product)) {
+            return null;
+        }
+        Object size = entityManager.createNativeQuery("SELECT data_length + index_length FROM information_schema.tables "
+                        + "WHERE table_schema = DATABASE() AND table_name = :table")
+                .setParameter("table", table)
+                .getResultStream()
+                .findFirst()
+                .orElse(null);
+        return size instanceof Number number ? number.longValue() : null;
+    }
+}
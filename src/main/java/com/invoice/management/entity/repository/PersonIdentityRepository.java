@@ -0,0 +1,44 @@
+package com.invoice.management.entity.repository;
+
+import com.invoice.management.entity.PersonEntity;
+import com.invoice.management.entity.PersonIdentityEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+/**
+ * Repository interface for the current-version pointers of persons.
+ * The pointer is written with a single upsert and cleared with a conditional update,
+ * so concurrent writes for the same identification number never collide on the primary key.
+ */
+public interface PersonIdentityRepository extends JpaRepository<PersonIdentityEntity, String>, PersonIdentityRepositoryCustom {
+
+    /**
+     * Resolves the current version of a person by primary key lookup on the identity table.
+     * A pointer left at a hidden version by a lost race counts as missing.
+     *
+     * @param identificationNumber the identification number of the person
+     * @return the current version, or empty if there is no pointer or the person was removed
+     */
+    @Query("SELECT i.currentVersion FROM person_identity i "
+            + "WHERE i.identificationNumber = :identificationNumber AND i.currentVersion.hidden = false")
+    Optional<PersonEntity> findCurrentVersion(@Param("identificationNumber") String identificationNumber);
+
+    /**
+     * Clears the pointer, but only while it still points at the given version.
+     *
+     * @param identificationNumber the identification number of the person
+     * @param versionId            the ID of the version that is no longer current
+     * @return the number of affected rows
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE person_identity i SET i.currentVersion = NULL "
+            + "WHERE i.identificationNumber = :identificationNumber AND i.currentVersion.id = :versionId")
+    int clearCurrentVersion(@Param("identificationNumber") String identificationNumber,
+                            @Param("versionId") long versionId);
+}
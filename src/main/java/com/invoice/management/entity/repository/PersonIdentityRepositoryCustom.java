@@ -0,0 +1,24 @@
+package com.invoice.management.entity.repository;
+
+/**
+ * Custom repository fragment for the current-version pointers of persons.
+ */
+public interface PersonIdentityRepositoryCustom {
+
+    /**
+     * Points the identity at the given version, creating the identity if it does not exist yet.
+     *
+     * @param identificationNumber the identification number of the person
+     * @param versionId            the ID of the new current version
+     */
+    void upsertCurrentVersion(String identificationNumber, long versionId);
+
+    /**
+     * Points the identity at the given version, but only where there is no pointer yet or it points at an
+     * older version. A pointer written by a concurrent update or cleared by a concurrent removal is kept.
+     *
+     * @param identificationNumber the identification number of the person
+     * @param versionId            the ID of the newest visible version found
+     */
+    void repairCurrentVersion(String identificationNumber, long versionId);
+}
@@ -0,0 +1,52 @@
+package com.invoice.management.entity.repository;
+
+import com.invoice.management.entity.PersonIdentityEntity;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.query.NativeQuery;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Implementation of {@link PersonIdentityRepositoryCustom}.
+ * The upserts are native statements that MySQL and H2 in MySQL mode both understand. They declare
+ * person_identity as its only affected table, so Hibernate does not evict the unrelated
+ * second-level cache regions, as it would for an unqualified native update.
+ */
+public class PersonIdentityRepositoryImpl implements PersonIdentityRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional
+    public void upsertCurrentVersion(String identificationNumber, long versionId) {
+        entityManager.createNativeQuery("INSERT INTO person_identity (identification_number, current_version_id) "
+                        + "VALUES (:identificationNumber, :versionId) "
+                        + "ON DUPLICATE KEY UPDATE current_version_id = :versionId")
+                .unwrap(NativeQuery.class)
+                .addSynchronizedEntityClass(PersonIdentityEntity.class)
+                .setParameter("identificationNumber", identificationNumber)
+                .setParameter("versionId", versionId)
+                .executeUpdate();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional
+    public void repairCurrentVersion(String identificationNumber, long versionId) {
+        entityManager.createNativeQuery("INSERT INTO person_identity (identification_number, current_version_id) "
+                        + "VALUES (:identificationNumber, :versionId) "
+                        + "ON DUPLICATE KEY UPDATE current_version_id = CASE WHEN current_version_id < :versionId "
+                        + "THEN :versionId ELSE current_version_id END")
+                .unwrap(NativeQuery.class)
+                .addSynchronizedEntityClass(PersonIdentityEntity.class)
+                .setParameter("identificationNumber", identificationNumber)
+                .setParameter("versionId", versionId)
+                .executeUpdate();
+    }
+}
@@ -4,12 +4,29 @@ import com.invoice.management.entity.PersonEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 
+import java.util.List;
+import java.util.Optional;
+
 /**
  * Repository interface for Person entities.
  * Extends JpaRepository to inherit basic CRUD operations and JpaSpecificationExecutor for specification-based querying.
  */
 public interface PersonRepository extends JpaRepository<PersonEntity, Long>, JpaSpecificationExecutor<PersonEntity> {
-    // This interface doesn't define any custom methods.
-    // It inherits standard CRUD operations from JpaRepository and
-    // advanced querying capabilities from JpaSpecificationExecutor.
+
+    /**
+     * Finds all versions of a person, newest first.
+     *
+     * @param identificationNumber the identification number of the person
+     * @return the versions of the person, including hidden ones
+     */
+    List<PersonEntity> findByIdentificationNumberOrderByIdDesc(String identificationNumber);
+
+    /**
+     * Finds the newest visible version of a person by scanning its versions.
+     * Used only to rebuild a missing current-version pointer.
+     *
+     * @param identificationNumber the identification number of the person
+     * @return the newest visible version, if any
+     */
+    Optional<PersonEntity> findFirstByIdentificationNumberAndHiddenFalseOrderByIdDesc(String identificationNumber);
 }
@@ -0,0 +1,16 @@
+package com.invoice.management.exception;
+
+/**
+ * Exception thrown when an archival run is requested while another one is still running.
+ */
+public class ArchivalInProgressException extends RuntimeException {
+
+    /**
+     * Constructs a new ArchivalInProgressException with the specified detail message.
+     *
+     * @param message the detail message (which is saved for later retrieval by the getMessage() method)
+     */
+    public ArchivalInProgressException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,16 @@
+package com.invoice.management.exception;
+
+/**
+ * Exception thrown when a lookup by a list of IDs requests more IDs than allowed.
+ */
+public class BatchSizeExceededException extends RuntimeException {
+
+    /**
+     * Constructs a new BatchSizeExceededException with the specified detail message.
+     *
+     * @param message the detail message (which is saved for later retrieval by the getMessage() method)
+     */
+    public BatchSizeExceededException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,17 @@
+package com.invoice.management.exception;
+
+/**
+ * Exception thrown when a list request combines parameters that select different representations,
+ * such as a field selection together with streaming.
+ */
+public class ConflictingParametersException extends RuntimeException {
+
+    /**
+     * Constructs a new ConflictingParametersException with the specified detail message.
+     *
+     * @param message the detail message (which is saved for later retrieval by the getMessage() method)
+     */
+    public ConflictingParametersException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,16 @@
+package com.invoice.management.exception;
+
+/**
+ * Exception thrown when the first request with an Idempotency-Key is still running when a duplicate gives up waiting.
+ */
+public class IdempotencyKeyInProgressException extends RuntimeException {
+
+    /**
+     * Constructs a new IdempotencyKeyInProgressException with the specified detail message.
+     *
+     * @param message the detail message (which is saved for later retrieval by the getMessage() method)
+     */
+    public IdempotencyKeyInProgressException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,16 @@
+package com.invoice.management.exception;
+
+/**
+ * Exception thrown when an Idempotency-Key is reused with a different request body.
+ */
+public class IdempotencyKeyReusedException extends RuntimeException {
+
+    /**
+     * Constructs a new IdempotencyKeyReusedException with the specified detail message.
+     *
+     * @param message the detail message (which is saved for later retrieval by the getMessage() method)
+     */
+    public IdempotencyKeyReusedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,16 @@
+package com.invoice.management.exception;
+
+/**
+ * Exception thrown when a fields parameter is empty or names a property the resource does not have.
+ */
+public class InvalidFieldSelectionException extends RuntimeException {
+
+    /**
+     * Constructs a new InvalidFieldSelectionException with the specified detail message.
+     *
+     * @param message the detail message (which is saved for later retrieval by the getMessage() method)
+     */
+    public InvalidFieldSelectionException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,16 @@
+package com.invoice.management.exception;
+
+/**
+ * Exception thrown when an Idempotency-Key header is empty or too long.
+ */
+public class InvalidIdempotencyKeyException extends RuntimeException {
+
+    /**
+     * Constructs a new InvalidIdempotencyKeyException with the specified detail message.
+     *
+     * @param message the detail message (which is saved for later retrieval by the getMessage() method)
+     */
+    public InvalidIdempotencyKeyException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,17 @@
+package com.invoice.management.exception;
+
+/**
+ * Exception thrown when a partial update of an invoice contains a field that cannot be patched,
+ * or would leave the invoice invalid.
+ */
+public class InvalidInvoicePatchException extends RuntimeException {
+
+    /**
+     * Constructs a new InvalidInvoicePatchException with the specified detail message.
+     *
+     * @param message the detail message (which is saved for later retrieval by the getMessage() method)
+     */
+    public InvalidInvoicePatchException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,16 @@
+package com.invoice.management.exception;
+
+/**
+ * Exception thrown when a conditional update states a version of an invoice that is no longer current.
+ */
+public class InvoiceVersionMismatchException extends RuntimeException {
+
+    /**
+     * Constructs a new InvoiceVersionMismatchException with the specified detail message.
+     *
+     * @param message the detail message (which is saved for later retrieval by the getMessage() method)
+     */
+    public InvoiceVersionMismatchException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,16 @@
+package com.invoice.management.exception;
+
+/**
+ * Exception thrown when a partial update of an invoice does not state the version it was based on.
+ */
+public class InvoiceVersionRequiredException extends RuntimeException {
+
+    /**
+     * Constructs a new InvoiceVersionRequiredException with the specified detail message.
+     *
+     * @param message the detail message (which is saved for later retrieval by the getMessage() method)
+     */
+    public InvoiceVersionRequiredException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,16 @@
+package com.invoice.management.exception;
+
+/**
+ * Exception thrown when an invoice partition cannot be archived because it may still receive writes.
+ */
+public class PartitionNotArchivableException extends RuntimeException {
+
+    /**
+     * Constructs a new PartitionNotArchivableException with the specified detail message.
+     *
+     * @param message the detail message (which is saved for later retrieval by the getMessage() method)
+     */
+    public PartitionNotArchivableException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,16 @@
+package com.invoice.management.exception;
+
+/**
+ * Exception thrown when a requested invoice partition does not exist.
+ */
+public class PartitionNotFoundException extends RuntimeException {
+
+    /**
+     * Constructs a new PartitionNotFoundException with the specified detail message.
+     *
+     * @param message the detail message (which is saved for later retrieval by the getMessage() method)
+     */
+    public PartitionNotFoundException(String message) {
+        super(message);
+    }
+}
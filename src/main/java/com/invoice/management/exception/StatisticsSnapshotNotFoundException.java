@@ -0,0 +1,17 @@
+package com.invoice.management.exception;
+
+/**
+ * Exception thrown when a persistence statistics snapshot is not found.
+ * This exception is typically used when diffing against a snapshot that was never taken or has been evicted.
+ */
+public class StatisticsSnapshotNotFoundException extends RuntimeException {
+
+    /**
+     * Constructs a new StatisticsSnapshotNotFoundException with the specified detail message.
+     *
+     * @param message the detail message (which is saved for later retrieval by the getMessage() method)
+     */
+    public StatisticsSnapshotNotFoundException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,94 @@
+package com.invoice.management.invalidation;
+
+import com.invoice.management.constant.CacheRegion;
+import com.invoice.management.dto.ChangeEventDTO;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Base class for the cache invalidation buses. Turns the change events the invoice and person services publish
+ * into invalidations, and hands received invalidations to the handlers of their region.
+ */
+@Slf4j
+public abstract class AbstractCacheInvalidationBus implements CacheInvalidationBus {
+
+    private final Map<CacheRegion, List<CacheInvalidationHandler>> handlers;
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Constructs a new bus.
+     *
+     * @param handlers      the caches invalidations are delivered to
+     * @param meterRegistry the registry the received invalidations are counted in
+     */
+    protected AbstractCacheInvalidationBus(List<CacheInvalidationHandler> handlers, MeterRegistry meterRegistry) {
+        this.handlers = handlers.stream().collect(Collectors.groupingBy(CacheInvalidationHandler::region));
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Publishes the invalidations a change implies, before the commit of the publishing transaction.
+     * An invoice change makes the revenue of its seller, and of the seller it was moved away from, stale;
+     * hiding a person makes the cached version stale. A newly created person is in no cache yet.
+     *
+     * @param event the change published by the invoice or person service
+     */
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onChange(ChangeEventDTO event) {
+        switch (event.getType()) {
+            case INVOICE_CREATED, INVOICE_UPDATED, INVOICE_DELETED -> {
+                List<Long> sellerIds = Stream.of(event.getSellerId(), event.getPreviousSellerId())
+                        .filter(Objects::nonNull)
+                        .distinct()
+                        .collect(Collectors.toList());
+                if (!sellerIds.isEmpty()) {
+                    publish(CacheRegion.SELLER_REVENUE, sellerIds);
+                }
+            }
+            case PERSON_HIDDEN -> publish(CacheRegion.PERSON, List.of(event.getEntityId()));
+            default -> {
+            }
+        }
+    }
+
+    /**
+     * Hands a batch of invalidations received from other instances to the handlers. A handler that fails
+     * drops all of its entries instead, so a failure never leaves a stale entry behind.
+     *
+     * @param invalidations the keys to invalidate per region, without duplicates
+     */
+    protected void dispatch(Map<CacheRegion, Set<Long>> invalidations) {
+        invalidations.forEach((region, keys) -> {
+            for (CacheInvalidationHandler handler : handlers.getOrDefault(region, List.of())) {
+                try {
+                    handler.invalidate(keys);
+                } catch (RuntimeException e) {
+                    log.warn("Invalidating {} {} entries failed, dropping all: {}", keys.size(), region, e.getMessage());
+                    handler.invalidateAll();
+                }
+            }
+            Counter.builder("cache.invalidations")
+                    .description("Cache entries invalidated by other instances")
+                    .tag("region", region.name())
+                    .register(meterRegistry)
+                    .increment(keys.size());
+        });
+    }
+
+    /**
+     * Drops every entry of every handler, when invalidations may have been missed.
+     */
+    protected void invalidateAll() {
+        handlers.values().forEach(regionHandlers -> regionHandlers.forEach(CacheInvalidationHandler::invalidateAll));
+    }
+}
@@ -0,0 +1,25 @@
+package com.invoice.management.invalidation;
+
+import com.invoice.management.constant.CacheRegion;
+
+import java.util.Collection;
+
+/**
+ * Bus carrying the invalidations of node-local cache entries to the other instances of the application.
+ * The implementation is selected by {@code persistence.cache-invalidation.bus}.
+ *
+ * <p>The local caches are kept current by the change itself; the bus only tells the other instances which of
+ * their entries went stale, where the registered {@link CacheInvalidationHandler}s drop them. Invalidations are
+ * delivered in batches with duplicate keys removed, at-least-once, so handlers must be idempotent.</p>
+ */
+public interface CacheInvalidationBus {
+
+    /**
+     * Publishes the invalidation of cache entries. Within a transaction, the other instances see it only
+     * once the transaction has committed; a rolled back transaction publishes nothing.
+     *
+     * @param region the cache the entries belong to
+     * @param keys   the keys of the stale entries
+     */
+    void publish(CacheRegion region, Collection<Long> keys);
+}
@@ -0,0 +1,32 @@
+package com.invoice.management.invalidation;
+
+import com.invoice.management.constant.CacheRegion;
+
+import java.util.Set;
+
+/**
+ * Node-local cache that drops its entries when another instance invalidates them.
+ * Every Spring bean implementing this interface receives the invalidations of its region.
+ */
+public interface CacheInvalidationHandler {
+
+    /**
+     * Returns the cache this handler is responsible for.
+     *
+     * @return the region of the cache
+     */
+    CacheRegion region();
+
+    /**
+     * Drops or reloads the given entries. Called on the thread of the bus, never concurrently for one handler.
+     *
+     * @param keys the keys of the stale entries, without duplicates
+     */
+    void invalidate(Set<Long> keys);
+
+    /**
+     * Drops every entry, when the bus may have missed invalidations. Must not fail and should be cheap,
+     * e.g. by reloading lazily.
+     */
+    void invalidateAll();
+}
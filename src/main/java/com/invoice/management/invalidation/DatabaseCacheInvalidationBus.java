@@ -0,0 +1,213 @@
+package com.invoice.management.invalidation;
+
+import com.invoice.management.configuration.CacheInvalidationProperties;
+import com.invoice.management.constant.CacheRegion;
+import com.invoice.management.dto.CacheInvalidationDTO;
+import com.invoice.management.entity.CacheInvalidationEntity;
+import com.invoice.management.entity.repository.CacheInvalidationRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Cache invalidation bus over the shared {@code cache_invalidation} table, for several instances on one database.
+ * Invalidations are inserted in the transaction of the change, once per key and transaction, so they become
+ * visible exactly when the change does. Every instance polls for the IDs above the highest one it has seen and
+ * applies the invalidations of the other instances as one batch per poll, with duplicate keys removed.
+ * Registered unless {@code persistence.cache-invalidation.bus} selects another bus.
+ *
+ * <p>IDs are taken on insert but become visible on commit, so a lower ID can appear after a higher one.
+ * The IDs skipped by a poll are remembered and looked up again until they show up or the gap timeout passes;
+ * a gap that never fills, or is too large to track, is most likely a rolled back transaction, but since it
+ * might be a very long one, every cache is invalidated in full. Staleness on the other instances is thereby
+ * bounded by the poll interval, plus the gap timeout in the rare worst case.</p>
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "persistence.cache-invalidation", name = "bus", havingValue = "database", matchIfMissing = true)
+public class DatabaseCacheInvalidationBus extends AbstractCacheInvalidationBus {
+
+    private final CacheInvalidationRepository cacheInvalidationRepository;
+    private final CacheInvalidationProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final String origin = UUID.randomUUID().toString();
+    private final SortedMap<Long, Long> gaps = new TreeMap<>();
+    private long highestSeenId;
+
+    /**
+     * Constructs a new DatabaseCacheInvalidationBus.
+     *
+     * @param cacheInvalidationRepository the repository for the shared invalidation table
+     * @param properties                  the poll, gap and retention settings
+     * @param handlers                    the caches invalidations are delivered to
+     * @param meterRegistry               the registry the invalidations and their lag are recorded in
+     */
+    public DatabaseCacheInvalidationBus(CacheInvalidationRepository cacheInvalidationRepository,
+                                        CacheInvalidationProperties properties,
+                                        List<CacheInvalidationHandler> handlers,
+                                        MeterRegistry meterRegistry) {
+        super(handlers, meterRegistry);
+        this.cacheInvalidationRepository = cacheInvalidationRepository;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Starts polling after the invalidations that already exist, before any cache of this instance is filled.
+     */
+    @PostConstruct
+    public synchronized void start() {
+        highestSeenId = cacheInvalidationRepository.findMaxId();
+    }
+
+    /**
+     * {@inheritDoc}
+     * Inserted in the current transaction; a key already invalidated in that transaction is not inserted again.
+     */
+    @Override
+    public void publish(CacheRegion region, Collection<Long> keys) {
+        LocalDateTime now = LocalDateTime.now();
+        List<CacheInvalidationEntity> invalidations = new ArrayList<>();
+        for (Long key : new LinkedHashSet<>(keys)) {
+            if (firstInTransaction(region, key)) {
+                CacheInvalidationEntity invalidation = new CacheInvalidationEntity();
+                invalidation.setRegion(region);
+                invalidation.setEntryKey(key);
+                invalidation.setOrigin(origin);
+                invalidation.setCreatedAt(now);
+                invalidations.add(invalidation);
+            }
+        }
+        if (!invalidations.isEmpty()) {
+            cacheInvalidationRepository.saveAll(invalidations);
+        }
+    }
+
+    /**
+     * Applies the invalidations of the other instances committed since the last poll, on the configured interval.
+     * A failing poll is retried on the next one; whatever was read before the failure is still applied.
+     */
+    @Scheduled(fixedDelayString = "${persistence.cache-invalidation.poll-interval:PT1S}")
+    public synchronized void poll() {
+        Map<CacheRegion, Set<Long>> batch = new EnumMap<>(CacheRegion.class);
+        boolean missed = false;
+        try {
+            long now = System.nanoTime();
+            if (!gaps.isEmpty()) {
+                cacheInvalidationRepository.findAllByIdIn(new ArrayList<>(gaps.keySet())).forEach(invalidation -> {
+                    gaps.remove(invalidation.getId());
+                    collect(invalidation, batch);
+                });
+            }
+            List<CacheInvalidationDTO> invalidations;
+            do {
+                invalidations = cacheInvalidationRepository.findAfter(highestSeenId,
+                        PageRequest.of(0, properties.getBatchSize()));
+                for (CacheInvalidationDTO invalidation : invalidations) {
+                    missed |= !trackGap(invalidation.getId(), now);
+                    highestSeenId = invalidation.getId();
+                    collect(invalidation, batch);
+                }
+            } while (invalidations.size() == properties.getBatchSize());
+            missed |= expireGaps(now);
+        } catch (RuntimeException e) {
+            log.warn("Polling cache invalidations failed, retrying on the next poll: {}", e.getMessage());
+        } finally {
+            if (missed) {
+                log.warn("Cache invalidations may have been missed, invalidating all caches");
+                invalidateAll();
+            } else if (!batch.isEmpty()) {
+                dispatch(batch);
+            }
+        }
+    }
+
+    /**
+     * Prunes the invalidations older than the retention, on the same interval. Any instance may prune.
+     */
+    @Scheduled(fixedDelayString = "${persistence.cache-invalidation.retention:PT1H}",
+            initialDelayString = "${persistence.cache-invalidation.retention:PT1H}")
+    public void prune() {
+        try {
+            int pruned = cacheInvalidationRepository.deleteOlderThan(LocalDateTime.now().minus(properties.getRetention()));
+            log.debug("Pruned {} cache invalidations", pruned);
+        } catch (RuntimeException e) {
+            log.warn("Pruning cache invalidations failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Remembers the IDs between the highest seen one and the given one as gaps.
+     *
+     * @return false if the gap is too large to track
+     */
+    private boolean trackGap(long id, long now) {
+        long missing = id - highestSeenId - 1;
+        if (missing <= 0) {
+            return true;
+        }
+        if (gaps.size() + missing > properties.getBatchSize()) {
+            return false;
+        }
+        for (long gap = highestSeenId + 1; gap < id; gap++) {
+            gaps.put(gap, now);
+        }
+        return true;
+    }
+
+    /**
+     * Gives up on the gaps older than the gap timeout.
+     *
+     * @return whether any gap expired
+     */
+    private boolean expireGaps(long now) {
+        long timeout = properties.getGapTimeout().toNanos();
+        return gaps.values().removeIf(detectedAt -> now - detectedAt > timeout);
+    }
+
+    private void collect(CacheInvalidationDTO invalidation, Map<CacheRegion, Set<Long>> batch) {
+        if (origin.equals(invalidation.getOrigin())) {
+            return;
+        }
+        batch.computeIfAbsent(invalidation.getRegion(), region -> new HashSet<>()).add(invalidation.getEntryKey());
+        Timer.builder("cache.invalidation.lag")
+                .description("Time from writing an invalidation to reading it on another instance")
+                .register(meterRegistry)
+                .record(Duration.between(invalidation.getCreatedAt(), LocalDateTime.now()));
+    }
+
+    /**
+     * Records the key as invalidated in the current transaction.
+     *
+     * @return false if it already was
+     */
+    private boolean firstInTransaction(CacheRegion region, Long key) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return true;
+        }
+        @SuppressWarnings("unchecked")
+        Set<String> published = (Set<String>) TransactionSynchronizationManager.getResource(this);
+        if (published == null) {
+            published = new HashSet<>();
+            TransactionSynchronizationManager.bindResource(this, published);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(DatabaseCacheInvalidationBus.this);
+                }
+            });
+        }
+        return published.add(region + ":" + key);
+    }
+}
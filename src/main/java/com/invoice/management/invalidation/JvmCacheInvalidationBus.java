@@ -0,0 +1,104 @@
+package com.invoice.management.invalidation;
+
+import com.invoice.management.constant.CacheRegion;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Cache invalidation bus between the application contexts running in one JVM, so several instances can be
+ * tested without a shared database table. Committed invalidations are collected, with duplicate keys removed,
+ * and flushed to every other context on the poll interval.
+ * Registered only with {@code persistence.cache-invalidation.bus=jvm}.
+ */
+@Component
+@ConditionalOnProperty(prefix = "persistence.cache-invalidation", name = "bus", havingValue = "jvm")
+public class JvmCacheInvalidationBus extends AbstractCacheInvalidationBus {
+
+    private static final Set<JvmCacheInvalidationBus> PEERS = ConcurrentHashMap.newKeySet();
+
+    private final Map<CacheRegion, Set<Long>> pending = new EnumMap<>(CacheRegion.class);
+
+    /**
+     * Constructs a new JvmCacheInvalidationBus.
+     *
+     * @param handlers      the caches invalidations are delivered to
+     * @param meterRegistry the registry the received invalidations are counted in
+     */
+    public JvmCacheInvalidationBus(List<CacheInvalidationHandler> handlers, MeterRegistry meterRegistry) {
+        super(handlers, meterRegistry);
+    }
+
+    /**
+     * Joins the other contexts of the JVM.
+     */
+    @PostConstruct
+    public void join() {
+        PEERS.add(this);
+    }
+
+    /**
+     * Flushes what is pending and leaves the other contexts.
+     */
+    @PreDestroy
+    public void leave() {
+        flush();
+        PEERS.remove(this);
+    }
+
+    /**
+     * {@inheritDoc}
+     * Collected after the commit of the current transaction, or right away outside of one.
+     */
+    @Override
+    public void publish(CacheRegion region, Collection<Long> keys) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    collect(region, keys);
+                }
+            });
+        } else {
+            collect(region, keys);
+        }
+    }
+
+    /**
+     * Delivers the collected invalidations to the other contexts on the configured interval.
+     */
+    @Scheduled(fixedDelayString = "${persistence.cache-invalidation.poll-interval:PT1S}")
+    public void flush() {
+        Map<CacheRegion, Set<Long>> batch;
+        synchronized (pending) {
+            if (pending.isEmpty()) {
+                return;
+            }
+            batch = new EnumMap<>(pending);
+            pending.clear();
+        }
+        for (JvmCacheInvalidationBus peer : PEERS) {
+            if (peer != this) {
+                peer.receive(batch);
+            }
+        }
+    }
+
+    private void collect(CacheRegion region, Collection<Long> keys) {
+        synchronized (pending) {
+            pending.computeIfAbsent(region, r -> new HashSet<>()).addAll(keys);
+        }
+    }
+
+    private synchronized void receive(Map<CacheRegion, Set<Long>> batch) {
+        dispatch(batch);
+    }
+}
@@ -0,0 +1,51 @@
+package com.invoice.management.invalidation;
+
+import com.invoice.management.constant.CacheRegion;
+import com.invoice.management.entity.PersonEntity;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+
+/**
+ * Evicts persons invalidated by other instances from the "person" second-level cache region.
+ * Evicting is a no-op while the second-level cache is disabled.
+ */
+@Component
+public class PersonCacheInvalidationHandler implements CacheInvalidationHandler {
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    /**
+     * Constructs a new PersonCacheInvalidationHandler.
+     *
+     * @param entityManagerFactory the factory owning the second-level cache
+     */
+    public PersonCacheInvalidationHandler(EntityManagerFactory entityManagerFactory) {
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CacheRegion region() {
+        return CacheRegion.PERSON;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void invalidate(Set<Long> keys) {
+        keys.forEach(id -> entityManagerFactory.getCache().evict(PersonEntity.class, id));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void invalidateAll() {
+        entityManagerFactory.getCache().evict(PersonEntity.class);
+    }
+}
@@ -0,0 +1,49 @@
+package com.invoice.management.invalidation;
+
+import com.invoice.management.constant.CacheRegion;
+import com.invoice.management.service.RevenueRollupService;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+
+/**
+ * Recomputes the sellers in the revenue rollup whose invoices other instances changed.
+ */
+@Component
+public class SellerRevenueInvalidationHandler implements CacheInvalidationHandler {
+
+    private final RevenueRollupService revenueRollupService;
+
+    /**
+     * Constructs a new SellerRevenueInvalidationHandler.
+     *
+     * @param revenueRollupService the service owning the rollup
+     */
+    public SellerRevenueInvalidationHandler(RevenueRollupService revenueRollupService) {
+        this.revenueRollupService = revenueRollupService;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CacheRegion region() {
+        return CacheRegion.SELLER_REVENUE;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void invalidate(Set<Long> keys) {
+        revenueRollupService.invalidateSellers(keys);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void invalidateAll() {
+        revenueRollupService.discard();
+    }
+}
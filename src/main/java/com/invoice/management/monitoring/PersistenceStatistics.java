@@ -0,0 +1,252 @@
+package com.invoice.management.monitoring;
+
+import com.invoice.management.dto.PersistenceStatisticsDTO;
+import com.invoice.management.exception.StatisticsSnapshotNotFoundException;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.*;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Reads the Hibernate statistics of the application SessionFactory and groups them per entity,
+ * per query and per second-level cache region.
+ * Snapshots of the counters can be stored and later diffed against the current values,
+ * which shows what a specific workload did without resetting the global counters.
+ *
+ * <p>Every counter is a cumulative long, except the gauges listed in {@code GAUGES}, which are reported
+ * as-is in a diff. Hit ratios are derived from each {@code *HitCount}/{@code *MissCount} pair
+ * after the diff, so they describe the diffed interval.</p>
+ *
+ * <p>Hibernate only collects the counters while {@code persistence.statistics.enabled} is set;
+ * otherwise every counter reads zero.</p>
+ */
+@Component
+public class PersistenceStatistics {
+
+    private static final int MAX_SNAPSHOTS = 16;
+    private static final Set<String> GAUGES = Set.of("executionMaxTime", "executionMinTime", "elementCountInMemory");
+
+    private final Statistics statistics;
+    private final AtomicLong snapshotIds = new AtomicLong();
+    private final Map<Long, Counters> snapshots = Collections.synchronizedMap(new LinkedHashMap<>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, Counters> eldest) {
+            return size() > MAX_SNAPSHOTS;
+        }
+    });
+
+    /**
+     * Constructs a new PersistenceStatistics.
+     *
+     * @param entityManagerFactory the application EntityManagerFactory, unwrapped to its SessionFactory
+     */
+    public PersistenceStatistics(EntityManagerFactory entityManagerFactory) {
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    /**
+     * Returns the counters accumulated since the last reset.
+     *
+     * @return the current statistics
+     */
+    public PersistenceStatisticsDTO current() {
+        return toDTO(null, statistics.getStart(), read());
+    }
+
+    /**
+     * Stores the current counters as a snapshot. Only the most recent snapshots are kept.
+     *
+     * @return the current statistics, carrying the ID of the new snapshot
+     */
+    public PersistenceStatisticsDTO snapshot() {
+        Counters counters = read();
+        long snapshotId = snapshotIds.incrementAndGet();
+        snapshots.put(snapshotId, counters);
+        return toDTO(snapshotId, statistics.getStart(), counters);
+    }
+
+    /**
+     * Returns how much each counter changed since the given snapshot.
+     *
+     * @param snapshotId the ID of the snapshot to compare against
+     * @return the difference between now and the snapshot
+     * @throws StatisticsSnapshotNotFoundException if the snapshot does not exist or was evicted
+     */
+    public PersistenceStatisticsDTO diff(long snapshotId) {
+        Counters snapshot = snapshots.get(snapshotId);
+        if (snapshot == null) {
+            throw new StatisticsSnapshotNotFoundException("Statistics snapshot with id " + snapshotId + " not found");
+        }
+        Counters now = read();
+        return toDTO(snapshotId, snapshot.capturedAt(), new Counters(now.capturedAt(),
+                subtract(now.session(), snapshot.session()),
+                subtractGroups(now.entities(), snapshot.entities(), false),
+                subtractGroups(now.queries(), snapshot.queries(), true),
+                subtractGroups(now.cacheRegions(), snapshot.cacheRegions(), false)));
+    }
+
+    /**
+     * Clears the Hibernate statistics and drops all snapshots, which would no longer be comparable.
+     */
+    public void reset() {
+        statistics.clear();
+        snapshots.clear();
+    }
+
+    private Counters read() {
+        Map<String, Long> session = new LinkedHashMap<>();
+        session.put("sessionOpenCount", statistics.getSessionOpenCount());
+        session.put("sessionCloseCount", statistics.getSessionCloseCount());
+        session.put("transactionCount", statistics.getTransactionCount());
+        session.put("connectCount", statistics.getConnectCount());
+        session.put("prepareStatementCount", statistics.getPrepareStatementCount());
+        session.put("flushCount", statistics.getFlushCount());
+        session.put("entityLoadCount", statistics.getEntityLoadCount());
+        session.put("entityFetchCount", statistics.getEntityFetchCount());
+        session.put("entityInsertCount", statistics.getEntityInsertCount());
+        session.put("entityUpdateCount", statistics.getEntityUpdateCount());
+        session.put("entityDeleteCount", statistics.getEntityDeleteCount());
+        session.put("collectionLoadCount", statistics.getCollectionLoadCount());
+        session.put("collectionFetchCount", statistics.getCollectionFetchCount());
+        session.put("queryExecutionCount", statistics.getQueryExecutionCount());
+        session.put("queryPlanCacheHitCount", statistics.getQueryPlanCacheHitCount());
+        session.put("queryPlanCacheMissCount", statistics.getQueryPlanCacheMissCount());
+        session.put("queryCacheHitCount", statistics.getQueryCacheHitCount());
+        session.put("queryCacheMissCount", statistics.getQueryCacheMissCount());
+        session.put("secondLevelCacheHitCount", statistics.getSecondLevelCacheHitCount());
+        session.put("secondLevelCacheMissCount", statistics.getSecondLevelCacheMissCount());
+        session.put("secondLevelCachePutCount", statistics.getSecondLevelCachePutCount());
+        session.put("optimisticFailureCount", statistics.getOptimisticFailureCount());
+
+        Map<String, Map<String, Long>> entities = new TreeMap<>();
+        for (String entityName : statistics.getEntityNames()) {
+            EntityStatistics entity = statistics.getEntityStatistics(entityName);
+            Map<String, Long> counters = new LinkedHashMap<>();
+            counters.put("loadCount", entity.getLoadCount());
+            counters.put("fetchCount", entity.getFetchCount());
+            counters.put("insertCount", entity.getInsertCount());
+            counters.put("updateCount", entity.getUpdateCount());
+            counters.put("deleteCount", entity.getDeleteCount());
+            counters.put("optimisticFailureCount", entity.getOptimisticFailureCount());
+            counters.put("collectionLoadCount", 0L);
+            counters.put("collectionFetchCount", 0L);
+            if (entity.getCacheRegionName() != null) {
+                counters.put("cacheHitCount", entity.getCacheHitCount());
+                counters.put("cacheMissCount", entity.getCacheMissCount());
+                counters.put("cachePutCount", entity.getCachePutCount());
+            }
+            entities.put(simpleName(entityName), counters);
+        }
+        for (String role : statistics.getCollectionRoleNames()) {
+            Map<String, Long> owner = entities.get(simpleName(role.substring(0, role.lastIndexOf('.'))));
+            if (owner != null) {
+                CollectionStatistics collection = statistics.getCollectionStatistics(role);
+                owner.merge("collectionLoadCount", collection.getLoadCount(), Long::sum);
+                owner.merge("collectionFetchCount", collection.getFetchCount(), Long::sum);
+            }
+        }
+
+        Map<String, Map<String, Long>> queries = new TreeMap<>();
+        for (String query : statistics.getQueries()) {
+            QueryStatistics queryStatistics = statistics.getQueryStatistics(query);
+            Map<String, Long> counters = new LinkedHashMap<>();
+            counters.put("executionCount", queryStatistics.getExecutionCount());
+            counters.put("executionRowCount", queryStatistics.getExecutionRowCount());
+            counters.put("executionTotalTime", queryStatistics.getExecutionTotalTime());
+            counters.put("executionMaxTime", queryStatistics.getExecutionMaxTime());
+            counters.put("planCacheHitCount", queryStatistics.getPlanCacheHitCount());
+            counters.put("planCacheMissCount", queryStatistics.getPlanCacheMissCount());
+            counters.put("cacheHitCount", queryStatistics.getCacheHitCount());
+            counters.put("cacheMissCount", queryStatistics.getCacheMissCount());
+            queries.put(query, counters);
+        }
+
+        Map<String, Map<String, Long>> cacheRegions = new TreeMap<>();
+        for (String region : statistics.getSecondLevelCacheRegionNames()) {
+            CacheRegionStatistics regionStatistics = statistics.getDomainDataRegionStatistics(region);
+            if (regionStatistics == null) {
+                continue;
+            }
+            Map<String, Long> counters = new LinkedHashMap<>();
+            counters.put("cacheHitCount", regionStatistics.getHitCount());
+            counters.put("cacheMissCount", regionStatistics.getMissCount());
+            counters.put("cachePutCount", regionStatistics.getPutCount());
+            counters.put("elementCountInMemory", regionStatistics.getElementCountInMemory());
+            cacheRegions.put(region, counters);
+        }
+
+        return new Counters(Instant.now(), session, entities, queries, cacheRegions);
+    }
+
+    private static PersistenceStatisticsDTO toDTO(Long snapshotId, Instant since, Counters counters) {
+        return new PersistenceStatisticsDTO(snapshotId, since, counters.capturedAt(),
+                withRatios(counters.session()),
+                withGroupRatios(counters.entities()),
+                withGroupRatios(counters.queries()),
+                withGroupRatios(counters.cacheRegions()));
+    }
+
+    private static Map<String, Map<String, Number>> withGroupRatios(Map<String, Map<String, Long>> groups) {
+        Map<String, Map<String, Number>> result = new LinkedHashMap<>();
+        groups.forEach((name, counters) -> result.put(name, withRatios(counters)));
+        return result;
+    }
+
+    /**
+     * Adds a {@code *HitRatio} entry for every {@code *HitCount}/{@code *MissCount} pair.
+     */
+    private static Map<String, Number> withRatios(Map<String, Long> counters) {
+        Map<String, Number> result = new LinkedHashMap<>(counters);
+        counters.forEach((key, hits) -> {
+            if (key.endsWith("HitCount")) {
+                String prefix = key.substring(0, key.length() - "HitCount".length());
+                Long misses = counters.get(prefix + "MissCount");
+                if (misses != null) {
+                    result.put(prefix + "HitRatio", hits + misses == 0 ? 0.0 : (double) hits / (hits + misses));
+                }
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Subtracts group by group; with {@code changedOnly}, groups without any change are left out,
+     * which keeps the query section of a diff limited to the queries the workload actually ran.
+     */
+    private static Map<String, Map<String, Long>> subtractGroups(Map<String, Map<String, Long>> now,
+                                                                 Map<String, Map<String, Long>> before,
+                                                                 boolean changedOnly) {
+        Map<String, Map<String, Long>> result = new TreeMap<>();
+        now.forEach((name, counters) -> {
+            Map<String, Long> difference = subtract(counters, before.getOrDefault(name, Map.of()));
+            if (!changedOnly || difference.entrySet().stream().anyMatch(entry -> !GAUGES.contains(entry.getKey()) && entry.getValue() != 0)) {
+                result.put(name, difference);
+            }
+        });
+        return result;
+    }
+
+    private static Map<String, Long> subtract(Map<String, Long> now, Map<String, Long> before) {
+        Map<String, Long> result = new LinkedHashMap<>();
+        now.forEach((key, value) -> result.put(key, GAUGES.contains(key) ? value : value - before.getOrDefault(key, 0L)));
+        return result;
+    }
+
+    private static String simpleName(String className) {
+        return className.substring(className.lastIndexOf('.') + 1);
+    }
+
+    /**
+     * Raw counters read at one point in time.
+     */
+    private record Counters(Instant capturedAt,
+                            Map<String, Long> session,
+                            Map<String, Map<String, Long>> entities,
+                            Map<String, Map<String, Long>> queries,
+                            Map<String, Map<String, Long>> cacheRegions) {
+    }
+}
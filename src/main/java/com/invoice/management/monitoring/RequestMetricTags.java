@@ -0,0 +1,78 @@
+package com.invoice.management.monitoring;
+
+import io.micrometer.core.instrument.Tags;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.List;
+import java.util.StringJoiner;
+
+/**
+ * Utility class for deriving metric tags from the HTTP request being served.
+ * Tags are limited to the matched endpoint pattern and the names of the known filter
+ * parameters, so their cardinality stays bounded.
+ */
+public class RequestMetricTags {
+
+    /**
+     * Tag value used when a metric is recorded outside an HTTP request or without filters.
+     */
+    public static final String NONE = "none";
+
+    /**
+     * Filter parameters understood by {@code FilterUtils}.
+     */
+    private static final List<String> FILTER_KEYS = List.of(
+            "name", "identificationNumber", "buyerID", "sellerID", "product", "minPrice", "maxPrice", "issuedFrom", "issuedTo"
+    );
+
+    /**
+     * Returns the endpoint and filter tags of the current request.
+     *
+     * @return tags with the keys "endpoint" and "filters"
+     */
+    public static Tags current() {
+        HttpServletRequest request = currentRequest();
+        if (request == null) {
+            return Tags.of("endpoint", NONE, "filters", NONE);
+        }
+        return of(request);
+    }
+
+    /**
+     * Returns the endpoint and filter tags of the given request, for callers outside the DispatcherServlet
+     * such as servlet filters, where the request is not bound to the current thread.
+     *
+     * @param request the request being served
+     * @return tags with the keys "endpoint" and "filters"
+     */
+    public static Tags of(HttpServletRequest request) {
+        return Tags.of("endpoint", endpoint(request), "filters", filters(request));
+    }
+
+    private static String endpoint(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern != null ? request.getMethod() + " " + pattern : NONE;
+    }
+
+    private static String filters(HttpServletRequest request) {
+        StringJoiner filters = new StringJoiner(",");
+        for (String key : FILTER_KEYS) {
+            String value = request.getParameter(key);
+            if (value != null && !value.isEmpty()) {
+                filters.add(key);
+            }
+        }
+        return filters.length() > 0 ? filters.toString() : NONE;
+    }
+
+    private static HttpServletRequest currentRequest() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        return attributes instanceof ServletRequestAttributes servletAttributes
+                ? servletAttributes.getRequest()
+                : null;
+    }
+}
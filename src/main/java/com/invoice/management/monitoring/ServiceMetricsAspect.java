@@ -0,0 +1,141 @@
+package com.invoice.management.monitoring;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.JoinPoint;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Optional;
+
+/**
+ * Aspect that records timers for the public service operations, the mapper invocations and the repository
+ * calls, and the number of rows returned by repository calls.
+ * Services, mappers and repositories are tagged with the name of their application interface, and all meters
+ * with the endpoint and the filter keys of the current request.
+ */
+@Aspect
+@Component
+public class ServiceMetricsAspect {
+
+    private static final String SERVICE_PACKAGE = "com.invoice.management.service";
+    private static final String REPOSITORY_PACKAGE = "com.invoice.management.entity.repository";
+    private static final String MAPPER_PACKAGE = "com.invoice.management.dto.mapper";
+
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Constructs a new ServiceMetricsAspect.
+     *
+     * @param meterRegistry the registry the meters are recorded in
+     */
+    public ServiceMetricsAspect(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Times every operation declared by InvoiceService and PersonService.
+     *
+     * @param joinPoint the intercepted service call
+     * @return the result of the service call
+     * @throws Throwable if the service call fails
+     */
+    @Around("execution(* com.invoice.management.service.InvoiceService.*(..))"
+            + " || execution(* com.invoice.management.service.PersonService.*(..))")
+    public Object timeServiceOperation(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time("service.operation", joinPoint, Tags.of(
+                "service", interfaceName(joinPoint, SERVICE_PACKAGE),
+                "operation", joinPoint.getSignature().getName()));
+    }
+
+    /**
+     * Times every mapper invocation.
+     *
+     * @param joinPoint the intercepted mapper call
+     * @return the result of the mapper call
+     * @throws Throwable if the mapper call fails
+     */
+    @Around("execution(* com.invoice.management.dto.mapper.*Mapper.*(..))")
+    public Object timeMapperInvocation(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time("mapper.invocation", joinPoint, Tags.of(
+                "mapper", interfaceName(joinPoint, MAPPER_PACKAGE),
+                "method", joinPoint.getSignature().getName()));
+    }
+
+    /**
+     * Times every repository call and records how many rows it returned. A repository method returning
+     * a stream is timed until the stream is returned, not until it is consumed.
+     *
+     * @param joinPoint the intercepted repository call
+     * @return the result of the repository call
+     * @throws Throwable if the repository call fails
+     */
+    @Around("execution(* com.invoice.management.entity.repository.*Repository.*(..))")
+    public Object timeRepositoryInvocation(ProceedingJoinPoint joinPoint) throws Throwable {
+        String repository = interfaceName(joinPoint, REPOSITORY_PACKAGE);
+        String method = joinPoint.getSignature().getName();
+        Object result = time("repository.invocation", joinPoint, Tags.of("repository", repository, "method", method));
+        long rows = rowCount(result);
+        if (rows >= 0) {
+            DistributionSummary.builder("repository.rows.fetched")
+                    .description("Rows returned by repository calls")
+                    .tags(RequestMetricTags.current())
+                    .tag("repository", repository)
+                    .tag("method", method)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry)
+                    .record(rows);
+        }
+        return result;
+    }
+
+    private Object time(String name, ProceedingJoinPoint joinPoint, Tags tags) throws Throwable {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "success";
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            outcome = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            sample.stop(Timer.builder(name)
+                    .tags(tags)
+                    .tags(RequestMetricTags.current())
+                    .tag("outcome", outcome)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry));
+        }
+    }
+
+    /**
+     * Resolves the application interface behind the intercepted bean, since inherited methods such as findAll
+     * are declared on the Spring Data interfaces, and mapper and service methods on their implementations.
+     */
+    private static String interfaceName(JoinPoint joinPoint, String packageName) {
+        for (Class<?> type : joinPoint.getTarget().getClass().getInterfaces()) {
+            if (type.getPackageName().equals(packageName)) {
+                return type.getSimpleName();
+            }
+        }
+        return joinPoint.getSignature().getDeclaringType().getSimpleName();
+    }
+
+    private static long rowCount(Object result) {
+        if (result instanceof Slice<?> slice) {
+            return slice.getNumberOfElements();
+        }
+        if (result instanceof Collection<?> collection) {
+            return collection.size();
+        }
+        if (result instanceof Optional<?> optional) {
+            return optional.isPresent() ? 1 : 0;
+        }
+        return -1;
+    }
+}
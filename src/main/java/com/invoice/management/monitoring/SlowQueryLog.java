@@ -0,0 +1,361 @@
+package com.invoice.management.monitoring;
+
+import com.invoice.management.dto.SlowQueryDTO;
+import lombok.extern.slf4j.Slf4j;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.MethodExecutionContext;
+import net.ttddyy.dsproxy.listener.MethodExecutionListener;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import org.springframework.stereotype.Component;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * JDBC-level slow-query log fed by the datasource proxy.
+ * Statements slower than the configured threshold are always logged, a sample of the rest is logged too,
+ * each with its row count, bind-parameter types and the service method that issued it.
+ * Every statement is also folded into a rolling top-N of normalized SQL fingerprints
+ * covering the current and the previous window.
+ *
+ * <p>The row count of a SELECT is only known once its ResultSet is closed, so executions stay pending
+ * per thread until then; other statements are completed right away with their update count.</p>
+ */
+@Slf4j
+@Component
+public class SlowQueryLog implements QueryExecutionListener, MethodExecutionListener {
+
+    private static final String APPLICATION_PACKAGE = "com.invoice.management.";
+    private static final String SERVICE_PACKAGE = APPLICATION_PACKAGE + "service.";
+    private static final String MONITORING_PACKAGE = APPLICATION_PACKAGE + "monitoring.";
+    private static final int MAX_PENDING_PER_THREAD = 32;
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern IN_LIST = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)+\\s*\\)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private static final StackWalker STACK_WALKER = StackWalker.getInstance();
+
+    private final SlowQueryProperties properties;
+    private final ThreadLocal<ThreadState> threadState = ThreadLocal.withInitial(ThreadState::new);
+    private final Map<String, String> fingerprints = new ConcurrentHashMap<>();
+
+    private volatile Window current = new Window(System.nanoTime());
+    private volatile Window previous = new Window(System.nanoTime());
+
+    /**
+     * Constructs a new SlowQueryLog.
+     *
+     * @param properties the thresholds and sizes of the log
+     */
+    public SlowQueryLog(SlowQueryProperties properties) {
+        this.properties = properties;
+    }
+
+    /**
+     * Returns the slowest statement fingerprints of the current and the previous window.
+     *
+     * @param limit the maximum number of fingerprints; the configured top size if null
+     * @return the fingerprints ordered by their slowest execution, slowest first
+     */
+    public List<SlowQueryDTO> slowest(Integer limit) {
+        Map<String, SlowQueryDTO> merged = new HashMap<>();
+        for (Window window : List.of(previous, current)) {
+            window.stats.forEach((fingerprint, stats) -> merged.merge(fingerprint, stats.toDTO(fingerprint), SlowQueryLog::merge));
+        }
+        return merged.values().stream()
+                .sorted(Comparator.comparingDouble(SlowQueryDTO::getMaxMillis).reversed())
+                .limit(limit != null ? limit : properties.getTopSize())
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Discards both windows of the top-N.
+     */
+    public synchronized void reset() {
+        long now = System.nanoTime();
+        previous = new Window(now);
+        current = new Window(now);
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        threadState.get().startNanos = System.nanoTime();
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        ThreadState state = threadState.get();
+        Execution execution = new Execution(queryInfoList, System.nanoTime() - state.startNanos, execInfo.getBatchSize());
+
+        if (execInfo.getResult() instanceof ResultSet && execInfo.getStatement() != null) {
+            if (state.pending.size() >= MAX_PENDING_PER_THREAD) {
+                // ResultSets that were never closed; report them without a row count rather than leak them
+                state.pending.values().forEach(this::complete);
+                state.pending.clear();
+            }
+            state.pending.put(execInfo.getStatement(), execution);
+        } else {
+            execution.rows = updateCount(execInfo.getResult());
+            complete(execution);
+        }
+    }
+
+    @Override
+    public void beforeMethod(MethodExecutionContext executionContext) {
+        if (executionContext.getTarget() instanceof ResultSet resultSet
+                && "close".equals(executionContext.getMethod().getName())) {
+            ThreadState state = threadState.get();
+            Execution execution = state.pending.remove(statementOf(resultSet));
+            if (state.lastResultSet == resultSet) {
+                state.lastResultSet = null;
+                state.lastExecution = null;
+            }
+            if (execution != null) {
+                complete(execution);
+            }
+        }
+    }
+
+    @Override
+    public void afterMethod(MethodExecutionContext executionContext) {
+        if (executionContext.getTarget() instanceof ResultSet resultSet
+                && "next".equals(executionContext.getMethod().getName())
+                && Boolean.TRUE.equals(executionContext.getResult())) {
+            ThreadState state = threadState.get();
+            if (state.lastResultSet != resultSet) {
+                state.lastResultSet = resultSet;
+                state.lastExecution = state.pending.get(statementOf(resultSet));
+            }
+            if (state.lastExecution != null) {
+                state.lastExecution.rows++;
+            }
+        }
+    }
+
+    private void complete(Execution execution) {
+        boolean slow = execution.elapsedNanos >= properties.getThreshold().toNanos();
+        boolean sampled = !slow && properties.getSampleRate() > 0
+                && ThreadLocalRandom.current().nextDouble() < properties.getSampleRate();
+
+        String fingerprint = fingerprint(execution.sql);
+        FingerprintStats stats = window().statsFor(fingerprint, properties.getMaxFingerprints());
+        String origin = slow || sampled || (stats != null && stats.isNewMax(execution.elapsedNanos)) ? origin() : null;
+
+        if (stats != null) {
+            stats.record(execution, origin);
+        }
+        if (slow) {
+            log.warn("Slow query {} ms, {} rows, origin {}, parameters {}: {}", millis(execution.elapsedNanos),
+                    execution.rows, origin, execution.parameterShape(), execution.sql);
+        } else if (sampled) {
+            log.info("Sampled query {} ms, {} rows, origin {}, parameters {}: {}", millis(execution.elapsedNanos),
+                    execution.rows, origin, execution.parameterShape(), execution.sql);
+        }
+    }
+
+    private Window window() {
+        Window window = current;
+        long now = System.nanoTime();
+        long windowNanos = properties.getWindow().toNanos();
+        if (now - window.startNanos < windowNanos) {
+            return window;
+        }
+        synchronized (this) {
+            if (current == window) {
+                previous = now - window.startNanos < 2 * windowNanos ? window : new Window(now);
+                current = new Window(now);
+            }
+            return current;
+        }
+    }
+
+    private String fingerprint(String sql) {
+        String fingerprint = fingerprints.get(sql);
+        if (fingerprint == null) {
+            String normalized = STRING_LITERAL.matcher(sql).replaceAll("?");
+            normalized = NUMBER_LITERAL.matcher(normalized).replaceAll("?");
+            normalized = IN_LIST.matcher(normalized).replaceAll("(?...)");
+            fingerprint = WHITESPACE.matcher(normalized).replaceAll(" ").trim();
+            if (fingerprints.size() < properties.getMaxFingerprints() * 4) {
+                fingerprints.put(sql, fingerprint);
+            }
+        }
+        return fingerprint;
+    }
+
+    /**
+     * Resolves the outermost service method on the stack, which is the operation the controller called.
+     * Queries issued outside the service layer, such as lazy loads during serialization,
+     * are attributed to the innermost application frame instead.
+     */
+    private static String origin() {
+        return STACK_WALKER.walk(frames -> {
+            StackWalker.StackFrame service = null;
+            StackWalker.StackFrame application = null;
+            for (Iterator<StackWalker.StackFrame> it = frames.iterator(); it.hasNext(); ) {
+                StackWalker.StackFrame frame = it.next();
+                String className = frame.getClassName();
+                if (!className.startsWith(APPLICATION_PACKAGE) || className.startsWith(MONITORING_PACKAGE)
+                        || className.contains("$") || frame.getMethodName().startsWith("lambda$")) {
+                    continue;
+                }
+                if (className.startsWith(SERVICE_PACKAGE)) {
+                    service = frame;
+                } else if (application == null) {
+                    application = frame;
+                }
+            }
+            StackWalker.StackFrame origin = service != null ? service : application;
+            return origin == null ? "none"
+                    : origin.getClassName().substring(origin.getClassName().lastIndexOf('.') + 1) + "." + origin.getMethodName();
+        });
+    }
+
+    private static Statement statementOf(ResultSet resultSet) {
+        try {
+            return resultSet.getStatement();
+        } catch (SQLException e) {
+            return null;
+        }
+    }
+
+    private static long updateCount(Object result) {
+        if (result instanceof Number number) {
+            return number.longValue();
+        }
+        if (result instanceof int[] counts) {
+            return Arrays.stream(counts).filter(count -> count > 0).asLongStream().sum();
+        }
+        if (result instanceof long[] counts) {
+            return Arrays.stream(counts).filter(count -> count > 0).sum();
+        }
+        return 0;
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    private static SlowQueryDTO merge(SlowQueryDTO older, SlowQueryDTO newer) {
+        long executions = older.getExecutions() + newer.getExecutions();
+        double average = (older.getAverageMillis() * older.getExecutions()
+                + newer.getAverageMillis() * newer.getExecutions()) / executions;
+        SlowQueryDTO slowest = newer.getMaxMillis() >= older.getMaxMillis() ? newer : older;
+        return new SlowQueryDTO(slowest.getFingerprint(), executions, slowest.getMaxMillis(), average,
+                slowest.getRows(), slowest.getParameterShape(), slowest.getOrigin());
+    }
+
+    /**
+     * Per-thread bookkeeping: the start of the running statement and the executions whose ResultSet is still open.
+     */
+    private static class ThreadState {
+        private long startNanos;
+        private final Map<Statement, Execution> pending = new IdentityHashMap<>();
+        private ResultSet lastResultSet;
+        private Execution lastExecution;
+    }
+
+    /**
+     * A single statement execution.
+     */
+    private static class Execution {
+        private final String sql;
+        private final long elapsedNanos;
+        private final int batchSize;
+        private final List<?> firstParameters;
+        private long rows;
+
+        Execution(List<QueryInfo> queryInfoList, long elapsedNanos, int batchSize) {
+            this.sql = queryInfoList.size() == 1 ? queryInfoList.get(0).getQuery()
+                    : queryInfoList.stream().map(QueryInfo::getQuery).collect(Collectors.joining("; "));
+            this.elapsedNanos = elapsedNanos;
+            this.batchSize = batchSize;
+            List<List<ParameterSetOperation>> parameters = queryInfoList.isEmpty() ? List.of()
+                    : queryInfoList.get(0).getParametersList();
+            this.firstParameters = parameters.isEmpty() ? List.of() : parameters.get(0);
+        }
+
+        /**
+         * The types of the bound parameters, never their values, e.g. {@code (Long, String) x 20}.
+         */
+        String parameterShape() {
+            String shape = firstParameters.stream()
+                    .map(operation -> {
+                        ParameterSetOperation parameter = (ParameterSetOperation) operation;
+                        Object[] args = parameter.getArgs();
+                        return "setNull".equals(parameter.getMethod().getName()) || args.length < 2 || args[1] == null
+                                ? "null" : args[1].getClass().getSimpleName();
+                    })
+                    .collect(Collectors.joining(", ", "(", ")"));
+            return batchSize > 0 ? shape + " x " + batchSize : shape;
+        }
+    }
+
+    /**
+     * Aggregated executions of one fingerprint within one window.
+     */
+    private static class FingerprintStats {
+        private final LongAdder executions = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private volatile long maxNanos;
+        private long maxRows;
+        private String maxParameterShape;
+        private String maxOrigin;
+
+        boolean isNewMax(long elapsedNanos) {
+            return elapsedNanos > maxNanos;
+        }
+
+        void record(Execution execution, String origin) {
+            executions.increment();
+            totalNanos.add(execution.elapsedNanos);
+            if (isNewMax(execution.elapsedNanos)) {
+                synchronized (this) {
+                    if (isNewMax(execution.elapsedNanos)) {
+                        maxRows = execution.rows;
+                        maxParameterShape = execution.parameterShape();
+                        maxOrigin = origin;
+                        maxNanos = execution.elapsedNanos;
+                    }
+                }
+            }
+        }
+
+        synchronized SlowQueryDTO toDTO(String fingerprint) {
+            long count = executions.sum();
+            return new SlowQueryDTO(fingerprint, count, millis(maxNanos),
+                    count == 0 ? 0 : millis(totalNanos.sum()) / count, maxRows, maxParameterShape, maxOrigin);
+        }
+    }
+
+    /**
+     * One window of the rolling top-N.
+     */
+    private static class Window {
+        private final long startNanos;
+        private final Map<String, FingerprintStats> stats = new ConcurrentHashMap<>();
+
+        Window(long startNanos) {
+            this.startNanos = startNanos;
+        }
+
+        FingerprintStats statsFor(String fingerprint, int maxFingerprints) {
+            FingerprintStats existing = stats.get(fingerprint);
+            if (existing != null || stats.size() >= maxFingerprints) {
+                return existing;
+            }
+            return stats.computeIfAbsent(fingerprint, key -> new FingerprintStats());
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.invoice.management.monitoring;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuration of the slow-query log, bound from {@code persistence.slow-query.*}.
+ */
+@Data
+@ConfigurationProperties(prefix = "persistence.slow-query")
+public class SlowQueryProperties {
+    /**
+     * Whether the DataSource is wrapped with the slow-query interceptor at all.
+     * Off by default, since the proxy intercepts every JDBC call including each {@code ResultSet.next()}.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Statements taking at least this long are always logged.
+     */
+    private Duration threshold = Duration.ofMillis(100);
+
+    /**
+     * Fraction (0 to 1) of the faster statements that is logged as well.
+     */
+    private double sampleRate = 0.01;
+
+    /**
+     * Number of fingerprints returned by the admin endpoint by default.
+     */
+    private int topSize = 20;
+
+    /**
+     * Length of one window of the rolling top-N; the previous window is kept alongside the current one.
+     */
+    private Duration window = Duration.ofMinutes(15);
+
+    /**
+     * Upper bound on the number of distinct fingerprints tracked per window.
+     */
+    private int maxFingerprints = 500;
+}
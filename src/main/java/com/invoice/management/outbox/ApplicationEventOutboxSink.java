@@ -0,0 +1,43 @@
+package com.invoice.management.outbox;
+
+import com.invoice.management.dto.OutboxEventDTO;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Sink publishing every relayed event as an application event,
+ * so in-process consumers subscribe with {@code @EventListener} on {@link OutboxEventDTO}.
+ * Listeners run on the relay thread; a listener that throws fails the batch.
+ */
+@Component
+public class ApplicationEventOutboxSink implements OutboxSink {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Constructs a new ApplicationEventOutboxSink.
+     *
+     * @param eventPublisher the publisher the events are handed to
+     */
+    public ApplicationEventOutboxSink(ApplicationEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String name() {
+        return "application-events";
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void deliver(List<OutboxEventDTO> events) {
+        events.forEach(eventPublisher::publishEvent);
+    }
+}
@@ -0,0 +1,75 @@
+package com.invoice.management.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.invoice.management.configuration.OutboxProperties;
+import com.invoice.management.dto.OutboxEventDTO;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static java.nio.file.StandardOpenOption.*;
+
+/**
+ * Sink appending every relayed event as one JSON line to a file.
+ * A batch is written with a single buffered write and forced to disk before it counts as delivered.
+ * Registered only with {@code persistence.outbox.file.enabled=true}.
+ */
+@Component
+@ConditionalOnProperty(prefix = "persistence.outbox.file", name = "enabled", havingValue = "true")
+public class FileOutboxSink implements OutboxSink {
+
+    private final Path path;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Constructs a new FileOutboxSink.
+     *
+     * @param properties   the outbox settings holding the path of the file
+     * @param objectMapper the mapper serializing the events
+     */
+    public FileOutboxSink(OutboxProperties properties, ObjectMapper objectMapper) {
+        this.path = Path.of(properties.getFile().getPath());
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String name() {
+        return "file";
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized void deliver(List<OutboxEventDTO> events) {
+        try {
+            if (path.getParent() != null) {
+                Files.createDirectories(path.getParent());
+            }
+            try (FileChannel channel = FileChannel.open(path, CREATE, WRITE, APPEND);
+                 Writer writer = new BufferedWriter(Channels.newWriter(channel, StandardCharsets.UTF_8))) {
+                for (OutboxEventDTO event : events) {
+                    writer.write(objectMapper.writeValueAsString(event));
+                    writer.write('\n');
+                }
+                writer.flush();
+                channel.force(false);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to append outbox events to " + path, e);
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.invoice.management.outbox;
+
+import com.invoice.management.dto.OutboxEventDTO;
+
+import java.util.List;
+
+/**
+ * Destination the outbox relay delivers the committed change events to.
+ * Every Spring bean implementing this interface receives every event.
+ *
+ * <p>Delivery is at-least-once: a batch is deleted from the outbox only after all sinks accepted it,
+ * so after a failure or a crash a sink may receive events it already has. Sinks recognize those by the event ID.</p>
+ */
+public interface OutboxSink {
+
+    /**
+     * Returns the name of the sink, used in logs and the relay status.
+     *
+     * @return the name of the sink
+     */
+    String name();
+
+    /**
+     * Delivers a batch of events. The method returns only once the events are durably accepted;
+     * throwing leaves the whole batch in the outbox for the next run.
+     *
+     * @param events the events in outbox order
+     */
+    void deliver(List<OutboxEventDTO> events);
+}
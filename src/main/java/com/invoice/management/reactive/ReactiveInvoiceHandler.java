@@ -0,0 +1,53 @@
+package com.invoice.management.reactive;
+
+import com.invoice.management.dto.InvoiceDTO;
+import com.invoice.management.dto.PaginatedResponse;
+import com.invoice.management.exception.InvoiceNotFoundException;
+import com.invoice.management.utils.FilterUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Handler of the reactive invoice read endpoints, answering like the GET endpoints of
+ * {@link com.invoice.management.controller.InvoiceController} with the same parameters.
+ */
+@Component
+@ConditionalOnProperty(prefix = "web.reactive", name = "enabled", havingValue = "true")
+public class ReactiveInvoiceHandler {
+
+    @Autowired
+    private ReactiveInvoiceRepository reactiveInvoiceRepository;
+
+    /**
+     * Retrieves an invoice by its ID, with its version as ETag.
+     *
+     * @param request the request with the {@code invoiceId} path variable
+     * @return the invoice, or 404 if it does not exist
+     */
+    public Mono<ServerResponse> getInvoice(ServerRequest request) {
+        return reactiveInvoiceRepository.findById(Long.parseLong(request.pathVariable("invoiceId")))
+                .switchIfEmpty(Mono.error(() -> new InvoiceNotFoundException("Invoice not found")))
+                .flatMap(invoice -> ServerResponse.ok().eTag(String.valueOf(invoice.getVersion())).bodyValue(invoice));
+    }
+
+    /**
+     * Retrieves a page of invoices filtered like {@code GET /api/invoices}. The page is returned as a
+     * {@link PaginatedResponse}, or streamed item by item with the pagination in headers for {@code stream=true}
+     * or an {@code application/x-ndjson} request.
+     *
+     * @param request the request with the filter, sort, page and limit parameters
+     * @return the page of invoices
+     */
+    public Mono<ServerResponse> getInvoices(ServerRequest request) {
+        ReactiveReads.rejectUnsupportedParameters(request);
+        List<FilterUtils.Condition> conditions = FilterUtils.createInvoiceConditions(request.queryParams().toSingleValueMap());
+        return ReactiveReads.page(request, reactiveInvoiceRepository.count(conditions),
+                pageable -> reactiveInvoiceRepository.findAll(conditions, pageable), InvoiceDTO.class);
+    }
+}
@@ -0,0 +1,110 @@
+package com.invoice.management.reactive;
+
+import com.invoice.management.configuration.ReactiveReadProperties;
+import com.invoice.management.dto.InvoiceDTO;
+import com.invoice.management.utils.FilterUtils;
+import io.r2dbc.spi.Readable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Pageable;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Non-blocking reads of invoices over R2DBC. Buyer and seller are joined into the same statement,
+ * so an invoice with both persons costs a single row.
+ */
+@Component
+@ConditionalOnProperty(prefix = "web.reactive", name = "enabled", havingValue = "true")
+public class ReactiveInvoiceRepository {
+
+    private static final String SELECT = "SELECT i.id, i.invoice_number, i.issued, i.due_date, i.product, i.price, i.vat, "
+            + "i.note, i.version, " + String.format(ReactivePersonRepository.COLUMNS, "b", "b_") + ", "
+            + String.format(ReactivePersonRepository.COLUMNS, "s", "s_")
+            + " FROM invoice i JOIN person b ON b.id = i.buyer_id JOIN person s ON s.id = i.seller_id";
+
+    private static final String COUNT = "SELECT COUNT(*) FROM invoice i";
+
+    private static final Map<String, String> ATTRIBUTES = Map.ofEntries(
+            Map.entry("id", "i.id"),
+            Map.entry("invoiceNumber", "i.invoice_number"),
+            Map.entry("issued", "i.issued"),
+            Map.entry("dueDate", "i.due_date"),
+            Map.entry("product", "i.product"),
+            Map.entry("price", "i.price"),
+            Map.entry("vat", "i.vat"),
+            Map.entry("buyer.id", "i.buyer_id"),
+            Map.entry("seller.id", "i.seller_id"));
+
+    @Autowired
+    private DatabaseClient reactiveDatabaseClient;
+
+    @Autowired
+    private ReactiveReadProperties properties;
+
+    /**
+     * Streams a page of the invoices matching the conditions. Rows are fetched in batches of
+     * {@link ReactiveReadProperties#getFetchSize()} as the subscriber requests them.
+     *
+     * @param conditions the filter conditions, see {@link FilterUtils#createInvoiceConditions(Map)}
+     * @param pageable   the requested page
+     * @return the invoices of the page, in order
+     */
+    public Flux<InvoiceDTO> findAll(List<FilterUtils.Condition> conditions, Pageable pageable) {
+        Map<String, Object> bindings = new LinkedHashMap<>();
+        String sql = SELECT + ReactiveSql.where(conditions, ATTRIBUTES, bindings) + ReactiveSql.page(pageable, ATTRIBUTES, bindings);
+        return ReactiveSql.bind(reactiveDatabaseClient.sql(sql), bindings)
+                .filter(statement -> statement.fetchSize(properties.getFetchSize()))
+                .map(ReactiveInvoiceRepository::toDTO)
+                .all();
+    }
+
+    /**
+     * Counts the invoices matching the conditions. None of the conditions refer to the persons,
+     * so the count does not join them.
+     *
+     * @param conditions the filter conditions, see {@link FilterUtils#createInvoiceConditions(Map)}
+     * @return the number of matching invoices
+     */
+    public Mono<Long> count(List<FilterUtils.Condition> conditions) {
+        Map<String, Object> bindings = new LinkedHashMap<>();
+        return ReactiveSql.bind(reactiveDatabaseClient.sql(COUNT + ReactiveSql.where(conditions, ATTRIBUTES, bindings)), bindings)
+                .map(row -> row.get(0, Long.class))
+                .one();
+    }
+
+    /**
+     * Reads an invoice by ID.
+     *
+     * @param id the ID of the invoice
+     * @return the invoice, or empty if there is none with this ID
+     */
+    public Mono<InvoiceDTO> findById(long id) {
+        return reactiveDatabaseClient.sql(SELECT + " WHERE i.id = :id")
+                .bind("id", id)
+                .map(ReactiveInvoiceRepository::toDTO)
+                .one();
+    }
+
+    private static InvoiceDTO toDTO(Readable row) {
+        return new InvoiceDTO(
+                row.get("id", Long.class),
+                row.get("invoice_number", Integer.class),
+                row.get("issued", LocalDate.class),
+                row.get("due_date", LocalDate.class),
+                row.get("product", String.class),
+                row.get("price", Long.class),
+                row.get("vat", Integer.class),
+                row.get("note", String.class),
+                ReactivePersonRepository.toDTO(row, "b_"),
+                ReactivePersonRepository.toDTO(row, "s_"),
+                row.get("version", Long.class));
+    }
+}
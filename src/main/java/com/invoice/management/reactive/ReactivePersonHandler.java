@@ -0,0 +1,53 @@
+package com.invoice.management.reactive;
+
+import com.invoice.management.dto.PersonDTO;
+import com.invoice.management.dto.PaginatedResponse;
+import com.invoice.management.exception.PersonNotFoundException;
+import com.invoice.management.utils.FilterUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Handler of the reactive person read endpoints, answering like the GET endpoints of
+ * {@link com.invoice.management.controller.PersonController} with the same parameters.
+ */
+@Component
+@ConditionalOnProperty(prefix = "web.reactive", name = "enabled", havingValue = "true")
+public class ReactivePersonHandler {
+
+    @Autowired
+    private ReactivePersonRepository reactivePersonRepository;
+
+    /**
+     * Retrieves a person by its ID, hidden or not.
+     *
+     * @param request the request with the {@code personId} path variable
+     * @return the person, or 404 if it does not exist
+     */
+    public Mono<ServerResponse> getPerson(ServerRequest request) {
+        return reactivePersonRepository.findById(Long.parseLong(request.pathVariable("personId")))
+                .switchIfEmpty(Mono.error(() -> new PersonNotFoundException("Person not found")))
+                .flatMap(person -> ServerResponse.ok().bodyValue(person));
+    }
+
+    /**
+     * Retrieves a page of persons filtered like {@code GET /api/persons}. The page is returned as a
+     * {@link PaginatedResponse}, or streamed item by item with the pagination in headers for {@code stream=true}
+     * or an {@code application/x-ndjson} request.
+     *
+     * @param request the request with the filter, sort, page and limit parameters
+     * @return the page of persons
+     */
+    public Mono<ServerResponse> getPersons(ServerRequest request) {
+        ReactiveReads.rejectUnsupportedParameters(request);
+        List<FilterUtils.Condition> conditions = FilterUtils.createPersonConditions(request.queryParams().toSingleValueMap());
+        return ReactiveReads.page(request, reactivePersonRepository.count(conditions),
+                pageable -> reactivePersonRepository.findAll(conditions, pageable), PersonDTO.class);
+    }
+}
@@ -0,0 +1,124 @@
+package com.invoice.management.reactive;
+
+import com.invoice.management.configuration.ReactiveReadProperties;
+import com.invoice.management.constant.Countries;
+import com.invoice.management.dto.PersonDTO;
+import com.invoice.management.utils.FilterUtils;
+import io.r2dbc.spi.Readable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Pageable;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Non-blocking reads of persons over R2DBC, mapping the rows straight to {@link PersonDTO}s.
+ */
+@Component
+@ConditionalOnProperty(prefix = "web.reactive", name = "enabled", havingValue = "true")
+public class ReactivePersonRepository {
+
+    /**
+     * The selected person columns, each aliased with the given prefix so that {@link #toDTO(Readable, String)}
+     * can read persons joined to another table.
+     */
+    static final String COLUMNS = "%1$s.id AS %2$sid, %1$s.name AS %2$sname, "
+            + "%1$s.identification_number AS %2$sidentification_number, %1$s.tax_number AS %2$stax_number, "
+            + "%1$s.account_number AS %2$saccount_number, %1$s.bank_code AS %2$sbank_code, %1$s.iban AS %2$siban, "
+            + "%1$s.telephone AS %2$stelephone, %1$s.mail AS %2$smail, %1$s.street AS %2$sstreet, %1$s.zip AS %2$szip, "
+            + "%1$s.city AS %2$scity, %1$s.country AS %2$scountry, %1$s.hidden AS %2$shidden, %1$s.note AS %2$snote";
+
+    private static final Map<String, String> ATTRIBUTES = Map.of(
+            "id", "p.id",
+            "name", "p.name",
+            "identificationNumber", "p.identification_number",
+            "taxNumber", "p.tax_number",
+            "city", "p.city",
+            "country", "p.country",
+            "hidden", "p.hidden");
+
+    @Autowired
+    private DatabaseClient reactiveDatabaseClient;
+
+    @Autowired
+    private ReactiveReadProperties properties;
+
+    /**
+     * Streams a page of the persons matching the conditions. Rows are fetched in batches of
+     * {@link ReactiveReadProperties#getFetchSize()} as the subscriber requests them.
+     *
+     * @param conditions the filter conditions, see {@link FilterUtils#createPersonConditions(Map)}
+     * @param pageable   the requested page
+     * @return the persons of the page, in order
+     */
+    public Flux<PersonDTO> findAll(List<FilterUtils.Condition> conditions, Pageable pageable) {
+        Map<String, Object> bindings = new LinkedHashMap<>();
+        String sql = "SELECT " + String.format(COLUMNS, "p", "") + " FROM person p"
+                + ReactiveSql.where(conditions, ATTRIBUTES, bindings)
+                + ReactiveSql.page(pageable, ATTRIBUTES, bindings);
+        return ReactiveSql.bind(reactiveDatabaseClient.sql(sql), bindings)
+                .filter(statement -> statement.fetchSize(properties.getFetchSize()))
+                .map(row -> toDTO(row, ""))
+                .all();
+    }
+
+    /**
+     * Counts the persons matching the conditions.
+     *
+     * @param conditions the filter conditions, see {@link FilterUtils#createPersonConditions(Map)}
+     * @return the number of matching persons
+     */
+    public Mono<Long> count(List<FilterUtils.Condition> conditions) {
+        Map<String, Object> bindings = new LinkedHashMap<>();
+        String sql = "SELECT COUNT(*) FROM person p" + ReactiveSql.where(conditions, ATTRIBUTES, bindings);
+        return ReactiveSql.bind(reactiveDatabaseClient.sql(sql), bindings)
+                .map(row -> row.get(0, Long.class))
+                .one();
+    }
+
+    /**
+     * Reads a person by ID, hidden or not.
+     *
+     * @param id the ID of the person
+     * @return the person, or empty if there is none with this ID
+     */
+    public Mono<PersonDTO> findById(long id) {
+        return reactiveDatabaseClient.sql("SELECT " + String.format(COLUMNS, "p", "") + " FROM person p WHERE p.id = :id")
+                .bind("id", id)
+                .map(row -> toDTO(row, ""))
+                .one();
+    }
+
+    /**
+     * Maps the person columns selected with {@link #COLUMNS} to a DTO.
+     *
+     * @param row    the row
+     * @param prefix the prefix of the column aliases
+     * @return the person
+     */
+    static PersonDTO toDTO(Readable row, String prefix) {
+        String country = row.get(prefix + "country", String.class);
+        return new PersonDTO(
+                row.get(prefix + "id", Long.class),
+                row.get(prefix + "name", String.class),
+                row.get(prefix + "identification_number", String.class),
+                row.get(prefix + "tax_number", String.class),
+                row.get(prefix + "account_number", String.class),
+                row.get(prefix + "bank_code", String.class),
+                row.get(prefix + "iban", String.class),
+                row.get(prefix + "telephone", String.class),
+                row.get(prefix + "mail", String.class),
+                row.get(prefix + "street", String.class),
+                row.get(prefix + "zip", String.class),
+                row.get(prefix + "city", String.class),
+                country != null ? Countries.valueOf(country) : null,
+                row.get(prefix + "hidden", Boolean.class),
+                row.get(prefix + "note", String.class));
+    }
+}
@@ -0,0 +1,100 @@
+package com.invoice.management.reactive;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.invoice.management.configuration.ReactiveReadProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.http.codec.json.Jackson2JsonDecoder;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.http.server.reactive.ReactorHttpHandlerAdapter;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.HandlerStrategies;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+/**
+ * Reactor Netty server of the reactive read path, running beside the servlet container on a port of its own.
+ * It serves the GET endpoints of invoices and persons under the same paths as the servlet endpoints,
+ * on a few event-loop threads that never block on the database, so slow clients and large pages
+ * do not tie up request threads.
+ * Routes are functional rather than annotated controllers, which the servlet stack would map as well.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "web.reactive", name = "enabled", havingValue = "true")
+public class ReactiveReadServer implements SmartLifecycle {
+
+    private final ReactiveReadProperties properties;
+    private final ReactorHttpHandlerAdapter handlerAdapter;
+    private volatile DisposableServer server;
+
+    public ReactiveReadServer(ReactiveReadProperties properties, ObjectMapper objectMapper,
+                              ReactiveInvoiceHandler invoiceHandler, ReactivePersonHandler personHandler) {
+        this.properties = properties;
+        RouterFunction<ServerResponse> routes = RouterFunctions.route()
+                .GET("/api/invoices", invoiceHandler::getInvoices)
+                .GET("/api/invoices/{invoiceId:\\d+}", invoiceHandler::getInvoice)
+                .GET("/api/persons", personHandler::getPersons)
+                .GET("/api/persons/{personId:\\d+}", personHandler::getPerson)
+                // deferred, so exceptions thrown by a handler before it returns are mapped as well
+                .filter((request, next) -> Mono.defer(() -> next.handle(request))
+                        .onErrorResume(error -> ReactiveReads.errorResponse(error, request)))
+                .build();
+        // the application's mapper, so dates and IDs are written exactly as by the servlet endpoints
+        HandlerStrategies strategies = HandlerStrategies.builder()
+                .codecs(codecs -> {
+                    codecs.defaultCodecs().jackson2JsonEncoder(new Jackson2JsonEncoder(objectMapper));
+                    codecs.defaultCodecs().jackson2JsonDecoder(new Jackson2JsonDecoder(objectMapper));
+                })
+                .build();
+        this.handlerAdapter = new ReactorHttpHandlerAdapter(RouterFunctions.toHttpHandler(routes, strategies));
+    }
+
+    /**
+     * Binds the server to its port.
+     */
+    @Override
+    public void start() {
+        server = HttpServer.create()
+                .port(properties.getPort())
+                .handle(handlerAdapter)
+                .bindNow();
+        log.info("Reactive read path listening on port {}", server.port());
+    }
+
+    /**
+     * Closes the server, letting requests in progress finish.
+     */
+    @Override
+    public void stop() {
+        DisposableServer current = server;
+        if (current != null) {
+            current.disposeNow();
+            server = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return server != null;
+    }
+
+    /**
+     * Returns the port the server is bound to, which differs from the configured one if that is 0.
+     *
+     * @return the bound port
+     * @throws IllegalStateException if the server is not running
+     */
+    public int getPort() {
+        DisposableServer current = server;
+        if (current == null) {
+            throw new IllegalStateException("Reactive read server is not running");
+        }
+        return current.port();
+    }
+}
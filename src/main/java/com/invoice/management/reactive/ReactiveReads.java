@@ -0,0 +1,115 @@
+package com.invoice.management.reactive;
+
+import com.invoice.management.dto.ErrorResponse;
+import com.invoice.management.dto.PaginatedResponse;
+import com.invoice.management.exception.InvoiceNotFoundException;
+import com.invoice.management.exception.PersonNotFoundException;
+import com.invoice.management.utils.PaginationUtils;
+import com.invoice.management.utils.StreamingUtils;
+import io.r2dbc.spi.R2dbcTimeoutException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.function.Function;
+
+/**
+ * Helper shared by the reactive read handlers: pagination, the streamed variant of a page, and the
+ * error responses, which carry the same {@link ErrorResponse} as the servlet endpoints.
+ */
+@Slf4j
+final class ReactiveReads {
+
+    private ReactiveReads() {
+    }
+
+    /**
+     * Rejects the parameters of list variants the reactive path does not serve, rather than silently
+     * ignoring them and returning something else than requested.
+     *
+     * @param request the request
+     * @throws IllegalArgumentException if field selection or ID lookup is requested
+     */
+    static void rejectUnsupportedParameters(ServerRequest request) {
+        for (String parameter : new String[]{"fields", "ids"}) {
+            if (request.queryParam(parameter).isPresent()) {
+                throw new IllegalArgumentException("Parameter '" + parameter + "' is only supported by the servlet endpoints");
+            }
+        }
+    }
+
+    /**
+     * Answers with a page of items. The count runs first, then the page itself, one after the other
+     * on the same pool. A streamed page is written item by item as the client reads it: as a JSON array
+     * for {@code stream=true}, or as newline-delimited JSON when the client accepts {@code application/x-ndjson}.
+     * Otherwise the page is collected into a {@link PaginatedResponse}.
+     *
+     * @param request  the request with the sort, page and limit parameters
+     * @param count    the number of matching items
+     * @param items    the items of the given page
+     * @param itemType the type of the items
+     * @param <T>      the type of the items
+     * @return the response
+     */
+    static <T> Mono<ServerResponse> page(ServerRequest request, Mono<Long> count, Function<Pageable, Flux<T>> items, Class<T> itemType) {
+        Pageable pageable = PaginationUtils.createPageable(request.queryParams().toSingleValueMap());
+        boolean ndjson = request.headers().accept().stream()
+                .anyMatch(mediaType -> mediaType.isCompatibleWith(MediaType.APPLICATION_NDJSON) && !mediaType.isWildcardType());
+        boolean stream = ndjson || "true".equals(request.queryParam("stream").orElse(null));
+
+        return count.flatMap(totalItems -> {
+            if (stream) {
+                return ServerResponse.ok()
+                        .headers(headers -> headers.addAll(StreamingUtils.paginationHeaders(pageable, totalItems)))
+                        .contentType(ndjson ? MediaType.APPLICATION_NDJSON : MediaType.APPLICATION_JSON)
+                        .body(items.apply(pageable), itemType);
+            }
+            return items.apply(pageable).collectList()
+                    .flatMap(list -> ServerResponse.ok().bodyValue(new PaginatedResponse<>(list,
+                            pageable.getPageNumber() + 1,
+                            (int) ((totalItems + pageable.getPageSize() - 1) / pageable.getPageSize()),
+                            totalItems.intValue())));
+        });
+    }
+
+    /**
+     * Maps an error of a reactive read to the response the servlet endpoints give for it.
+     * A request that waited too long for a pooled connection is answered with 503, so clients back off
+     * instead of queueing up more requests.
+     *
+     * @param error   the error
+     * @param request the failed request
+     * @return the error response
+     */
+    static Mono<ServerResponse> errorResponse(Throwable error, ServerRequest request) {
+        HttpStatus status;
+        if (error instanceof InvoiceNotFoundException || error instanceof PersonNotFoundException) {
+            status = HttpStatus.NOT_FOUND;
+        } else if (error instanceof IllegalArgumentException) {
+            status = HttpStatus.BAD_REQUEST;
+        } else if (hasCause(error, R2dbcTimeoutException.class)) {
+            status = HttpStatus.SERVICE_UNAVAILABLE;
+        } else {
+            log.error("Reactive read {} failed", request.path(), error);
+            status = HttpStatus.INTERNAL_SERVER_ERROR;
+        }
+        String message = status == HttpStatus.INTERNAL_SERVER_ERROR ? status.getReasonPhrase() : error.getMessage();
+        return ServerResponse.status(status)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new ErrorResponse(status.value(), message));
+    }
+
+    private static boolean hasCause(Throwable error, Class<? extends Throwable> type) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (type.isInstance(cause)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,98 @@
+package com.invoice.management.reactive;
+
+import com.invoice.management.utils.FilterUtils;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+
+/**
+ * Helper translating the filter conditions and the pagination of the read endpoints into SQL clauses
+ * with named bind parameters. Only columns from the given attribute mapping end up in the SQL,
+ * so neither filters nor sort parameters can inject anything.
+ */
+final class ReactiveSql {
+
+    private ReactiveSql() {
+    }
+
+    /**
+     * Creates the WHERE clause of the conditions.
+     *
+     * @param conditions the conditions, all of which must hold
+     * @param columns    the qualified column of every supported attribute path
+     * @param bindings   receives the values of the bind parameters
+     * @return the clause with a leading space, empty without conditions
+     */
+    static String where(List<FilterUtils.Condition> conditions, Map<String, String> columns, Map<String, Object> bindings) {
+        StringJoiner where = new StringJoiner(" AND ", " WHERE ", "").setEmptyValue("");
+        for (FilterUtils.Condition condition : conditions) {
+            String column = column(columns, condition.attribute());
+            String parameter = "p" + bindings.size();
+            Object value = condition.value();
+            switch (condition.operator()) {
+                case EQUAL -> where.add(column + " = :" + parameter);
+                case CONTAINS -> {
+                    where.add(column + " LIKE :" + parameter);
+                    value = "%" + value + "%";
+                }
+                case CONTAINS_IGNORE_CASE -> {
+                    where.add("LOWER(" + column + ") LIKE :" + parameter);
+                    value = "%" + value.toString().toLowerCase() + "%";
+                }
+                case GREATER_OR_EQUAL -> where.add(column + " >= :" + parameter);
+                case LESS_OR_EQUAL -> where.add(column + " <= :" + parameter);
+            }
+            bindings.put(parameter, value);
+        }
+        return where.toString();
+    }
+
+    /**
+     * Creates the ORDER BY and LIMIT clauses of a page. Ties are broken by the ID, so consecutive pages
+     * neither repeat nor skip rows.
+     *
+     * @param pageable the requested page
+     * @param columns  the qualified column of every supported attribute path, including {@code id}
+     * @param bindings receives the values of the bind parameters
+     * @return the clauses with a leading space
+     * @throws IllegalArgumentException if the sort property is not supported
+     */
+    static String page(Pageable pageable, Map<String, String> columns, Map<String, Object> bindings) {
+        StringJoiner orderBy = new StringJoiner(", ", " ORDER BY ", "");
+        for (Sort.Order order : pageable.getSort()) {
+            orderBy.add(column(columns, order.getProperty()) + (order.isAscending() ? " ASC" : " DESC"));
+        }
+        if (pageable.getSort().getOrderFor("id") == null) {
+            orderBy.add(columns.get("id") + " ASC");
+        }
+        bindings.put("limit", pageable.getPageSize());
+        bindings.put("offset", pageable.getOffset());
+        return orderBy + " LIMIT :limit OFFSET :offset";
+    }
+
+    /**
+     * Binds the collected parameter values to a statement.
+     *
+     * @param spec     the statement
+     * @param bindings the values by parameter name
+     * @return the statement with all values bound
+     */
+    static DatabaseClient.GenericExecuteSpec bind(DatabaseClient.GenericExecuteSpec spec, Map<String, Object> bindings) {
+        for (Map.Entry<String, Object> binding : bindings.entrySet()) {
+            spec = spec.bind(binding.getKey(), binding.getValue());
+        }
+        return spec;
+    }
+
+    private static String column(Map<String, String> columns, String attribute) {
+        String column = columns.get(attribute);
+        if (column == null) {
+            throw new IllegalArgumentException("Unsupported property: " + attribute);
+        }
+        return column;
+    }
+}
@@ -1,24 +1,75 @@
 package com.invoice.management.service;
 
+import com.invoice.management.exception.BatchSizeExceededException;
+import com.invoice.management.monitoring.RequestMetricTags;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.From;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import jakarta.persistence.metamodel.Attribute;
+import org.hibernate.dialect.MySQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.core.GenericTypeResolver;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
 
-import java.util.Optional;
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 /**
  * Abstract base class for service implementations.
  * Provides common CRUD operations and specification-based querying.
+ * Every operation is timed through the global Micrometer registry, which Spring Boot
+ * links to the application registry; outside the application the timers are no-ops.
  *
  * @param <T>  the entity type
  * @param <ID> the type of the entity's identifier
  */
 public abstract class BaseService<T, ID> {
 
+    /**
+     * Maximum number of IDs accepted by {@link #findAllById(Collection, Function)}.
+     */
+    public static final int MAX_BATCH_IDS = 1000;
+
+    /**
+     * Number of IDs bound into one IN query, which keeps statements and their plan cache entries bounded.
+     */
+    static final int IN_CHUNK_SIZE = 200;
+
+    /**
+     * Number of rows {@link #forEach(Specification, Pageable, Consumer)} keeps in the persistence context
+     * before clearing it, and the JDBC fetch size on databases that honour one.
+     */
+    static final int STREAM_CHUNK_SIZE = 100;
+
     protected final JpaRepository<T, ID> repository;
     protected final JpaSpecificationExecutor<T> specificationExecutor;
+    private final Class<T> domainClass;
+    private final String serviceName;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private volatile Integer streamFetchSize;
 
     /**
      * Constructs a new BaseService with the given repository and specification executor.
@@ -29,6 +80,16 @@ public abstract class BaseService<T, ID> {
     public BaseService(JpaRepository<T, ID> repository, JpaSpecificationExecutor<T> specificationExecutor) {
         this.repository = repository;
         this.specificationExecutor = specificationExecutor;
+        @SuppressWarnings("unchecked")
+        Class<T> domainClass = (Class<T>) Objects.requireNonNull(
+                GenericTypeResolver.resolveTypeArguments(getClass(), BaseService.class))[0];
+        this.domainClass = domainClass;
+        // Tagged like the service operations, by the service interface rather than the implementation
+        this.serviceName = Arrays.stream(getClass().getInterfaces())
+                .filter(type -> type.getPackage().equals(BaseService.class.getPackage()))
+                .map(Class::getSimpleName)
+                .findFirst()
+                .orElse(getClass().getSimpleName());
     }
 
     /**
@@ -38,7 +99,7 @@ public abstract class BaseService<T, ID> {
      * @return the created entity
      */
     public T create(T entity) {
-        return repository.save(entity);
+        return timed("create", () -> repository.save(entity));
     }
 
     /**
@@ -48,7 +109,7 @@ public abstract class BaseService<T, ID> {
      * @return an Optional containing the found entity, or an empty Optional if not found
      */
     public Optional<T> findById(ID id) {
-        return repository.findById(id);
+        return timed("findById", () -> repository.findById(id));
     }
 
     /**
@@ -58,7 +119,7 @@ public abstract class BaseService<T, ID> {
      * @return the updated entity
      */
     public T update(T entity) {
-        return repository.save(entity);
+        return timed("update", () -> repository.save(entity));
     }
 
     /**
@@ -67,7 +128,10 @@ public abstract class BaseService<T, ID> {
      * @param id the ID of the entity to delete
      */
     public void delete(ID id) {
-        repository.deleteById(id);
+        timed("delete", () -> {
+            repository.deleteById(id);
+            return null;
+        });
     }
 
     /**
@@ -78,6 +142,176 @@ public abstract class BaseService<T, ID> {
      * @return a Page of entities matching the specification
      */
     public Page<T> findAll(Specification<T> spec, Pageable pageable) {
-        return specificationExecutor.findAll(spec, pageable);
+        return timed("findAll", () -> specificationExecutor.findAll(spec, pageable));
+    }
+
+    /**
+     * Counts the entities matching the given specification.
+     *
+     * @param spec the specification to apply
+     * @return the number of matching entities
+     */
+    public long count(Specification<T> spec) {
+        return timed("count", () -> specificationExecutor.count(spec));
+    }
+
+    /**
+     * Reads the page of entities matching the given specification from a database cursor and hands them
+     * to the action one at a time, so the page is never held in memory as a whole.
+     * Singular associations are fetch-joined so the action can map them without issuing further statements,
+     * which a MySQL streaming result set would not allow anyway. The persistence context is cleared every
+     * {@link #STREAM_CHUNK_SIZE} rows; entities handed to the action must not be used after it returns.
+     * Must run inside a read-only transaction of its own.
+     *
+     * @param spec     the specification to apply
+     * @param pageable the page to read and its sort order
+     * @param action   receives every entity of the page in order
+     */
+    public void forEach(Specification<T> spec, Pageable pageable, Consumer<T> action) {
+        timed("forEach", () -> {
+            CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+            CriteriaQuery<T> query = criteriaBuilder.createQuery(domainClass);
+            Root<T> root = query.from(domainClass);
+            root.getModel().getSingularAttributes().stream()
+                    .filter(attribute -> attribute.getPersistentAttributeType() == Attribute.PersistentAttributeType.MANY_TO_ONE
+                            || attribute.getPersistentAttributeType() == Attribute.PersistentAttributeType.ONE_TO_ONE)
+                    .forEach(attribute -> root.fetch(attribute.getName(), JoinType.LEFT));
+            Predicate predicate = spec.toPredicate(root, query, criteriaBuilder);
+            if (predicate != null) {
+                query.where(predicate);
+            }
+            query.orderBy(QueryUtils.toOrders(pageable.getSort(), root, criteriaBuilder));
+
+            TypedQuery<T> typedQuery = entityManager.createQuery(query)
+                    .setHint(HibernateHints.HINT_FETCH_SIZE, streamFetchSize())
+                    .setHint(HibernateHints.HINT_READ_ONLY, true);
+            if (pageable.isPaged()) {
+                typedQuery.setFirstResult((int) pageable.getOffset()).setMaxResults(pageable.getPageSize());
+            }
+            try (Stream<T> rows = typedQuery.getResultStream()) {
+                int inContext = 0;
+                for (Iterator<T> iterator = rows.iterator(); iterator.hasNext(); ) {
+                    action.accept(iterator.next());
+                    if (++inContext == STREAM_CHUNK_SIZE) {
+                        entityManager.clear();
+                        inContext = 0;
+                    }
+                }
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Finds a page of selected attributes of the entities matching the given specification.
+     * Only the columns of the given paths are selected, and an association is joined only when a path
+     * passes through it; no entity is loaded. The total is counted only when the page does not tell it.
+     *
+     * @param spec           the specification to apply
+     * @param pageable       the pagination information
+     * @param attributePaths the attributes to select, e.g. {@code price} or {@code seller.name}
+     * @return a Page of rows holding the selected values in the order of the paths
+     */
+    public Page<Object[]> findAllAttributes(Specification<T> spec, Pageable pageable, List<String> attributePaths) {
+        return timed("findAllAttributes", () -> {
+            CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+            CriteriaQuery<Tuple> query = criteriaBuilder.createTupleQuery();
+            Root<T> root = query.from(domainClass);
+            Map<String, From<?, ?>> joins = new HashMap<>();
+            List<Selection<?>> selections = new ArrayList<>();
+            for (String path : attributePaths) {
+                From<?, ?> from = root;
+                String[] segments = path.split("\\.");
+                for (int i = 0; i < segments.length - 1; i++) {
+                    From<?, ?> parent = from;
+                    String segment = segments[i];
+                    from = joins.computeIfAbsent(String.join(".", Arrays.copyOf(segments, i + 1)),
+                            key -> parent.join(segment, JoinType.LEFT));
+                }
+                selections.add(from.get(segments[segments.length - 1]));
+            }
+            query.multiselect(selections);
+            Predicate predicate = spec.toPredicate(root, query, criteriaBuilder);
+            if (predicate != null) {
+                query.where(predicate);
+            }
+            query.orderBy(QueryUtils.toOrders(pageable.getSort(), root, criteriaBuilder));
+
+            TypedQuery<Tuple> typedQuery = entityManager.createQuery(query);
+            if (pageable.isPaged()) {
+                typedQuery.setFirstResult((int) pageable.getOffset()).setMaxResults(pageable.getPageSize());
+            }
+            List<Object[]> rows = typedQuery.getResultList().stream()
+                    .map(Tuple::toArray)
+                    .toList();
+            return PageableExecutionUtils.getPage(rows, pageable, () -> specificationExecutor.count(spec));
+        });
+    }
+
+    /**
+     * MySQL Connector/J buffers the whole result set unless the fetch size is {@link Integer#MIN_VALUE},
+     * which switches it to row-by-row streaming; other drivers take the fetch size literally.
+     */
+    private int streamFetchSize() {
+        Integer fetchSize = streamFetchSize;
+        if (fetchSize == null) {
+            boolean mysql = entityManager.getEntityManagerFactory().unwrap(SessionFactoryImplementor.class)
+                    .getJdbcServices().getDialect() instanceof MySQLDialect;
+            fetchSize = mysql ? Integer.MIN_VALUE : STREAM_CHUNK_SIZE;
+            streamFetchSize = fetchSize;
+        }
+        return fetchSize;
+    }
+
+    /**
+     * Finds the entities with the given IDs using one IN query per chunk of IDs.
+     *
+     * @param ids  the IDs to look up; duplicates are looked up once
+     * @param idOf extracts the ID of a found entity
+     * @return the found entities by ID, in the order of the requested IDs; missing IDs have no entry
+     * @throws BatchSizeExceededException if more than {@link #MAX_BATCH_IDS} distinct IDs are requested
+     */
+    public Map<ID, T> findAllById(Collection<ID> ids, Function<T, ID> idOf) {
+        List<ID> distinctIds = new ArrayList<>(new LinkedHashSet<>(ids));
+        if (distinctIds.size() > MAX_BATCH_IDS) {
+            throw new BatchSizeExceededException("At most " + MAX_BATCH_IDS + " IDs can be requested at once");
+        }
+        return timed("findAllById", () -> {
+            Map<ID, T> found = new HashMap<>();
+            for (int from = 0; from < distinctIds.size(); from += IN_CHUNK_SIZE) {
+                List<ID> chunk = distinctIds.subList(from, Math.min(from + IN_CHUNK_SIZE, distinctIds.size()));
+                repository.findAllById(chunk).forEach(entity -> found.put(idOf.apply(entity), entity));
+            }
+            Map<ID, T> ordered = new LinkedHashMap<>();
+            for (ID id : distinctIds) {
+                T entity = found.get(id);
+                if (entity != null) {
+                    ordered.put(id, entity);
+                }
+            }
+            return ordered;
+        });
+    }
+
+    /**
+     * Runs the given operation and records its duration.
+     *
+     * @param operation the name of the operation used as a tag
+     * @param action    the operation to run
+     * @param <R>       the result type of the operation
+     * @return the result of the operation
+     */
+    private <R> R timed(String operation, Supplier<R> action) {
+        Timer.Sample sample = Timer.start(Metrics.globalRegistry);
+        try {
+            return action.get();
+        } finally {
+            sample.stop(Timer.builder("service.base")
+                    .tag("service", serviceName)
+                    .tag("operation", operation)
+                    .tags(RequestMetricTags.current())
+                    .publishPercentileHistogram()
+                    .register(Metrics.globalRegistry));
+        }
     }
 }
@@ -0,0 +1,32 @@
+package com.invoice.management.service;
+
+import com.invoice.management.dto.ChangeEventDTO;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+
+/**
+ * Service interface for streaming committed invoice and person changes to subscribers.
+ */
+public interface ChangeFeedService {
+
+    /**
+     * Opens a stream of change events. Events after {@code lastEventId} that are still in the replay window
+     * are sent first; if the window no longer reaches back that far, a "reset" event tells the client
+     * to reload its state.
+     *
+     * @param lastEventId the ID of the last event the client received, or null for live events only
+     * @param sellerId    only invoice events of this seller and events of this person, or null for all
+     * @param buyerId     only invoice events of this buyer and events of this person, or null for all
+     * @return the emitter streaming the events
+     */
+    SseEmitter subscribe(Long lastEventId, Long sellerId, Long buyerId);
+
+    /**
+     * Retrieves the events in the replay window after the given ID.
+     *
+     * @param lastEventId the ID of the last event already seen
+     * @return the newer events in feed order
+     */
+    List<ChangeEventDTO> getEventsAfter(long lastEventId);
+}
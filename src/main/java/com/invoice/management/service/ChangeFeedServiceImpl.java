@@ -0,0 +1,231 @@
+package com.invoice.management.service;
+
+import com.invoice.management.configuration.ChangeFeedProperties;
+import com.invoice.management.dto.ChangeEventDTO;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Implementation of the ChangeFeedService interface.
+ * The services publish {@link ChangeEventDTO}s as application events; they reach the feed only after
+ * their transaction committed, or right away when published outside a transaction.
+ * Event IDs continue from the startup time in microseconds, so they keep increasing across restarts and
+ * a client resuming after a restart gets a "reset" event instead of a silently wrong position.
+ *
+ * <p>Each subscriber has a bounded buffer drained by a small dispatcher pool, so a slow client never blocks
+ * the committing thread. A subscriber whose buffer overflows is disconnected once its buffer is flushed;
+ * EventSource reconnects with the Last-Event-ID header and catches up from the replay window.</p>
+ */
+@Slf4j
+@Service
+public class ChangeFeedServiceImpl implements ChangeFeedService {
+
+    private final ChangeFeedProperties properties;
+    private final Executor dispatcher;
+    private final ScheduledExecutorService heartbeat;
+    private final Deque<ChangeEventDTO> replay = new ArrayDeque<>();
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private long lastEventId = System.currentTimeMillis() * 1000;
+
+    /**
+     * Constructs a new ChangeFeedServiceImpl with its own dispatcher and heartbeat threads.
+     *
+     * @param properties the buffer sizes, stream timeout and heartbeat interval
+     */
+    @Autowired
+    public ChangeFeedServiceImpl(ChangeFeedProperties properties) {
+        this(properties, Executors.newFixedThreadPool(properties.getDispatchThreads(),
+                new CustomizableThreadFactory("change-feed-")));
+    }
+
+    /**
+     * Constructs a new ChangeFeedServiceImpl writing to the subscribers through the given executor.
+     *
+     * @param properties the buffer sizes, stream timeout and heartbeat interval
+     * @param dispatcher the executor draining the subscriber buffers
+     */
+    ChangeFeedServiceImpl(ChangeFeedProperties properties, Executor dispatcher) {
+        this.properties = properties;
+        this.dispatcher = dispatcher;
+        this.heartbeat = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("change-feed-heartbeat-"));
+        long interval = properties.getHeartbeat().toMillis();
+        heartbeat.scheduleAtFixedRate(this::sendHeartbeats, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Appends a committed change to the feed and hands it to the matching subscribers.
+     *
+     * @param event the change published by a service
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onChange(ChangeEventDTO event) {
+        synchronized (replay) {
+            event.setId(++lastEventId);
+            replay.addLast(event);
+            while (replay.size() > properties.getReplaySize()) {
+                replay.removeFirst();
+            }
+            subscribers.forEach(subscriber -> subscriber.offer(event));
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public SseEmitter subscribe(Long lastEventId, Long sellerId, Long buyerId) {
+        SseEmitter emitter = new SseEmitter(properties.getTimeout().toMillis());
+        Subscriber subscriber = new Subscriber(emitter, sellerId, buyerId);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(error -> subscribers.remove(subscriber));
+
+        synchronized (replay) {
+            if (lastEventId != null) {
+                ChangeEventDTO oldest = replay.peekFirst();
+                long oldestAvailable = oldest != null ? oldest.getId() : this.lastEventId + 1;
+                if (lastEventId < oldestAvailable - 1 || lastEventId > this.lastEventId) {
+                    subscriber.reset = true;
+                }
+                replay.stream()
+                        .filter(event -> event.getId() > lastEventId)
+                        .forEach(subscriber::offer);
+            }
+            subscribers.add(subscriber);
+        }
+        subscriber.schedule();
+        return emitter;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<ChangeEventDTO> getEventsAfter(long lastEventId) {
+        synchronized (replay) {
+            return replay.stream()
+                    .filter(event -> event.getId() > lastEventId)
+                    .toList();
+        }
+    }
+
+    /**
+     * Stops the heartbeat and dispatcher threads and closes the open streams.
+     */
+    @PreDestroy
+    public void shutdown() {
+        heartbeat.shutdownNow();
+        if (dispatcher instanceof ExecutorService executorService) {
+            executorService.shutdownNow();
+        }
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+    }
+
+    private void sendHeartbeats() {
+        for (Subscriber subscriber : subscribers) {
+            try {
+                subscriber.emitter.send(SseEmitter.event().comment("heartbeat"));
+            } catch (IOException | IllegalStateException e) {
+                subscriber.close();
+            }
+        }
+    }
+
+    /**
+     * One open stream with its filter and bounded buffer.
+     */
+    private final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final Long sellerId;
+        private final Long buyerId;
+        private final BlockingQueue<ChangeEventDTO> buffer = new ArrayBlockingQueue<>(properties.getSubscriberBuffer());
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private volatile boolean reset;
+        private volatile boolean overflowed;
+
+        private Subscriber(SseEmitter emitter, Long sellerId, Long buyerId) {
+            this.emitter = emitter;
+            this.sellerId = sellerId;
+            this.buyerId = buyerId;
+        }
+
+        private void offer(ChangeEventDTO event) {
+            if (overflowed || !matches(event)) {
+                return;
+            }
+            if (!buffer.offer(event)) {
+                overflowed = true;
+                log.info("Change feed subscriber fell {} events behind; disconnecting it", buffer.size());
+            }
+            schedule();
+        }
+
+        /**
+         * Invoice events match on the seller and buyer IDs; person events match when the person is a filtered one.
+         */
+        private boolean matches(ChangeEventDTO event) {
+            if (event.getIdentificationNumber() != null) {
+                return (sellerId == null && buyerId == null)
+                        || Objects.equals(sellerId, event.getEntityId())
+                        || Objects.equals(buyerId, event.getEntityId());
+            }
+            return (sellerId == null || Objects.equals(sellerId, event.getSellerId()))
+                    && (buyerId == null || Objects.equals(buyerId, event.getBuyerId()));
+        }
+
+        private void schedule() {
+            if (scheduled.compareAndSet(false, true)) {
+                try {
+                    dispatcher.execute(this::drain);
+                } catch (RejectedExecutionException e) {
+                    scheduled.set(false);
+                }
+            }
+        }
+
+        private void drain() {
+            try {
+                if (reset) {
+                    reset = false;
+                    emitter.send(SseEmitter.event().name("reset").data("Resume position is no longer available"));
+                }
+                ChangeEventDTO event;
+                while ((event = buffer.poll()) != null) {
+                    emitter.send(SseEmitter.event().id(String.valueOf(event.getId())).data(event));
+                }
+                if (overflowed) {
+                    close();
+                    return;
+                }
+            } catch (IOException | IllegalStateException e) {
+                close();
+                return;
+            } finally {
+                scheduled.set(false);
+            }
+            if (!buffer.isEmpty()) {
+                schedule();
+            }
+        }
+
+        private void close() {
+            subscribers.remove(this);
+            emitter.complete();
+        }
+    }
+}
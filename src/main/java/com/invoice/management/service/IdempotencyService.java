@@ -0,0 +1,46 @@
+package com.invoice.management.service;
+
+import java.util.function.Supplier;
+
+/**
+ * Service interface for making create requests idempotent by a client-supplied {@code Idempotency-Key}.
+ */
+public interface IdempotencyService {
+
+    /**
+     * The name of the request header carrying the key.
+     */
+    String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+
+    /**
+     * The name of the response header marking a replayed response.
+     */
+    String IDEMPOTENT_REPLAYED_HEADER = "Idempotent-Replayed";
+
+    /**
+     * Runs the action once per key. A retry with the same key and request gets the stored response
+     * instead of running the action again; a duplicate arriving while the first request is still running
+     * waits for its response. A failed action stores nothing, so the request can be retried.
+     *
+     * @param scope   the endpoint the key belongs to, so the same key can be used on different endpoints
+     * @param key     the key sent by the client, or null to simply run the action
+     * @param request the request body, compared against the body the key was first used with
+     * @param action  the action creating the response
+     * @param <T>     the type of the response
+     * @return the response, and whether it was replayed
+     * @throws com.invoice.management.exception.InvalidIdempotencyKeyException     if the key is empty or too long
+     * @throws com.invoice.management.exception.IdempotencyKeyReusedException      if the key was used with a different request
+     * @throws com.invoice.management.exception.IdempotencyKeyInProgressException  if the first request does not finish in time
+     */
+    <T> Result<T> execute(String scope, String key, Object request, Supplier<T> action);
+
+    /**
+     * The response of an idempotent request.
+     *
+     * @param body     the response body
+     * @param replayed whether the body is the stored response of an earlier request
+     * @param <T>      the type of the response
+     */
+    record Result<T>(T body, boolean replayed) {
+    }
+}
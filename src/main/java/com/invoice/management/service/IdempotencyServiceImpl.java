@@ -0,0 +1,126 @@
+package com.invoice.management.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.invoice.management.configuration.IdempotencyProperties;
+import com.invoice.management.exception.IdempotencyKeyInProgressException;
+import com.invoice.management.exception.IdempotencyKeyReusedException;
+import com.invoice.management.exception.InvalidIdempotencyKeyException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Implementation of the IdempotencyService interface.
+ * Keys live in a Caffeine cache bounded by size and expiring a fixed time after the first request.
+ * The first request claims a key by atomically inserting an incomplete future; concurrent duplicates find that future
+ * and wait on it, so they are resolved in memory without locking any table.
+ *
+ * <p>The store is local to the instance, so retries have to reach the same instance to be recognized,
+ * e.g. through sticky sessions on the client.</p>
+ */
+@Service
+public class IdempotencyServiceImpl implements IdempotencyService {
+
+    private final ConcurrentMap<String, Entry> entries;
+    private final ObjectMapper objectMapper;
+    private final IdempotencyProperties properties;
+
+    /**
+     * Constructs a new IdempotencyServiceImpl with the necessary dependencies.
+     *
+     * @param objectMapper the mapper serializing the request bodies for their fingerprint
+     * @param properties   the size, TTL and wait time of the key store
+     */
+    @Autowired
+    public IdempotencyServiceImpl(ObjectMapper objectMapper, IdempotencyProperties properties) {
+        Cache<String, Entry> cache = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxKeys())
+                .expireAfterWrite(properties.getTtl())
+                .build();
+        this.entries = cache.asMap();
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> Result<T> execute(String scope, String key, Object request, Supplier<T> action) {
+        if (key == null) {
+            return new Result<>(action.get(), false);
+        }
+        if (key.isBlank() || key.length() > properties.getMaxKeyLength()) {
+            throw new InvalidIdempotencyKeyException("Idempotency-Key must have 1 to " + properties.getMaxKeyLength() + " characters");
+        }
+
+        String storeKey = scope + ' ' + key;
+        Entry claimed = new Entry(fingerprint(request));
+        Entry existing = entries.putIfAbsent(storeKey, claimed);
+        if (existing == null) {
+            try {
+                T body = action.get();
+                claimed.response.complete(body);
+                return new Result<>(body, false);
+            } catch (RuntimeException e) {
+                entries.remove(storeKey, claimed);
+                claimed.response.completeExceptionally(e);
+                throw e;
+            }
+        }
+
+        if (!existing.fingerprint.equals(claimed.fingerprint)) {
+            throw new IdempotencyKeyReusedException("Idempotency-Key " + key + " was already used with a different request");
+        }
+        try {
+            return new Result<>((T) existing.response.get(properties.getInFlightTimeout().toMillis(), TimeUnit.MILLISECONDS), true);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            throw new IdempotencyKeyInProgressException("A request with Idempotency-Key " + key + " is still in progress");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IdempotencyKeyInProgressException("A request with Idempotency-Key " + key + " is still in progress");
+        }
+    }
+
+    /**
+     * Hashes the JSON form of the request, so only a small digest is kept per key.
+     */
+    private String fingerprint(Object request) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return Base64.getEncoder().encodeToString(digest.digest(objectMapper.writeValueAsBytes(request)));
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Cannot fingerprint request", e);
+        }
+    }
+
+    /**
+     * A claimed key: the fingerprint of the first request and its response, completed once it finishes.
+     */
+    private static final class Entry {
+        private final String fingerprint;
+        private final CompletableFuture<Object> response = new CompletableFuture<>();
+
+        private Entry(String fingerprint) {
+            this.fingerprint = fingerprint;
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.invoice.management.service;
+
+/**
+ * Service interface for allocating invoice numbers per seller.
+ */
+public interface InvoiceNumberService {
+
+    /**
+     * Allocates the next invoice number of a seller. Numbers are unique per seller and increase
+     * with every allocation on an instance; numbers reserved but not used before a restart are skipped.
+     * Reserving a new block uses a connection of its own, so call this outside of a transaction.
+     *
+     * @param sellerIdentificationNumber the identification number of the seller
+     * @return the allocated invoice number
+     */
+    int nextInvoiceNumber(String sellerIdentificationNumber);
+}
@@ -0,0 +1,134 @@
+package com.invoice.management.service;
+
+import com.invoice.management.configuration.InvoiceNumberProperties;
+import com.invoice.management.entity.repository.InvoiceNumberSequenceRepository;
+import com.invoice.management.entity.repository.InvoiceRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Implementation of the InvoiceNumberService interface, allocating hi/lo style.
+ * Each instance reserves a block of numbers per seller by advancing the seller's row in
+ * {@code invoice_number_sequence} in a short transaction of its own, and then hands out the numbers of the block
+ * from an atomic counter. Only the allocation that exhausts a block synchronizes, on that seller alone,
+ * so invoice creation never waits for a row lock held by another invoice.
+ *
+ * <p>Several instances reserve disjoint blocks, so numbers stay unique per seller; they increase per instance,
+ * but invoices created on different instances interleave blocks.</p>
+ *
+ * <p>A reservation needs a pooled connection of its own. Callers allocate before opening their own transaction,
+ * so a request never holds one connection while it waits for a second.</p>
+ */
+@Service
+public class InvoiceNumberServiceImpl implements InvoiceNumberService {
+
+    private static final int MAX_RESERVATION_ATTEMPTS = 3;
+
+    private final InvoiceNumberSequenceRepository sequenceRepository;
+    private final InvoiceRepository invoiceRepository;
+    private final TransactionTemplate reservationTransaction;
+    private final InvoiceNumberProperties properties;
+    private final Map<String, SellerNumbers> sellers = new ConcurrentHashMap<>();
+
+    /**
+     * Constructs a new InvoiceNumberServiceImpl with the necessary dependencies.
+     *
+     * @param sequenceRepository the repository for the per-seller reservations
+     * @param invoiceRepository  the repository for invoice entities, read when a seller's reservations start
+     * @param transactionManager the transaction manager used for the reservation transactions
+     * @param properties         the block size
+     */
+    @Autowired
+    public InvoiceNumberServiceImpl(InvoiceNumberSequenceRepository sequenceRepository,
+                                    InvoiceRepository invoiceRepository,
+                                    PlatformTransactionManager transactionManager,
+                                    InvoiceNumberProperties properties) {
+        this.sequenceRepository = sequenceRepository;
+        this.invoiceRepository = invoiceRepository;
+        this.reservationTransaction = new TransactionTemplate(transactionManager);
+        this.reservationTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.properties = properties;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int nextInvoiceNumber(String sellerIdentificationNumber) {
+        SellerNumbers numbers = sellers.computeIfAbsent(sellerIdentificationNumber, key -> new SellerNumbers());
+        while (true) {
+            Block block = numbers.current;
+            long number = block.next.getAndIncrement();
+            if (number < block.end) {
+                return Math.toIntExact(number);
+            }
+            synchronized (numbers) {
+                if (numbers.current == block) {
+                    numbers.current = reserve(sellerIdentificationNumber);
+                }
+            }
+        }
+    }
+
+    /**
+     * Reserves the next block of a seller in a transaction that commits immediately, so the reservation row
+     * is locked only for the duration of one statement.
+     * The reservation is a single insert-or-advance of the seller's row; the first reservation of a seller
+     * continues after the highest number the seller already used. If another instance inserts the row between
+     * the existence check and the reservation, the statement advances that row instead of overwriting it.
+     * Reservations that lose a deadlock or a lock wait against another instance are retried.
+     */
+    private Block reserve(String identificationNumber) {
+        long blockSize = properties.getBlockSize();
+        for (int attempt = 1; ; attempt++) {
+            try {
+                Long end = reservationTransaction.execute(status -> {
+                    // the initial value only matters when the row is inserted, so the invoices are read only then
+                    long initialValue = sequenceRepository.existsById(identificationNumber)
+                            ? 0
+                            : firstNumber(identificationNumber) + blockSize;
+                    sequenceRepository.reserve(identificationNumber, initialValue, blockSize);
+                    return sequenceRepository.findNextValue(identificationNumber);
+                });
+                return new Block(end - blockSize, end);
+            } catch (ConcurrencyFailureException e) {
+                if (attempt >= MAX_RESERVATION_ATTEMPTS) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    private long firstNumber(String identificationNumber) {
+        Integer highest = invoiceRepository.findMaxInvoiceNumberBySeller(identificationNumber);
+        return highest == null ? 1 : highest + 1L;
+    }
+
+    /**
+     * The block a seller currently allocates from; starts out exhausted, so the first allocation reserves.
+     */
+    private static final class SellerNumbers {
+        private volatile Block current = new Block(0, 0);
+    }
+
+    /**
+     * A reserved range of numbers [start, end).
+     */
+    private static final class Block {
+        private final AtomicLong next;
+        private final long end;
+
+        private Block(long start, long end) {
+            this.next = new AtomicLong(start);
+            this.end = end;
+        }
+    }
+}
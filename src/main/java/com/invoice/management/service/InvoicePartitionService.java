@@ -0,0 +1,33 @@
+package com.invoice.management.service;
+
+import com.invoice.management.dto.InvoicePartitionDTO;
+
+import java.util.List;
+
+/**
+ * Service interface for maintaining the range partitions of the invoice table.
+ */
+public interface InvoicePartitionService {
+
+    /**
+     * Retrieves the live partitions of the invoice table followed by the archived ones.
+     *
+     * @return the partitions, empty if the invoice table is not partitioned
+     */
+    List<InvoicePartitionDTO> getPartitions();
+
+    /**
+     * Creates the partitions needed to cover the configured number of intervals beyond today.
+     *
+     * @return the partitions that were created
+     */
+    List<InvoicePartitionDTO> createUpcomingPartitions();
+
+    /**
+     * Moves a past partition into a read-only archive table.
+     *
+     * @param name the name of the partition
+     * @return the archived partition
+     */
+    InvoicePartitionDTO archivePartition(String name);
+}
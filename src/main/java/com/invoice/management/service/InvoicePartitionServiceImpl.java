@@ -0,0 +1,145 @@
+package com.invoice.management.service;
+
+import com.invoice.management.configuration.PartitioningProperties;
+import com.invoice.management.dto.InvoicePartitionDTO;
+import com.invoice.management.entity.repository.InvoiceRepository;
+import com.invoice.management.exception.PartitionNotArchivableException;
+import com.invoice.management.exception.PartitionNotFoundException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Implementation of the InvoicePartitionService interface.
+ * Partitions are named after the first issue date they hold and are split off the trailing catch-all
+ * partition ahead of time, so the catch-all stays empty and splitting it never moves rows.
+ * A partition can be archived once it ended more than one interval ago; the current and the previous
+ * interval stay writable for late and corrected invoices.
+ */
+@Slf4j
+@Service
+public class InvoicePartitionServiceImpl implements InvoicePartitionService {
+
+    private static final Pattern PARTITION_NAME = Pattern.compile("p[0-9a-z_]{1,40}");
+
+    private final InvoiceRepository invoiceRepository;
+    private final PartitioningProperties properties;
+    private final RevenueRollupService revenueRollupService;
+
+    /**
+     * Constructs a new InvoicePartitionServiceImpl with the necessary dependencies.
+     *
+     * @param invoiceRepository    the repository for invoice entities and their partitions
+     * @param properties           the partition interval and how far ahead partitions are created
+     * @param revenueRollupService the revenue rollup, rebuilt once archived invoices are gone
+     */
+    @Autowired
+    public InvoicePartitionServiceImpl(InvoiceRepository invoiceRepository, PartitioningProperties properties,
+                                       RevenueRollupService revenueRollupService) {
+        this.invoiceRepository = invoiceRepository;
+        this.properties = properties;
+        this.revenueRollupService = revenueRollupService;
+    }
+
+    /**
+     * Creates the upcoming partitions on the configured schedule.
+     */
+    @Scheduled(cron = "${persistence.partitioning.cron:0 0 2 * * *}")
+    public void scheduledPartitionMaintenance() {
+        createUpcomingPartitions();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<InvoicePartitionDTO> getPartitions() {
+        List<InvoicePartitionDTO> partitions = new ArrayList<>(invoiceRepository.findPartitions());
+        partitions.addAll(invoiceRepository.findArchivedPartitions());
+        return partitions;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<InvoicePartitionDTO> createUpcomingPartitions() {
+        List<InvoicePartitionDTO> partitions = invoiceRepository.findPartitions();
+        if (partitions.size() < 2 || partitions.get(partitions.size() - 1).getUpperBound() != null) {
+            if (!partitions.isEmpty()) {
+                log.warn("Invoice table has no catch-all partition after a bounded one; skipping partition maintenance");
+            }
+            return List.of();
+        }
+
+        LocalDate bound = partitions.get(partitions.size() - 2).getUpperBound();
+        LocalDate horizon = LocalDate.now().plus(properties.getInterval().multipliedBy(properties.getAhead()));
+        List<InvoicePartitionDTO> created = new ArrayList<>();
+        while (!bound.isAfter(horizon)) {
+            LocalDate next = bound.plus(properties.getInterval());
+            String name = "p" + bound.format(DateTimeFormatter.BASIC_ISO_DATE);
+            invoiceRepository.addPartition(name, next);
+            created.add(new InvoicePartitionDTO(name, "invoice", next, 0, 0, false));
+            bound = next;
+        }
+        if (!created.isEmpty()) {
+            log.info("Created invoice partitions {}", created.stream().map(InvoicePartitionDTO::getName).toList());
+        }
+        return created;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public InvoicePartitionDTO archivePartition(String name) {
+        if (!PARTITION_NAME.matcher(name).matches()) {
+            throw new PartitionNotFoundException("Partition " + name + " not found");
+        }
+        InvoicePartitionDTO partition = invoiceRepository.findPartitions().stream()
+                .filter(candidate -> candidate.getName().equals(name))
+                .findFirst()
+                .orElse(null);
+        if (partition == null) {
+            return resumeArchival(name);
+        }
+
+        LocalDate archivableUntil = LocalDate.now().minus(properties.getInterval());
+        if (partition.getUpperBound() == null || partition.getUpperBound().isAfter(archivableUntil)) {
+            throw new PartitionNotArchivableException("Partition " + name + " may still receive invoices");
+        }
+
+        String archiveTable = "invoice_archive_" + name;
+        invoiceRepository.archivePartition(name, archiveTable);
+        log.info("Archived invoice partition {} ({} rows) into {}", name, partition.getRows(), archiveTable);
+        revenueRollupService.rebuild();
+        return new InvoicePartitionDTO(name, archiveTable, partition.getUpperBound(),
+                partition.getRows(), partition.getSizeBytes(), true);
+    }
+
+    /**
+     * Finishes an archival that stopped after the partition was dropped, which leaves the archive table
+     * without its read-only triggers. The repository skips the steps that already happened.
+     *
+     * @param name the name of the partition
+     * @return the archived partition
+     */
+    private InvoicePartitionDTO resumeArchival(String name) {
+        InvoicePartitionDTO archived = invoiceRepository.findArchivedPartitions().stream()
+                .filter(candidate -> candidate.getName().equals(name))
+                .findFirst()
+                .orElseThrow(() -> new PartitionNotFoundException("Partition " + name + " not found"));
+
+        invoiceRepository.archivePartition(name, archived.getTable());
+        log.info("Resumed archival of invoice partition {} into {}", name, archived.getTable());
+        revenueRollupService.rebuild();
+        return archived;
+    }
+}
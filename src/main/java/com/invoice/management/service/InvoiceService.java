@@ -1,9 +1,14 @@
 package com.invoice.management.service;
 
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.invoice.management.dto.BatchResponse;
 import com.invoice.management.dto.InvoiceDTO;
 import com.invoice.management.dto.PaginatedResponse;
 
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
 
 /**
  * Service interface for managing invoices.
@@ -11,7 +16,12 @@ import java.util.Map;
 public interface InvoiceService {
 
     /**
-     * Creates a new invoice.
+     * The properties of an invoice a partial update may change; the parties are changed by a full update only.
+     */
+    Set<String> PATCHABLE_FIELDS = Set.of("invoiceNumber", "issued", "dueDate", "product", "price", "vat", "note");
+
+    /**
+     * Creates a new invoice. Without an invoice number, the next number of the seller is allocated.
      *
      * @param invoiceDTO the DTO containing the invoice data
      * @return the created invoice DTO
@@ -26,15 +36,48 @@ public interface InvoiceService {
      */
     InvoiceDTO getInvoiceById(long id);
 
+    /**
+     * Retrieves only the requested fields of an invoice by its ID.
+     *
+     * @param id     the ID of the invoice to retrieve
+     * @param fields the comma-separated fields to return, e.g. {@code _id,name} or {@code seller.name}
+     * @return the requested properties by their JSON names
+     */
+    ObjectNode getInvoiceFieldsById(long id, String fields);
+
+    /**
+     * Retrieves the invoices with the given IDs.
+     *
+     * @param ids the IDs of the invoices to retrieve
+     * @return the invoices found in request order, and the IDs that do not exist
+     */
+    BatchResponse<InvoiceDTO> getInvoicesByIds(List<Long> ids);
+
     /**
      * Updates an existing invoice.
+     * When the DTO carries a version, the update is only applied to that version of the invoice.
      *
      * @param id         the ID of the invoice to update
      * @param invoiceDTO the DTO containing the updated invoice data
-     * @return the updated invoice DTO
+     * @return the updated invoice DTO, with its new version
+     * @throws com.invoice.management.exception.InvoiceVersionMismatchException if the invoice has another version
      */
     InvoiceDTO updateInvoice(long id, InvoiceDTO invoiceDTO);
 
+    /**
+     * Changes some properties of an invoice with a single versioned UPDATE statement, without loading it.
+     * The given properties must already be validated individually.
+     *
+     * @param id      the ID of the invoice to update
+     * @param version the version the patch is based on, or null to patch any version
+     * @param patch   the DTO holding the new values
+     * @param fields  the properties of the DTO to apply, a subset of {@link #PATCHABLE_FIELDS}
+     * @return the new version of the invoice
+     * @throws com.invoice.management.exception.InvalidInvoicePatchException    if a field cannot be patched to the given value
+     * @throws com.invoice.management.exception.InvoiceVersionMismatchException if the invoice has another version
+     */
+    long patchInvoice(long id, Long version, InvoiceDTO patch, Set<String> fields);
+
     /**
      * Deletes an invoice by its ID.
      *
@@ -50,6 +93,31 @@ public interface InvoiceService {
      */
     PaginatedResponse<InvoiceDTO> getInvoices(Map<String, String> params);
 
+    /**
+     * Retrieves a paginated list of invoices with only the requested fields, selecting nothing else from the database.
+     *
+     * @param params a map of query parameters for filtering and sorting
+     * @param fields the comma-separated fields to return
+     * @return a paginated response containing the requested properties of every invoice
+     */
+    PaginatedResponse<ObjectNode> getInvoiceFields(Map<String, String> params, String fields);
+
+    /**
+     * Counts the invoices matching the filters in the given parameters.
+     *
+     * @param params a map of query parameters for filtering
+     * @return the number of matching invoices
+     */
+    long countInvoices(Map<String, String> params);
+
+    /**
+     * Streams one page of invoices to the given consumer, one DTO at a time, without holding the page in memory.
+     *
+     * @param params   a map of query parameters for filtering, sorting and pagination
+     * @param consumer receives every invoice DTO of the page in order
+     */
+    void streamInvoices(Map<String, String> params, Consumer<InvoiceDTO> consumer);
+
     /**
      * Retrieves invoice statistics.
      *
@@ -1,26 +1,45 @@
 package com.invoice.management.service;
 
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.invoice.management.constant.ChangeEventType;
+import com.invoice.management.dto.BatchResponse;
+import com.invoice.management.dto.ChangeEventDTO;
 import com.invoice.management.dto.InvoiceDTO;
+import com.invoice.management.dto.InvoiceVersionDTO;
 import com.invoice.management.dto.PaginatedResponse;
 import com.invoice.management.dto.mapper.InvoiceMapper;
 import com.invoice.management.entity.InvoiceEntity;
 import com.invoice.management.entity.repository.InvoiceRepository;
 import com.invoice.management.entity.repository.PersonRepository;
+import com.invoice.management.exception.InvalidInvoicePatchException;
 import com.invoice.management.exception.InvoiceNotFoundException;
+import com.invoice.management.exception.InvoiceVersionMismatchException;
 import com.invoice.management.exception.PersonNotFoundException;
+import com.invoice.management.utils.FieldSelection;
 import com.invoice.management.utils.FilterUtils;
 import com.invoice.management.utils.PaginationUtils;
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.PropertyAccessorFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDate;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 /**
@@ -30,42 +49,91 @@ import java.util.stream.Collectors;
 @Service
 public class InvoiceServiceImpl extends BaseService<InvoiceEntity, Long> implements InvoiceService {
 
+    private static final String DUE_DATE_MESSAGE = "Due date must be after the issue date";
+
     private final InvoiceRepository invoiceRepository;
     private final InvoiceMapper invoiceMapper;
     private final PersonRepository personRepository;
+    private final InvoiceNumberService invoiceNumberService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
 
     /**
      * Constructs a new InvoiceServiceImpl with the necessary dependencies.
      *
-     * @param invoiceRepository the repository for invoice entities
-     * @param invoiceMapper     the mapper for converting between InvoiceEntity and InvoiceDTO
-     * @param personRepository  the repository for person entities
+     * @param invoiceRepository    the repository for invoice entities
+     * @param invoiceMapper        the mapper for converting between InvoiceEntity and InvoiceDTO
+     * @param personRepository     the repository for person entities
+     * @param invoiceNumberService the allocator of invoice numbers omitted by the client
+     * @param eventPublisher       the publisher of the change events for the change feed
+     * @param transactionManager   the transaction manager used for creating invoices
      */
     @Autowired
     public InvoiceServiceImpl(InvoiceRepository invoiceRepository,
                               InvoiceMapper invoiceMapper,
-                              PersonRepository personRepository) {
+                              PersonRepository personRepository,
+                              InvoiceNumberService invoiceNumberService,
+                              ApplicationEventPublisher eventPublisher,
+                              PlatformTransactionManager transactionManager) {
         super(invoiceRepository, invoiceRepository);
         this.invoiceRepository = invoiceRepository;
         this.invoiceMapper = invoiceMapper;
         this.personRepository = personRepository;
+        this.invoiceNumberService = invoiceNumberService;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
     }
 
     /**
      * {@inheritDoc}
+     * A number omitted by the client is allocated before the invoice transaction begins, since reserving
+     * a new block of numbers takes a pooled connection of its own.
      */
     @Override
     public InvoiceDTO createInvoice(InvoiceDTO invoiceDTO) {
-        InvoiceEntity entity = invoiceMapper.toEntity(invoiceDTO);
+        Integer allocatedNumber = null;
+        if (invoiceDTO.getInvoiceNumber() == null) {
+            String sellerIdentificationNumber = personRepository.findById(invoiceDTO.getSeller().getId())
+                    .orElseThrow(() -> new PersonNotFoundException("Seller not found"))
+                    .getIdentificationNumber();
+            allocatedNumber = invoiceNumberService.nextInvoiceNumber(sellerIdentificationNumber);
+        }
+        Integer invoiceNumber = allocatedNumber;
 
-        entity.setBuyer(personRepository.findById(invoiceDTO.getBuyer().getId())
-                .orElseThrow(() -> new PersonNotFoundException("Buyer not found")));
+        return transactionTemplate.execute(status -> {
+            InvoiceEntity entity = invoiceMapper.toEntity(invoiceDTO);
+            if (invoiceNumber != null) {
+                entity.setInvoiceNumber(invoiceNumber);
+            }
 
-        entity.setSeller(personRepository.findById(invoiceDTO.getSeller().getId())
-                .orElseThrow(() -> new PersonNotFoundException("Seller not found")));
+            entity.setBuyer(personRepository.findById(invoiceDTO.getBuyer().getId())
+                    .orElseThrow(() -> new PersonNotFoundException("Buyer not found")));
 
-        entity = create(entity);
-        return invoiceMapper.toDTO(entity);
+            entity.setSeller(personRepository.findById(invoiceDTO.getSeller().getId())
+                    .orElseThrow(() -> new PersonNotFoundException("Seller not found")));
+
+            entity = create(entity);
+            publishChange(ChangeEventType.INVOICE_CREATED, entity);
+            return invoiceMapper.toDTO(entity);
+        });
+    }
+
+    /**
+     * {@inheritDoc}
+     * Buyers and sellers shared by several invoices are resolved once through the persistence context,
+     * and from the person cache region when the second-level cache is enabled.
+     */
+    @Override
+    public BatchResponse<InvoiceDTO> getInvoicesByIds(List<Long> ids) {
+        Map<Long, InvoiceEntity> invoices = findAllById(ids, InvoiceEntity::getId);
+        List<InvoiceDTO> items = invoices.values().stream()
+                .map(invoiceMapper::toDTO)
+                .collect(Collectors.toList());
+        List<Long> missingIds = ids.stream()
+                .distinct()
+                .filter(id -> !invoices.containsKey(id))
+                .collect(Collectors.toList());
+        return new BatchResponse<>(items, missingIds);
     }
 
     /**
@@ -90,6 +158,43 @@ public class InvoiceServiceImpl extends BaseService<InvoiceEntity, Long> impleme
         );
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public PaginatedResponse<ObjectNode> getInvoiceFields(Map<String, String> params, String fields) {
+        FieldSelection selection = FieldSelection.parse(fields, InvoiceDTO.class);
+        Pageable pageable = PaginationUtils.createPageable(params);
+        Specification<InvoiceEntity> spec = FilterUtils.createInvoiceSpecification(params);
+
+        Page<Object[]> page = findAllAttributes(spec, pageable, selection.getAttributePaths());
+
+        return new PaginatedResponse<>(
+                page.getContent().stream().map(selection::toJson).collect(Collectors.toList()),
+                page.getNumber() + 1,
+                page.getTotalPages(),
+                (int) page.getTotalElements()
+        );
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long countInvoices(Map<String, String> params) {
+        return count(FilterUtils.createInvoiceSpecification(params));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void streamInvoices(Map<String, String> params, Consumer<InvoiceDTO> consumer) {
+        forEach(FilterUtils.createInvoiceSpecification(params), PaginationUtils.createPageable(params),
+                invoice -> consumer.accept(invoiceMapper.toDTO(invoice)));
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -104,9 +209,27 @@ public class InvoiceServiceImpl extends BaseService<InvoiceEntity, Long> impleme
      * {@inheritDoc}
      */
     @Override
+    public ObjectNode getInvoiceFieldsById(long id, String fields) {
+        FieldSelection selection = FieldSelection.parse(fields, InvoiceDTO.class);
+        Specification<InvoiceEntity> spec = (root, query, criteriaBuilder) -> criteriaBuilder.equal(root.get("id"), id);
+        return findAllAttributes(spec, PageRequest.of(0, 1), selection.getAttributePaths()).stream()
+                .findFirst()
+                .map(selection::toJson)
+                .orElseThrow(() -> new InvoiceNotFoundException("Invoice not found"));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional
     public InvoiceDTO updateInvoice(long id, InvoiceDTO invoiceDTO) {
         InvoiceEntity existingInvoice = findById(id)
                 .orElseThrow(() -> new InvoiceNotFoundException("Invoice not found"));
+        if (invoiceDTO.getVersion() != null && !invoiceDTO.getVersion().equals(existingInvoice.getVersion())) {
+            throw new InvoiceVersionMismatchException(versionMismatchMessage(invoiceDTO.getVersion()));
+        }
+        Long previousSellerId = existingInvoice.getSeller() != null ? existingInvoice.getSeller().getId() : null;
 
         invoiceMapper.updateEntityFromDto(invoiceDTO, existingInvoice);
 
@@ -121,16 +244,67 @@ public class InvoiceServiceImpl extends BaseService<InvoiceEntity, Long> impleme
         }
 
         existingInvoice = update(existingInvoice);
+        // the version is incremented by the flush, and the response must carry the new one
+        invoiceRepository.flush();
+        ChangeEventDTO event = changeEvent(ChangeEventType.INVOICE_UPDATED, existingInvoice);
+        if (!Objects.equals(previousSellerId, event.getSellerId())) {
+            event.setPreviousSellerId(previousSellerId);
+        }
+        eventPublisher.publishEvent(event);
 
         return invoiceMapper.toDTO(existingInvoice);
     }
 
+    /**
+     * {@inheritDoc}
+     * When the statement updates no row, the version and the parties are read by primary key to tell
+     * a missing invoice, a stale version and an invalid due date apart; after a successful update the same read
+     * provides the new version and the parties of the change event.
+     */
+    @Override
+    @Transactional
+    public long patchInvoice(long id, Long version, InvoiceDTO patch, Set<String> fields) {
+        if (fields.isEmpty()) {
+            throw new InvalidInvoicePatchException("The patch does not change any field");
+        }
+        BeanWrapper source = PropertyAccessorFactory.forBeanPropertyAccess(patch);
+        Map<String, Object> values = new LinkedHashMap<>();
+        for (String field : fields) {
+            if (!PATCHABLE_FIELDS.contains(field)) {
+                throw new InvalidInvoicePatchException("Field '" + field + "' cannot be patched");
+            }
+            values.put(field, source.getPropertyValue(field));
+        }
+        if (values.containsKey("invoiceNumber") && patch.getInvoiceNumber() == null) {
+            throw new InvalidInvoicePatchException("Invoice number cannot be removed");
+        }
+        if (patch.getIssued() != null && patch.getDueDate() != null && !patch.getDueDate().isAfter(patch.getIssued())) {
+            throw new InvalidInvoicePatchException(DUE_DATE_MESSAGE);
+        }
+
+        int updated = invoiceRepository.patchInvoice(id, version, values);
+        InvoiceVersionDTO current = invoiceRepository.findVersionById(id)
+                .orElseThrow(() -> new InvoiceNotFoundException("Invoice not found"));
+        if (updated == 0) {
+            if (version != null && !version.equals(current.getVersion())) {
+                throw new InvoiceVersionMismatchException(versionMismatchMessage(version));
+            }
+            throw new InvalidInvoicePatchException(DUE_DATE_MESSAGE);
+        }
+        eventPublisher.publishEvent(ChangeEventDTO.invoice(ChangeEventType.INVOICE_UPDATED, id,
+                current.getSellerId(), current.getBuyerId()));
+        return current.getVersion();
+    }
+
     /**
      * {@inheritDoc}
      */
     @Override
+    @Transactional
     public void deleteInvoice(long id) {
+        Optional<InvoiceEntity> invoice = findById(id);
         delete(id);
+        invoice.ifPresent(deleted -> publishChange(ChangeEventType.INVOICE_DELETED, deleted));
     }
 
     /**
@@ -138,19 +312,11 @@ public class InvoiceServiceImpl extends BaseService<InvoiceEntity, Long> impleme
      */
     @Override
     public Map<String, Object> getInvoiceStatistics() {
-        long currentYear = LocalDate.now().getYear();
-        List<InvoiceEntity> allInvoices = invoiceRepository.findAll();
+        LocalDate currentYearStart = LocalDate.now().withDayOfYear(1);
 
-        long currentYearSum = allInvoices.stream()
-                .filter(invoice -> invoice.getIssued().getYear() == currentYear)
-                .mapToLong(InvoiceEntity::getPrice)
-                .sum();
-
-        long allTimeSum = allInvoices.stream()
-                .mapToLong(InvoiceEntity::getPrice)
-                .sum();
-
-        long invoicesCount = allInvoices.size();
+        long currentYearSum = invoiceRepository.sumPriceIssuedBetween(currentYearStart, currentYearStart.plusYears(1));
+        long allTimeSum = invoiceRepository.sumPrice();
+        long invoicesCount = invoiceRepository.count();
 
         Map<String, Object> statistics = new HashMap<>();
         statistics.put("currentYearSum", currentYearSum);
@@ -199,4 +365,18 @@ public class InvoiceServiceImpl extends BaseService<InvoiceEntity, Long> impleme
                 (int) purchasesPage.getTotalElements()
         );
     }
+
+    private static String versionMismatchMessage(long version) {
+        return "Invoice was modified, version " + version + " is no longer current";
+    }
+
+    private void publishChange(ChangeEventType type, InvoiceEntity invoice) {
+        eventPublisher.publishEvent(changeEvent(type, invoice));
+    }
+
+    private static ChangeEventDTO changeEvent(ChangeEventType type, InvoiceEntity invoice) {
+        return ChangeEventDTO.invoice(type, invoice.getId(),
+                invoice.getSeller() != null ? invoice.getSeller().getId() : null,
+                invoice.getBuyer() != null ? invoice.getBuyer().getId() : null);
+    }
 }
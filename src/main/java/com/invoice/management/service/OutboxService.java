@@ -0,0 +1,33 @@
+package com.invoice.management.service;
+
+import com.invoice.management.dto.ChangeEventDTO;
+import com.invoice.management.dto.OutboxStatusDTO;
+
+/**
+ * Service interface for the transactional outbox of invoice and person changes.
+ */
+public interface OutboxService {
+
+    /**
+     * Writes a change to the outbox in the transaction that made the change,
+     * so the outbox row is committed or rolled back together with it.
+     *
+     * @param event the change published by a service
+     */
+    void record(ChangeEventDTO event);
+
+    /**
+     * Relays the pending events to all sinks, batch by batch, until the outbox is empty,
+     * a sink fails or the maximum duration of a run is reached.
+     *
+     * @return the number of events relayed by this run
+     */
+    long relay();
+
+    /**
+     * Retrieves the state of the relay.
+     *
+     * @return the pending and relayed event counts
+     */
+    OutboxStatusDTO getStatus();
+}
@@ -0,0 +1,164 @@
+package com.invoice.management.service;
+
+import com.invoice.management.configuration.OutboxProperties;
+import com.invoice.management.dto.ChangeEventDTO;
+import com.invoice.management.dto.OutboxEventDTO;
+import com.invoice.management.dto.OutboxStatusDTO;
+import com.invoice.management.dto.mapper.OutboxEventMapper;
+import com.invoice.management.entity.repository.OutboxEventRepository;
+import com.invoice.management.outbox.OutboxSink;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Implementation of the OutboxService interface.
+ * Changes are written by a before-commit listener on the events the invoice and person services publish.
+ * The relay reads the oldest events, hands the whole batch to every sink and deletes it in one transaction,
+ * so a batch is deleted only after all sinks accepted it. A failing sink stops the run and the batch is retried.
+ *
+ * <p>A batch is deleted as one ID range, which is much cheaper than a list of IDs. A change whose transaction
+ * took an ID inside the range but committed only after the batch was read would be deleted unseen, so the range
+ * must delete exactly the batch; otherwise the transaction is rolled back and the batch redelivered.</p>
+ */
+@Slf4j
+@Service
+public class OutboxServiceImpl implements OutboxService {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final OutboxEventMapper outboxEventMapper;
+    private final List<OutboxSink> sinks;
+    private final TransactionTemplate transactionTemplate;
+    private final OutboxProperties properties;
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final AtomicLong relayed = new AtomicLong();
+    private final AtomicLong failedBatches = new AtomicLong();
+    private volatile LocalDateTime lastRelayAt;
+
+    /**
+     * Constructs a new OutboxServiceImpl with the necessary dependencies.
+     *
+     * @param outboxEventRepository the repository for outbox rows
+     * @param outboxEventMapper     the mapper from change events to outbox rows
+     * @param sinks                 the sinks every event is delivered to
+     * @param transactionManager    the transaction manager used for the per-batch transactions
+     * @param properties            the batch size and time limit of a run
+     */
+    @Autowired
+    public OutboxServiceImpl(OutboxEventRepository outboxEventRepository,
+                             OutboxEventMapper outboxEventMapper,
+                             List<OutboxSink> sinks,
+                             PlatformTransactionManager transactionManager,
+                             OutboxProperties properties) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.outboxEventMapper = outboxEventMapper;
+        this.sinks = sinks;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.properties = properties;
+    }
+
+    /**
+     * {@inheritDoc}
+     * Runs before the commit of the publishing transaction; a change published outside a transaction
+     * is written in a transaction of its own.
+     */
+    @Override
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void record(ChangeEventDTO event) {
+        outboxEventRepository.save(outboxEventMapper.toEntity(event));
+    }
+
+    /**
+     * Relays the outbox on the configured interval, unless the relay is disabled on this instance.
+     */
+    @Scheduled(fixedDelayString = "${persistence.outbox.poll-interval:PT0.2S}")
+    public void scheduledRelay() {
+        if (properties.isRelayEnabled()) {
+            relay();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * A run that is still in progress is not overlapped; a second caller relays nothing.
+     */
+    @Override
+    public long relay() {
+        if (!running.compareAndSet(false, true)) {
+            return 0;
+        }
+        try {
+            long deadline = System.nanoTime() + properties.getMaxDuration().toNanos();
+            long count = 0;
+            while (true) {
+                int batch;
+                try {
+                    Integer delivered = transactionTemplate.execute(status -> relayBatch());
+                    batch = delivered == null ? 0 : delivered;
+                } catch (RuntimeException e) {
+                    failedBatches.incrementAndGet();
+                    log.warn("Outbox batch left for retry: {}", e.getMessage());
+                    break;
+                }
+                count += batch;
+                if (batch < properties.getBatchSize() || System.nanoTime() >= deadline) {
+                    break;
+                }
+            }
+            relayed.addAndGet(count);
+            lastRelayAt = LocalDateTime.now();
+            return count;
+        } finally {
+            running.set(false);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public OutboxStatusDTO getStatus() {
+        return new OutboxStatusDTO(
+                outboxEventRepository.count(),
+                relayed.get(),
+                failedBatches.get(),
+                lastRelayAt,
+                sinks.stream().map(OutboxSink::name).collect(Collectors.toList())
+        );
+    }
+
+    private int relayBatch() {
+        List<OutboxEventDTO> events = outboxEventRepository.findOldest(PageRequest.of(0, properties.getBatchSize()));
+        if (events.isEmpty()) {
+            return 0;
+        }
+        long first = events.get(0).getId();
+        long last = events.get(events.size() - 1).getId();
+        for (OutboxSink sink : sinks) {
+            try {
+                sink.deliver(events);
+            } catch (RuntimeException e) {
+                throw new IllegalStateException("Sink " + sink.name() + " failed on outbox IDs "
+                        + first + ".." + last + ": " + e.getMessage(), e);
+            }
+        }
+        int deleted = outboxEventRepository.deleteRange(first, last);
+        if (deleted != events.size()) {
+            throw new IllegalStateException("Outbox IDs " + first + ".." + last + " changed while relaying ("
+                    + deleted + " rows instead of " + events.size() + "), batch rolled back for redelivery");
+        }
+        return events.size();
+    }
+}
@@ -0,0 +1,25 @@
+package com.invoice.management.service;
+
+import com.invoice.management.dto.ArchivalReportDTO;
+
+import java.util.Optional;
+
+/**
+ * Service interface for archiving person versions that are no longer needed in the person table.
+ */
+public interface PersonArchivalService {
+
+    /**
+     * Moves hidden person versions that no invoice references into the archive, batch by batch.
+     *
+     * @return the report of the run
+     */
+    ArchivalReportDTO archiveHiddenPersons();
+
+    /**
+     * Retrieves the report of the most recent archival run.
+     *
+     * @return the last report, or empty if no run finished since startup
+     */
+    Optional<ArchivalReportDTO> getLastReport();
+}
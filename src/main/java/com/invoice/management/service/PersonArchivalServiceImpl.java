@@ -0,0 +1,169 @@
+package com.invoice.management.service;
+
+import com.invoice.management.configuration.ArchivalProperties;
+import com.invoice.management.dto.ArchivalReportDTO;
+import com.invoice.management.entity.repository.PersonArchiveRepository;
+import com.invoice.management.entity.repository.PersonRepository;
+import com.invoice.management.exception.ArchivalInProgressException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Implementation of the PersonArchivalService interface.
+ * Each batch is moved in its own short transaction, found by keyset pagination over the person IDs,
+ * and followed by a pause, so the job never holds locks for long or competes with online traffic.
+ * A batch that fails, e.g. because an invoice started referencing one of its versions, is rolled back and skipped.
+ */
+@Slf4j
+@Service
+public class PersonArchivalServiceImpl implements PersonArchivalService {
+
+    private final PersonRepository personRepository;
+    private final PersonArchiveRepository personArchiveRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ArchivalProperties properties;
+    private final AtomicBoolean running = new AtomicBoolean();
+    private volatile ArchivalReportDTO lastReport;
+
+    /**
+     * Constructs a new PersonArchivalServiceImpl with the necessary dependencies.
+     *
+     * @param personRepository        the repository for person entities
+     * @param personArchiveRepository the repository for archived person versions
+     * @param transactionManager      the transaction manager used for the per-batch transactions
+     * @param properties              the batch size, pause and time limit of a run
+     */
+    @Autowired
+    public PersonArchivalServiceImpl(PersonRepository personRepository,
+                                     PersonArchiveRepository personArchiveRepository,
+                                     PlatformTransactionManager transactionManager,
+                                     ArchivalProperties properties) {
+        this.personRepository = personRepository;
+        this.personArchiveRepository = personArchiveRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.properties = properties;
+    }
+
+    /**
+     * Runs the archival on the configured schedule. A run that is still in progress is not overlapped.
+     */
+    @Scheduled(cron = "${persistence.archival.cron:0 30 3 * * *}")
+    public void scheduledArchival() {
+        try {
+            archiveHiddenPersons();
+        } catch (ArchivalInProgressException e) {
+            log.info("Skipping scheduled archival: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ArchivalReportDTO archiveHiddenPersons() {
+        if (!running.compareAndSet(false, true)) {
+            throw new ArchivalInProgressException("An archival run is already in progress");
+        }
+        try {
+            ArchivalReportDTO report = run();
+            lastReport = report;
+            log.info("Archived {} person versions in {} batches ({} failed) in {} ms; person rows {} -> {}, bytes {} -> {}",
+                    report.getRowsMoved(), report.getBatches(), report.getFailedBatches(), report.getDurationMillis(),
+                    report.getPersonRowsBefore(), report.getPersonRowsAfter(),
+                    report.getPersonBytesBefore(), report.getPersonBytesAfter());
+            return report;
+        } finally {
+            running.set(false);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Optional<ArchivalReportDTO> getLastReport() {
+        return Optional.ofNullable(lastReport);
+    }
+
+    private ArchivalReportDTO run() {
+        LocalDateTime startedAt = LocalDateTime.now();
+        long start = System.nanoTime();
+        long deadline = start + properties.getMaxDuration().toNanos();
+
+        long personRowsBefore = personRepository.count();
+        long archiveRowsBefore = personArchiveRepository.count();
+        Long personBytesBefore = personArchiveRepository.tableSizeBytes("person");
+
+        long afterId = 0;
+        int batches = 0;
+        int failedBatches = 0;
+        long rowsMoved = 0;
+        boolean truncated = false;
+
+        while (true) {
+            List<Long> ids = personArchiveRepository.findArchivableIds(afterId, properties.getBatchSize());
+            if (ids.isEmpty()) {
+                break;
+            }
+            afterId = ids.get(ids.size() - 1);
+
+            try {
+                Integer moved = transactionTemplate.execute(status -> personArchiveRepository.moveToArchive(ids, startedAt));
+                rowsMoved += moved == null ? 0 : moved;
+                batches++;
+            } catch (DataAccessException e) {
+                failedBatches++;
+                log.warn("Archival batch of person IDs {}..{} rolled back: {}", ids.get(0), afterId, e.getMessage());
+            }
+
+            if (ids.size() < properties.getBatchSize()) {
+                break;
+            }
+            if (System.nanoTime() >= deadline || !pause()) {
+                truncated = true;
+                break;
+            }
+        }
+
+        return new ArchivalReportDTO(
+                startedAt,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start),
+                batches,
+                failedBatches,
+                rowsMoved,
+                truncated,
+                personRowsBefore,
+                personRepository.count(),
+                archiveRowsBefore,
+                personArchiveRepository.count(),
+                personBytesBefore,
+                personArchiveRepository.tableSizeBytes("person")
+        );
+    }
+
+    /**
+     * Sleeps between two batches.
+     *
+     * @return false if the thread was interrupted and the run should stop
+     */
+    private boolean pause() {
+        try {
+            Thread.sleep(properties.getPause().toMillis());
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
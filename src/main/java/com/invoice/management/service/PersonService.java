@@ -1,10 +1,14 @@
 package com.invoice.management.service;
 
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.invoice.management.dto.BatchResponse;
 import com.invoice.management.dto.InvoiceDTO;
 import com.invoice.management.dto.PaginatedResponse;
 import com.invoice.management.dto.PersonDTO;
 
+import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
 /**
  * Service interface for managing persons.
@@ -27,6 +31,23 @@ public interface PersonService {
      */
     PersonDTO getPersonById(long id);
 
+    /**
+     * Retrieves only the requested fields of a person by its ID.
+     *
+     * @param id     the ID of the person to retrieve
+     * @param fields the comma-separated fields to return, e.g. {@code _id,name} or {@code seller.name}
+     * @return the requested properties by their JSON names
+     */
+    ObjectNode getPersonFieldsById(long id, String fields);
+
+    /**
+     * Retrieves the persons with the given IDs, including hidden versions.
+     *
+     * @param ids the IDs of the persons to retrieve
+     * @return the persons found in request order, and the IDs that do not exist
+     */
+    BatchResponse<PersonDTO> getPersonsByIds(List<Long> ids);
+
     /**
      * Updates an existing person.
      *
@@ -43,6 +64,23 @@ public interface PersonService {
      */
     void removePerson(long id);
 
+    /**
+     * Retrieves the current version of a person by their identification number.
+     *
+     * @param identificationNumber the identification number of the person
+     * @return the person DTO of the current version
+     */
+    PersonDTO getPersonByIdentificationNumber(String identificationNumber);
+
+    /**
+     * Retrieves all versions of a person, including the hidden ones left behind by updates
+     * and the ones already moved to the archive.
+     *
+     * @param identificationNumber the identification number of the person
+     * @return the person DTOs of all versions, newest first
+     */
+    List<PersonDTO> getPersonHistory(String identificationNumber);
+
     /**
      * Retrieves a paginated list of persons based on the provided parameters.
      *
@@ -51,6 +89,31 @@ public interface PersonService {
      */
     PaginatedResponse<PersonDTO> getPersons(Map<String, String> params);
 
+    /**
+     * Retrieves a paginated list of persons with only the requested fields, selecting nothing else from the database.
+     *
+     * @param params a map of query parameters for filtering and sorting
+     * @param fields the comma-separated fields to return
+     * @return a paginated response containing the requested properties of every person
+     */
+    PaginatedResponse<ObjectNode> getPersonFields(Map<String, String> params, String fields);
+
+    /**
+     * Counts the persons matching the filters in the given parameters.
+     *
+     * @param params a map of query parameters for filtering
+     * @return the number of matching persons
+     */
+    long countPersons(Map<String, String> params);
+
+    /**
+     * Streams one page of persons to the given consumer, one DTO at a time, without holding the page in memory.
+     *
+     * @param params   a map of query parameters for filtering, sorting and pagination
+     * @param consumer receives every person DTO of the page in order
+     */
+    void streamPersons(Map<String, String> params, Consumer<PersonDTO> consumer);
+
     /**
      * Retrieves a paginated list of sales invoices for a specific person.
      *
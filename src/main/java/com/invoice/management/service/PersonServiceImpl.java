@@ -1,60 +1,91 @@
 package com.invoice.management.service;
 
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.invoice.management.constant.ChangeEventType;
+import com.invoice.management.dto.BatchResponse;
+import com.invoice.management.dto.ChangeEventDTO;
 import com.invoice.management.dto.InvoiceDTO;
 import com.invoice.management.dto.PaginatedResponse;
 import com.invoice.management.dto.PersonDTO;
 import com.invoice.management.dto.PersonStatisticsDTO;
 import com.invoice.management.dto.mapper.PersonMapper;
-import com.invoice.management.entity.InvoiceEntity;
 import com.invoice.management.entity.PersonEntity;
+import com.invoice.management.entity.repository.PersonArchiveRepository;
+import com.invoice.management.entity.repository.PersonIdentityRepository;
 import com.invoice.management.entity.repository.PersonRepository;
 import com.invoice.management.exception.PersonNotFoundException;
+import com.invoice.management.utils.FieldSelection;
 import com.invoice.management.utils.FilterUtils;
 import com.invoice.management.utils.PaginationUtils;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.*;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 /**
  * Implementation of the PersonService interface.
  * This class provides the business logic for managing persons.
+ * Every write keeps the current-version pointer in the person_identity table in step with the person rows
+ * and publishes the created and hidden versions to the change feed once the transaction commits.
  */
 @Service
 public class PersonServiceImpl extends BaseService<PersonEntity, Long> implements PersonService {
 
     private final PersonRepository personRepository;
+    private final PersonIdentityRepository personIdentityRepository;
+    private final PersonArchiveRepository personArchiveRepository;
     private final PersonMapper personMapper;
     private final InvoiceService invoiceService;
+    private final RevenueRollupService revenueRollupService;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Constructs a new PersonServiceImpl with the necessary dependencies.
      *
-     * @param personRepository the repository for person entities
-     * @param personMapper     the mapper for converting between PersonEntity and PersonDTO
-     * @param invoiceService   the service for managing invoices
+     * @param personRepository         the repository for person entities
+     * @param personIdentityRepository the repository for the current-version pointers
+     * @param personArchiveRepository  the repository for archived person versions
+     * @param personMapper             the mapper for converting between PersonEntity and PersonDTO
+     * @param invoiceService           the service for managing invoices
+     * @param revenueRollupService     the in-memory revenue per seller behind the statistics
+     * @param eventPublisher           the publisher of the change events for the change feed
      */
     @Autowired
     public PersonServiceImpl(PersonRepository personRepository,
+                             PersonIdentityRepository personIdentityRepository,
+                             PersonArchiveRepository personArchiveRepository,
                              PersonMapper personMapper,
-                             InvoiceService invoiceService) {
+                             InvoiceService invoiceService,
+                             RevenueRollupService revenueRollupService,
+                             ApplicationEventPublisher eventPublisher) {
         super(personRepository, personRepository);
         this.personRepository = personRepository;
+        this.personIdentityRepository = personIdentityRepository;
+        this.personArchiveRepository = personArchiveRepository;
         this.personMapper = personMapper;
         this.invoiceService = invoiceService;
+        this.revenueRollupService = revenueRollupService;
+        this.eventPublisher = eventPublisher;
     }
 
     /**
      * {@inheritDoc}
      */
     @Override
+    @Transactional
     public PersonDTO addPerson(PersonDTO personDTO) {
         PersonEntity entity = personMapper.toEntity(personDTO);
         entity = create(entity);
+        pointCurrentVersion(entity);
+        publishChange(ChangeEventType.PERSON_CREATED, entity);
         return personMapper.toDTO(entity);
     }
 
@@ -72,6 +103,36 @@ public class PersonServiceImpl extends BaseService<PersonEntity, Long> implement
      * {@inheritDoc}
      */
     @Override
+    public ObjectNode getPersonFieldsById(long id, String fields) {
+        FieldSelection selection = FieldSelection.parse(fields, PersonDTO.class);
+        Specification<PersonEntity> spec = (root, query, criteriaBuilder) -> criteriaBuilder.equal(root.get("id"), id);
+        return findAllAttributes(spec, PageRequest.of(0, 1), selection.getAttributePaths()).stream()
+                .findFirst()
+                .map(selection::toJson)
+                .orElseThrow(() -> new PersonNotFoundException("Person not found"));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public BatchResponse<PersonDTO> getPersonsByIds(List<Long> ids) {
+        Map<Long, PersonEntity> persons = findAllById(ids, PersonEntity::getId);
+        List<PersonDTO> items = persons.values().stream()
+                .map(personMapper::toDTO)
+                .collect(Collectors.toList());
+        List<Long> missingIds = ids.stream()
+                .distinct()
+                .filter(id -> !persons.containsKey(id))
+                .collect(Collectors.toList());
+        return new BatchResponse<>(items, missingIds);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional
     public PersonDTO updatePerson(long id, PersonDTO personDTO) {
         PersonEntity existingPerson = findById(id)
                 .orElseThrow(() -> new PersonNotFoundException("Person not found"));
@@ -82,6 +143,13 @@ public class PersonServiceImpl extends BaseService<PersonEntity, Long> implement
         newPerson.setId(0);
         newPerson = create(newPerson);
 
+        if (!Objects.equals(existingPerson.getIdentificationNumber(), newPerson.getIdentificationNumber())) {
+            clearCurrentVersion(existingPerson);
+        }
+        pointCurrentVersion(newPerson);
+        publishChange(ChangeEventType.PERSON_HIDDEN, existingPerson);
+        publishChange(ChangeEventType.PERSON_CREATED, newPerson);
+
         return personMapper.toDTO(newPerson);
     }
 
@@ -89,11 +157,42 @@ public class PersonServiceImpl extends BaseService<PersonEntity, Long> implement
      * {@inheritDoc}
      */
     @Override
+    @Transactional
     public void removePerson(long id) {
         PersonEntity person = findById(id)
                 .orElseThrow(() -> new PersonNotFoundException("Person not found"));
         person.setHidden(true);
         update(person);
+        clearCurrentVersion(person);
+        publishChange(ChangeEventType.PERSON_HIDDEN, person);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public PersonDTO getPersonByIdentificationNumber(String identificationNumber) {
+        PersonEntity person = personIdentityRepository.findCurrentVersion(identificationNumber)
+                .or(() -> rebuildCurrentVersion(identificationNumber))
+                .orElseThrow(() -> new PersonNotFoundException("Person not found"));
+        return personMapper.toDTO(person);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<PersonDTO> getPersonHistory(String identificationNumber) {
+        List<PersonDTO> versions = new ArrayList<>();
+        personRepository.findByIdentificationNumberOrderByIdDesc(identificationNumber)
+                .forEach(person -> versions.add(personMapper.toDTO(person)));
+        personArchiveRepository.findByIdentificationNumberOrderByIdDesc(identificationNumber)
+                .forEach(person -> versions.add(personMapper.toDTO(person)));
+        if (versions.isEmpty()) {
+            throw new PersonNotFoundException("Person not found");
+        }
+        versions.sort(Comparator.comparing(PersonDTO::getId).reversed());
+        return versions;
     }
 
     /**
@@ -118,6 +217,43 @@ public class PersonServiceImpl extends BaseService<PersonEntity, Long> implement
         );
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public PaginatedResponse<ObjectNode> getPersonFields(Map<String, String> params, String fields) {
+        FieldSelection selection = FieldSelection.parse(fields, PersonDTO.class);
+        Pageable pageable = PaginationUtils.createPageable(params);
+        Specification<PersonEntity> spec = FilterUtils.createPersonSpecification(params);
+
+        Page<Object[]> page = findAllAttributes(spec, pageable, selection.getAttributePaths());
+
+        return new PaginatedResponse<>(
+                page.getContent().stream().map(selection::toJson).collect(Collectors.toList()),
+                page.getNumber() + 1,
+                page.getTotalPages(),
+                (int) page.getTotalElements()
+        );
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long countPersons(Map<String, String> params) {
+        return count(FilterUtils.createPersonSpecification(params));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void streamPersons(Map<String, String> params, Consumer<PersonDTO> consumer) {
+        forEach(FilterUtils.createPersonSpecification(params), PaginationUtils.createPageable(params),
+                person -> consumer.accept(personMapper.toDTO(person)));
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -136,19 +272,11 @@ public class PersonServiceImpl extends BaseService<PersonEntity, Long> implement
 
     /**
      * {@inheritDoc}
+     * The revenues come from the in-memory rollup rather than from every person and their invoices.
      */
     @Override
     public Map<String, Object> getPersonStatistics(int page, int limit, String sort) {
-        List<PersonEntity> allPersons = personRepository.findAll();
-
-        List<PersonStatisticsDTO> statistics = allPersons.stream()
-                .map(person -> new PersonStatisticsDTO(
-                        person.getId(),
-                        person.getName(),
-                        person.getSales().stream().mapToLong(InvoiceEntity::getPrice).sum()
-                ))
-                .filter(stat -> stat.getRevenue() > 0)
-                .collect(Collectors.toList());
+        List<PersonStatisticsDTO> statistics = revenueRollupService.getSellerRevenues();
 
         List<PersonStatisticsDTO> top5ByRevenue = statistics.stream()
                 .sorted(Comparator.comparingLong(PersonStatisticsDTO::getRevenue).reversed())
@@ -180,13 +308,52 @@ public class PersonServiceImpl extends BaseService<PersonEntity, Long> implement
         return result;
     }
 
+    private void publishChange(ChangeEventType type, PersonEntity person) {
+        eventPublisher.publishEvent(ChangeEventDTO.person(type, person.getId(), person.getIdentificationNumber()));
+    }
+
+    /**
+     * Points the identity of the given person at it.
+     *
+     * @param person the new current version
+     */
+    private void pointCurrentVersion(PersonEntity person) {
+        personIdentityRepository.upsertCurrentVersion(person.getIdentificationNumber(), person.getId());
+    }
+
+    /**
+     * Clears the pointer of the person's identity if it still points at the given version.
+     *
+     * @param person the version that is no longer current
+     */
+    private void clearCurrentVersion(PersonEntity person) {
+        personIdentityRepository.clearCurrentVersion(person.getIdentificationNumber(), person.getId());
+    }
+
+    /**
+     * Rebuilds the pointer for persons written before the identity table existed,
+     * or by tools that insert person rows directly. The repair never replaces a newer or cleared pointer,
+     * since an update or removal may have committed after the version was read.
+     *
+     * @param identificationNumber the identification number of the person
+     * @return the newest visible version, if any
+     */
+    private Optional<PersonEntity> rebuildCurrentVersion(String identificationNumber) {
+        Optional<PersonEntity> current = personRepository
+                .findFirstByIdentificationNumberAndHiddenFalseOrderByIdDesc(identificationNumber);
+        current.ifPresent(person ->
+                personIdentityRepository.repairCurrentVersion(person.getIdentificationNumber(), person.getId()));
+        return current;
+    }
+
     /**
      * Sorts the list of PersonStatisticsDTO based on the provided sort parameter.
+     * Package-private so that the benchmark module can measure it in isolation.
      *
      * @param statistics the list of PersonStatisticsDTO to sort
      * @param sort       the sort parameter in the format "field,direction"
      */
-    private void sortStatistics(List<PersonStatisticsDTO> statistics, String sort) {
+    static void sortStatistics(List<PersonStatisticsDTO> statistics, String sort) {
         String[] sortParams = sort.split(",");
         String sortField = sortParams[0].trim();
         boolean isAsc = sortParams.length == 1 || sortParams[1].trim().equalsIgnoreCase("asc");
@@ -0,0 +1,55 @@
+package com.invoice.management.service;
+
+import com.invoice.management.dto.ChangeEventDTO;
+import com.invoice.management.dto.PersonStatisticsDTO;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Service interface for the in-memory rollup of the revenue per seller behind the person statistics.
+ */
+public interface RevenueRollupService {
+
+    /**
+     * Retrieves the revenue of every person that sold anything, loading the rollup on first use.
+     *
+     * @return one entry per seller with a revenue above zero, in no particular order; the caller may modify it
+     */
+    List<PersonStatisticsDTO> getSellerRevenues();
+
+    /**
+     * Recomputes the sellers an invoice change affected, once the change is committed.
+     *
+     * @param event the change published by the invoice or person service
+     */
+    void onChange(ChangeEventDTO event);
+
+    /**
+     * Recomputes the given sellers, if the rollup is loaded, e.g. because another instance changed their invoices.
+     *
+     * @param sellerIds the IDs of the sellers whose revenue is stale
+     */
+    void invalidateSellers(Collection<Long> sellerIds);
+
+    /**
+     * Drops the rollup without touching the database; the next read rebuilds it from all invoices
+     * rather than from the snapshot, which may be stale as well.
+     */
+    void discard();
+
+    /**
+     * Catches up with the invoices added since the high-water mark, including those added by other instances.
+     */
+    void refresh();
+
+    /**
+     * Discards the rollup and rebuilds it from all invoices, e.g. after invoices were removed in bulk.
+     */
+    void rebuild();
+
+    /**
+     * Writes the rollup to the snapshot file, if snapshots are enabled and the rollup is loaded.
+     */
+    void writeSnapshot();
+}
@@ -0,0 +1,388 @@
+package com.invoice.management.service;
+
+import com.invoice.management.configuration.RevenueRollupProperties;
+import com.invoice.management.dto.ChangeEventDTO;
+import com.invoice.management.dto.PersonStatisticsDTO;
+import com.invoice.management.entity.repository.InvoiceRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Implementation of the RevenueRollupService interface.
+ * Keeps the name and revenue of every seller in memory, so the person statistics no longer load every person
+ * and their invoices. Each committed invoice change recomputes the affected sellers from the database; since
+ * a recomputed revenue is absolute rather than a delta, applying a change twice or out of order is harmless.
+ *
+ * <p>The rollup is snapshotted to a file on an interval and on shutdown, together with the highest invoice ID
+ * it reflects. On startup the snapshot is restored and only the sellers of invoices above that high-water mark
+ * are recomputed, instead of aggregating every invoice. The same catch-up runs on every interval and picks up
+ * invoices added by other instances. Updates and deletes of older invoices made elsewhere while running arrive
+ * through the cache invalidation bus; those made while this instance was down are not seen by the catch-up,
+ * so snapshots older than the configured maximum age are rebuilt from scratch.</p>
+ *
+ * <p>The aggregates run without holding the lock on the rollup, which only guards swapping their results in,
+ * so a rebuild or catch-up never stalls committing requests or statistics reads. Every query takes a
+ * generation number before it starts, and a seller's revenue is only replaced by the result of a query that
+ * started later than the one it came from. Loads, rebuilds and catch-ups, the only writers of the high-water
+ * mark, are serialized among themselves.</p>
+ */
+@Slf4j
+@Service
+public class RevenueRollupServiceImpl implements RevenueRollupService {
+
+    private final InvoiceRepository invoiceRepository;
+    private final RevenueRollupProperties properties;
+    private final Object lock = new Object();
+    private final Object loadLock = new Object();
+    private final Map<Long, PersonStatisticsDTO> sellers = new HashMap<>();
+    private final Map<Long, Long> computedIn = new HashMap<>();
+    private long generation;
+    private long discardedIn;
+    private boolean loaded;
+    private boolean loading;
+    private boolean restorable = true;
+    private long highWaterMark;
+
+    /**
+     * Constructs a new RevenueRollupServiceImpl with the necessary dependencies.
+     *
+     * @param invoiceRepository the repository the revenues are aggregated from
+     * @param properties        the snapshot settings
+     */
+    @Autowired
+    public RevenueRollupServiceImpl(InvoiceRepository invoiceRepository, RevenueRollupProperties properties) {
+        this.invoiceRepository = invoiceRepository;
+        this.properties = properties;
+    }
+
+    /**
+     * Loads the rollup once the application is ready, so the first statistics request finds it warm.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        synchronized (loadLock) {
+            ensureLoaded();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<PersonStatisticsDTO> getSellerRevenues() {
+        synchronized (lock) {
+            if (loaded) {
+                return copySellers();
+            }
+        }
+        synchronized (loadLock) {
+            ensureLoaded();
+        }
+        synchronized (lock) {
+            return copySellers();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * A change committed before the rollup is loaded is left to the load, which reads it from the database.
+     */
+    @Override
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onChange(ChangeEventDTO event) {
+        if (event.getSellerId() == null && event.getPreviousSellerId() == null) {
+            return;
+        }
+        invalidateSellers(Stream.of(event.getSellerId(), event.getPreviousSellerId())
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet()));
+    }
+
+    /**
+     * {@inheritDoc}
+     * A change committed while the rollup is loading is recomputed as well, since the load may have read
+     * the invoices before it.
+     */
+    @Override
+    public void invalidateSellers(Collection<Long> sellerIds) {
+        synchronized (lock) {
+            if (!loaded && !loading) {
+                return;
+            }
+        }
+        recompute(sellerIds);
+    }
+
+    /**
+     * {@inheritDoc}
+     * Results of queries that started before are not applied anymore.
+     */
+    @Override
+    public void discard() {
+        synchronized (lock) {
+            sellers.clear();
+            computedIn.clear();
+            discardedIn = generation;
+            loaded = false;
+            restorable = false;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void refresh() {
+        synchronized (loadLock) {
+            if (isLoaded()) {
+                catchUp();
+            } else {
+                ensureLoaded();
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void rebuild() {
+        synchronized (loadLock) {
+            rebuildFromAllInvoices();
+        }
+    }
+
+    /**
+     * Catches up and writes a snapshot on the configured interval.
+     */
+    @Scheduled(fixedDelayString = "${persistence.revenue-rollup.interval:PT5M}",
+            initialDelayString = "${persistence.revenue-rollup.interval:PT5M}")
+    public void scheduledSnapshot() {
+        refresh();
+        writeSnapshot();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void writeSnapshot() {
+        if (!properties.isSnapshotEnabled()) {
+            return;
+        }
+        RevenueRollupSnapshot snapshot;
+        synchronized (lock) {
+            if (!loaded) {
+                return;
+            }
+            snapshot = new RevenueRollupSnapshot(highWaterMark, Instant.now(), copySellers());
+        }
+        try {
+            snapshot.write(Path.of(properties.getSnapshotPath()));
+        } catch (IOException e) {
+            log.warn("Could not write the revenue rollup snapshot to {}: {}", properties.getSnapshotPath(), e.getMessage());
+        }
+    }
+
+    /**
+     * Writes a final snapshot, so a restart only has to catch up with what other instances did in between.
+     */
+    @PreDestroy
+    public void shutdown() {
+        writeSnapshot();
+    }
+
+    /**
+     * Restores the snapshot and catches up with the invoices added since, or rebuilds the rollup if there is
+     * no usable snapshot. Must be called holding the load lock.
+     */
+    private void ensureLoaded() {
+        boolean restore;
+        synchronized (lock) {
+            if (loaded) {
+                return;
+            }
+            loading = true;
+            restore = restorable;
+        }
+        try {
+            Optional<RevenueRollupSnapshot> snapshot = restore ? readSnapshot() : Optional.empty();
+            if (snapshot.isEmpty()) {
+                rebuildFromAllInvoices();
+                log.info("Revenue rollup built from all invoices: {} sellers up to invoice {}", size(), highWaterMark());
+                return;
+            }
+            long restoredIn = nextGeneration();
+            synchronized (lock) {
+                // Revenues recomputed during the load are newer than the snapshot
+                for (PersonStatisticsDTO seller : snapshot.get().sellers()) {
+                    if (!computedIn.containsKey(seller.getPersonId()) && seller.getRevenue() > 0) {
+                        sellers.put(seller.getPersonId(), seller);
+                    }
+                }
+                highWaterMark = snapshot.get().highWaterMark();
+            }
+            int recomputed = catchUp();
+            markLoaded(restoredIn);
+            log.info("Revenue rollup restored from the snapshot of {}: {} sellers, {} recomputed for invoices {} to {}",
+                    snapshot.get().writtenAt(), size(), recomputed, snapshot.get().highWaterMark(), highWaterMark());
+        } finally {
+            synchronized (lock) {
+                loading = false;
+            }
+        }
+    }
+
+    private Optional<RevenueRollupSnapshot> readSnapshot() {
+        if (!properties.isSnapshotEnabled()) {
+            return Optional.empty();
+        }
+        try {
+            Optional<RevenueRollupSnapshot> snapshot = RevenueRollupSnapshot.read(Path.of(properties.getSnapshotPath()));
+            if (snapshot.isPresent() && Duration.between(snapshot.get().writtenAt(), Instant.now())
+                    .compareTo(properties.getMaxSnapshotAge()) > 0) {
+                log.info("Revenue rollup snapshot of {} is too old, rebuilding", snapshot.get().writtenAt());
+                return Optional.empty();
+            }
+            return snapshot;
+        } catch (IOException e) {
+            log.warn("Ignoring the revenue rollup snapshot at {}: {}", properties.getSnapshotPath(), e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Aggregates all invoices and replaces every revenue not recomputed since the aggregate started.
+     * Must be called holding the load lock.
+     */
+    private void rebuildFromAllInvoices() {
+        long rebuiltIn = nextGeneration();
+        long upToId = invoiceRepository.findMaxId();
+        List<PersonStatisticsDTO> revenues = invoiceRepository.sumPriceBySeller();
+        synchronized (lock) {
+            Set<Long> sellerIds = new HashSet<>(sellers.keySet());
+            revenues.forEach(revenue -> sellerIds.add(revenue.getPersonId()));
+            apply(sellerIds, revenues, rebuiltIn);
+            highWaterMark = upToId;
+        }
+        markLoaded(rebuiltIn);
+    }
+
+    /**
+     * Recomputes the sellers of the invoices above the high-water mark and advances the mark.
+     * A snapshot from ahead of the database, e.g. one taken before a restore, is discarded.
+     * Must be called holding the load lock.
+     *
+     * @return the number of sellers recomputed
+     */
+    private int catchUp() {
+        long fromId = highWaterMark();
+        long upToId = invoiceRepository.findMaxId();
+        if (upToId < fromId) {
+            log.warn("Revenue rollup is ahead of the invoices ({} > {}), rebuilding", fromId, upToId);
+            rebuildFromAllInvoices();
+            return size();
+        }
+        if (upToId == fromId) {
+            return 0;
+        }
+        List<Long> sellerIds = invoiceRepository.findSellerIdsBetween(fromId, upToId);
+        recompute(sellerIds);
+        synchronized (lock) {
+            highWaterMark = upToId;
+        }
+        return sellerIds.size();
+    }
+
+    private void recompute(Collection<Long> sellerIds) {
+        List<Long> ids = new ArrayList<>(sellerIds);
+        for (int from = 0; from < ids.size(); from += BaseService.IN_CHUNK_SIZE) {
+            List<Long> chunk = ids.subList(from, Math.min(from + BaseService.IN_CHUNK_SIZE, ids.size()));
+            long recomputedIn = nextGeneration();
+            List<PersonStatisticsDTO> revenues = invoiceRepository.sumPriceBySellers(chunk);
+            synchronized (lock) {
+                apply(chunk, revenues, recomputedIn);
+            }
+        }
+    }
+
+    /**
+     * Replaces the revenues of the given sellers with the results of a query, except where a query that
+     * started later has already replaced them. Sellers without a result sold nothing. Must be called holding
+     * the lock.
+     */
+    private void apply(Collection<Long> sellerIds, List<PersonStatisticsDTO> revenues, long queriedIn) {
+        Map<Long, PersonStatisticsDTO> byId = new HashMap<>();
+        revenues.forEach(revenue -> byId.put(revenue.getPersonId(), revenue));
+        for (Long sellerId : sellerIds) {
+            if (queriedIn <= Math.max(discardedIn, computedIn.getOrDefault(sellerId, 0L))) {
+                continue;
+            }
+            computedIn.put(sellerId, queriedIn);
+            PersonStatisticsDTO revenue = byId.get(sellerId);
+            if (revenue != null && revenue.getRevenue() > 0) {
+                sellers.put(sellerId, revenue);
+            } else {
+                sellers.remove(sellerId);
+            }
+        }
+    }
+
+    /**
+     * Marks the rollup as loaded, unless it was discarded after the load started.
+     */
+    private void markLoaded(long loadedIn) {
+        synchronized (lock) {
+            if (loadedIn > discardedIn) {
+                loaded = true;
+            }
+        }
+    }
+
+    private long nextGeneration() {
+        synchronized (lock) {
+            return ++generation;
+        }
+    }
+
+    private boolean isLoaded() {
+        synchronized (lock) {
+            return loaded;
+        }
+    }
+
+    private long highWaterMark() {
+        synchronized (lock) {
+            return highWaterMark;
+        }
+    }
+
+    private int size() {
+        synchronized (lock) {
+            return sellers.size();
+        }
+    }
+
+    /**
+     * Copies the revenues, so callers can sort and page them. Must be called holding the lock.
+     */
+    private List<PersonStatisticsDTO> copySellers() {
+        return sellers.values().stream()
+                .map(seller -> new PersonStatisticsDTO(seller.getPersonId(), seller.getPersonName(), seller.getRevenue()))
+                .collect(Collectors.toList());
+    }
+}
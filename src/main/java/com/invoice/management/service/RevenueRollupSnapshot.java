@@ -0,0 +1,100 @@
+package com.invoice.management.service;
+
+import com.invoice.management.dto.PersonStatisticsDTO;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * The revenue rollup as written to disk: the name and revenue of every seller, plus the highest invoice ID
+ * the rollup had caught up with when it was written.
+ *
+ * <p>The file is a header ({@code magic, version, high-water mark, written-at millis, seller count}) followed by
+ * one record per seller ({@code seller ID, revenue, name length, UTF-8 name}). It is written through a memory
+ * mapping of a temporary file that then replaces the previous snapshot atomically, so a crash never leaves a
+ * partial snapshot behind, and read straight from a read-only mapping instead of being copied into the heap.</p>
+ *
+ * @param highWaterMark the highest invoice ID reflected in the sellers
+ * @param writtenAt     when the snapshot was taken
+ * @param sellers       the sellers with a revenue above zero
+ */
+record RevenueRollupSnapshot(long highWaterMark, Instant writtenAt, List<PersonStatisticsDTO> sellers) {
+
+    private static final int MAGIC = 0x52455652;
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = Integer.BYTES * 3 + Long.BYTES * 2;
+    private static final int RECORD_SIZE = Long.BYTES * 2 + Integer.BYTES;
+
+    /**
+     * Writes the snapshot, replacing the file if it exists.
+     *
+     * @param path the snapshot file
+     * @throws IOException if the file cannot be written
+     */
+    void write(Path path) throws IOException {
+        List<byte[]> names = sellers.stream().map(seller -> seller.getPersonName().getBytes(StandardCharsets.UTF_8)).toList();
+        long size = HEADER_SIZE + names.stream().mapToLong(name -> RECORD_SIZE + name.length).sum();
+        Path directory = path.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Path temporary = Files.createTempFile(directory, path.getFileName().toString(), ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+                buffer.putInt(MAGIC).putInt(VERSION).putLong(highWaterMark).putLong(writtenAt.toEpochMilli()).putInt(sellers.size());
+                for (int i = 0; i < sellers.size(); i++) {
+                    PersonStatisticsDTO seller = sellers.get(i);
+                    buffer.putLong(seller.getPersonId()).putLong(seller.getRevenue()).putInt(names.get(i).length).put(names.get(i));
+                }
+                buffer.force();
+            }
+            Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    /**
+     * Reads a snapshot.
+     *
+     * @param path the snapshot file
+     * @return the snapshot, or empty if there is no snapshot file
+     * @throws IOException if the file cannot be read or is not a complete snapshot
+     */
+    static Optional<RevenueRollupSnapshot> read(Path path) throws IOException {
+        if (!Files.isRegularFile(path)) {
+            return Optional.empty();
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.remaining() < HEADER_SIZE || buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+                throw new IOException("Not a revenue rollup snapshot: " + path);
+            }
+            long highWaterMark = buffer.getLong();
+            Instant writtenAt = Instant.ofEpochMilli(buffer.getLong());
+            int count = buffer.getInt();
+            List<PersonStatisticsDTO> sellers = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                long sellerId = buffer.getLong();
+                long revenue = buffer.getLong();
+                int nameLength = buffer.getInt();
+                String name = StandardCharsets.UTF_8.decode(buffer.slice(buffer.position(), nameLength)).toString();
+                buffer.position(buffer.position() + nameLength);
+                sellers.add(new PersonStatisticsDTO(sellerId, name, revenue));
+            }
+            return Optional.of(new RevenueRollupSnapshot(highWaterMark, writtenAt, sellers));
+        } catch (BufferUnderflowException | IndexOutOfBoundsException | IllegalArgumentException e) {
+            throw new IOException("Truncated revenue rollup snapshot: " + path, e);
+        }
+    }
+}
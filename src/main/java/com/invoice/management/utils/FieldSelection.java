@@ -0,0 +1,131 @@
+package com.invoice.management.utils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.introspect.BeanPropertyDefinition;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.invoice.management.exception.InvalidFieldSelectionException;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.PropertyAccessorFactory;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A sparse fieldset parsed from a {@code fields} query parameter, e.g. {@code fields=_id,price,seller.name}.
+ * Fields are named as they appear in the JSON of the DTO; a nested DTO can be selected as a whole
+ * ({@code seller}) or property by property ({@code seller.name}). Every field maps to the entity attribute
+ * path of the same name, which is what the MapStruct mappers rely on as well, so the selection can be pushed
+ * down into the JPA select. The selected values are written through the DTO itself, so they are formatted
+ * exactly as in the full representation.
+ */
+public class FieldSelection {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper().findAndRegisterModules();
+    private static final Map<Class<?>, Map<String, String>> ATTRIBUTE_PATHS = new ConcurrentHashMap<>();
+
+    private final Class<?> dtoType;
+    private final List<String> attributePaths;
+    private final Set<String> topLevelFields = new HashSet<>();
+    private final Map<String, Set<String>> nestedFields = new HashMap<>();
+
+    private FieldSelection(Class<?> dtoType, List<String> fields, List<String> attributePaths) {
+        this.dtoType = dtoType;
+        this.attributePaths = attributePaths;
+        for (String field : fields) {
+            int dot = field.indexOf('.');
+            if (dot < 0) {
+                topLevelFields.add(field);
+            } else {
+                topLevelFields.add(field.substring(0, dot));
+                nestedFields.computeIfAbsent(field.substring(0, dot), key -> new HashSet<>()).add(field.substring(dot + 1));
+            }
+        }
+    }
+
+    /**
+     * Parses a comma-separated list of fields of the given DTO type.
+     *
+     * @param fields  the requested fields
+     * @param dtoType the DTO the fields belong to
+     * @return the parsed selection, without duplicates, in request order
+     * @throws InvalidFieldSelectionException if no field is given or a field is unknown
+     */
+    public static FieldSelection parse(String fields, Class<?> dtoType) {
+        Map<String, String> known = ATTRIBUTE_PATHS.computeIfAbsent(dtoType, FieldSelection::attributePaths);
+        Set<String> selected = new LinkedHashSet<>();
+        for (String field : fields.split(",")) {
+            String name = field.trim();
+            if (name.isEmpty()) {
+                continue;
+            }
+            if (known.containsKey(name)) {
+                selected.add(name);
+            } else if (known.keySet().stream().anyMatch(path -> path.startsWith(name + "."))) {
+                known.keySet().stream().filter(path -> path.startsWith(name + ".")).forEach(selected::add);
+            } else {
+                throw new InvalidFieldSelectionException("Unknown field '" + name + "', expected one of " + known.keySet());
+            }
+        }
+        if (selected.isEmpty()) {
+            throw new InvalidFieldSelectionException("At least one field must be selected");
+        }
+        List<String> selectedFields = List.copyOf(selected);
+        return new FieldSelection(dtoType, selectedFields, selectedFields.stream().map(known::get).toList());
+    }
+
+    /**
+     * Returns the entity attribute paths of the selected fields, e.g. {@code seller.name}.
+     *
+     * @return the attribute paths, in the order of the selected fields
+     */
+    public List<String> getAttributePaths() {
+        return attributePaths;
+    }
+
+    /**
+     * Builds the JSON object of one row, holding only the selected properties.
+     *
+     * @param values the values of the selected fields, in the order of {@link #getAttributePaths()}
+     * @return the selected properties as serialized by the DTO, in DTO property order
+     */
+    public ObjectNode toJson(Object[] values) {
+        BeanWrapper dto = PropertyAccessorFactory.forBeanPropertyAccess(BeanUtils.instantiateClass(dtoType));
+        dto.setAutoGrowNestedPaths(true);
+        for (int i = 0; i < attributePaths.size(); i++) {
+            dto.setPropertyValue(attributePaths.get(i), values[i]);
+        }
+        ObjectNode json = MAPPER.valueToTree(dto.getWrappedInstance());
+        json.retain(topLevelFields);
+        nestedFields.forEach((name, properties) -> ((ObjectNode) json.get(name)).retain(properties));
+        return json;
+    }
+
+    /**
+     * Maps the JSON name of every serialized property to its Java property name, one level deep into
+     * the DTOs of the same package.
+     */
+    private static Map<String, String> attributePaths(Class<?> dtoType) {
+        Map<String, String> paths = new LinkedHashMap<>();
+        for (BeanPropertyDefinition property : properties(dtoType)) {
+            Class<?> type = property.getRawPrimaryType();
+            if (type.getPackageName().equals(dtoType.getPackageName()) && !type.isEnum()) {
+                for (BeanPropertyDefinition nested : properties(type)) {
+                    paths.put(property.getName() + "." + nested.getName(), property.getInternalName() + "." + nested.getInternalName());
+                }
+            } else {
+                paths.put(property.getName(), property.getInternalName());
+            }
+        }
+        return paths;
+    }
+
+    private static List<BeanPropertyDefinition> properties(Class<?> type) {
+        return MAPPER.getSerializationConfig()
+                .introspect(MAPPER.constructType(type))
+                .findProperties()
+                .stream()
+                .filter(BeanPropertyDefinition::couldSerialize)
+                .toList();
+    }
+}
@@ -2,18 +2,123 @@ package com.invoice.management.utils;
 
 import com.invoice.management.entity.InvoiceEntity;
 import com.invoice.management.entity.PersonEntity;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Path;
 import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
 import org.springframework.data.jpa.domain.Specification;
 
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
 /**
  * Utility class for creating JPA Specifications to filter entities.
+ * The query parameters are first parsed into {@link Condition}s on entity attributes, which the JPA read path
+ * turns into criteria predicates and the reactive read path into SQL, so both filter the same way.
  */
 public class FilterUtils {
 
+    /**
+     * Comparison of a filter condition.
+     */
+    public enum Operator {
+        /**
+         * The attribute equals the value.
+         */
+        EQUAL,
+
+        /**
+         * The attribute contains the value.
+         */
+        CONTAINS,
+
+        /**
+         * The attribute contains the value, ignoring case.
+         */
+        CONTAINS_IGNORE_CASE,
+
+        /**
+         * The attribute is greater than or equal to the value.
+         */
+        GREATER_OR_EQUAL,
+
+        /**
+         * The attribute is less than or equal to the value.
+         */
+        LESS_OR_EQUAL
+    }
+
+    /**
+     * A filter condition on an entity attribute.
+     *
+     * @param attribute the attribute path, e.g. {@code price} or {@code seller.id}
+     * @param operator  the comparison
+     * @param value     the value compared to, already converted to the attribute type
+     */
+    public record Condition(String attribute, Operator operator, Object value) {
+    }
+
+    /**
+     * Parses the person filter parameters; hidden persons are always excluded.
+     *
+     * @param params filter parameters (e.g., "name", "identificationNumber")
+     * @return the conditions, all of which must hold
+     */
+    public static List<Condition> createPersonConditions(Map<String, String> params) {
+        List<Condition> conditions = new ArrayList<>();
+
+        params.forEach((key, value) -> {
+            if ("name".equals(key)) {
+                conditions.add(new Condition("name", Operator.CONTAINS_IGNORE_CASE, value));
+            } else if ("identificationNumber".equals(key)) {
+                conditions.add(new Condition("identificationNumber", Operator.CONTAINS, value));
+            }
+        });
+
+        conditions.add(new Condition("hidden", Operator.EQUAL, false));
+        return conditions;
+    }
+
+    /**
+     * Parses the invoice filter parameters. Empty values and values that are not valid numbers or dates are ignored.
+     * The "issuedFrom" and "issuedTo" dates (ISO format, both inclusive) become plain range conditions on
+     * {@code issued}, so a partitioned invoice table only scans the partitions overlapping the range.
+     *
+     * @param params filter parameters (e.g., "buyerID", "sellerID", "product", "minPrice", "maxPrice", "issuedFrom", "issuedTo")
+     * @return the conditions, all of which must hold
+     */
+    public static List<Condition> createInvoiceConditions(Map<String, String> params) {
+        List<Condition> conditions = new ArrayList<>();
+
+        params.forEach((key, value) -> {
+            try {
+                if ("buyerID".equals(key) && !value.isEmpty()) {
+                    conditions.add(new Condition("buyer.id", Operator.EQUAL, Long.parseLong(value)));
+                } else if ("sellerID".equals(key) && !value.isEmpty()) {
+                    conditions.add(new Condition("seller.id", Operator.EQUAL, Long.parseLong(value)));
+                } else if ("product".equals(key) && !value.isEmpty()) {
+                    conditions.add(new Condition("product", Operator.CONTAINS_IGNORE_CASE, value));
+                } else if ("minPrice".equals(key) && !value.isEmpty()) {
+                    conditions.add(new Condition("price", Operator.GREATER_OR_EQUAL, Long.parseLong(value)));
+                } else if ("maxPrice".equals(key) && !value.isEmpty()) {
+                    conditions.add(new Condition("price", Operator.LESS_OR_EQUAL, Long.parseLong(value)));
+                } else if ("issuedFrom".equals(key) && !value.isEmpty()) {
+                    conditions.add(new Condition("issued", Operator.GREATER_OR_EQUAL, LocalDate.parse(value)));
+                } else if ("issuedTo".equals(key) && !value.isEmpty()) {
+                    conditions.add(new Condition("issued", Operator.LESS_OR_EQUAL, LocalDate.parse(value)));
+                }
+            } catch (NumberFormatException | DateTimeParseException ignored) {
+                // Ignore invalid number and date format exceptions
+            }
+        });
+
+        return conditions;
+    }
+
     /**
      * Creates a Specification to filter Person entities based on provided parameters.
      *
@@ -21,51 +126,40 @@ public class FilterUtils {
      * @return a Specification for filtering Person entities
      */
     public static Specification<PersonEntity> createPersonSpecification(Map<String, String> params) {
-        return (root, query, criteriaBuilder) -> {
-            List<Predicate> predicates = new ArrayList<>();
-
-            params.forEach((key, value) -> {
-                if ("name".equals(key)) {
-                    predicates.add(criteriaBuilder.like(criteriaBuilder.lower(root.get("name")), "%" + value.toLowerCase() + "%"));
-                } else if ("identificationNumber".equals(key)) {
-                    predicates.add(criteriaBuilder.like(root.get("identificationNumber"), "%" + value + "%"));
-                }
-            });
-
-            predicates.add(criteriaBuilder.equal(root.get("hidden"), false));
-            return criteriaBuilder.and(predicates.toArray(new Predicate[0]));
-        };
+        return createSpecification(createPersonConditions(params));
     }
 
     /**
      * Creates a Specification to filter Invoice entities based on provided parameters.
      *
-     * @param params filter parameters (e.g., "buyerID", "sellerID", "product", "minPrice", "maxPrice")
+     * @param params filter parameters (e.g., "buyerID", "sellerID", "product", "minPrice", "maxPrice", "issuedFrom", "issuedTo")
      * @return a Specification for filtering Invoice entities
+     * @see #createInvoiceConditions(Map)
      */
     public static Specification<InvoiceEntity> createInvoiceSpecification(Map<String, String> params) {
-        return (root, query, criteriaBuilder) -> {
-            List<Predicate> predicates = new ArrayList<>();
-
-            params.forEach((key, value) -> {
-                try {
-                    if ("buyerID".equals(key) && !value.isEmpty()) {
-                        predicates.add(criteriaBuilder.equal(root.get("buyer").get("id"), Long.parseLong(value)));
-                    } else if ("sellerID".equals(key) && !value.isEmpty()) {
-                        predicates.add(criteriaBuilder.equal(root.get("seller").get("id"), Long.parseLong(value)));
-                    } else if ("product".equals(key) && !value.isEmpty()) {
-                        predicates.add(criteriaBuilder.like(criteriaBuilder.lower(root.get("product")), "%" + value.toLowerCase() + "%"));
-                    } else if ("minPrice".equals(key) && !value.isEmpty()) {
-                        predicates.add(criteriaBuilder.ge(root.get("price"), Long.parseLong(value)));
-                    } else if ("maxPrice".equals(key) && !value.isEmpty()) {
-                        predicates.add(criteriaBuilder.le(root.get("price"), Long.parseLong(value)));
-                    }
-                } catch (NumberFormatException ignored) {
-                    // Ignore invalid number format exceptions
-                }
-            });
+        return createSpecification(createInvoiceConditions(params));
+    }
+
+    private static <T> Specification<T> createSpecification(List<Condition> conditions) {
+        return (root, query, criteriaBuilder) -> criteriaBuilder.and(conditions.stream()
+                .map(condition -> toPredicate(root, criteriaBuilder, condition))
+                .toArray(Predicate[]::new));
+    }
 
-            return criteriaBuilder.and(predicates.toArray(new Predicate[0]));
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Predicate toPredicate(Root<?> root, CriteriaBuilder criteriaBuilder, Condition condition) {
+        Path<?> path = root;
+        for (String attribute : condition.attribute().split("\\.")) {
+            path = path.get(attribute);
+        }
+        Object value = condition.value();
+        return switch (condition.operator()) {
+            case EQUAL -> criteriaBuilder.equal(path, value);
+            case CONTAINS -> criteriaBuilder.like((Expression<String>) path, "%" + value + "%");
+            case CONTAINS_IGNORE_CASE -> criteriaBuilder.like(criteriaBuilder.lower((Expression<String>) path),
+                    "%" + value.toString().toLowerCase() + "%");
+            case GREATER_OR_EQUAL -> criteriaBuilder.greaterThanOrEqualTo((Expression<Comparable>) path, (Comparable) value);
+            case LESS_OR_EQUAL -> criteriaBuilder.lessThanOrEqualTo((Expression<Comparable>) path, (Comparable) value);
         };
     }
 }
@@ -1,9 +1,12 @@
 package com.invoice.management.utils;
 
+import com.invoice.management.exception.ConflictingParametersException;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -28,4 +31,28 @@ public class PaginationUtils {
 
         return PageRequest.of(page - 1, limit, Sort.by(sortDirection, sortField));
     }
+
+    /**
+     * Rejects a list request that asks for more than one of the alternative representations: a field
+     * selection, a lookup by IDs or a stream. Each of them is served by its own handler, and none of them
+     * can honour the others.
+     *
+     * @param params the query parameters of the request
+     * @throws ConflictingParametersException if more than one representation is requested
+     */
+    public static void rejectConflictingParameters(Map<String, String> params) {
+        List<String> requested = new ArrayList<>();
+        if (params.containsKey("fields")) {
+            requested.add("fields");
+        }
+        if (params.containsKey("ids")) {
+            requested.add("ids");
+        }
+        if ("true".equals(params.get("stream"))) {
+            requested.add("stream=true");
+        }
+        if (requested.size() > 1) {
+            throw new ConflictingParametersException("Parameters " + String.join(", ", requested) + " cannot be combined");
+        }
+    }
 }
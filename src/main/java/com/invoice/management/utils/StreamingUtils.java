@@ -0,0 +1,68 @@
+package com.invoice.management.utils;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+
+/**
+ * Utility class for streaming list pages as a JSON array.
+ * The pagination metadata that {@code PaginatedResponse} carries in the body travels in response headers instead,
+ * since it has to be known before the first item is written.
+ */
+public class StreamingUtils {
+
+    public static final String CURRENT_PAGE_HEADER = "X-Current-Page";
+    public static final String TOTAL_PAGES_HEADER = "X-Total-Pages";
+    public static final String TOTAL_ITEMS_HEADER = "X-Total-Items";
+
+    /**
+     * Creates the pagination headers of a streamed page.
+     *
+     * @param pageable   the streamed page
+     * @param totalItems the number of items across all pages
+     * @return the headers carrying the current page, the total pages and the total items
+     */
+    public static HttpHeaders paginationHeaders(Pageable pageable, long totalItems) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(CURRENT_PAGE_HEADER, String.valueOf(pageable.getPageNumber() + 1));
+        headers.set(TOTAL_PAGES_HEADER, String.valueOf((totalItems + pageable.getPageSize() - 1) / pageable.getPageSize()));
+        headers.set(TOTAL_ITEMS_HEADER, String.valueOf(totalItems));
+        return headers;
+    }
+
+    /**
+     * Creates a response body that writes the items produced by the given producer as a JSON array.
+     * Every item is serialized as soon as it is produced; the output is flushed only by the generator's
+     * buffer filling up, not after every item.
+     *
+     * @param objectMapper the mapper used to serialize the items
+     * @param itemType     the type of the items
+     * @param producer     hands every item of the array to the consumer it is given, in order
+     * @param <T>          the type of the items
+     * @return the streaming response body
+     */
+    public static <T> StreamingResponseBody jsonArray(ObjectMapper objectMapper, Class<T> itemType, Consumer<Consumer<T>> producer) {
+        ObjectWriter writer = objectMapper.writerFor(itemType).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        return outputStream -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+                generator.writeStartArray();
+                producer.accept(item -> {
+                    try {
+                        writer.writeValue(generator, item);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                generator.writeEndArray();
+            }
+        };
+    }
+}
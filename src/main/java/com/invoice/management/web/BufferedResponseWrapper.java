@@ -0,0 +1,213 @@
+package com.invoice.management.web;
+
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.springframework.http.HttpHeaders;
+import org.springframework.util.FastByteArrayOutputStream;
+
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.io.UncheckedIOException;
+
+/**
+ * Response wrapper that holds the body back so {@link CompressionFilter} can decide how to encode it once it is
+ * complete. The body falls through to the real response unchanged once it outgrows the buffer, when the
+ * response is flushed on purpose (server-sent events), when a non-blocking write listener is registered or when
+ * the filter gives up on it (asynchronous bodies).
+ * A streamed body can be written from another thread than the one that created the wrapper, so the switch
+ * between buffering and falling through is guarded by a lock.
+ */
+class BufferedResponseWrapper extends HttpServletResponseWrapper {
+
+    private final int maxBufferSize;
+    private final Object lock = new Object();
+    private FastByteArrayOutputStream buffer = new FastByteArrayOutputStream();
+    private Long contentLength;
+    private ServletOutputStream outputStream;
+    private PrintWriter writer;
+
+    BufferedResponseWrapper(HttpServletResponse response, int maxBufferSize) {
+        super(response);
+        this.maxBufferSize = maxBufferSize;
+    }
+
+    /**
+     * Returns the buffered body and stops buffering, or {@code null} if the body already fell through.
+     */
+    byte[] takeBody() {
+        synchronized (lock) {
+            if (writer != null) {
+                writer.flush();
+            }
+            if (buffer == null) {
+                return null;
+            }
+            byte[] body = buffer.toByteArrayUnsafe();
+            buffer = null;
+            return body;
+        }
+    }
+
+    /**
+     * Writes what has been buffered so far unchanged and lets every later write fall through.
+     */
+    void fallThrough() throws IOException {
+        synchronized (lock) {
+            if (writer != null) {
+                writer.flush();
+            }
+            if (buffer == null) {
+                return;
+            }
+            FastByteArrayOutputStream buffered = buffer;
+            buffer = null;
+            if (contentLength != null) {
+                super.setContentLengthLong(contentLength);
+            }
+            buffered.writeTo(super.getOutputStream());
+        }
+    }
+
+    @Override
+    public ServletOutputStream getOutputStream() {
+        if (outputStream == null) {
+            outputStream = new BufferedOutputStream();
+        }
+        return outputStream;
+    }
+
+    @Override
+    public PrintWriter getWriter() throws IOException {
+        if (writer == null) {
+            writer = new PrintWriter(new OutputStreamWriter(getOutputStream(), getCharacterEncoding()));
+        }
+        return writer;
+    }
+
+    @Override
+    public void flushBuffer() throws IOException {
+        fallThrough();
+        super.flushBuffer();
+    }
+
+    @Override
+    public void setContentLength(int length) {
+        setContentLengthLong(length);
+    }
+
+    @Override
+    public void setContentLengthLong(long length) {
+        synchronized (lock) {
+            if (buffer == null) {
+                super.setContentLengthLong(length);
+            } else {
+                contentLength = length;
+            }
+        }
+    }
+
+    @Override
+    public void setHeader(String name, String value) {
+        if (HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+            setContentLengthLong(Long.parseLong(value));
+        } else {
+            super.setHeader(name, value);
+        }
+    }
+
+    @Override
+    public void addHeader(String name, String value) {
+        if (HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+            setContentLengthLong(Long.parseLong(value));
+        } else {
+            super.addHeader(name, value);
+        }
+    }
+
+    @Override
+    public void resetBuffer() {
+        synchronized (lock) {
+            if (buffer != null) {
+                buffer.reset();
+            }
+        }
+        super.resetBuffer();
+    }
+
+    @Override
+    public void reset() {
+        synchronized (lock) {
+            if (buffer != null) {
+                buffer.reset();
+            }
+            contentLength = null;
+        }
+        super.reset();
+    }
+
+    private class BufferedOutputStream extends ServletOutputStream {
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) throws IOException {
+            synchronized (lock) {
+                if (buffer == null) {
+                    BufferedResponseWrapper.super.getOutputStream().write(bytes, offset, length);
+                    return;
+                }
+                buffer.write(bytes, offset, length);
+                if (buffer.size() > maxBufferSize) {
+                    fallThrough();
+                }
+            }
+        }
+
+        /**
+         * Message converters flush after every body, so a flush only reaches the real response once
+         * the body falls through; {@link #flushBuffer()} is the explicit flush.
+         */
+        @Override
+        public void flush() throws IOException {
+            synchronized (lock) {
+                if (buffer == null) {
+                    BufferedResponseWrapper.super.getOutputStream().flush();
+                }
+            }
+        }
+
+        @Override
+        public boolean isReady() {
+            synchronized (lock) {
+                if (buffer != null) {
+                    return true;
+                }
+                try {
+                    return BufferedResponseWrapper.super.getOutputStream().isReady();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        }
+
+        /**
+         * A non-blocking write has to follow the readiness of the real response, so the body falls
+         * through uncompressed and the listener is registered there.
+         */
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+            try {
+                fallThrough();
+                BufferedResponseWrapper.super.getOutputStream().setWriteListener(writeListener);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,272 @@
+package com.invoice.management.web;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.invoice.management.configuration.CompressionProperties;
+import com.invoice.management.monitoring.RequestMetricTags;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.FastByteArrayOutputStream;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.UrlPathHelper;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Filter that gzip-compresses responses for clients sending {@code Accept-Encoding: gzip}.
+ * The body is buffered and compressed once complete, which leaves responses alone that are too small to gain
+ * anything, are not of a compressible type, or already have a content encoding. Compression is adaptive: once
+ * the CPU time spent on it in the current window exceeds the configured budget, responses go out uncompressed
+ * until the next window. For the configured hot paths, the compressed bytes are cached under the SHA-256 digest
+ * of the uncompressed body, so a repeated response costs a digest instead of a compression and the cache never
+ * serves stale content.
+ *
+ * <p>Streamed and server-sent bodies are sent uncompressed as they are written; holding them back would defeat
+ * the streaming. Brotli and zstd are not offered, since neither has an encoder in the JDK.</p>
+ */
+@Component
+public class CompressionFilter extends OncePerRequestFilter {
+
+    private static final String GZIP = "gzip";
+    private static final AntPathMatcher PATH_MATCHER = new AntPathMatcher();
+    private static final UrlPathHelper PATH_HELPER = new UrlPathHelper();
+
+    private final CompressionProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final List<MediaType> mimeTypes;
+    private final Cache<String, byte[]> compressedBodies;
+    private final ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+    private final long windowNanos;
+    private final long budgetNanos;
+    private final AtomicLong windowStart = new AtomicLong(System.nanoTime());
+    private final AtomicLong cpuSpent = new AtomicLong();
+
+    /**
+     * Constructs a new CompressionFilter.
+     *
+     * @param properties    the compression settings
+     * @param meterRegistry the registry the compression metrics are recorded in
+     */
+    public CompressionFilter(CompressionProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.mimeTypes = MediaType.parseMediaTypes(properties.getMimeTypes());
+        this.compressedBodies = Caffeine.newBuilder()
+                .maximumWeight(properties.getCacheMaxSize().toBytes())
+                .<String, byte[]>weigher((digest, body) -> body.length)
+                .recordStats()
+                .build();
+        this.windowNanos = properties.getCpuBudgetWindow().toNanos();
+        this.budgetNanos = (long) (properties.getCpuBudget() * windowNanos);
+        CaffeineCacheMetrics.monitor(meterRegistry, compressedBodies, "compressedResponses");
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return !properties.isEnabled()
+                || HttpMethod.HEAD.matches(request.getMethod())
+                || !acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain) throws ServletException, IOException {
+        BufferedResponseWrapper wrapper = new BufferedResponseWrapper(response, (int) properties.getMaxBufferSize().toBytes());
+        try {
+            filterChain.doFilter(request, wrapper);
+        } catch (Throwable e) {
+            wrapper.fallThrough();
+            throw e;
+        }
+        if (request.isAsyncStarted()) {
+            wrapper.fallThrough();
+            count(request, "streamed");
+        } else {
+            finish(request, response, wrapper);
+        }
+    }
+
+    private void finish(HttpServletRequest request, HttpServletResponse response,
+                        BufferedResponseWrapper wrapper) throws IOException {
+        byte[] body = wrapper.takeBody();
+        if (body == null) {
+            count(request, "streamed");
+            return;
+        }
+        String skipReason = skipReason(response, body);
+        if (skipReason == null && !withinCpuBudget()) {
+            skipReason = "cpu-budget";
+        }
+        if (skipReason != null) {
+            count(request, skipReason);
+            write(response, body);
+            return;
+        }
+
+        byte[] compressed;
+        if (isCached(request)) {
+            String digest = digest(body);
+            compressed = compressedBodies.getIfPresent(digest);
+            if (compressed == null) {
+                compressed = compress(request, body);
+                compressedBodies.put(digest, compressed);
+                count(request, "compressed");
+            } else {
+                count(request, "cached");
+            }
+        } else {
+            compressed = compress(request, body);
+            count(request, "compressed");
+        }
+        Counter.builder("http.compression.bytes.saved")
+                .description("Response bytes saved by compression")
+                .baseUnit("bytes")
+                .tags(RequestMetricTags.of(request))
+                .register(meterRegistry)
+                .increment(body.length - compressed.length);
+
+        response.setHeader(HttpHeaders.CONTENT_ENCODING, GZIP);
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        write(response, compressed);
+    }
+
+    /**
+     * Returns why the response is left uncompressed, or {@code null} if it should be compressed.
+     */
+    private String skipReason(HttpServletResponse response, byte[] body) {
+        if (response.isCommitted() || response.containsHeader(HttpHeaders.CONTENT_ENCODING)) {
+            return "encoded";
+        }
+        String contentType = response.getContentType();
+        if (contentType == null || mimeTypes.stream().noneMatch(type -> type.includes(MediaType.parseMediaType(contentType)))) {
+            return "not-compressible";
+        }
+        if (body.length < properties.getMinResponseSize().toBytes()) {
+            return "too-small";
+        }
+        return null;
+    }
+
+    private boolean withinCpuBudget() {
+        long now = System.nanoTime();
+        long start = windowStart.get();
+        if (now - start >= windowNanos && windowStart.compareAndSet(start, now)) {
+            cpuSpent.set(0);
+        }
+        return cpuSpent.get() < budgetNanos;
+    }
+
+    private boolean isCached(HttpServletRequest request) {
+        if (!HttpMethod.GET.matches(request.getMethod())) {
+            return false;
+        }
+        String path = PATH_HELPER.getPathWithinApplication(request);
+        return properties.getCachedPaths().stream().anyMatch(pattern -> PATH_MATCHER.match(pattern, path));
+    }
+
+    private byte[] compress(HttpServletRequest request, byte[] body) throws IOException {
+        long cpuBefore = cpuTime();
+        FastByteArrayOutputStream compressed = new FastByteArrayOutputStream(Math.max(256, body.length / 4));
+        try (GZIPOutputStream gzip = new LeveledGZIPOutputStream(compressed, properties.getLevel())) {
+            gzip.write(body);
+        }
+        long cpu = cpuTime() - cpuBefore;
+        cpuSpent.addAndGet(cpu);
+        Timer.builder("http.compression.cpu")
+                .description("CPU time spent compressing responses")
+                .tags(RequestMetricTags.of(request))
+                .register(meterRegistry)
+                .record(cpu, TimeUnit.NANOSECONDS);
+        return compressed.toByteArrayUnsafe();
+    }
+
+    /**
+     * CPU time of the current thread, or wall time where the JVM does not measure thread CPU time.
+     */
+    private long cpuTime() {
+        return threadMXBean.isCurrentThreadCpuTimeSupported() ? threadMXBean.getCurrentThreadCpuTime() : System.nanoTime();
+    }
+
+    private void count(HttpServletRequest request, String outcome) {
+        Counter.builder("http.compression.responses")
+                .description("Responses seen by the compression filter, by outcome")
+                .tags(RequestMetricTags.of(request))
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    private static void write(HttpServletResponse response, byte[] body) throws IOException {
+        if (!response.isCommitted()) {
+            response.setContentLength(body.length);
+        }
+        response.getOutputStream().write(body);
+    }
+
+    private static String digest(byte[] body) {
+        try {
+            return Base64.getEncoder().encodeToString(MessageDigest.getInstance("SHA-256").digest(body));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * Whether the Accept-Encoding header lists gzip, or a wildcard, with a non-zero quality.
+     */
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.split(";");
+            String name = parts[0].trim();
+            if (name.equalsIgnoreCase(GZIP) || name.equals("*")) {
+                for (int i = 1; i < parts.length; i++) {
+                    String parameter = parts[i].trim();
+                    if (parameter.startsWith("q=")) {
+                        try {
+                            return Double.parseDouble(parameter.substring(2)) > 0;
+                        } catch (NumberFormatException e) {
+                            return false;
+                        }
+                    }
+                }
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * GZIPOutputStream with a configurable deflate level.
+     */
+    private static class LeveledGZIPOutputStream extends GZIPOutputStream {
+
+        LeveledGZIPOutputStream(FastByteArrayOutputStream out, int level) throws IOException {
+            super(out, 8192);
+            def.setLevel(level);
+        }
+    }
+}
@@ -0,0 +1,66 @@
+-- Converts the invoice table to RANGE COLUMNS partitioning on the issue date (MySQL 8).
+--
+-- MySQL only partitions a table when every unique key contains the partitioning column and no foreign key
+-- references or is declared by the table. This script therefore drops the foreign keys from invoice to person
+-- and widens the primary key to (id, issued); the id stays AUTO_INCREMENT and unique in practice.
+-- After running it, start the application with the partitioned profile (spring.profiles.active=partitioned),
+-- which validates the schema instead of updating it; the application refuses to start with update, since
+-- that would try to recreate the foreign keys.
+-- Without them nothing stops an invoice from referencing a person version while it is being archived, so the
+-- person archival re-checks the invoice and identity references in the statements that move the rows.
+--
+-- Partitions are named after the first issue date they hold. The trailing pmax partition catches everything
+-- beyond the last bound; the partition maintenance job (persistence.partitioning.*) splits new partitions off it
+-- ahead of time with the configured interval, and POST /admin/persistence/partitions/{name}/archive moves
+-- a past partition into a read-only invoice_archive_<name> table. The archival is a series of DDL statements
+-- that MySQL commits one by one; if it fails halfway, repeat the request and the finished steps are skipped.
+--
+-- The bounds below are yearly; adjust them to the configured interval and to the oldest invoices before running.
+-- The ALTER TABLE ... PARTITION BY rebuilds the table, so run it in a maintenance window.
+
+DROP PROCEDURE IF EXISTS drop_invoice_foreign_keys;
+
+DELIMITER //
+CREATE PROCEDURE drop_invoice_foreign_keys()
+BEGIN
+    DECLARE done BOOLEAN DEFAULT FALSE;
+    DECLARE foreign_key VARCHAR(64);
+    DECLARE foreign_keys CURSOR FOR
+        SELECT constraint_name FROM information_schema.referential_constraints
+        WHERE constraint_schema = DATABASE() AND table_name = 'invoice';
+    DECLARE CONTINUE HANDLER FOR NOT FOUND SET done = TRUE;
+
+    OPEN foreign_keys;
+    drop_loop: LOOP
+        FETCH foreign_keys INTO foreign_key;
+        IF done THEN
+            LEAVE drop_loop;
+        END IF;
+        SET @statement = CONCAT('ALTER TABLE invoice DROP FOREIGN KEY ', foreign_key);
+        PREPARE drop_statement FROM @statement;
+        EXECUTE drop_statement;
+        DEALLOCATE PREPARE drop_statement;
+    END LOOP;
+    CLOSE foreign_keys;
+END //
+DELIMITER ;
+
+CALL drop_invoice_foreign_keys();
+DROP PROCEDURE drop_invoice_foreign_keys;
+
+ALTER TABLE invoice DROP PRIMARY KEY, ADD PRIMARY KEY (id, issued);
+
+ALTER TABLE invoice PARTITION BY RANGE COLUMNS (issued) (
+    PARTITION phistory VALUES LESS THAN ('2020-01-01'),
+    PARTITION p20200101 VALUES LESS THAN ('2021-01-01'),
+    PARTITION p20210101 VALUES LESS THAN ('2022-01-01'),
+    PARTITION p20220101 VALUES LESS THAN ('2023-01-01'),
+    PARTITION p20230101 VALUES LESS THAN ('2024-01-01'),
+    PARTITION p20240101 VALUES LESS THAN ('2025-01-01'),
+    PARTITION p20250101 VALUES LESS THAN ('2026-01-01'),
+    PARTITION p20260101 VALUES LESS THAN ('2027-01-01'),
+    PARTITION pmax VALUES LESS THAN (MAXVALUE)
+);
+
+-- Check that a current-year query only touches one partition; the partitions column should list p20260101 only.
+-- EXPLAIN SELECT COALESCE(SUM(price), 0) FROM invoice WHERE issued >= '2026-01-01' AND issued < '2027-01-01';
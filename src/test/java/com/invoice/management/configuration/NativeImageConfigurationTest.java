@@ -0,0 +1,55 @@
+package com.invoice.management.configuration;
+
+import com.invoice.management.dto.InvoiceDTO;
+import com.invoice.management.dto.PaginatedResponse;
+import com.invoice.management.dto.PersonDTO;
+import com.invoice.management.dto.mapper.InvoiceMapper;
+import com.invoice.management.entity.InvoiceEntity;
+import com.invoice.management.entity.PersonEntity;
+import com.invoice.management.validation.ValidDueDateValidator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for the runtime hints of {@link NativeImageConfiguration}.
+ */
+class NativeImageConfigurationTest {
+
+    private final RuntimeHints hints = new RuntimeHints();
+
+    @BeforeEach
+    void registerHints() {
+        new NativeImageConfiguration.ApplicationRuntimeHints().registerHints(hints, getClass().getClassLoader());
+    }
+
+    @Test
+    void registerHints_CoversDtoAccessorsAndConstructors() throws Exception {
+        assertTrue(RuntimeHintsPredicates.reflection().onMethod(InvoiceDTO.class.getMethod("getDueDate")).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onMethod(PersonDTO.class.getMethod("setName", String.class)).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onConstructor(PersonDTO.class.getConstructor()).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onType(PaginatedResponse.class).test(hints));
+    }
+
+    @Test
+    void registerHints_CoversEntitiesAndTheirMetamodel() throws Exception {
+        assertTrue(RuntimeHintsPredicates.reflection().onField(InvoiceEntity.class.getDeclaredField("seller")).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onType(PersonEntity.class)
+                .withMemberCategory(MemberCategory.INVOKE_DECLARED_CONSTRUCTORS).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onType(TypeReference.of(InvoiceEntity.class.getName() + "_"))
+                .withMemberCategory(MemberCategory.PUBLIC_FIELDS).test(hints));
+    }
+
+    @Test
+    void registerHints_CoversValidatorButNotMappers() {
+        assertTrue(RuntimeHintsPredicates.reflection().onType(ValidDueDateValidator.class)
+                .withMemberCategory(MemberCategory.INVOKE_DECLARED_CONSTRUCTORS).test(hints));
+        assertFalse(RuntimeHintsPredicates.reflection().onType(InvoiceMapper.class).test(hints));
+    }
+}
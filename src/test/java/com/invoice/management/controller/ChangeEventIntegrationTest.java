@@ -0,0 +1,142 @@
+package com.invoice.management.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.invoice.management.dto.ChangeEventDTO;
+import com.invoice.management.dto.InvoiceDTO;
+import com.invoice.management.dto.PersonDTO;
+import com.invoice.management.service.ChangeFeedService;
+import com.invoice.management.service.PersonService;
+import com.invoice.management.utils.TestDataFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Integration tests for the server-sent change feed behind {@link ChangeEventController}.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class ChangeEventIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ChangeFeedService changeFeedService;
+
+    @Autowired
+    private PersonService personService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void streamEvents_DeliversCommittedInvoiceChangesOfFilteredSeller() throws Exception {
+        PersonDTO seller = createPerson("11112222");
+        PersonDTO otherSeller = createPerson("33334444");
+        PersonDTO buyer = createPerson("55556666");
+
+        MvcResult stream = mockMvc.perform(get("/api/events").param("sellerID", String.valueOf(seller.getId())))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        InvoiceDTO otherInvoice = createInvoice(otherSeller, buyer);
+        InvoiceDTO invoice = createInvoice(seller, buyer);
+
+        String content = awaitContent(stream, "\"entityId\":" + invoice.getId());
+        assertTrue(content.contains("\"type\":\"INVOICE_CREATED\""), content);
+        assertFalse(content.contains("\"entityId\":" + otherInvoice.getId() + ","), content);
+    }
+
+    @Test
+    void streamEvents_WithLastEventId_ReplaysOnlyNewerEvents() throws Exception {
+        PersonDTO first = createPerson("12121212");
+        ChangeEventDTO firstEvent = lastEvent();
+        PersonDTO second = createPerson("34343434");
+
+        MvcResult stream = mockMvc.perform(get("/api/events").header("Last-Event-ID", firstEvent.getId()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String content = awaitContent(stream, "\"entityId\":" + second.getId());
+        assertFalse(content.contains("id:" + firstEvent.getId() + "\n"), content);
+        assertFalse(content.contains("\"entityId\":" + first.getId() + ","), content);
+    }
+
+    @Test
+    void streamEvents_LastEventIdOutsideReplayWindow_SendsReset() throws Exception {
+        MvcResult stream = mockMvc.perform(get("/api/events").param("lastEventId", "1"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String content = awaitContent(stream, "event:reset");
+        assertTrue(content.contains("event:reset"), content);
+    }
+
+    @Test
+    void rolledBackChange_IsNotPublished() throws Exception {
+        createPerson("56565656");
+        long lastEventId = lastEvent().getId();
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            personService.addPerson(TestDataFactory.createValidPersonDTO("Rolled Back", "78787878"));
+            status.setRollbackOnly();
+        });
+
+        assertTrue(changeFeedService.getEventsAfter(lastEventId).isEmpty());
+    }
+
+    private PersonDTO createPerson(String identificationNumber) throws Exception {
+        String response = mockMvc.perform(post("/api/persons")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                TestDataFactory.createValidPersonDTO("Person " + identificationNumber, identificationNumber))))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readValue(response, PersonDTO.class);
+    }
+
+    private InvoiceDTO createInvoice(PersonDTO seller, PersonDTO buyer) throws Exception {
+        InvoiceDTO invoice = TestDataFactory.createValidInvoiceDTO();
+        invoice.setSeller(seller);
+        invoice.setBuyer(buyer);
+        String response = mockMvc.perform(post("/api/invoices")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(invoice)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readValue(response, InvoiceDTO.class);
+    }
+
+    private ChangeEventDTO lastEvent() {
+        List<ChangeEventDTO> events = changeFeedService.getEventsAfter(0);
+        return events.get(events.size() - 1);
+    }
+
+    private static String awaitContent(MvcResult stream, String expected) throws Exception {
+        long deadline = System.currentTimeMillis() + 5000;
+        String content = stream.getResponse().getContentAsString();
+        while (!content.contains(expected) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+            content = stream.getResponse().getContentAsString();
+        }
+        return content;
+    }
+}
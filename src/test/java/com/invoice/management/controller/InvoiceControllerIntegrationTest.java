@@ -1,27 +1,48 @@
 package com.invoice.management.controller;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import com.invoice.management.dto.BatchResponse;
 import com.invoice.management.dto.InvoiceDTO;
 import com.invoice.management.dto.PaginatedResponse;
 import com.invoice.management.service.InvoiceService;
 import com.invoice.management.utils.TestDataFactory;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.UUID;
+import java.util.zip.GZIPInputStream;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.hamcrest.Matchers.containsString;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -54,6 +75,54 @@ class InvoiceControllerIntegrationTest {
                 .andExpect(jsonPath("$.invoiceNumber").value(inputDTO.getInvoiceNumber()));
     }
 
+    @Test
+    void createInvoice_RetryWithSameIdempotencyKey_ReplaysResponseWithoutCreatingAgain() throws Exception {
+        InvoiceDTO inputDTO = TestDataFactory.createValidInvoiceDTO();
+        InvoiceDTO outputDTO = TestDataFactory.createValidInvoiceDTO();
+        outputDTO.setId(7L);
+        String key = UUID.randomUUID().toString();
+
+        when(invoiceService.createInvoice(any(InvoiceDTO.class))).thenReturn(outputDTO);
+
+        mockMvc.perform(post("/api/invoices")
+                        .header("Idempotency-Key", key)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(inputDTO)))
+                .andExpect(status().isCreated())
+                .andExpect(header().doesNotExist("Idempotent-Replayed"))
+                .andExpect(jsonPath("$._id").value(7L));
+        mockMvc.perform(post("/api/invoices")
+                        .header("Idempotency-Key", key)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(inputDTO)))
+                .andExpect(status().isCreated())
+                .andExpect(header().string("Idempotent-Replayed", "true"))
+                .andExpect(jsonPath("$._id").value(7L));
+
+        verify(invoiceService, times(1)).createInvoice(any(InvoiceDTO.class));
+    }
+
+    @Test
+    void createInvoice_IdempotencyKeyReusedWithDifferentBody_ReturnsUnprocessableEntity() throws Exception {
+        InvoiceDTO inputDTO = TestDataFactory.createValidInvoiceDTO();
+        InvoiceDTO otherDTO = TestDataFactory.createValidInvoiceDTO();
+        otherDTO.setPrice(inputDTO.getPrice() + 1);
+        String key = UUID.randomUUID().toString();
+
+        when(invoiceService.createInvoice(any(InvoiceDTO.class))).thenReturn(inputDTO);
+
+        mockMvc.perform(post("/api/invoices")
+                        .header("Idempotency-Key", key)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(inputDTO)))
+                .andExpect(status().isCreated());
+        mockMvc.perform(post("/api/invoices")
+                        .header("Idempotency-Key", key)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(otherDTO)))
+                .andExpect(status().isUnprocessableEntity());
+    }
+
     @Test
     void createInvoice_InvalidInvoice_ReturnsBadRequest() throws Exception {
         InvoiceDTO invalidDTO = TestDataFactory.createValidInvoiceDTO();
@@ -127,6 +196,78 @@ class InvoiceControllerIntegrationTest {
                 .andExpect(jsonPath("$.items[0].invoiceNumber").exists());
     }
 
+    @ParameterizedTest
+    @ValueSource(strings = {"application/cbor", "application/x-jackson-smile"})
+    void getInvoices_BinaryAccept_ReturnsPageInRequestedFormat(String mediaType) throws Exception {
+        InvoiceDTO invoice = TestDataFactory.createValidInvoiceDTO();
+        invoice.setId(3L);
+        when(invoiceService.getInvoices(any())).thenReturn(new PaginatedResponse<>(List.of(invoice), 1, 1, 1));
+
+        byte[] body = mockMvc.perform(get("/api/invoices").accept(mediaType))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(mediaType))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        ObjectMapper binaryMapper = mediaType.equals("application/cbor") ? new CBORMapper() : new SmileMapper();
+        JsonNode page = binaryMapper.readTree(body);
+        assertEquals(3L, page.path("items").path(0).path("_id").asLong());
+        assertEquals(invoice.getIssued().toString(), page.path("items").path(0).path("issued").asText());
+        assertEquals(1, page.path("totalItems").asInt());
+    }
+
+    @Test
+    void getInvoices_WithoutAccept_ReturnsJson() throws Exception {
+        when(invoiceService.getInvoices(any())).thenReturn(new PaginatedResponse<>(List.of(), 1, 0, 0));
+
+        mockMvc.perform(get("/api/invoices"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON));
+    }
+
+    @Test
+    void getInvoices_WithGzipAccepted_ReturnsCompressedPage() throws Exception {
+        List<InvoiceDTO> invoices = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            invoices.add(TestDataFactory.createValidInvoiceDTO());
+        }
+        when(invoiceService.getInvoices(any())).thenReturn(new PaginatedResponse<>(invoices, 1, 1, 20));
+        String plain = mockMvc.perform(get("/api/invoices")).andReturn().getResponse().getContentAsString();
+
+        byte[] compressed = mockMvc.perform(get("/api/invoices").header(HttpHeaders.ACCEPT_ENCODING, "gzip"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        assertTrue(compressed.length < plain.length() / 2, compressed.length + " vs " + plain.length());
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            assertEquals(plain, new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"ids=5,9&stream=true", "fields=_id&stream=true", "fields=_id&ids=5,9"})
+    void getInvoices_WithConflictingRepresentations_ReturnsBadRequest(String query) throws Exception {
+        mockMvc.perform(get("/api/invoices?" + query))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value(containsString("cannot be combined")));
+
+        verifyNoInteractions(invoiceService);
+    }
+
+    @Test
+    void getInvoicesByIds_ReturnsItemsAndMissingIds() throws Exception {
+        InvoiceDTO invoice = TestDataFactory.createValidInvoiceDTO();
+        invoice.setId(5L);
+
+        when(invoiceService.getInvoicesByIds(List.of(5L, 9L)))
+                .thenReturn(new BatchResponse<>(List.of(invoice), List.of(9L)));
+
+        mockMvc.perform(get("/api/invoices").param("ids", "5,9"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0]._id").value(5))
+                .andExpect(jsonPath("$.missingIds[0]").value(9));
+    }
+
     @Test
     void getInvoiceStatistics_ReturnsCorrectStatistics() throws Exception {
         Map<String, Object> mockStatistics = new HashMap<>();
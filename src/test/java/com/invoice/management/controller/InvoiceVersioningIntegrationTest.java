@@ -0,0 +1,217 @@
+package com.invoice.management.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.invoice.management.dto.mapper.InvoiceMapper;
+import com.invoice.management.dto.mapper.PersonMapper;
+import com.invoice.management.entity.InvoiceEntity;
+import com.invoice.management.entity.PersonEntity;
+import com.invoice.management.entity.repository.InvoiceRepository;
+import com.invoice.management.entity.repository.PersonIdentityRepository;
+import com.invoice.management.entity.repository.PersonRepository;
+import com.invoice.management.performance.QueryRecorder;
+import com.invoice.management.performance.QueryRecordingConfiguration;
+import com.invoice.management.utils.TestDataFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Integration tests for the versioned updates of {@link InvoiceController}: the ETag of an invoice,
+ * conditional full updates, and partial updates applied as a single UPDATE statement.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@Import(QueryRecordingConfiguration.class)
+class InvoiceVersioningIntegrationTest {
+
+    private static final MediaType MERGE_PATCH = MediaType.parseMediaType("application/merge-patch+json");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private QueryRecorder queryRecorder;
+
+    @Autowired
+    private InvoiceRepository invoiceRepository;
+
+    @Autowired
+    private PersonRepository personRepository;
+
+    @Autowired
+    private PersonIdentityRepository personIdentityRepository;
+
+    @Autowired
+    private PersonMapper personMapper;
+
+    @Autowired
+    private InvoiceMapper invoiceMapper;
+
+    private InvoiceEntity invoice;
+
+    @BeforeEach
+    void seedData() {
+        invoiceRepository.deleteAll();
+        personIdentityRepository.deleteAll();
+        personRepository.deleteAll();
+
+        PersonEntity seller = personRepository.save(personMapper.toEntity(TestDataFactory.createValidPersonDTO("Seller", "11111111")));
+        PersonEntity buyer = personRepository.save(personMapper.toEntity(TestDataFactory.createValidPersonDTO("Buyer", "22222222")));
+        invoice = invoiceMapper.toEntity(TestDataFactory.createValidInvoiceDTO());
+        invoice.setSeller(seller);
+        invoice.setBuyer(buyer);
+        invoice = invoiceRepository.save(invoice);
+    }
+
+    @Test
+    void getInvoice_ReturnsVersionAsETag() throws Exception {
+        mockMvc.perform(get("/api/invoices/{id}", invoice.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"0\""))
+                .andExpect(jsonPath("$.version").value(0));
+    }
+
+    @Test
+    void updateInvoice_WithCurrentVersion_WritesChangedColumnsOnly() throws Exception {
+        JsonNode current = read(get("/api/invoices/{id}", invoice.getId()));
+        ((ObjectNode) current).put("price", 2500);
+
+        QueryRecorder.Measurement measurement = queryRecorder.measure(() -> mockMvc.perform(put("/api/invoices/{id}", invoice.getId())
+                        .header(HttpHeaders.IF_MATCH, "\"0\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(current)))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1\""))
+                .andExpect(jsonPath("$.price").value(2500)));
+
+        String update = invoiceUpdate(measurement.queries());
+        assertTrue(update.contains("price") && update.contains("version"), update);
+        assertFalse(update.contains("product") || update.contains("note"), update);
+    }
+
+    @Test
+    void updateInvoice_WithStaleVersion_ReturnsPreconditionFailed() throws Exception {
+        invoiceRepository.patchInvoice(invoice.getId(), 0L, Map.of("price", 10L));
+
+        mockMvc.perform(put("/api/invoices/{id}", invoice.getId())
+                        .header(HttpHeaders.IF_MATCH, "\"0\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(read(get("/api/invoices/{id}", invoice.getId())))))
+                .andExpect(status().isPreconditionFailed());
+
+        assertEquals(10L, invoiceRepository.findById(invoice.getId()).orElseThrow().getPrice());
+    }
+
+    @Test
+    void patchInvoice_UpdatesWithSingleStatementBeforeAnyRead() throws Exception {
+        QueryRecorder.Measurement measurement = queryRecorder.measure(() -> mockMvc.perform(patch("/api/invoices/{id}", invoice.getId())
+                        .header(HttpHeaders.IF_MATCH, "\"0\"")
+                        .contentType(MERGE_PATCH)
+                        .content("{\"price\": 1500, \"note\": null}"))
+                .andExpect(status().isNoContent())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1\"")));
+
+        String first = measurement.queries().get(0).toLowerCase(Locale.ROOT);
+        assertTrue(first.startsWith("update invoice"), "first statement: " + measurement);
+        assertEquals(first, invoiceUpdate(measurement.queries()));
+        JsonNode patched = read(get("/api/invoices/{id}", invoice.getId()));
+        assertEquals(1500, patched.get("price").asLong());
+        assertTrue(patched.get("note").isNull());
+        assertEquals("Test Product", patched.get("product").asText());
+        assertEquals(1, patched.get("version").asLong());
+    }
+
+    @Test
+    void patchInvoice_WithStaleVersion_ReturnsPreconditionFailed() throws Exception {
+        perform(patch("/api/invoices/{id}", invoice.getId()).header(HttpHeaders.IF_MATCH, "\"0\""), "{\"price\": 1}")
+                .andExpect(status().isNoContent());
+
+        perform(patch("/api/invoices/{id}", invoice.getId()).header(HttpHeaders.IF_MATCH, "\"0\""), "{\"price\": 2}")
+                .andExpect(status().isPreconditionFailed());
+
+        assertEquals(1L, invoiceRepository.findById(invoice.getId()).orElseThrow().getPrice());
+    }
+
+    @Test
+    void patchInvoice_WithoutIfMatch_ReturnsPreconditionRequired() throws Exception {
+        perform(patch("/api/invoices/{id}", invoice.getId()), "{\"price\": 1}")
+                .andExpect(status().isPreconditionRequired());
+    }
+
+    @Test
+    void patchInvoice_UnknownInvoice_ReturnsNotFound() throws Exception {
+        perform(patch("/api/invoices/{id}", invoice.getId() + 1000).header(HttpHeaders.IF_MATCH, "*"), "{\"price\": 1}")
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void patchInvoice_InvalidValue_ReturnsBadRequestWithoutUpdating() throws Exception {
+        perform(patch("/api/invoices/{id}", invoice.getId()).header(HttpHeaders.IF_MATCH, "\"0\""), "{\"vat\": 150}")
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.vat").value("VAT cannot exceed 100"));
+        perform(patch("/api/invoices/{id}", invoice.getId()).header(HttpHeaders.IF_MATCH, "\"0\""), "{\"seller\": null}")
+                .andExpect(status().isBadRequest());
+
+        assertEquals(0L, invoiceRepository.findById(invoice.getId()).orElseThrow().getVersion());
+    }
+
+    @Test
+    void patchInvoice_DueDateNotAfterStoredIssueDate_ReturnsBadRequest() throws Exception {
+        invoice.setIssued(LocalDate.now().plusDays(10));
+        invoice.setDueDate(LocalDate.now().plusDays(40));
+        invoice = invoiceRepository.save(invoice);
+
+        perform(patch("/api/invoices/{id}", invoice.getId()).header(HttpHeaders.IF_MATCH, "\"1\""),
+                "{\"dueDate\": \"" + LocalDate.now().plusDays(5) + "\"}")
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Due date must be after the issue date"));
+
+        assertEquals(LocalDate.now().plusDays(40), invoiceRepository.findById(invoice.getId()).orElseThrow().getDueDate());
+    }
+
+    private ResultActions perform(MockHttpServletRequestBuilder request,
+                                  String body) throws Exception {
+        return mockMvc.perform(request.contentType(MERGE_PATCH).content(body));
+    }
+
+    private JsonNode read(MockHttpServletRequestBuilder request) throws Exception {
+        return objectMapper.readTree(mockMvc.perform(request)
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString());
+    }
+
+    private static String invoiceUpdate(List<String> queries) {
+        List<String> updates = queries.stream()
+                .map(query -> query.toLowerCase(Locale.ROOT))
+                .filter(query -> query.startsWith("update invoice"))
+                .toList();
+        assertEquals(1, updates.size(), "invoice updates: " + updates);
+        return updates.get(0);
+    }
+}
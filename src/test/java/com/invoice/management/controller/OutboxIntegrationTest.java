@@ -0,0 +1,173 @@
+package com.invoice.management.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.invoice.management.constant.ChangeEventType;
+import com.invoice.management.dto.InvoiceDTO;
+import com.invoice.management.dto.OutboxEventDTO;
+import com.invoice.management.dto.PersonDTO;
+import com.invoice.management.entity.repository.OutboxEventRepository;
+import com.invoice.management.service.OutboxService;
+import com.invoice.management.service.PersonService;
+import com.invoice.management.utils.TestDataFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Integration test of the transactional outbox against the database, relayed to an in-process listener
+ * and to the file sink through {@link PersistenceAdminController}.
+ */
+@SpringBootTest(properties = {
+        "persistence.outbox.file.enabled=true",
+        "persistence.outbox.file.path=target/outbox-test/events.jsonl"
+})
+@AutoConfigureMockMvc
+class OutboxIntegrationTest {
+
+    private static final Path EVENT_FILE = Path.of("target/outbox-test/events.jsonl");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private OutboxService outboxService;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private PersonService personService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private RecordingListener listener;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        outboxService.relay();
+        listener.events.clear();
+        Files.deleteIfExists(EVENT_FILE);
+    }
+
+    @Test
+    void createInvoice_WritesOutboxEventThatIsRelayedToAllSinks() throws Exception {
+        PersonDTO seller = personService.addPerson(TestDataFactory.createValidPersonDTO("Outbox Seller", "90901010"));
+        PersonDTO buyer = personService.addPerson(TestDataFactory.createValidPersonDTO("Outbox Buyer", "90902020"));
+        InvoiceDTO invoice = TestDataFactory.createValidInvoiceDTO();
+        invoice.setSeller(seller);
+        invoice.setBuyer(buyer);
+        String response = mockMvc.perform(post("/api/invoices")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(invoice)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        long invoiceId = objectMapper.readValue(response, InvoiceDTO.class).getId();
+        assertEquals(3, outboxEventRepository.count());
+
+        mockMvc.perform(post("/admin/persistence/outbox/relay"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.pending").value(0));
+
+        assertEquals(3, listener.events.size());
+        OutboxEventDTO invoiceEvent = listener.events.get(2);
+        assertEquals(ChangeEventType.INVOICE_CREATED, invoiceEvent.getType());
+        assertEquals(invoiceId, invoiceEvent.getEntityId());
+        assertEquals(seller.getId(), invoiceEvent.getSellerId());
+        assertEquals(buyer.getId(), invoiceEvent.getBuyerId());
+
+        List<String> lines = Files.readAllLines(EVENT_FILE);
+        assertEquals(3, lines.size());
+        OutboxEventDTO fileEvent = objectMapper.readValue(lines.get(2), OutboxEventDTO.class);
+        assertEquals(invoiceEvent.getId(), fileEvent.getId());
+        assertEquals(invoiceId, fileEvent.getEntityId());
+    }
+
+    @Test
+    void rolledBackChange_LeavesNoOutboxEvent() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            personService.addPerson(TestDataFactory.createValidPersonDTO("Rolled Back", "90903030"));
+            status.setRollbackOnly();
+        });
+
+        assertEquals(0, outboxEventRepository.count());
+    }
+
+    @Test
+    void relay_DrainsBacklogInBatchesInOutboxOrder() throws IOException {
+        int backlog = 20_000;
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> rows = new ArrayList<>(backlog);
+        for (int i = 0; i < backlog; i++) {
+            rows.add(new Object[]{ChangeEventType.INVOICE_UPDATED.name(), (long) i, 1L, 2L, now});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO outbox_event (type, entity_id, seller_id, buyer_id, occurred_at) "
+                + "VALUES (?, ?, ?, ?, ?)", rows);
+
+        long start = System.nanoTime();
+        long relayed = outboxService.relay();
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("Relayed %d outbox events in %.3f s (%.0f events/s)%n", relayed, seconds, relayed / seconds);
+
+        assertEquals(backlog, relayed);
+        assertEquals(0, outboxEventRepository.count());
+        assertEquals(backlog, listener.events.size());
+        for (int i = 1; i < backlog; i++) {
+            assertTrue(listener.events.get(i).getId() > listener.events.get(i - 1).getId());
+        }
+        try (var lines = Files.lines(EVENT_FILE)) {
+            assertEquals(backlog, lines.count());
+        }
+    }
+
+    /**
+     * Collects the events the application-event sink publishes.
+     */
+    static class RecordingListener {
+        private final List<OutboxEventDTO> events = Collections.synchronizedList(new ArrayList<>());
+
+        @EventListener
+        public void onOutboxEvent(OutboxEventDTO event) {
+            events.add(event);
+        }
+    }
+
+    @TestConfiguration
+    static class ListenerConfiguration {
+        @Bean
+        RecordingListener recordingListener() {
+            return new RecordingListener();
+        }
+    }
+}
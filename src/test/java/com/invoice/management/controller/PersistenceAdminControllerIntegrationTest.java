@@ -0,0 +1,86 @@
+package com.invoice.management.controller;
+
+import com.invoice.management.dto.mapper.PersonMapper;
+import com.invoice.management.entity.PersonEntity;
+import com.invoice.management.entity.repository.PersonRepository;
+import com.invoice.management.utils.TestDataFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Integration tests for the slow-query log behind {@link PersistenceAdminController}.
+ * The threshold is zero, so every statement counts as slow.
+ */
+@SpringBootTest(properties = {
+        "persistence.slow-query.threshold=0ms",
+        "persistence.slow-query.sample-rate=0"
+})
+@AutoConfigureMockMvc
+class PersistenceAdminControllerIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private PersonRepository personRepository;
+
+    @Autowired
+    private PersonMapper personMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private long personId;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        PersonEntity person = personRepository.save(personMapper.toEntity(TestDataFactory.createValidPersonDTO()));
+        personId = person.getId();
+        mockMvc.perform(delete("/admin/persistence/slow-queries")).andExpect(status().isNoContent());
+    }
+
+    @Test
+    void getSlowQueries_ReportsRowsParameterShapeAndOrigin() throws Exception {
+        mockMvc.perform(get("/api/persons/" + personId)).andExpect(status().isOk());
+
+        mockMvc.perform(get("/admin/persistence/slow-queries"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[?(@.origin == 'PersonServiceImpl.getPersonById')].fingerprint",
+                        hasItem(containsString("from person"))))
+                .andExpect(jsonPath("$[?(@.origin == 'PersonServiceImpl.getPersonById')].rows", hasItem(1)))
+                .andExpect(jsonPath("$[?(@.origin == 'PersonServiceImpl.getPersonById')].parameterShape", hasItem("(Long)")))
+                .andExpect(jsonPath("$[?(@.origin == 'PersonServiceImpl.getPersonById')].executions", hasItem(1)));
+    }
+
+    @Test
+    void getSlowQueries_NormalizesLiteralsIntoOneFingerprint() throws Exception {
+        jdbcTemplate.queryForList("SELECT id FROM person WHERE id IN (1, 2, 3) AND name <> 'a'");
+        jdbcTemplate.queryForList("SELECT id FROM person WHERE id IN (4, 5) AND name <> 'b'");
+
+        mockMvc.perform(get("/admin/persistence/slow-queries"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[?(@.fingerprint == 'SELECT id FROM person WHERE id IN (?...) AND name <> ?')].executions",
+                        contains(2)));
+    }
+
+    @Test
+    void getSlowQueries_RespectsLimit() throws Exception {
+        mockMvc.perform(get("/api/persons/" + personId)).andExpect(status().isOk());
+        jdbcTemplate.queryForList("SELECT id FROM person");
+
+        mockMvc.perform(get("/admin/persistence/slow-queries").param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)));
+    }
+}
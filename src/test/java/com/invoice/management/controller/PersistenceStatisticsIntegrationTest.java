@@ -0,0 +1,118 @@
+package com.invoice.management.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.invoice.management.dto.mapper.PersonMapper;
+import com.invoice.management.entity.PersonEntity;
+import com.invoice.management.entity.repository.PersonRepository;
+import com.invoice.management.utils.TestDataFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Integration tests for the Hibernate statistics endpoints of {@link PersistenceAdminController},
+ * with the second-level cache region for persons enabled.
+ */
+@SpringBootTest(properties = "persistence.second-level-cache.enabled=true")
+@AutoConfigureMockMvc
+class PersistenceStatisticsIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PersonRepository personRepository;
+
+    @Autowired
+    private PersonMapper personMapper;
+
+    private long personId;
+
+    @BeforeEach
+    void setUp() {
+        PersonEntity person = personRepository.save(personMapper.toEntity(TestDataFactory.createValidPersonDTO()));
+        personId = person.getId();
+    }
+
+    @Test
+    void getStatistics_ReportsPerEntityCounters() throws Exception {
+        mockMvc.perform(get("/admin/persistence/stats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.entities.PersonEntity.loadCount").isNumber())
+                .andExpect(jsonPath("$.entities.InvoiceEntity.loadCount").isNumber())
+                .andExpect(jsonPath("$.entities.PersonEntity.cacheHitRatio").isNumber())
+                .andExpect(jsonPath("$.session.flushCount").isNumber());
+    }
+
+    @Test
+    void getStatisticsDiff_ShowsSecondLevelCacheHitsOfTheWorkload() throws Exception {
+        long snapshotId = takeSnapshot();
+
+        mockMvc.perform(get("/api/persons/" + personId)).andExpect(status().isOk());
+        mockMvc.perform(get("/api/persons/" + personId)).andExpect(status().isOk());
+
+        mockMvc.perform(get("/admin/persistence/stats/snapshots/" + snapshotId + "/diff"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.snapshotId").value((int) snapshotId))
+                .andExpect(jsonPath("$.entities.PersonEntity.cacheHitCount", greaterThanOrEqualTo(1)))
+                .andExpect(jsonPath("$.entities.InvoiceEntity.loadCount").value(0))
+                .andExpect(jsonPath("$.cacheRegions.person.cacheHitRatio", greaterThan(0.0)))
+                .andExpect(jsonPath("$.session.secondLevelCacheHitCount", greaterThanOrEqualTo(1)));
+    }
+
+    @Test
+    void getStatisticsDiff_ListsOnlyQueriesRunSinceTheSnapshot() throws Exception {
+        long snapshotId = takeSnapshot();
+
+        mockMvc.perform(get("/api/persons")).andExpect(status().isOk());
+
+        String body = mockMvc.perform(get("/admin/persistence/stats/snapshots/" + snapshotId + "/diff"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.session.queryExecutionCount", greaterThanOrEqualTo(1)))
+                .andReturn().getResponse().getContentAsString();
+
+        JsonNode queries = objectMapper.readTree(body).get("queries");
+        assertTrue(queries.size() >= 1, body);
+        queries.forEach(query -> assertTrue(query.get("executionCount").asLong() >= 1, body));
+    }
+
+    @Test
+    void getStatisticsDiff_UnknownSnapshot_ReturnsNotFound() throws Exception {
+        mockMvc.perform(get("/admin/persistence/stats/snapshots/999999/diff"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.message").value("Statistics snapshot with id 999999 not found"));
+    }
+
+    @Test
+    void resetStatistics_ClearsCountersAndSnapshots() throws Exception {
+        long snapshotId = takeSnapshot();
+
+        mockMvc.perform(delete("/admin/persistence/stats")).andExpect(status().isNoContent());
+
+        mockMvc.perform(get("/admin/persistence/stats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.session.entityLoadCount").value(0));
+        mockMvc.perform(get("/admin/persistence/stats/snapshots/" + snapshotId + "/diff"))
+                .andExpect(status().isNotFound());
+    }
+
+    private long takeSnapshot() throws Exception {
+        String body = mockMvc.perform(post("/admin/persistence/stats/snapshots"))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body).get("snapshotId").asLong();
+    }
+}
@@ -0,0 +1,139 @@
+package com.invoice.management.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.invoice.management.dto.ArchivalReportDTO;
+import com.invoice.management.dto.mapper.InvoiceMapper;
+import com.invoice.management.dto.mapper.PersonMapper;
+import com.invoice.management.entity.InvoiceEntity;
+import com.invoice.management.entity.PersonEntity;
+import com.invoice.management.entity.repository.InvoiceRepository;
+import com.invoice.management.entity.repository.PersonArchiveRepository;
+import com.invoice.management.entity.repository.PersonRepository;
+import com.invoice.management.utils.TestDataFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.Matchers.contains;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Integration test of the person archival against the database, triggered through
+ * {@link PersistenceAdminController}. A small batch size makes the run span several batches.
+ */
+@SpringBootTest(properties = {
+        "persistence.archival.batch-size=2",
+        "persistence.archival.pause=0ms"
+})
+@AutoConfigureMockMvc
+class PersonArchivalIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PersonRepository personRepository;
+
+    @Autowired
+    private PersonArchiveRepository personArchiveRepository;
+
+    @Autowired
+    private InvoiceRepository invoiceRepository;
+
+    @Autowired
+    private PersonMapper personMapper;
+
+    @Autowired
+    private InvoiceMapper invoiceMapper;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void runArchival_MovesOnlyUnreferencedHiddenVersions() throws Exception {
+        String identificationNumber = "87654321";
+        PersonEntity referencedVersion = savePerson(identificationNumber, true);
+        List<Long> unreferencedVersions = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            unreferencedVersions.add(savePerson(identificationNumber, true).getId());
+        }
+        PersonEntity currentVersion = savePerson(identificationNumber, false);
+        PersonEntity buyer = savePerson("99999999", false);
+
+        InvoiceEntity invoice = invoiceMapper.toEntity(TestDataFactory.createValidInvoiceDTO());
+        invoice.setSeller(referencedVersion);
+        invoice.setBuyer(buyer);
+        invoiceRepository.save(invoice);
+
+        String body = mockMvc.perform(post("/admin/persistence/archival"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        ArchivalReportDTO report = objectMapper.readValue(body, ArchivalReportDTO.class);
+
+        assertTrue(report.getRowsMoved() >= 5, body);
+        assertTrue(report.getBatches() >= 3, body);
+        assertEquals(report.getRowsMoved(), report.getPersonRowsBefore() - report.getPersonRowsAfter(), body);
+        assertEquals(report.getRowsMoved(), report.getArchiveRowsAfter() - report.getArchiveRowsBefore(), body);
+
+        for (Long id : unreferencedVersions) {
+            assertFalse(personRepository.existsById(id));
+            assertTrue(personArchiveRepository.existsById(id));
+        }
+        assertTrue(personRepository.existsById(referencedVersion.getId()));
+        assertTrue(personRepository.existsById(currentVersion.getId()));
+
+        List<Integer> expectedHistory = new ArrayList<>();
+        expectedHistory.add((int) currentVersion.getId());
+        for (int i = unreferencedVersions.size() - 1; i >= 0; i--) {
+            expectedHistory.add(unreferencedVersions.get(i).intValue());
+        }
+        expectedHistory.add((int) referencedVersion.getId());
+
+        mockMvc.perform(get("/api/persons/identification/{identificationNumber}/history", identificationNumber))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*]._id", contains(expectedHistory.toArray())));
+
+        mockMvc.perform(get("/admin/persistence/archival"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.rowsMoved").value((int) report.getRowsMoved()));
+    }
+
+    @Test
+    void moveToArchive_VersionReferencedAfterSelection_StaysInPersonTable() {
+        PersonEntity hiddenVersion = savePerson("76543210", true);
+        PersonEntity seller = savePerson("65432109", false);
+
+        InvoiceEntity invoice = invoiceMapper.toEntity(TestDataFactory.createValidInvoiceDTO());
+        invoice.setSeller(seller);
+        invoice.setBuyer(hiddenVersion);
+        invoiceRepository.save(invoice);
+
+        Integer moved = transactionTemplate.execute(status ->
+                personArchiveRepository.moveToArchive(List.of(hiddenVersion.getId()), LocalDateTime.now()));
+
+        assertEquals(0, moved);
+        assertTrue(personRepository.existsById(hiddenVersion.getId()));
+        assertFalse(personArchiveRepository.existsById(hiddenVersion.getId()));
+    }
+
+    private PersonEntity savePerson(String identificationNumber, boolean hidden) {
+        PersonEntity person = personMapper.toEntity(
+                TestDataFactory.createValidPersonDTO("Archival " + identificationNumber, identificationNumber));
+        person.setHidden(hidden);
+        return personRepository.save(person);
+    }
+}
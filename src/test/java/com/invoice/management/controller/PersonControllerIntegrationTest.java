@@ -1,13 +1,18 @@
 package com.invoice.management.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.invoice.management.dto.BatchResponse;
 import com.invoice.management.dto.InvoiceDTO;
 import com.invoice.management.dto.PaginatedResponse;
 import com.invoice.management.dto.PersonDTO;
 import com.invoice.management.dto.PersonStatisticsDTO;
+import com.invoice.management.exception.BatchSizeExceededException;
+import com.invoice.management.exception.PersonNotFoundException;
 import com.invoice.management.service.PersonService;
 import com.invoice.management.utils.TestDataFactory;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
@@ -17,9 +22,12 @@ import org.springframework.test.web.servlet.MockMvc;
 
 import java.util.*;
 
+import static org.hamcrest.Matchers.containsString;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
@@ -97,6 +105,78 @@ class PersonControllerIntegrationTest {
                 .andExpect(jsonPath("$.name").value(personDTO.getName()));
     }
 
+    @ParameterizedTest
+    @ValueSource(strings = {"ids=2,7&stream=true", "fields=_id&stream=true", "fields=_id&ids=2,7"})
+    void getPersons_WithConflictingRepresentations_ReturnsBadRequest(String query) throws Exception {
+        mockMvc.perform(get("/api/persons?" + query))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value(containsString("cannot be combined")));
+
+        verifyNoInteractions(personService);
+    }
+
+    @Test
+    void getPersonsByIds_ReturnsItemsAndMissingIds() throws Exception {
+        PersonDTO person = TestDataFactory.createValidPersonDTO();
+        person.setId(2L);
+
+        when(personService.getPersonsByIds(List.of(2L, 7L)))
+                .thenReturn(new BatchResponse<>(List.of(person), List.of(7L)));
+
+        mockMvc.perform(get("/api/persons").param("ids", "2,7"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0]._id").value(2))
+                .andExpect(jsonPath("$.missingIds[0]").value(7));
+    }
+
+    @Test
+    void getPersonsByIds_TooManyIds_ReturnsBadRequest() throws Exception {
+        when(personService.getPersonsByIds(any()))
+                .thenThrow(new BatchSizeExceededException("At most 1000 IDs can be requested at once"));
+
+        mockMvc.perform(get("/api/persons").param("ids", "1,2"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void getPersonByIdentificationNumber_ReturnsCurrentVersion() throws Exception {
+        PersonDTO personDTO = TestDataFactory.createValidPersonDTO();
+        personDTO.setId(3L);
+
+        when(personService.getPersonByIdentificationNumber("12345678")).thenReturn(personDTO);
+
+        mockMvc.perform(get("/api/persons/identification/{identificationNumber}", "12345678"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$._id").value(3L))
+                .andExpect(jsonPath("$.identificationNumber").value("12345678"));
+    }
+
+    @Test
+    void getPersonByIdentificationNumber_RemovedPerson_ReturnsNotFound() throws Exception {
+        when(personService.getPersonByIdentificationNumber("12345678"))
+                .thenThrow(new PersonNotFoundException("Person not found"));
+
+        mockMvc.perform(get("/api/persons/identification/{identificationNumber}", "12345678"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void getPersonHistory_ReturnsAllVersions() throws Exception {
+        PersonDTO current = TestDataFactory.createValidPersonDTO();
+        current.setId(2L);
+        PersonDTO previous = TestDataFactory.createValidPersonDTO();
+        previous.setId(1L);
+        previous.setHidden(true);
+
+        when(personService.getPersonHistory("12345678")).thenReturn(Arrays.asList(current, previous));
+
+        mockMvc.perform(get("/api/persons/identification/{identificationNumber}/history", "12345678"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0]._id").value(2L))
+                .andExpect(jsonPath("$[1]._id").value(1L));
+    }
+
     @Test
     void updatePerson_ValidPerson_ReturnsUpdatedPerson() throws Exception {
         Long personId = 1L;
@@ -187,6 +267,17 @@ class PersonControllerIntegrationTest {
                 .andExpect(jsonPath("$.items[0]").exists());
     }
 
+    @Test
+    void getPersonStatistics_WithoutSort_DefaultsToSortByName() throws Exception {
+        when(personService.getPersonStatistics(eq(1), eq(10), eq("name,asc"))).thenReturn(getStringObjectMap());
+
+        mockMvc.perform(get("/api/persons/statistics"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.paginatedData.items[0].personName").value("Person 1"));
+
+        verify(personService).getPersonStatistics(1, 10, "name,asc");
+    }
+
     @Test
     void getPersonStatistics_ReturnsCorrectMap() throws Exception {
         Map<String, Object> mockResponse = getStringObjectMap();
@@ -0,0 +1,147 @@
+package com.invoice.management.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.invoice.management.dto.mapper.InvoiceMapper;
+import com.invoice.management.dto.mapper.PersonMapper;
+import com.invoice.management.entity.InvoiceEntity;
+import com.invoice.management.entity.PersonEntity;
+import com.invoice.management.entity.repository.InvoiceRepository;
+import com.invoice.management.entity.repository.PersonIdentityRepository;
+import com.invoice.management.entity.repository.PersonRepository;
+import com.invoice.management.utils.TestDataFactory;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Integration tests for the {@code fields} parameter of {@link InvoiceController} and {@link PersonController}.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class SparseFieldsetIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private InvoiceRepository invoiceRepository;
+
+    @Autowired
+    private PersonRepository personRepository;
+
+    @Autowired
+    private PersonIdentityRepository personIdentityRepository;
+
+    @Autowired
+    private PersonMapper personMapper;
+
+    @Autowired
+    private InvoiceMapper invoiceMapper;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private PersonEntity seller;
+    private InvoiceEntity invoice;
+
+    @BeforeEach
+    void seedData() {
+        invoiceRepository.deleteAll();
+        personIdentityRepository.deleteAll();
+        personRepository.deleteAll();
+
+        seller = personRepository.save(personMapper.toEntity(TestDataFactory.createValidPersonDTO("Seller", "11111111")));
+        PersonEntity buyer = personRepository.save(personMapper.toEntity(TestDataFactory.createValidPersonDTO("Buyer", "22222222")));
+        for (int i = 0; i < 3; i++) {
+            InvoiceEntity entity = invoiceMapper.toEntity(TestDataFactory.createValidInvoiceDTO());
+            entity.setInvoiceNumber(i + 1);
+            entity.setSeller(seller);
+            entity.setBuyer(buyer);
+            invoice = invoiceRepository.save(entity);
+        }
+    }
+
+    @Test
+    void getInvoices_WithFields_ReturnsOnlyRequestedPropertiesWithoutLoadingEntities() throws Exception {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        long entitiesLoaded = statistics.getEntityLoadCount();
+
+        String content = mockMvc.perform(get("/api/invoices")
+                        .param("fields", "_id,invoiceNumber,price,dueDate,seller.name")
+                        .param("sort", "invoiceNumber,desc"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalItems").value(3))
+                .andReturn().getResponse().getContentAsString();
+
+        JsonNode first = objectMapper.readTree(content).get("items").get(0);
+        assertEquals(Set.of("_id", "invoiceNumber", "price", "dueDate", "seller"), fieldNames(first));
+        assertEquals(Set.of("name"), fieldNames(first.get("seller")));
+        assertEquals(invoice.getId(), first.get("_id").asLong());
+        assertEquals(3, first.get("invoiceNumber").asInt());
+        assertEquals(invoice.getDueDate().toString(), first.get("dueDate").asText());
+        assertEquals("Seller", first.get("seller").get("name").asText());
+        assertEquals(entitiesLoaded, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void getInvoice_WithWholeNestedPerson_ReturnsAllPersonProperties() throws Exception {
+        String content = mockMvc.perform(get("/api/invoices/{invoiceId}", invoice.getId())
+                        .param("fields", "product,buyer"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        JsonNode body = objectMapper.readTree(content);
+        assertEquals(Set.of("product", "buyer"), fieldNames(body));
+        JsonNode fullBuyer = objectMapper.readTree(mockMvc.perform(get("/api/invoices/{invoiceId}", invoice.getId()))
+                .andReturn().getResponse().getContentAsString()).get("buyer");
+        assertEquals(fullBuyer, body.get("buyer"));
+    }
+
+    @Test
+    void getPersons_WithFieldsAndFilter_ReturnsOnlyRequestedProperties() throws Exception {
+        mockMvc.perform(get("/api/persons").param("fields", "_id, name").param("name", "sell"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(1))
+                .andExpect(jsonPath("$.items[0]._id").value(seller.getId()))
+                .andExpect(jsonPath("$.items[0].name").value("Seller"))
+                .andExpect(jsonPath("$.items[0].identificationNumber").doesNotExist());
+    }
+
+    @Test
+    void getPerson_WithFieldsOfUnknownPerson_ReturnsNotFound() throws Exception {
+        mockMvc.perform(get("/api/persons/{personId}", -1).param("fields", "name"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void getInvoices_WithUnknownField_ReturnsBadRequest() throws Exception {
+        mockMvc.perform(get("/api/invoices").param("fields", "price,seller.purchases"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value(containsString("seller.purchases")));
+    }
+
+    private static Set<String> fieldNames(JsonNode node) {
+        Set<String> names = new HashSet<>();
+        node.fieldNames().forEachRemaining(names::add);
+        return names;
+    }
+}
@@ -0,0 +1,161 @@
+package com.invoice.management.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.invoice.management.dto.mapper.InvoiceMapper;
+import com.invoice.management.dto.mapper.PersonMapper;
+import com.invoice.management.entity.InvoiceEntity;
+import com.invoice.management.entity.PersonEntity;
+import com.invoice.management.entity.repository.InvoiceRepository;
+import com.invoice.management.entity.repository.PersonIdentityRepository;
+import com.invoice.management.entity.repository.PersonRepository;
+import com.invoice.management.performance.QueryRecorder;
+import com.invoice.management.performance.QueryRecordingConfiguration;
+import com.invoice.management.utils.StreamingUtils;
+import com.invoice.management.utils.TestDataFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Integration tests for the streamed list pages of {@link InvoiceController} and {@link PersonController}.
+ * The seeded page is larger than the chunk after which the persistence context is cleared.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@Import(QueryRecordingConfiguration.class)
+class StreamingListIntegrationTest {
+
+    private static final int INVOICE_COUNT = 250;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private QueryRecorder queryRecorder;
+
+    @Autowired
+    private InvoiceRepository invoiceRepository;
+
+    @Autowired
+    private PersonRepository personRepository;
+
+    @Autowired
+    private PersonIdentityRepository personIdentityRepository;
+
+    @Autowired
+    private PersonMapper personMapper;
+
+    @Autowired
+    private InvoiceMapper invoiceMapper;
+
+    private PersonEntity seller;
+
+    @BeforeEach
+    void seedData() {
+        invoiceRepository.deleteAll();
+        personIdentityRepository.deleteAll();
+        personRepository.deleteAll();
+
+        seller = personRepository.save(personMapper.toEntity(TestDataFactory.createValidPersonDTO("Seller", "11111111")));
+        PersonEntity otherSeller = personRepository.save(personMapper.toEntity(TestDataFactory.createValidPersonDTO("Other", "33333333")));
+        PersonEntity buyer = personRepository.save(personMapper.toEntity(TestDataFactory.createValidPersonDTO("Buyer", "22222222")));
+
+        for (int i = 0; i < INVOICE_COUNT; i++) {
+            InvoiceEntity invoice = invoiceMapper.toEntity(TestDataFactory.createValidInvoiceDTO());
+            invoice.setInvoiceNumber(i + 1);
+            invoice.setSeller(i % 5 == 0 ? otherSeller : seller);
+            invoice.setBuyer(buyer);
+            invoiceRepository.save(invoice);
+        }
+    }
+
+    @Test
+    void streamInvoices_WritesSameItemsAsPaginatedPage() throws Exception {
+        JsonNode page = objectMapper.readTree(mockMvc.perform(get("/api/invoices")
+                        .param("limit", "300").param("sort", "invoiceNumber,desc"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString());
+
+        MockHttpServletResponse streamed = stream(get("/api/invoices")
+                .param("stream", "true").param("limit", "300").param("sort", "invoiceNumber,desc"));
+
+        assertEquals(page.get("items"), objectMapper.readTree(streamed.getContentAsString()));
+        assertEquals("1", streamed.getHeader(StreamingUtils.CURRENT_PAGE_HEADER));
+        assertEquals("1", streamed.getHeader(StreamingUtils.TOTAL_PAGES_HEADER));
+        assertEquals(String.valueOf(INVOICE_COUNT), streamed.getHeader(StreamingUtils.TOTAL_ITEMS_HEADER));
+    }
+
+    @Test
+    void streamInvoices_WithFilterAndPage_ReportsPaginationInHeaders() throws Exception {
+        MockHttpServletResponse streamed = stream(get("/api/invoices")
+                .param("stream", "true").param("sellerID", String.valueOf(seller.getId()))
+                .param("page", "2").param("limit", "150"));
+
+        JsonNode items = objectMapper.readTree(streamed.getContentAsString());
+        assertEquals(50, items.size());
+        items.forEach(item -> assertEquals(seller.getId(), item.get("seller").get("_id").asLong()));
+        assertEquals("2", streamed.getHeader(StreamingUtils.CURRENT_PAGE_HEADER));
+        assertEquals("2", streamed.getHeader(StreamingUtils.TOTAL_PAGES_HEADER));
+        assertEquals("200", streamed.getHeader(StreamingUtils.TOTAL_ITEMS_HEADER));
+    }
+
+    @Test
+    void streamInvoices_FetchesBuyerAndSellerWithoutExtraStatements() throws Exception {
+        AtomicReference<MockHttpServletResponse> streamed = new AtomicReference<>();
+        QueryRecorder.Measurement measurement = queryRecorder.measure(() -> streamed.set(stream(get("/api/invoices")
+                .param("stream", "true").param("limit", String.valueOf(INVOICE_COUNT)))));
+
+        assertEquals(INVOICE_COUNT, objectMapper.readTree(streamed.get().getContentAsString()).size());
+        assertEquals(2, measurement.statements(), "count and select only: " + measurement);
+    }
+
+    @Test
+    void streamInvoices_WithGzipAccepted_StreamsUncompressed() throws Exception {
+        MockHttpServletResponse streamed = stream(get("/api/invoices")
+                .param("stream", "true").param("limit", String.valueOf(INVOICE_COUNT))
+                .header(HttpHeaders.ACCEPT_ENCODING, "gzip"));
+
+        assertNull(streamed.getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertEquals(INVOICE_COUNT, objectMapper.readTree(streamed.getContentAsString()).size());
+    }
+
+    @Test
+    void streamPersons_WritesVisiblePersons() throws Exception {
+        MockHttpServletResponse streamed = stream(get("/api/persons")
+                .param("stream", "true").param("name", "seller"));
+
+        JsonNode items = objectMapper.readTree(streamed.getContentAsString());
+        assertEquals(1, items.size());
+        assertEquals("11111111", items.get(0).get("identificationNumber").asText());
+        assertEquals("1", streamed.getHeader(StreamingUtils.TOTAL_ITEMS_HEADER));
+    }
+
+    private MockHttpServletResponse stream(MockHttpServletRequestBuilder requestBuilder) throws Exception {
+        MvcResult result = mockMvc.perform(requestBuilder)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andReturn().getResponse();
+    }
+}
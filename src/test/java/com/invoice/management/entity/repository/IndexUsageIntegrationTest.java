@@ -0,0 +1,87 @@
+package com.invoice.management.entity.repository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs EXPLAIN on the SQL shapes behind the hot repository and filter queries
+ * and fails when one of them regresses to a full table scan.
+ */
+@SpringBootTest
+class IndexUsageIntegrationTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void findBySellerIdentificationNumber_UsesIndexes() {
+        String plan = explain("SELECT i.* FROM invoice i JOIN person s ON s.id = i.seller_id "
+                + "WHERE s.identification_number = '12345678' ORDER BY i.issued");
+
+        assertNoTableScan(plan);
+        assertTrue(plan.contains("idx_person_identification_number"), plan);
+    }
+
+    @Test
+    void filterByBuyerId_UsesIndex() {
+        String plan = explain("SELECT * FROM invoice WHERE buyer_id = 1 ORDER BY issued");
+
+        assertNoTableScan(plan);
+    }
+
+    @Test
+    void filterBySellerId_UsesIndex() {
+        String plan = explain("SELECT * FROM invoice WHERE seller_id = 1 ORDER BY issued");
+
+        assertNoTableScan(plan);
+    }
+
+    @Test
+    void filterByPriceRange_UsesPriceIdIndex() {
+        String plan = explain("SELECT * FROM invoice WHERE price >= 100 AND price <= 2000 ORDER BY id");
+
+        assertNoTableScan(plan);
+        assertTrue(plan.contains("idx_invoice_price_id"), plan);
+    }
+
+    @Test
+    void priceSumByIssuedRange_UsesIssuedPriceIndex() {
+        String plan = explain("SELECT COALESCE(SUM(price), 0) FROM invoice "
+                + "WHERE issued >= DATE '2026-01-01' AND issued < DATE '2027-01-01'");
+
+        assertNoTableScan(plan);
+        assertTrue(plan.contains("idx_invoice_issued_price"), plan);
+    }
+
+    @Test
+    void visiblePersonsByName_UsesHiddenNameIndex() {
+        String plan = explain("SELECT * FROM person WHERE hidden = FALSE ORDER BY name");
+
+        assertNoTableScan(plan);
+        assertTrue(plan.contains("idx_person_hidden_name"), plan);
+    }
+
+    @Test
+    void personByIdentificationNumber_UsesIdentificationNumberIndex() {
+        String plan = explain("SELECT * FROM person WHERE identification_number = '12345678'");
+
+        assertNoTableScan(plan);
+        assertTrue(plan.contains("idx_person_identification_number"), plan);
+    }
+
+    private String explain(String sql) {
+        List<String> rows = jdbcTemplate.queryForList("EXPLAIN " + sql, String.class);
+        return String.join("\n", rows).toLowerCase();
+    }
+
+    private static void assertNoTableScan(String plan) {
+        assertFalse(plan.contains("tablescan"), () -> "Query regressed to a full scan:\n" + plan);
+    }
+}
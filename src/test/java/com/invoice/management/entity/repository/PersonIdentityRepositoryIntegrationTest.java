@@ -0,0 +1,82 @@
+package com.invoice.management.entity.repository;
+
+import com.invoice.management.dto.mapper.PersonMapper;
+import com.invoice.management.entity.PersonEntity;
+import com.invoice.management.utils.TestDataFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration test of the current-version pointer statements against the database,
+ * replaying the orders in which a repair on the read path can race an update or a removal.
+ */
+@SpringBootTest
+class PersonIdentityRepositoryIntegrationTest {
+
+    @Autowired
+    private PersonIdentityRepository personIdentityRepository;
+
+    @Autowired
+    private PersonRepository personRepository;
+
+    @Autowired
+    private PersonMapper personMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void repairCurrentVersion_WithoutPointer_CreatesIt() {
+        PersonEntity version = savePerson("31415926", false);
+
+        personIdentityRepository.repairCurrentVersion("31415926", version.getId());
+
+        assertEquals(version.getId(), currentVersionId("31415926"));
+    }
+
+    @Test
+    void repairCurrentVersion_AfterConcurrentUpdate_KeepsNewerPointer() {
+        PersonEntity readVersion = savePerson("27182818", true);
+        PersonEntity newVersion = savePerson("27182818", false);
+        personIdentityRepository.upsertCurrentVersion("27182818", newVersion.getId());
+
+        personIdentityRepository.repairCurrentVersion("27182818", readVersion.getId());
+
+        assertEquals(newVersion.getId(), currentVersionId("27182818"));
+    }
+
+    @Test
+    void repairCurrentVersion_AfterConcurrentRemoval_KeepsClearedPointer() {
+        PersonEntity version = savePerson("16180339", true);
+        personIdentityRepository.upsertCurrentVersion("16180339", version.getId());
+        personIdentityRepository.clearCurrentVersion("16180339", version.getId());
+
+        personIdentityRepository.repairCurrentVersion("16180339", version.getId());
+
+        assertNull(currentVersionId("16180339"));
+    }
+
+    @Test
+    void findCurrentVersion_PointerAtHiddenVersion_ReturnsEmpty() {
+        PersonEntity version = savePerson("14142135", true);
+        personIdentityRepository.upsertCurrentVersion("14142135", version.getId());
+
+        assertTrue(personIdentityRepository.findCurrentVersion("14142135").isEmpty());
+    }
+
+    private PersonEntity savePerson(String identificationNumber, boolean hidden) {
+        PersonEntity person = personMapper.toEntity(
+                TestDataFactory.createValidPersonDTO("Identity " + identificationNumber, identificationNumber));
+        person.setHidden(hidden);
+        return personRepository.save(person);
+    }
+
+    private Long currentVersionId(String identificationNumber) {
+        return jdbcTemplate.queryForObject("SELECT current_version_id FROM person_identity "
+                + "WHERE identification_number = ?", Long.class, identificationNumber);
+    }
+}
@@ -0,0 +1,94 @@
+package com.invoice.management.invalidation;
+
+import com.invoice.management.ApplicationMain;
+import com.invoice.management.configuration.CacheInvalidationProperties;
+import com.invoice.management.dto.InvoiceDTO;
+import com.invoice.management.dto.PersonDTO;
+import com.invoice.management.entity.PersonEntity;
+import com.invoice.management.service.InvoiceService;
+import com.invoice.management.service.PersonService;
+import com.invoice.management.service.RevenueRollupService;
+import com.invoice.management.utils.TestDataFactory;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.Duration;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Integration tests of the cache invalidation buses with two instances of the application, started as two
+ * application contexts in this JVM on one in-memory database of their own. Each instance caches data, the other
+ * one changes it, and the first must drop the stale entry within a few poll intervals.
+ */
+class CacheInvalidationIntegrationTest {
+
+    private static final Duration STALENESS_LIMIT = Duration.ofSeconds(10);
+
+    @ParameterizedTest
+    @EnumSource(value = CacheInvalidationProperties.Bus.class, names = {"DATABASE", "JVM"})
+    void changeOnOneInstance_InvalidatesCachesOfTheOther(CacheInvalidationProperties.Bus bus) throws Exception {
+        String database = "CacheInvalidation" + bus;
+        try (ConfigurableApplicationContext first = start(database, bus, "create-drop", true);
+             ConfigurableApplicationContext second = start(database, bus, "none", false)) {
+            PersonService firstPersons = first.getBean(PersonService.class);
+            PersonDTO seller = firstPersons.addPerson(TestDataFactory.createValidPersonDTO("Seller", "11111111"));
+            PersonDTO buyer = firstPersons.addPerson(TestDataFactory.createValidPersonDTO("Buyer", "22222222"));
+            InvoiceDTO invoice = TestDataFactory.createValidInvoiceDTO();
+            invoice.setInvoiceNumber(null);
+            invoice.setSeller(seller);
+            invoice.setBuyer(buyer);
+            InvoiceDTO created = first.getBean(InvoiceService.class).createInvoice(invoice);
+
+            // fill the caches of the first instance
+            firstPersons.getPersonById(buyer.getId());
+            EntityManagerFactory firstEntityManagerFactory = first.getBean(EntityManagerFactory.class);
+            assertTrue(firstEntityManagerFactory.getCache().contains(PersonEntity.class, buyer.getId()));
+            RevenueRollupService firstRollup = first.getBean(RevenueRollupService.class);
+            assertTrue(hasRevenue(firstRollup, seller.getId()));
+
+            // change the cached data on the second instance
+            second.getBean(PersonService.class).removePerson(buyer.getId());
+            second.getBean(InvoiceService.class).deleteInvoice(created.getId());
+
+            await(() -> !firstEntityManagerFactory.getCache().contains(PersonEntity.class, buyer.getId()));
+            await(() -> !hasRevenue(firstRollup, seller.getId()));
+            assertTrue(firstPersons.getPersonById(buyer.getId()).getHidden());
+            assertFalse(hasRevenue(firstRollup, seller.getId()));
+        }
+    }
+
+    /**
+     * Starts an instance. The JCache provider behind the second-level cache is shared by the whole JVM, so only
+     * the first instance enables it; otherwise the second instance would update the shared region itself.
+     */
+    private static ConfigurableApplicationContext start(String database, CacheInvalidationProperties.Bus bus,
+                                                        String ddlAuto, boolean secondLevelCache) {
+        // arguments rather than default properties, which the test application.yaml would override
+        return new SpringApplicationBuilder(ApplicationMain.class).run(
+                "--spring.datasource.url=jdbc:h2:mem:" + database + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+                "--spring.jpa.hibernate.ddl-auto=" + ddlAuto,
+                "--server.port=0",
+                "--spring.main.banner-mode=off",
+                "--persistence.second-level-cache.enabled=" + secondLevelCache,
+                "--persistence.cache-invalidation.bus=" + bus.name().toLowerCase(),
+                "--persistence.cache-invalidation.poll-interval=PT0.05S");
+    }
+
+    private static boolean hasRevenue(RevenueRollupService rollup, long sellerId) {
+        return rollup.getSellerRevenues().stream().anyMatch(revenue -> revenue.getPersonId() == sellerId);
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + STALENESS_LIMIT.toNanos();
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "cache still stale after " + STALENESS_LIMIT);
+            Thread.sleep(20);
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package com.invoice.management.invalidation;
+
+import com.invoice.management.configuration.CacheInvalidationProperties;
+import com.invoice.management.constant.CacheRegion;
+import com.invoice.management.constant.ChangeEventType;
+import com.invoice.management.dto.CacheInvalidationDTO;
+import com.invoice.management.dto.ChangeEventDTO;
+import com.invoice.management.entity.CacheInvalidationEntity;
+import com.invoice.management.entity.repository.CacheInvalidationRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DatabaseCacheInvalidationBusTest {
+
+    private static final String OTHER_INSTANCE = "other-instance";
+
+    @Mock
+    private CacheInvalidationRepository cacheInvalidationRepository;
+
+    @Mock
+    private CacheInvalidationHandler personHandler;
+
+    @Mock
+    private CacheInvalidationHandler sellerRevenueHandler;
+
+    private CacheInvalidationProperties properties;
+    private DatabaseCacheInvalidationBus bus;
+
+    @BeforeEach
+    void setUp() {
+        when(personHandler.region()).thenReturn(CacheRegion.PERSON);
+        when(sellerRevenueHandler.region()).thenReturn(CacheRegion.SELLER_REVENUE);
+        properties = new CacheInvalidationProperties();
+        bus = new DatabaseCacheInvalidationBus(cacheInvalidationRepository, properties,
+                List.of(personHandler, sellerRevenueHandler), new SimpleMeterRegistry());
+        bus.start();
+    }
+
+    @Test
+    void poll_AppliesInvalidationsOfOtherInstancesWithoutDuplicates() {
+        when(cacheInvalidationRepository.findAfter(eq(0L), any(Pageable.class))).thenReturn(List.of(
+                invalidation(1L, CacheRegion.SELLER_REVENUE, 5L, OTHER_INSTANCE),
+                invalidation(2L, CacheRegion.SELLER_REVENUE, 5L, OTHER_INSTANCE),
+                invalidation(3L, CacheRegion.PERSON, 7L, OTHER_INSTANCE)));
+
+        bus.poll();
+
+        verify(sellerRevenueHandler).invalidate(Set.of(5L));
+        verify(personHandler).invalidate(Set.of(7L));
+    }
+
+    @Test
+    void poll_SkipsOwnInvalidations() {
+        bus.publish(CacheRegion.PERSON, List.of(7L));
+        String origin = savedInvalidations().get(0).getOrigin();
+        when(cacheInvalidationRepository.findAfter(eq(0L), any(Pageable.class)))
+                .thenReturn(List.of(invalidation(1L, CacheRegion.PERSON, 7L, origin)));
+
+        bus.poll();
+
+        verify(personHandler, never()).invalidate(any());
+    }
+
+    @Test
+    void poll_InvalidationCommittedLate_IsAppliedOnNextPoll() {
+        when(cacheInvalidationRepository.findAfter(eq(0L), any(Pageable.class))).thenReturn(List.of(
+                invalidation(1L, CacheRegion.PERSON, 7L, OTHER_INSTANCE),
+                invalidation(3L, CacheRegion.PERSON, 9L, OTHER_INSTANCE)));
+        bus.poll();
+
+        when(cacheInvalidationRepository.findAllByIdIn(List.of(2L)))
+                .thenReturn(List.of(invalidation(2L, CacheRegion.PERSON, 8L, OTHER_INSTANCE)));
+        when(cacheInvalidationRepository.findAfter(eq(3L), any(Pageable.class))).thenReturn(List.of());
+        bus.poll();
+
+        verify(personHandler).invalidate(Set.of(8L));
+        verify(personHandler, never()).invalidateAll();
+    }
+
+    @Test
+    void poll_GapNeverFilled_InvalidatesAllCaches() {
+        properties.setGapTimeout(Duration.ZERO);
+        when(cacheInvalidationRepository.findAfter(eq(0L), any(Pageable.class)))
+                .thenReturn(List.of(invalidation(2L, CacheRegion.PERSON, 7L, OTHER_INSTANCE)));
+        bus.poll();
+
+        when(cacheInvalidationRepository.findAllByIdIn(List.of(1L))).thenReturn(List.of());
+        when(cacheInvalidationRepository.findAfter(eq(2L), any(Pageable.class))).thenReturn(List.of());
+        bus.poll();
+
+        verify(personHandler).invalidateAll();
+        verify(sellerRevenueHandler).invalidateAll();
+    }
+
+    @Test
+    void poll_RepositoryFails_RetriesFromSamePosition() {
+        when(cacheInvalidationRepository.findAfter(eq(0L), any(Pageable.class)))
+                .thenThrow(new IllegalStateException("database unavailable"))
+                .thenReturn(List.of(invalidation(1L, CacheRegion.PERSON, 7L, OTHER_INSTANCE)));
+
+        bus.poll();
+        bus.poll();
+
+        verify(personHandler).invalidate(Set.of(7L));
+        verify(cacheInvalidationRepository, never()).findAfter(eq(1L), any(Pageable.class));
+    }
+
+    @Test
+    void publish_SameKeyTwiceInTransaction_InsertsItOnce() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            bus.publish(CacheRegion.SELLER_REVENUE, List.of(5L, 6L));
+            bus.publish(CacheRegion.SELLER_REVENUE, List.of(5L));
+        } finally {
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        verify(cacheInvalidationRepository, times(1)).saveAll(anyList());
+        assertEquals(2, savedInvalidations().size());
+    }
+
+    @Test
+    void onChange_InvoiceMovedToOtherSeller_InvalidatesBothSellers() {
+        ChangeEventDTO event = ChangeEventDTO.invoice(ChangeEventType.INVOICE_UPDATED, 1L, 5L, 9L);
+        event.setPreviousSellerId(4L);
+
+        bus.onChange(event);
+
+        List<CacheInvalidationEntity> saved = savedInvalidations();
+        assertEquals(List.of(5L, 4L), saved.stream().map(CacheInvalidationEntity::getEntryKey).toList());
+        assertEquals(CacheRegion.SELLER_REVENUE, saved.get(0).getRegion());
+    }
+
+    @Test
+    void onChange_PersonCreated_PublishesNothing() {
+        bus.onChange(ChangeEventDTO.person(ChangeEventType.PERSON_CREATED, 1L, "12345678"));
+
+        verify(cacheInvalidationRepository, never()).saveAll(anyList());
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<CacheInvalidationEntity> savedInvalidations() {
+        ArgumentCaptor<Iterable<CacheInvalidationEntity>> captor = ArgumentCaptor.forClass(Iterable.class);
+        verify(cacheInvalidationRepository, atLeastOnce()).saveAll(captor.capture());
+        List<CacheInvalidationEntity> saved = new ArrayList<>();
+        captor.getAllValues().forEach(batch -> batch.forEach(saved::add));
+        return saved;
+    }
+
+    private static CacheInvalidationDTO invalidation(long id, CacheRegion region, long key, String origin) {
+        return new CacheInvalidationDTO(id, region, key, origin, LocalDateTime.now());
+    }
+}
@@ -0,0 +1,70 @@
+package com.invoice.management.monitoring;
+
+import com.invoice.management.dto.mapper.PersonMapper;
+import com.invoice.management.entity.repository.PersonRepository;
+import com.invoice.management.utils.TestDataFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+class MetricsIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private PersonRepository personRepository;
+
+    @Autowired
+    private PersonMapper personMapper;
+
+    @Test
+    void getInvoices_RecordsTaggedStageMetrics() throws Exception {
+        mockMvc.perform(get("/api/invoices").param("sellerID", "1").param("minPrice", "10"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString(
+                        "service_operation_seconds_count{endpoint=\"GET /api/invoices\",filters=\"sellerID,minPrice\","
+                                + "operation=\"getInvoices\",outcome=\"success\",service=\"InvoiceService\",}")))
+                .andExpect(content().string(containsString(
+                        "service_base_seconds_count{endpoint=\"GET /api/invoices\",filters=\"sellerID,minPrice\","
+                                + "operation=\"findAll\",service=\"InvoiceService\",}")))
+                .andExpect(content().string(containsString(
+                        "repository_rows_fetched_count{endpoint=\"GET /api/invoices\",filters=\"sellerID,minPrice\","
+                                + "method=\"findAll\",repository=\"InvoiceRepository\",}")))
+                .andExpect(content().string(containsString(
+                        "repository_invocation_seconds_count{endpoint=\"GET /api/invoices\",filters=\"sellerID,minPrice\","
+                                + "method=\"findAll\",outcome=\"success\",repository=\"InvoiceRepository\",}")));
+    }
+
+    @Test
+    void getPerson_RecordsMapperMetrics() throws Exception {
+        personRepository.save(personMapper.toEntity(
+                TestDataFactory.createValidPersonDTO("Metrics Person", "24681357")));
+
+        mockMvc.perform(get("/api/persons"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString(
+                        "service_operation_seconds_count{endpoint=\"GET /api/persons\",filters=\"none\","
+                                + "operation=\"getPersons\",outcome=\"success\",service=\"PersonService\",}")))
+                .andExpect(content().string(containsString(
+                        "mapper_invocation_seconds_count{endpoint=\"GET /api/persons\",filters=\"none\","
+                                + "mapper=\"PersonMapper\",method=\"toDTO\",outcome=\"success\",}")));
+    }
+}
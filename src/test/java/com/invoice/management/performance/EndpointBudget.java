@@ -0,0 +1,51 @@
+package com.invoice.management.performance;
+
+/**
+ * Per-endpoint budgets for SQL statements, fetched rows and allocated bytes.
+ * The budgets are sized for the dataset seeded by {@link PerformanceBudgetIntegrationTest};
+ * raise them only together with a justification in the commit that needs it.
+ */
+public enum EndpointBudget {
+
+    GET_INVOICES("/api/invoices?limit=20", 4, 25, 2_000_000),
+    GET_INVOICES_FIELDS("/api/invoices?limit=20&fields=_id,invoiceNumber,price,dueDate,seller.name", 2, 21, 1_000_000),
+    GET_INVOICE("/api/invoices/{invoiceId}", 1, 3, 1_000_000),
+    GET_INVOICES_BY_IDS("/api/invoices?ids={invoiceIds}", 3, 22, 2_000_000),
+    GET_INVOICE_STATISTICS("/api/invoices/statistics", 3, 25, 1_500_000),
+    GET_PERSON_SALES("/api/invoices/identification/{identificationNumber}/sales?limit=20", 4, 25, 2_000_000),
+    GET_PERSON_PURCHASES("/api/invoices/identification/{buyerIdentificationNumber}/purchases?limit=20", 4, 25, 2_000_000),
+    GET_PERSONS("/api/persons?limit=20", 2, 5, 1_000_000),
+    GET_PERSON("/api/persons/{personId}", 1, 1, 1_000_000),
+    GET_PERSONS_BY_IDS("/api/persons?ids={personIds}", 1, 2, 1_000_000),
+    GET_PERSON_BY_IDENTIFICATION("/api/persons/identification/{identificationNumber}", 1, 1, 1_000_000),
+    GET_PERSON_HISTORY("/api/persons/identification/{identificationNumber}/history", 2, 1, 1_000_000),
+    GET_PERSON_STATISTICS("/api/persons/statistics", 3, 25, 2_000_000);
+
+    private final String uriTemplate;
+    private final long maxStatements;
+    private final long maxRows;
+    private final long maxAllocatedBytes;
+
+    EndpointBudget(String uriTemplate, long maxStatements, long maxRows, long maxAllocatedBytes) {
+        this.uriTemplate = uriTemplate;
+        this.maxStatements = maxStatements;
+        this.maxRows = maxRows;
+        this.maxAllocatedBytes = maxAllocatedBytes;
+    }
+
+    public String getUriTemplate() {
+        return uriTemplate;
+    }
+
+    public long getMaxStatements() {
+        return maxStatements;
+    }
+
+    public long getMaxRows() {
+        return maxRows;
+    }
+
+    public long getMaxAllocatedBytes() {
+        return maxAllocatedBytes;
+    }
+}
@@ -0,0 +1,279 @@
+package com.invoice.management.performance;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.invoice.management.dto.InvoiceDTO;
+import com.invoice.management.dto.PersonDTO;
+import com.invoice.management.utils.SyntheticDataGenerator;
+import com.invoice.management.utils.TestDataFactory;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * End-to-end load test of every controller endpoint over real HTTP against a synthetic dataset.
+ * Reports throughput and p50/p99/p999 latency per endpoint.
+ *
+ * <p>Excluded from the default build; run with {@code mvn test -Pload-test}. Dataset size and load
+ * are controlled with the system properties {@code load.persons}, {@code load.invoices},
+ * {@code load.years}, {@code load.seed}, {@code load.requests} and {@code load.concurrency}.
+ * Point {@code spring.datasource.*} at a local MySQL to run against it instead of H2.</p>
+ */
+@Tag("load")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class EndpointLoadTest {
+
+    private static final int PERSONS = Integer.getInteger("load.persons", 2_000);
+    private static final int INVOICES = Integer.getInteger("load.invoices", 50_000);
+    private static final int YEARS = Integer.getInteger("load.years", 5);
+    private static final long SEED = Long.getLong("load.seed", 42L);
+    private static final int REQUESTS = Integer.getInteger("load.requests", 2_000);
+    private static final int CONCURRENCY = Integer.getInteger("load.concurrency", 8);
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final ExecutorService httpExecutor = Executors.newFixedThreadPool(CONCURRENCY);
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .executor(httpExecutor)
+            .build();
+
+    private SyntheticDataGenerator.Dataset dataset;
+
+    /**
+     * The current version of every generated person, taken by a request that updates or removes the person
+     * and, after an update, returned with the ID of the new version.
+     */
+    private final BlockingQueue<CurrentVersion> currentVersions = new LinkedBlockingQueue<>();
+
+    @BeforeAll
+    void generateDataset() {
+        jdbcTemplate.update("DELETE FROM invoice");
+        jdbcTemplate.update("DELETE FROM person_identity");
+        jdbcTemplate.update("DELETE FROM person_archive");
+        jdbcTemplate.update("DELETE FROM person");
+        dataset = new SyntheticDataGenerator(jdbcTemplate, SEED).generate(PERSONS, INVOICES, YEARS);
+        for (int i = 0; i < dataset.livePersonIds().size(); i++) {
+            currentVersions.add(new CurrentVersion(dataset.livePersonIds().get(i), dataset.identificationNumbers().get(i)));
+        }
+    }
+
+    @AfterAll
+    void shutDownHttpClient() {
+        httpExecutor.shutdownNow();
+    }
+
+    @Test
+    void allEndpoints_ReportThroughputAndLatency() throws Exception {
+        AtomicInteger newPersonCursor = new AtomicInteger();
+        AtomicLong invoiceDeleteCursor = new AtomicLong(dataset.lastInvoiceId());
+
+        List<Scenario> scenarios = List.of(
+                Scenario.of("GET /api/invoices", () -> get("/api/invoices?page=" + (1 + ThreadLocalRandom.current().nextInt(50)))),
+                Scenario.of("GET /api/invoices (filtered)", () -> get("/api/invoices?sellerID=" + livePersonId() + "&minPrice=100")),
+                Scenario.of("GET /api/invoices (current year)", () -> get("/api/invoices?issuedFrom="
+                        + LocalDate.now().withDayOfYear(1) + "&issuedTo=" + LocalDate.now())),
+                Scenario.of("GET /api/invoices/{id}", () -> get("/api/invoices/" + invoiceId())),
+                Scenario.of("GET /api/invoices?ids (20)", () -> get("/api/invoices?ids=" + Stream.generate(this::invoiceId)
+                        .limit(20).map(String::valueOf).collect(Collectors.joining(",")))),
+                Scenario.of("GET /api/invoices/statistics", () -> get("/api/invoices/statistics")),
+                Scenario.of("GET /api/invoices/identification/{id}/sales", () -> get("/api/invoices/identification/" + identificationNumber() + "/sales")),
+                Scenario.of("GET /api/invoices/identification/{id}/purchases", () -> get("/api/invoices/identification/" + identificationNumber() + "/purchases")),
+                Scenario.of("GET /api/persons", () -> get("/api/persons?page=" + (1 + ThreadLocalRandom.current().nextInt(20)))),
+                Scenario.of("GET /api/persons/{id}", () -> get("/api/persons/" + livePersonId())),
+                Scenario.of("GET /api/persons/identification/{id}", () -> get("/api/persons/identification/" + identificationNumber())),
+                Scenario.of("GET /api/persons/identification/{id}/history", () -> get("/api/persons/identification/" + identificationNumber() + "/history")),
+                Scenario.of("GET /api/persons/identification/{id}/sales", () -> get("/api/persons/identification/" + identificationNumber() + "/sales")),
+                Scenario.of("GET /api/persons/identification/{id}/purchases", () -> get("/api/persons/identification/" + identificationNumber() + "/purchases")),
+                Scenario.of("GET /api/persons/statistics", () -> get("/api/persons/statistics")),
+                Scenario.of("POST /api/invoices", () -> send("POST", "/api/invoices", invoicePayload())),
+                Scenario.of("PUT /api/invoices/{id}", () -> send("PUT", "/api/invoices/" + invoiceId(), invoicePayload())),
+                Scenario.of("POST /api/persons", () -> send("POST", "/api/persons", personPayload(
+                        String.format("%08d", 90_000_000 + newPersonCursor.getAndIncrement())))),
+                new Scenario("PUT /api/persons/{id}", this::updatePerson),
+                Scenario.of("DELETE /api/invoices/{id}", () -> delete("/api/invoices/" + invoiceDeleteCursor.getAndDecrement())),
+                Scenario.of("DELETE /api/persons/{id}", () -> delete("/api/persons/" + takeCurrentVersion().id()))
+        );
+
+        System.out.printf("%nDataset: %d persons (%d rows), %d invoices, %d years, seed %d; %d requests x %d clients%n",
+                PERSONS, dataset.personRows(), INVOICES, YEARS, SEED, REQUESTS, CONCURRENCY);
+        System.out.printf("%-50s %10s %10s %10s %10s %8s%n", "Endpoint", "req/s", "p50 ms", "p99 ms", "p999 ms", "errors");
+
+        int totalErrors = 0;
+        for (Scenario scenario : scenarios) {
+            Result result = run(scenario);
+            totalErrors += result.errors();
+            System.out.printf("%-50s %10.1f %10.2f %10.2f %10.2f %8d%n", scenario.name(), result.throughput(),
+                    result.percentile(0.50), result.percentile(0.99), result.percentile(0.999), result.errors());
+        }
+
+        assertEquals(0, totalErrors, "Some requests failed");
+    }
+
+    private Result run(Scenario scenario) throws InterruptedException, ExecutionException {
+        ExecutorService clients = Executors.newFixedThreadPool(CONCURRENCY);
+        AtomicInteger remaining = new AtomicInteger(REQUESTS);
+        AtomicInteger errors = new AtomicInteger();
+        List<Future<long[]>> futures = new ArrayList<>();
+
+        long start = System.nanoTime();
+        for (int client = 0; client < CONCURRENCY; client++) {
+            futures.add(clients.submit(() -> {
+                long[] latencies = new long[REQUESTS];
+                int count = 0;
+                while (remaining.getAndDecrement() > 0) {
+                    Exchange exchange = scenario.exchange().get();
+                    long requestStart = System.nanoTime();
+                    HttpResponse<byte[]> response = httpClient.send(exchange.request(), HttpResponse.BodyHandlers.ofByteArray());
+                    latencies[count++] = System.nanoTime() - requestStart;
+                    exchange.onResponse().accept(response);
+                    if (response.statusCode() >= 400) {
+                        errors.incrementAndGet();
+                    }
+                }
+                return Arrays.copyOf(latencies, count);
+            }));
+        }
+
+        List<long[]> perClient = new ArrayList<>();
+        for (Future<long[]> future : futures) {
+            perClient.add(future.get());
+        }
+        long elapsed = System.nanoTime() - start;
+        clients.shutdown();
+
+        long[] latencies = perClient.stream().flatMapToLong(Arrays::stream).sorted().toArray();
+        return new Result(latencies, latencies.length / (elapsed / 1e9), errors.get());
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(uri(path)).GET().build();
+    }
+
+    private HttpRequest delete(String path) {
+        return HttpRequest.newBuilder(uri(path)).DELETE().build();
+    }
+
+    private HttpRequest send(String method, String path, Object body) {
+        try {
+            return HttpRequest.newBuilder(uri(path))
+                    .header("Content-Type", "application/json")
+                    .method(method, HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)))
+                    .build();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+
+    /**
+     * Updates a person that no other client is updating, with its own identification number, and continues
+     * with the version the update created.
+     */
+    private Exchange updatePerson() {
+        CurrentVersion current = takeCurrentVersion();
+        HttpRequest request = send("PUT", "/api/persons/" + current.id(), personPayload(current.identificationNumber()));
+        return new Exchange(request, response -> currentVersions.add(response.statusCode() == 200
+                ? new CurrentVersion(readId(response.body()), current.identificationNumber())
+                : current));
+    }
+
+    private CurrentVersion takeCurrentVersion() {
+        CurrentVersion current = currentVersions.poll();
+        if (current == null) {
+            throw new IllegalStateException("Every generated person is taken or deleted; raise load.persons above load.requests");
+        }
+        return current;
+    }
+
+    private long readId(byte[] body) {
+        try {
+            return objectMapper.readTree(body).get("_id").asLong();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static PersonDTO personPayload(String identificationNumber) {
+        return TestDataFactory.createValidPersonDTO("Load Person " + identificationNumber, identificationNumber);
+    }
+
+    private InvoiceDTO invoicePayload() {
+        InvoiceDTO invoice = TestDataFactory.createValidInvoiceDTO();
+        invoice.getBuyer().setId(livePersonId());
+        invoice.getSeller().setId(livePersonId());
+        return invoice;
+    }
+
+    private long livePersonId() {
+        List<Long> ids = dataset.livePersonIds();
+        return ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+    }
+
+    private String identificationNumber() {
+        List<String> numbers = dataset.identificationNumbers();
+        return numbers.get(ThreadLocalRandom.current().nextInt(numbers.size()));
+    }
+
+    private long invoiceId() {
+        return ThreadLocalRandom.current().nextLong(dataset.firstInvoiceId(), dataset.lastInvoiceId() - REQUESTS);
+    }
+
+    private record Scenario(String name, Supplier<Exchange> exchange) {
+
+        static Scenario of(String name, Supplier<HttpRequest> request) {
+            return new Scenario(name, () -> new Exchange(request.get(), response -> {
+            }));
+        }
+    }
+
+    private record Exchange(HttpRequest request, Consumer<HttpResponse<byte[]>> onResponse) {
+    }
+
+    private record CurrentVersion(long id, String identificationNumber) {
+    }
+
+    private record Result(long[] sortedLatencies, double throughput, int errors) {
+
+        double percentile(double quantile) {
+            if (sortedLatencies.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(quantile * sortedLatencies.length) - 1;
+            return sortedLatencies[Math.max(0, index)] / 1e6;
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.invoice.management.performance;
+
+import com.invoice.management.dto.mapper.InvoiceMapper;
+import com.invoice.management.dto.mapper.PersonMapper;
+import com.invoice.management.entity.InvoiceEntity;
+import com.invoice.management.entity.PersonEntity;
+import com.invoice.management.entity.repository.InvoiceRepository;
+import com.invoice.management.entity.repository.PersonIdentityRepository;
+import com.invoice.management.entity.repository.PersonRepository;
+import com.invoice.management.utils.TestDataFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.net.URI;
+import java.util.Map;
+import java.util.StringJoiner;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Fails the build when a read endpoint exceeds its {@link EndpointBudget} for SQL statements,
+ * fetched rows or allocated bytes, which catches N+1 regressions and allocation blow-ups.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@Import(QueryRecordingConfiguration.class)
+class PerformanceBudgetIntegrationTest {
+
+    private static final int INVOICE_COUNT = 20;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private QueryRecorder queryRecorder;
+
+    @Autowired
+    private InvoiceRepository invoiceRepository;
+
+    @Autowired
+    private PersonRepository personRepository;
+
+    @Autowired
+    private PersonIdentityRepository personIdentityRepository;
+
+    @Autowired
+    private PersonMapper personMapper;
+
+    @Autowired
+    private InvoiceMapper invoiceMapper;
+
+    private Map<String, Object> uriVariables;
+
+    @BeforeEach
+    void seedData() {
+        invoiceRepository.deleteAll();
+        personIdentityRepository.deleteAll();
+        personRepository.deleteAll();
+
+        PersonEntity seller = personRepository.save(
+                personMapper.toEntity(TestDataFactory.createValidPersonDTO("Seller", "11111111")));
+        PersonEntity buyer = personRepository.save(
+                personMapper.toEntity(TestDataFactory.createValidPersonDTO("Buyer", "22222222")));
+
+        InvoiceEntity firstInvoice = null;
+        StringJoiner invoiceIds = new StringJoiner(",");
+        for (int i = 0; i < INVOICE_COUNT; i++) {
+            InvoiceEntity invoice = invoiceMapper.toEntity(TestDataFactory.createValidInvoiceDTO());
+            invoice.setInvoiceNumber(i + 1);
+            invoice.setSeller(seller);
+            invoice.setBuyer(buyer);
+            invoice = invoiceRepository.save(invoice);
+            invoiceIds.add(String.valueOf(invoice.getId()));
+            if (firstInvoice == null) {
+                firstInvoice = invoice;
+            }
+        }
+
+        uriVariables = Map.of(
+                "invoiceId", firstInvoice.getId(),
+                "invoiceIds", invoiceIds.toString(),
+                "personIds", seller.getId() + "," + buyer.getId(),
+                "personId", seller.getId(),
+                "identificationNumber", seller.getIdentificationNumber(),
+                "buyerIdentificationNumber", buyer.getIdentificationNumber()
+        );
+    }
+
+    @ParameterizedTest
+    @EnumSource(EndpointBudget.class)
+    void endpoint_StaysWithinBudget(EndpointBudget budget) throws Exception {
+        URI uri = UriComponentsBuilder.fromUriString(budget.getUriTemplate())
+                .buildAndExpand(uriVariables)
+                .toUri();
+
+        // Warm-up call so class loading and first-call caches are not charged to the budget
+        mockMvc.perform(get(uri)).andExpect(status().isOk());
+
+        QueryRecorder.Measurement measurement = queryRecorder.measure(() ->
+                mockMvc.perform(get(uri)).andExpect(status().isOk()));
+
+        assertAll(budget.name() + " " + measurement,
+                () -> assertTrue(measurement.statements() <= budget.getMaxStatements(),
+                        "statements: " + measurement.statements() + " > " + budget.getMaxStatements()),
+                () -> assertTrue(measurement.rows() <= budget.getMaxRows(),
+                        "rows: " + measurement.rows() + " > " + budget.getMaxRows()),
+                () -> assertTrue(measurement.allocatedBytes() <= budget.getMaxAllocatedBytes(),
+                        "allocated bytes: " + measurement.allocatedBytes() + " > " + budget.getMaxAllocatedBytes())
+        );
+    }
+}
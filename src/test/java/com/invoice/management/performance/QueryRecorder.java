@@ -0,0 +1,90 @@
+package com.invoice.management.performance;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.MethodExecutionContext;
+import net.ttddyy.dsproxy.listener.MethodExecutionListener;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+import java.lang.management.ManagementFactory;
+import java.sql.ResultSet;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Records SQL statements and their text, fetched rows and allocated bytes for a single measured call.
+ * Statements and rows are reported by the datasource proxy; allocated bytes come from
+ * the thread allocation counter of the calling thread.
+ */
+public class QueryRecorder implements QueryExecutionListener, MethodExecutionListener {
+
+    private static final com.sun.management.ThreadMXBean THREAD_MX_BEAN =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private final AtomicLong statements = new AtomicLong();
+    private final AtomicLong rows = new AtomicLong();
+    private final List<String> queries = new CopyOnWriteArrayList<>();
+
+    /**
+     * Runs the given action and returns what it cost.
+     *
+     * @param action the action to measure
+     * @return the recorded measurement
+     * @throws Exception if the action fails
+     */
+    public Measurement measure(ThrowingRunnable action) throws Exception {
+        statements.set(0);
+        rows.set(0);
+        queries.clear();
+        long threadId = Thread.currentThread().getId();
+        long allocatedBefore = THREAD_MX_BEAN.getThreadAllocatedBytes(threadId);
+
+        action.run();
+
+        long allocated = THREAD_MX_BEAN.getThreadAllocatedBytes(threadId) - allocatedBefore;
+        return new Measurement(statements.get(), rows.get(), allocated, List.copyOf(queries));
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        statements.addAndGet(Math.max(1, execInfo.getBatchSize()));
+        queryInfoList.forEach(queryInfo -> queries.add(queryInfo.getQuery()));
+    }
+
+    @Override
+    public void beforeMethod(MethodExecutionContext executionContext) {
+    }
+
+    @Override
+    public void afterMethod(MethodExecutionContext executionContext) {
+        if (executionContext.getTarget() instanceof ResultSet
+                && "next".equals(executionContext.getMethod().getName())
+                && Boolean.TRUE.equals(executionContext.getResult())) {
+            rows.incrementAndGet();
+        }
+    }
+
+    /**
+     * Cost of a single measured call.
+     *
+     * @param statements     the number of executed SQL statements
+     * @param rows           the number of rows read from result sets
+     * @param allocatedBytes the number of bytes allocated by the calling thread
+     * @param queries        the executed SQL, in execution order
+     */
+    public record Measurement(long statements, long rows, long allocatedBytes, List<String> queries) {
+    }
+
+    /**
+     * An action that may throw a checked exception, such as a MockMvc call.
+     */
+    @FunctionalInterface
+    public interface ThrowingRunnable {
+        void run() throws Exception;
+    }
+}
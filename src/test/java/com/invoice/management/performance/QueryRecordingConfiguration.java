@@ -0,0 +1,40 @@
+package com.invoice.management.performance;
+
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.lang.NonNull;
+
+import javax.sql.DataSource;
+
+/**
+ * Test configuration that wraps the application DataSource in a datasource proxy
+ * reporting to a shared {@link QueryRecorder}.
+ */
+@TestConfiguration
+public class QueryRecordingConfiguration {
+
+    @Bean
+    public static QueryRecorder queryRecorder() {
+        return new QueryRecorder();
+    }
+
+    @Bean
+    public static BeanPostProcessor queryRecordingDataSourcePostProcessor(QueryRecorder queryRecorder) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(@NonNull Object bean, @NonNull String beanName) {
+                if (bean instanceof DataSource dataSource) {
+                    return ProxyDataSourceBuilder.create(dataSource)
+                            .name("recording")
+                            .listener(queryRecorder)
+                            .proxyResultSet()
+                            .methodListener(queryRecorder)
+                            .build();
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,202 @@
+package com.invoice.management.reactive;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.invoice.management.dto.mapper.InvoiceMapper;
+import com.invoice.management.dto.mapper.PersonMapper;
+import com.invoice.management.entity.InvoiceEntity;
+import com.invoice.management.entity.PersonEntity;
+import com.invoice.management.entity.repository.InvoiceRepository;
+import com.invoice.management.entity.repository.PersonIdentityRepository;
+import com.invoice.management.entity.repository.PersonRepository;
+import com.invoice.management.utils.StreamingUtils;
+import com.invoice.management.utils.TestDataFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.EntityExchangeResult;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Integration tests of the reactive read path, served over R2DBC on a port of its own. Every reactive answer
+ * is compared to the one of the servlet endpoint with the same request.
+ */
+@SpringBootTest(properties = "web.reactive.enabled=true")
+@AutoConfigureMockMvc
+class ReactiveReadIntegrationTest {
+
+    private static final int INVOICE_COUNT = 30;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ReactiveReadServer reactiveReadServer;
+
+    @Autowired
+    private InvoiceRepository invoiceRepository;
+
+    @Autowired
+    private PersonRepository personRepository;
+
+    @Autowired
+    private PersonIdentityRepository personIdentityRepository;
+
+    @Autowired
+    private PersonMapper personMapper;
+
+    @Autowired
+    private InvoiceMapper invoiceMapper;
+
+    private WebTestClient client;
+    private PersonEntity seller;
+    private PersonEntity hidden;
+    private InvoiceEntity invoice;
+
+    @BeforeEach
+    void seedData() {
+        invoiceRepository.deleteAll();
+        personIdentityRepository.deleteAll();
+        personRepository.deleteAll();
+
+        seller = personRepository.save(personMapper.toEntity(TestDataFactory.createValidPersonDTO("Seller", "11111111")));
+        PersonEntity otherSeller = personRepository.save(personMapper.toEntity(TestDataFactory.createValidPersonDTO("Other Seller", "33333333")));
+        PersonEntity buyer = personRepository.save(personMapper.toEntity(TestDataFactory.createValidPersonDTO("Buyer", "22222222")));
+        hidden = personMapper.toEntity(TestDataFactory.createValidPersonDTO("Hidden Seller", "44444444"));
+        hidden.setHidden(true);
+        hidden = personRepository.save(hidden);
+
+        for (int i = 0; i < INVOICE_COUNT; i++) {
+            InvoiceEntity entity = invoiceMapper.toEntity(TestDataFactory.createValidInvoiceDTO());
+            entity.setInvoiceNumber(i + 1);
+            entity.setProduct(i % 2 == 0 ? "Widget " + i : "Gadget " + i);
+            entity.setPrice(100L * (i % 7));
+            entity.setIssued(LocalDate.now().minusDays(i));
+            entity.setNote(i % 3 == 0 ? null : "Note " + i);
+            entity.setSeller(i % 4 == 0 ? otherSeller : seller);
+            entity.setBuyer(buyer);
+            invoice = invoiceRepository.save(entity);
+        }
+
+        client = WebTestClient.bindToServer().baseUrl("http://localhost:" + reactiveReadServer.getPort()).build();
+    }
+
+    @Test
+    void getInvoices_MatchesServletResponse() throws Exception {
+        assertSameAsServlet("/api/invoices?sort=issued,desc&page=2&limit=4");
+        assertSameAsServlet("/api/invoices?sellerID=" + seller.getId() + "&product=WIDGET&minPrice=100&maxPrice=500&sort=invoiceNumber,desc");
+        assertSameAsServlet("/api/invoices?issuedFrom=" + LocalDate.now().minusDays(9) + "&issuedTo=" + LocalDate.now().minusDays(3) + "&sort=issued,asc");
+        assertSameAsServlet("/api/invoices?minPrice=invalid&limit=50");
+    }
+
+    @Test
+    void getPersons_MatchesServletResponseWithoutHiddenPersons() throws Exception {
+        JsonNode persons = assertSameAsServlet("/api/persons?name=seller&sort=name,asc");
+
+        assertEquals(2, persons.get("totalItems").asInt());
+        assertSameAsServlet("/api/persons?identificationNumber=2222");
+    }
+
+    @Test
+    void getInvoice_MatchesServletResponseWithVersionAsETag() throws Exception {
+        EntityExchangeResult<String> result = client.get().uri("/api/invoices/{id}", invoice.getId())
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "\"0\"")
+                .expectBody(String.class).returnResult();
+
+        assertEquals(servlet("/api/invoices/" + invoice.getId()), objectMapper.readTree(result.getResponseBody()));
+    }
+
+    @Test
+    void getPerson_HiddenPerson_IsFound() throws Exception {
+        String body = client.get().uri("/api/persons/{id}", hidden.getId())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(String.class).returnResult().getResponseBody();
+
+        assertEquals(servlet("/api/persons/" + hidden.getId()), objectMapper.readTree(body));
+    }
+
+    @Test
+    void getInvoice_Unknown_ReturnsNotFound() {
+        client.get().uri("/api/invoices/{id}", invoice.getId() + 1000)
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("$.status").isEqualTo(404)
+                .jsonPath("$.message").isEqualTo("Invoice not found");
+    }
+
+    @Test
+    void getInvoices_Ndjson_StreamsPageWithPaginationHeaders() throws Exception {
+        List<String> lines = client.get().uri("/api/invoices?sellerID={id}&limit=10&page=2", seller.getId())
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .expectHeader().valueEquals(StreamingUtils.CURRENT_PAGE_HEADER, "2")
+                .expectHeader().valueEquals(StreamingUtils.TOTAL_PAGES_HEADER, "3")
+                .expectHeader().valueEquals(StreamingUtils.TOTAL_ITEMS_HEADER, "22")
+                .returnResult(String.class)
+                .getResponseBody()
+                .collectList()
+                .block();
+
+        assertNotNull(lines);
+        assertEquals(10, lines.size());
+        JsonNode expected = servlet("/api/invoices?sellerID=" + seller.getId() + "&limit=10&page=2").get("items");
+        for (int i = 0; i < lines.size(); i++) {
+            assertEquals(expected.get(i), objectMapper.readTree(lines.get(i)));
+        }
+    }
+
+    @Test
+    void getInvoices_StreamParameter_StreamsJsonArray() throws Exception {
+        String body = client.get().uri("/api/invoices?stream=true&limit=100")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(StreamingUtils.TOTAL_ITEMS_HEADER, String.valueOf(INVOICE_COUNT))
+                .expectBody(String.class).returnResult().getResponseBody();
+
+        assertEquals(servlet("/api/invoices?limit=100").get("items"), objectMapper.readTree(body));
+    }
+
+    @Test
+    void getInvoices_UnsupportedParameters_ReturnBadRequest() {
+        client.get().uri("/api/invoices?sort=buyer.name,asc").exchange().expectStatus().isBadRequest();
+        client.get().uri("/api/invoices?fields=_id,price").exchange().expectStatus().isBadRequest();
+        client.get().uri("/api/persons?page=first").exchange().expectStatus().isBadRequest();
+    }
+
+    private JsonNode assertSameAsServlet(String uri) throws Exception {
+        String body = client.get().uri(uri)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(String.class).returnResult().getResponseBody();
+        JsonNode reactive = objectMapper.readTree(body);
+        assertEquals(servlet(uri), reactive, uri);
+        return reactive;
+    }
+
+    private JsonNode servlet(String uri) throws Exception {
+        return objectMapper.readTree(mockMvc.perform(get(uri))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString());
+    }
+}
@@ -1,5 +1,6 @@
 package com.invoice.management.service;
 
+import com.invoice.management.exception.BatchSizeExceededException;
 import lombok.Data;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -11,9 +12,12 @@ import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 
-import java.util.Optional;
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyIterable;
 import static org.mockito.Mockito.*;
 
 class BaseServiceTest {
@@ -90,6 +94,52 @@ class BaseServiceTest {
         assertEquals(page, result);
     }
 
+    @Test
+    void findAllById_LargeIdList_QueriesInChunksAndKeepsRequestOrder() {
+        List<Long> ids = LongStream.rangeClosed(1, BaseService.IN_CHUNK_SIZE + 10)
+                .boxed()
+                .sorted(Comparator.reverseOrder())
+                .collect(Collectors.toList());
+        when(repository.findAllById(anyIterable())).thenAnswer(invocation -> {
+            List<TestEntity> entities = new ArrayList<>();
+            for (Long id : invocation.<Iterable<Long>>getArgument(0)) {
+                if (id % 2 == 0) {
+                    entities.add(entity(id));
+                }
+            }
+            Collections.reverse(entities);
+            return entities;
+        });
+
+        Map<Long, TestEntity> result = baseService.findAllById(ids, TestEntity::getId);
+
+        verify(repository, times(2)).findAllById(anyIterable());
+        assertEquals(ids.stream().filter(id -> id % 2 == 0).collect(Collectors.toList()), new ArrayList<>(result.keySet()));
+    }
+
+    @Test
+    void findAllById_DuplicateIds_LooksEachUpOnce() {
+        when(repository.findAllById(List.of(3L, 1L))).thenReturn(List.of(entity(1L), entity(3L)));
+
+        Map<Long, TestEntity> result = baseService.findAllById(List.of(3L, 1L, 3L), TestEntity::getId);
+
+        assertEquals(List.of(3L, 1L), new ArrayList<>(result.keySet()));
+    }
+
+    @Test
+    void findAllById_TooManyIds_ThrowsBatchSizeExceeded() {
+        List<Long> ids = LongStream.rangeClosed(1, BaseService.MAX_BATCH_IDS + 1).boxed().collect(Collectors.toList());
+
+        assertThrows(BatchSizeExceededException.class, () -> baseService.findAllById(ids, TestEntity::getId));
+        verifyNoInteractions(repository);
+    }
+
+    private static TestEntity entity(Long id) {
+        TestEntity entity = new TestEntity();
+        entity.setId(id);
+        return entity;
+    }
+
     @Data
     private static class TestEntity {
         private Long id;
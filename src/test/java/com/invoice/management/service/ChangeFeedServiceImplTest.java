@@ -0,0 +1,57 @@
+package com.invoice.management.service;
+
+import com.invoice.management.configuration.ChangeFeedProperties;
+import com.invoice.management.constant.ChangeEventType;
+import com.invoice.management.dto.ChangeEventDTO;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ChangeFeedServiceImplTest {
+
+    private ChangeFeedProperties properties;
+    private ChangeFeedServiceImpl changeFeed;
+
+    @BeforeEach
+    void setUp() {
+        properties = new ChangeFeedProperties();
+        properties.setReplaySize(3);
+        properties.setSubscriberBuffer(2);
+        properties.setHeartbeat(Duration.ofHours(1));
+        changeFeed = new ChangeFeedServiceImpl(properties, Runnable::run);
+    }
+
+    @AfterEach
+    void tearDown() {
+        changeFeed.shutdown();
+    }
+
+    @Test
+    void onChange_AssignsIncreasingIdsAndKeepsReplayWindow() {
+        for (long invoiceId = 1; invoiceId <= 5; invoiceId++) {
+            changeFeed.onChange(ChangeEventDTO.invoice(ChangeEventType.INVOICE_CREATED, invoiceId, 1L, 2L));
+        }
+
+        List<ChangeEventDTO> events = changeFeed.getEventsAfter(0);
+
+        assertEquals(List.of(3L, 4L, 5L), events.stream().map(ChangeEventDTO::getEntityId).toList());
+        assertTrue(events.get(0).getId() < events.get(1).getId());
+    }
+
+    @Test
+    void getEventsAfter_ReturnsOnlyNewerEvents() {
+        changeFeed.onChange(ChangeEventDTO.invoice(ChangeEventType.INVOICE_CREATED, 1L, 1L, 2L));
+        long firstId = changeFeed.getEventsAfter(0).get(0).getId();
+        changeFeed.onChange(ChangeEventDTO.invoice(ChangeEventType.INVOICE_UPDATED, 1L, 1L, 2L));
+
+        List<ChangeEventDTO> events = changeFeed.getEventsAfter(firstId);
+
+        assertEquals(1, events.size());
+        assertEquals(ChangeEventType.INVOICE_UPDATED, events.get(0).getType());
+    }
+}
@@ -0,0 +1,150 @@
+package com.invoice.management.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.invoice.management.configuration.IdempotencyProperties;
+import com.invoice.management.exception.IdempotencyKeyInProgressException;
+import com.invoice.management.exception.IdempotencyKeyReusedException;
+import com.invoice.management.exception.InvalidIdempotencyKeyException;
+import com.invoice.management.exception.PersonNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IdempotencyServiceImplTest {
+
+    private IdempotencyProperties properties;
+
+    private IdempotencyServiceImpl idempotencyService;
+
+    @BeforeEach
+    void setUp() {
+        properties = new IdempotencyProperties();
+        properties.setInFlightTimeout(Duration.ofSeconds(5));
+        idempotencyService = new IdempotencyServiceImpl(new ObjectMapper(), properties);
+    }
+
+    @Test
+    void execute_SameKeyAndRequest_ReplaysFirstResponse() {
+        AtomicInteger calls = new AtomicInteger();
+
+        IdempotencyService.Result<Integer> first = idempotencyService.execute("POST /x", "key-1", Map.of("a", 1), calls::incrementAndGet);
+        IdempotencyService.Result<Integer> retry = idempotencyService.execute("POST /x", "key-1", Map.of("a", 1), calls::incrementAndGet);
+
+        assertEquals(1, calls.get());
+        assertFalse(first.replayed());
+        assertTrue(retry.replayed());
+        assertEquals(1, retry.body());
+    }
+
+    @Test
+    void execute_SameKeyOnOtherScope_RunsAgain() {
+        AtomicInteger calls = new AtomicInteger();
+
+        idempotencyService.execute("POST /x", "key-1", Map.of("a", 1), calls::incrementAndGet);
+        IdempotencyService.Result<Integer> other = idempotencyService.execute("POST /y", "key-1", Map.of("a", 1), calls::incrementAndGet);
+
+        assertEquals(2, calls.get());
+        assertFalse(other.replayed());
+    }
+
+    @Test
+    void execute_SameKeyWithDifferentRequest_ThrowsReused() {
+        idempotencyService.execute("POST /x", "key-1", Map.of("a", 1), () -> 1);
+
+        assertThrows(IdempotencyKeyReusedException.class,
+                () -> idempotencyService.execute("POST /x", "key-1", Map.of("a", 2), () -> 2));
+    }
+
+    @Test
+    void execute_FailedAction_IsNotStored() {
+        assertThrows(PersonNotFoundException.class, () -> idempotencyService.execute("POST /x", "key-1", Map.of(), () -> {
+            throw new PersonNotFoundException("Buyer not found");
+        }));
+
+        IdempotencyService.Result<Integer> retry = idempotencyService.execute("POST /x", "key-1", Map.of(), () -> 3);
+
+        assertFalse(retry.replayed());
+        assertEquals(3, retry.body());
+    }
+
+    @Test
+    void execute_InvalidKey_Throws() {
+        properties.setMaxKeyLength(8);
+
+        assertThrows(InvalidIdempotencyKeyException.class, () -> idempotencyService.execute("POST /x", " ", Map.of(), () -> 1));
+        assertThrows(InvalidIdempotencyKeyException.class, () -> idempotencyService.execute("POST /x", "123456789", Map.of(), () -> 1));
+    }
+
+    @Test
+    void execute_ConcurrentDuplicates_RunActionOnceAndWaitForItsResponse() throws Exception {
+        int duplicates = 8;
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(duplicates);
+        try {
+            List<Future<IdempotencyService.Result<Integer>>> results = new ArrayList<>();
+            for (int i = 0; i < duplicates; i++) {
+                results.add(executor.submit(() -> idempotencyService.execute("POST /x", "key-1", Map.of("a", 1), () -> {
+                    await(release);
+                    return calls.incrementAndGet();
+                })));
+            }
+            Thread.sleep(100);
+            release.countDown();
+
+            int replayed = 0;
+            for (Future<IdempotencyService.Result<Integer>> result : results) {
+                IdempotencyService.Result<Integer> response = result.get(5, TimeUnit.SECONDS);
+                assertEquals(1, response.body());
+                replayed += response.replayed() ? 1 : 0;
+            }
+            assertEquals(1, calls.get());
+            assertEquals(duplicates - 1, replayed);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void execute_DuplicateWhileFirstStillRunning_ThrowsInProgressAfterTimeout() throws Exception {
+        properties.setInFlightTimeout(Duration.ofMillis(50));
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<IdempotencyService.Result<Integer>> first = executor.submit(() ->
+                    idempotencyService.execute("POST /x", "key-1", Map.of(), () -> {
+                        await(release);
+                        return 1;
+                    }));
+            Thread.sleep(50);
+
+            assertThrows(IdempotencyKeyInProgressException.class,
+                    () -> idempotencyService.execute("POST /x", "key-1", Map.of(), () -> 2));
+
+            release.countDown();
+            assertEquals(1, first.get(5, TimeUnit.SECONDS).body());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.invoice.management.service;
+
+import com.invoice.management.configuration.InvoiceNumberProperties;
+import com.invoice.management.entity.repository.InvoiceNumberSequenceRepository;
+import com.invoice.management.entity.repository.InvoiceRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class InvoiceNumberServiceImplTest {
+
+    private static final String SELLER = "12345678";
+
+    @Mock
+    private InvoiceNumberSequenceRepository sequenceRepository;
+
+    @Mock
+    private InvoiceRepository invoiceRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private InvoiceNumberServiceImpl invoiceNumberService;
+
+    @BeforeEach
+    void setUp() {
+        InvoiceNumberProperties properties = new InvoiceNumberProperties();
+        properties.setBlockSize(3);
+        invoiceNumberService = new InvoiceNumberServiceImpl(sequenceRepository, invoiceRepository,
+                transactionManager, properties);
+    }
+
+    @Test
+    void nextInvoiceNumber_FirstReservation_ContinuesAfterHighestExistingNumber() {
+        when(sequenceRepository.existsById(SELLER)).thenReturn(false, true);
+        when(invoiceRepository.findMaxInvoiceNumberBySeller(SELLER)).thenReturn(10);
+        when(sequenceRepository.findNextValue(SELLER)).thenReturn(14L, 17L);
+
+        List<Integer> numbers = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            numbers.add(invoiceNumberService.nextInvoiceNumber(SELLER));
+        }
+
+        assertEquals(List.of(11, 12, 13, 14, 15), numbers);
+        verify(sequenceRepository).reserve(SELLER, 14, 3);
+        verify(sequenceRepository, times(2)).reserve(eq(SELLER), anyLong(), eq(3L));
+        verify(invoiceRepository, times(1)).findMaxInvoiceNumberBySeller(SELLER);
+    }
+
+    @Test
+    void nextInvoiceNumber_ReservationLosesDeadlock_IsRetried() {
+        when(sequenceRepository.existsById(SELLER)).thenReturn(true);
+        when(sequenceRepository.reserve(SELLER, 0, 3))
+                .thenThrow(new PessimisticLockingFailureException("deadlock"))
+                .thenReturn(2);
+        when(sequenceRepository.findNextValue(SELLER)).thenReturn(7L);
+
+        assertEquals(4, invoiceNumberService.nextInvoiceNumber(SELLER));
+        verify(sequenceRepository, times(2)).reserve(SELLER, 0, 3);
+    }
+
+    @Test
+    void nextInvoiceNumber_ConcurrentAllocations_AreUniqueAndReserveWholeBlocks() throws Exception {
+        AtomicLong nextValue = new AtomicLong(1);
+        when(sequenceRepository.existsById(SELLER)).thenReturn(true);
+        when(sequenceRepository.findNextValue(SELLER)).thenAnswer(invocation -> nextValue.addAndGet(3));
+
+        int threads = 8;
+        int perThread = 300;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<List<Integer>>> results = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                results.add(executor.submit(() -> {
+                    List<Integer> numbers = new ArrayList<>();
+                    for (int i = 0; i < perThread; i++) {
+                        numbers.add(invoiceNumberService.nextInvoiceNumber(SELLER));
+                    }
+                    return numbers;
+                }));
+            }
+
+            Set<Integer> all = new HashSet<>();
+            for (Future<List<Integer>> result : results) {
+                List<Integer> numbers = result.get(10, TimeUnit.SECONDS);
+                for (int i = 1; i < numbers.size(); i++) {
+                    assertTrue(numbers.get(i) > numbers.get(i - 1));
+                }
+                all.addAll(numbers);
+            }
+            assertEquals(threads * perThread, all.size());
+            verify(sequenceRepository, times(threads * perThread / 3)).reserve(SELLER, 0, 3);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
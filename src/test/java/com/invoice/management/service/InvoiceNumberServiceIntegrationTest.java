@@ -0,0 +1,132 @@
+package com.invoice.management.service;
+
+import com.invoice.management.configuration.InvoiceNumberProperties;
+import com.invoice.management.dto.mapper.InvoiceMapper;
+import com.invoice.management.dto.mapper.PersonMapper;
+import com.invoice.management.entity.InvoiceEntity;
+import com.invoice.management.entity.PersonEntity;
+import com.invoice.management.entity.repository.InvoiceNumberSequenceRepository;
+import com.invoice.management.entity.repository.InvoiceRepository;
+import com.invoice.management.entity.repository.PersonIdentityRepository;
+import com.invoice.management.entity.repository.PersonRepository;
+import com.invoice.management.utils.TestDataFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Integration tests of the invoice number reservations against the database, with several service instances
+ * standing in for several application instances sharing the reservation table.
+ */
+@SpringBootTest
+class InvoiceNumberServiceIntegrationTest {
+
+    private static final int BLOCK_SIZE = 5;
+
+    @Autowired
+    private InvoiceNumberSequenceRepository sequenceRepository;
+
+    @Autowired
+    private InvoiceRepository invoiceRepository;
+
+    @Autowired
+    private PersonRepository personRepository;
+
+    @Autowired
+    private PersonIdentityRepository personIdentityRepository;
+
+    @Autowired
+    private PersonMapper personMapper;
+
+    @Autowired
+    private InvoiceMapper invoiceMapper;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void cleanUp() {
+        invoiceRepository.deleteAll();
+        personIdentityRepository.deleteAll();
+        personRepository.deleteAll();
+        sequenceRepository.deleteAll();
+    }
+
+    @Test
+    void nextInvoiceNumber_FirstReservation_ContinuesAfterHighestExistingNumber() {
+        PersonEntity seller = personRepository.save(personMapper.toEntity(TestDataFactory.createValidPersonDTO("Seller", "11111111")));
+        InvoiceEntity invoice = invoiceMapper.toEntity(TestDataFactory.createValidInvoiceDTO());
+        invoice.setInvoiceNumber(41);
+        invoice.setSeller(seller);
+        invoice.setBuyer(seller);
+        invoiceRepository.save(invoice);
+
+        assertEquals(42, newInstance().nextInvoiceNumber("11111111"));
+        assertEquals(42L + BLOCK_SIZE, sequenceRepository.findNextValue("11111111"));
+    }
+
+    @Test
+    void nextInvoiceNumber_RowReservedByOtherInstance_AdvancesInsteadOfOverwriting() {
+        InvoiceNumberService first = newInstance();
+        InvoiceNumberService second = newInstance();
+
+        assertEquals(1, first.nextInvoiceNumber("22222222"));
+        assertEquals(1 + BLOCK_SIZE, second.nextInvoiceNumber("22222222"));
+        assertEquals(2, first.nextInvoiceNumber("22222222"));
+        assertEquals(1L + 2 * BLOCK_SIZE, sequenceRepository.findNextValue("22222222"));
+    }
+
+    @Test
+    void nextInvoiceNumber_InstancesRacingForNewSeller_AllocateUniqueNumbers() throws Exception {
+        int instances = 6;
+        int perInstance = 4 * BLOCK_SIZE;
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(instances);
+        try {
+            List<Future<List<Integer>>> results = new ArrayList<>();
+            for (int i = 0; i < instances; i++) {
+                InvoiceNumberService instance = newInstance();
+                results.add(executor.submit(() -> {
+                    start.await();
+                    List<Integer> numbers = new ArrayList<>();
+                    for (int n = 0; n < perInstance; n++) {
+                        numbers.add(instance.nextInvoiceNumber("33333333"));
+                    }
+                    return numbers;
+                }));
+            }
+            start.countDown();
+
+            Set<Integer> all = new HashSet<>();
+            for (Future<List<Integer>> result : results) {
+                all.addAll(result.get(30, TimeUnit.SECONDS));
+            }
+            assertEquals(instances * perInstance, all.size());
+            assertTrue(all.stream().allMatch(number -> number >= 1 && number <= instances * perInstance), all::toString);
+            assertEquals(1L + instances * perInstance, sequenceRepository.findNextValue("33333333"));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private InvoiceNumberService newInstance() {
+        InvoiceNumberProperties properties = new InvoiceNumberProperties();
+        properties.setBlockSize(BLOCK_SIZE);
+        return new InvoiceNumberServiceImpl(sequenceRepository, invoiceRepository, transactionManager, properties);
+    }
+}
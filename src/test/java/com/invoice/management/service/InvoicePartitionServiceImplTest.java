@@ -0,0 +1,133 @@
+package com.invoice.management.service;
+
+import com.invoice.management.configuration.PartitioningProperties;
+import com.invoice.management.dto.InvoicePartitionDTO;
+import com.invoice.management.entity.repository.InvoiceRepository;
+import com.invoice.management.exception.PartitionNotArchivableException;
+import com.invoice.management.exception.PartitionNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class InvoicePartitionServiceImplTest {
+
+    private static final LocalDate CURRENT_YEAR = LocalDate.now().withDayOfYear(1);
+
+    @Mock
+    private InvoiceRepository invoiceRepository;
+
+    @Mock
+    private RevenueRollupService revenueRollupService;
+
+    private InvoicePartitionServiceImpl partitionService;
+
+    @BeforeEach
+    void setUp() {
+        PartitioningProperties properties = new PartitioningProperties();
+        properties.setAhead(2);
+        partitionService = new InvoicePartitionServiceImpl(invoiceRepository, properties, revenueRollupService);
+    }
+
+    @Test
+    void createUpcomingPartitions_SplitsCatchAllUntilHorizon() {
+        when(invoiceRepository.findPartitions()).thenReturn(Arrays.asList(
+                partition(CURRENT_YEAR.minusYears(1), CURRENT_YEAR),
+                partition(CURRENT_YEAR, CURRENT_YEAR.plusYears(1)),
+                partition("pmax", null)));
+
+        List<InvoicePartitionDTO> created = partitionService.createUpcomingPartitions();
+
+        assertEquals(2, created.size());
+        verify(invoiceRepository).addPartition(name(CURRENT_YEAR.plusYears(1)), CURRENT_YEAR.plusYears(2));
+        verify(invoiceRepository).addPartition(name(CURRENT_YEAR.plusYears(2)), CURRENT_YEAR.plusYears(3));
+    }
+
+    @Test
+    void createUpcomingPartitions_TableNotPartitioned_DoesNothing() {
+        when(invoiceRepository.findPartitions()).thenReturn(Collections.emptyList());
+
+        assertTrue(partitionService.createUpcomingPartitions().isEmpty());
+        verify(invoiceRepository, never()).addPartition(anyString(), any());
+    }
+
+    @Test
+    void archivePartition_PastPartition_MovesItToArchiveTable() {
+        LocalDate from = CURRENT_YEAR.minusYears(3);
+        when(invoiceRepository.findPartitions()).thenReturn(Arrays.asList(
+                partition(from, from.plusYears(1)),
+                partition(CURRENT_YEAR, CURRENT_YEAR.plusYears(1)),
+                partition("pmax", null)));
+
+        InvoicePartitionDTO archived = partitionService.archivePartition(name(from));
+
+        assertEquals("invoice_archive_" + name(from), archived.getTable());
+        assertTrue(archived.isReadOnly());
+        verify(invoiceRepository).archivePartition(name(from), "invoice_archive_" + name(from));
+        verify(revenueRollupService).rebuild();
+    }
+
+    @Test
+    void archivePartition_CurrentPartition_ThrowsNotArchivable() {
+        when(invoiceRepository.findPartitions()).thenReturn(Arrays.asList(
+                partition(CURRENT_YEAR, CURRENT_YEAR.plusYears(1)),
+                partition("pmax", null)));
+
+        assertThrows(PartitionNotArchivableException.class, () -> partitionService.archivePartition(name(CURRENT_YEAR)));
+        assertThrows(PartitionNotArchivableException.class, () -> partitionService.archivePartition("pmax"));
+        verify(invoiceRepository, never()).archivePartition(anyString(), anyString());
+        verify(revenueRollupService, never()).rebuild();
+    }
+
+    @Test
+    void archivePartition_UnknownPartition_ThrowsNotFound() {
+        when(invoiceRepository.findPartitions()).thenReturn(Collections.emptyList());
+        when(invoiceRepository.findArchivedPartitions()).thenReturn(Collections.emptyList());
+
+        assertThrows(PartitionNotFoundException.class, () -> partitionService.archivePartition("p20000101"));
+        verify(invoiceRepository, never()).archivePartition(anyString(), anyString());
+    }
+
+    @Test
+    void archivePartition_AlreadyDroppedPartition_FinishesArchival() {
+        when(invoiceRepository.findPartitions()).thenReturn(List.of(partition("pmax", null)));
+        when(invoiceRepository.findArchivedPartitions()).thenReturn(List.of(
+                new InvoicePartitionDTO("p20000101", "invoice_archive_p20000101", null, 10, 1024, true)));
+
+        InvoicePartitionDTO archived = partitionService.archivePartition("p20000101");
+
+        assertEquals("invoice_archive_p20000101", archived.getTable());
+        verify(invoiceRepository).archivePartition("p20000101", "invoice_archive_p20000101");
+        verify(revenueRollupService).rebuild();
+    }
+
+    @Test
+    void archivePartition_InvalidName_ThrowsNotFound() {
+        assertThrows(PartitionNotFoundException.class, () -> partitionService.archivePartition("p1; DROP TABLE invoice"));
+        verifyNoInteractions(invoiceRepository);
+    }
+
+    private static InvoicePartitionDTO partition(LocalDate from, LocalDate upperBound) {
+        return partition(name(from), upperBound);
+    }
+
+    private static InvoicePartitionDTO partition(String name, LocalDate upperBound) {
+        return new InvoicePartitionDTO(name, "invoice", upperBound, 10, 1024, false);
+    }
+
+    private static String name(LocalDate from) {
+        return "p" + from.toString().replace("-", "");
+    }
+}
@@ -1,30 +1,42 @@
 package com.invoice.management.service;
 
+import com.invoice.management.constant.ChangeEventType;
+import com.invoice.management.dto.BatchResponse;
+import com.invoice.management.dto.ChangeEventDTO;
 import com.invoice.management.dto.InvoiceDTO;
+import com.invoice.management.dto.InvoiceVersionDTO;
 import com.invoice.management.dto.PaginatedResponse;
 import com.invoice.management.dto.mapper.InvoiceMapper;
 import com.invoice.management.entity.InvoiceEntity;
 import com.invoice.management.entity.PersonEntity;
 import com.invoice.management.entity.repository.InvoiceRepository;
 import com.invoice.management.entity.repository.PersonRepository;
+import com.invoice.management.exception.InvalidInvoicePatchException;
 import com.invoice.management.exception.InvoiceNotFoundException;
+import com.invoice.management.exception.InvoiceVersionMismatchException;
 import com.invoice.management.utils.TestDataFactory;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import java.time.LocalDate;
 import java.util.*;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -40,11 +52,21 @@ class InvoiceServiceImplTest {
     @Mock
     private InvoiceMapper invoiceMapper;
 
+    @Mock
+    private InvoiceNumberService invoiceNumberService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
     private InvoiceServiceImpl invoiceService;
 
     @BeforeEach
     void setUp() {
-        invoiceService = new InvoiceServiceImpl(invoiceRepository, invoiceMapper, personRepository);
+        invoiceService = new InvoiceServiceImpl(invoiceRepository, invoiceMapper, personRepository, invoiceNumberService, eventPublisher,
+                transactionManager);
     }
 
     @Test
@@ -66,6 +88,40 @@ class InvoiceServiceImplTest {
         verify(invoiceRepository).save(any(InvoiceEntity.class));
     }
 
+    @Test
+    void createInvoice_WithoutInvoiceNumber_AllocatesNumberOfSeller() {
+        InvoiceDTO inputDTO = TestDataFactory.createValidInvoiceDTO();
+        inputDTO.setInvoiceNumber(null);
+        InvoiceEntity entity = new InvoiceEntity();
+        PersonEntity seller = new PersonEntity();
+        seller.setIdentificationNumber("12345678");
+
+        when(invoiceMapper.toEntity(inputDTO)).thenReturn(entity);
+        when(personRepository.findById(any())).thenReturn(Optional.of(seller));
+        when(invoiceNumberService.nextInvoiceNumber("12345678")).thenReturn(42);
+        when(invoiceRepository.save(entity)).thenReturn(entity);
+
+        invoiceService.createInvoice(inputDTO);
+
+        assertEquals(42, entity.getInvoiceNumber());
+    }
+
+    @Test
+    void createInvoice_WithInvoiceNumber_KeepsClientNumber() {
+        InvoiceDTO inputDTO = TestDataFactory.createValidInvoiceDTO();
+        InvoiceEntity entity = new InvoiceEntity();
+        entity.setInvoiceNumber(7);
+
+        when(invoiceMapper.toEntity(inputDTO)).thenReturn(entity);
+        when(personRepository.findById(any())).thenReturn(Optional.of(new PersonEntity()));
+        when(invoiceRepository.save(entity)).thenReturn(entity);
+
+        invoiceService.createInvoice(inputDTO);
+
+        assertEquals(7, entity.getInvoiceNumber());
+        verify(invoiceNumberService, never()).nextInvoiceNumber(any());
+    }
+
     @Test
     void getInvoiceById_ExistingId_ReturnsInvoiceDTO() {
         long id = 1L;
@@ -81,6 +137,25 @@ class InvoiceServiceImplTest {
         assertEquals(dto, result);
     }
 
+    @Test
+    void getInvoicesByIds_SomeMissing_ReturnsFoundInRequestOrderAndReportsMissing() {
+        InvoiceEntity first = new InvoiceEntity();
+        first.setId(1L);
+        InvoiceEntity third = new InvoiceEntity();
+        third.setId(3L);
+        when(invoiceRepository.findAllById(List.of(3L, 2L, 1L))).thenReturn(Arrays.asList(first, third));
+        when(invoiceMapper.toDTO(any(InvoiceEntity.class))).thenAnswer(invocation -> {
+            InvoiceDTO dto = new InvoiceDTO();
+            dto.setId(invocation.<InvoiceEntity>getArgument(0).getId());
+            return dto;
+        });
+
+        BatchResponse<InvoiceDTO> result = invoiceService.getInvoicesByIds(List.of(3L, 2L, 1L));
+
+        assertEquals(List.of(3L, 1L), result.getItems().stream().map(InvoiceDTO::getId).toList());
+        assertEquals(List.of(2L), result.getMissingIds());
+    }
+
     @Test
     void getInvoiceById_NonExistingId_ThrowsInvoiceNotFoundException() {
         long id = 1L;
@@ -108,6 +183,59 @@ class InvoiceServiceImplTest {
         verify(invoiceRepository).save(any(InvoiceEntity.class));
     }
 
+    @Test
+    void updateInvoice_StaleVersion_ThrowsVersionMismatchWithoutSaving() {
+        InvoiceDTO inputDTO = TestDataFactory.createValidInvoiceDTO();
+        inputDTO.setVersion(2L);
+        InvoiceEntity existingEntity = new InvoiceEntity();
+        existingEntity.setVersion(3L);
+        when(invoiceRepository.findById(1L)).thenReturn(Optional.of(existingEntity));
+
+        assertThrows(InvoiceVersionMismatchException.class, () -> invoiceService.updateInvoice(1L, inputDTO));
+        verify(invoiceRepository, never()).save(any(InvoiceEntity.class));
+    }
+
+    @Test
+    void patchInvoice_AppliesFieldsAndPublishesEventWithParties() {
+        InvoiceDTO patch = new InvoiceDTO();
+        patch.setPrice(1500L);
+        when(invoiceRepository.patchInvoice(eq(1L), eq(4L), anyMap())).thenReturn(1);
+        when(invoiceRepository.findVersionById(1L)).thenReturn(Optional.of(new InvoiceVersionDTO(1L, 5L, 7L, 8L)));
+
+        long version = invoiceService.patchInvoice(1L, 4L, patch, new LinkedHashSet<>(List.of("price", "note")));
+
+        assertEquals(5L, version);
+        Map<String, Object> values = new HashMap<>();
+        values.put("price", 1500L);
+        values.put("note", null);
+        verify(invoiceRepository).patchInvoice(1L, 4L, values);
+        verify(invoiceRepository, never()).findById(anyLong());
+        verify(eventPublisher).publishEvent(argThat((Object event) -> event instanceof ChangeEventDTO change
+                && change.getType() == ChangeEventType.INVOICE_UPDATED
+                && change.getSellerId() == 7L && change.getBuyerId() == 8L));
+    }
+
+    @Test
+    void patchInvoice_NoRowUpdatedAndVersionChanged_ThrowsVersionMismatch() {
+        InvoiceDTO patch = new InvoiceDTO();
+        patch.setPrice(1500L);
+        when(invoiceRepository.patchInvoice(eq(1L), eq(4L), anyMap())).thenReturn(0);
+        when(invoiceRepository.findVersionById(1L)).thenReturn(Optional.of(new InvoiceVersionDTO(1L, 5L, 7L, 8L)));
+
+        assertThrows(InvoiceVersionMismatchException.class,
+                () -> invoiceService.patchInvoice(1L, 4L, patch, Set.of("price")));
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void patchInvoice_FieldNotPatchable_ThrowsWithoutUpdating() {
+        InvoiceDTO patch = new InvoiceDTO();
+
+        assertThrows(InvalidInvoicePatchException.class,
+                () -> invoiceService.patchInvoice(1L, 4L, patch, Set.of("seller")));
+        verify(invoiceRepository, never()).patchInvoice(anyLong(), any(), anyMap());
+    }
+
     @Test
     void deleteInvoice_ExistingInvoice_InvokesDeletion() {
         long invoiceId = 1L;
@@ -117,6 +245,25 @@ class InvoiceServiceImplTest {
         verify(invoiceRepository).deleteById(invoiceId);
     }
 
+    @Test
+    void deleteInvoice_ExistingInvoice_PublishesDeletedEventWithParties() {
+        PersonEntity seller = new PersonEntity();
+        seller.setId(7L);
+        PersonEntity buyer = new PersonEntity();
+        buyer.setId(8L);
+        InvoiceEntity invoice = new InvoiceEntity();
+        invoice.setId(1L);
+        invoice.setSeller(seller);
+        invoice.setBuyer(buyer);
+        when(invoiceRepository.findById(1L)).thenReturn(Optional.of(invoice));
+
+        invoiceService.deleteInvoice(1L);
+
+        verify(eventPublisher).publishEvent(argThat((Object event) -> event instanceof ChangeEventDTO change
+                && change.getType() == ChangeEventType.INVOICE_DELETED
+                && change.getSellerId() == 7L && change.getBuyerId() == 8L));
+    }
+
     @Test
     void getInvoices_ReturnsPagedResult() {
         Map<String, String> params = new HashMap<>();
@@ -139,24 +286,11 @@ class InvoiceServiceImplTest {
 
     @Test
     void getInvoiceStatistics_ReturnsCorrectStatistics() {
-        LocalDate currentYear = LocalDate.now();
-        LocalDate lastYear = currentYear.minusYears(1);
-
-        InvoiceEntity invoice1 = new InvoiceEntity();
-        invoice1.setIssued(currentYear);
-        invoice1.setPrice(100L);
-
-        InvoiceEntity invoice2 = new InvoiceEntity();
-        invoice2.setIssued(currentYear);
-        invoice2.setPrice(200L);
-
-        InvoiceEntity invoice3 = new InvoiceEntity();
-        invoice3.setIssued(lastYear);
-        invoice3.setPrice(300L);
-
-        List<InvoiceEntity> mockInvoices = Arrays.asList(invoice1, invoice2, invoice3);
+        LocalDate currentYearStart = LocalDate.now().withDayOfYear(1);
 
-        when(invoiceRepository.findAll()).thenReturn(mockInvoices);
+        when(invoiceRepository.sumPriceIssuedBetween(currentYearStart, currentYearStart.plusYears(1))).thenReturn(300L);
+        when(invoiceRepository.sumPrice()).thenReturn(600L);
+        when(invoiceRepository.count()).thenReturn(3L);
 
         Map<String, Object> result = invoiceService.getInvoiceStatistics();
 
@@ -164,7 +298,7 @@ class InvoiceServiceImplTest {
         assertEquals(600L, result.get("allTimeSum"));
         assertEquals(3L, result.get("invoicesCount"));
 
-        verify(invoiceRepository).findAll();
+        verify(invoiceRepository, never()).findAll();
     }
 
     @Test
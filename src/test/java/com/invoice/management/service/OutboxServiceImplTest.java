@@ -0,0 +1,108 @@
+package com.invoice.management.service;
+
+import com.invoice.management.configuration.OutboxProperties;
+import com.invoice.management.dto.OutboxEventDTO;
+import com.invoice.management.dto.OutboxStatusDTO;
+import com.invoice.management.dto.mapper.OutboxEventMapper;
+import com.invoice.management.entity.repository.OutboxEventRepository;
+import com.invoice.management.outbox.OutboxSink;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxServiceImplTest {
+
+    @Mock
+    private OutboxEventRepository outboxEventRepository;
+
+    @Mock
+    private OutboxEventMapper outboxEventMapper;
+
+    @Mock
+    private OutboxSink firstSink;
+
+    @Mock
+    private OutboxSink secondSink;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private OutboxServiceImpl outboxService;
+
+    @BeforeEach
+    void setUp() {
+        OutboxProperties properties = new OutboxProperties();
+        properties.setBatchSize(2);
+        outboxService = new OutboxServiceImpl(outboxEventRepository, outboxEventMapper,
+                Arrays.asList(firstSink, secondSink), transactionManager, properties);
+    }
+
+    @Test
+    void relay_DeliversEveryBatchToAllSinksBeforeDeletingIt() {
+        when(outboxEventRepository.findOldest(any(Pageable.class)))
+                .thenReturn(Arrays.asList(event(1L), event(3L)), Collections.singletonList(event(4L)));
+        when(outboxEventRepository.deleteRange(1L, 3L)).thenReturn(2);
+        when(outboxEventRepository.deleteRange(4L, 4L)).thenReturn(1);
+
+        long relayed = outboxService.relay();
+
+        assertEquals(3, relayed);
+        var order = inOrder(firstSink, secondSink, outboxEventRepository);
+        order.verify(firstSink).deliver(anyList());
+        order.verify(secondSink).deliver(anyList());
+        order.verify(outboxEventRepository).deleteRange(1L, 3L);
+        order.verify(firstSink).deliver(anyList());
+        order.verify(secondSink).deliver(anyList());
+        order.verify(outboxEventRepository).deleteRange(4L, 4L);
+    }
+
+    @Test
+    void relay_FailingSink_LeavesBatchInOutbox() {
+        when(outboxEventRepository.findOldest(any(Pageable.class)))
+                .thenReturn(Arrays.asList(event(1L), event(2L)));
+        doThrow(new IllegalStateException("disk full")).when(secondSink).deliver(anyList());
+        when(secondSink.name()).thenReturn("file");
+
+        long relayed = outboxService.relay();
+
+        assertEquals(0, relayed);
+        verify(firstSink).deliver(anyList());
+        verify(outboxEventRepository, never()).deleteRange(anyLong(), anyLong());
+        OutboxStatusDTO status = outboxService.getStatus();
+        assertEquals(1, status.getFailedBatches());
+        assertEquals(0, status.getRelayed());
+    }
+
+    @Test
+    void relay_RowCommittedInsideRelayedRange_RollsBackBatch() {
+        when(outboxEventRepository.findOldest(any(Pageable.class)))
+                .thenReturn(Arrays.asList(event(1L), event(3L)));
+        when(outboxEventRepository.deleteRange(1L, 3L)).thenReturn(3);
+
+        long relayed = outboxService.relay();
+
+        assertEquals(0, relayed);
+        verify(transactionManager).rollback(any());
+        assertEquals(1, outboxService.getStatus().getFailedBatches());
+    }
+
+    private static OutboxEventDTO event(long id) {
+        OutboxEventDTO event = new OutboxEventDTO();
+        event.setId(id);
+        return event;
+    }
+}
@@ -0,0 +1,102 @@
+package com.invoice.management.service;
+
+import com.invoice.management.configuration.ArchivalProperties;
+import com.invoice.management.dto.ArchivalReportDTO;
+import com.invoice.management.entity.repository.PersonArchiveRepository;
+import com.invoice.management.entity.repository.PersonRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PersonArchivalServiceImplTest {
+
+    @Mock
+    private PersonRepository personRepository;
+
+    @Mock
+    private PersonArchiveRepository personArchiveRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private ArchivalProperties properties;
+
+    private PersonArchivalServiceImpl archivalService;
+
+    @BeforeEach
+    void setUp() {
+        properties = new ArchivalProperties();
+        properties.setBatchSize(2);
+        properties.setPause(Duration.ZERO);
+        archivalService = new PersonArchivalServiceImpl(personRepository, personArchiveRepository,
+                transactionManager, properties);
+    }
+
+    @Test
+    void archiveHiddenPersons_MovesBatchesUntilNoCandidatesLeft() {
+        when(personRepository.count()).thenReturn(10L, 7L);
+        when(personArchiveRepository.count()).thenReturn(0L, 3L);
+        when(personArchiveRepository.findArchivableIds(0L, 2)).thenReturn(Arrays.asList(1L, 2L));
+        when(personArchiveRepository.findArchivableIds(2L, 2)).thenReturn(Collections.singletonList(5L));
+        when(personArchiveRepository.moveToArchive(any(), any())).thenAnswer(invocation ->
+                invocation.<List<Long>>getArgument(0).size());
+
+        ArchivalReportDTO report = archivalService.archiveHiddenPersons();
+
+        assertEquals(3, report.getRowsMoved());
+        assertEquals(2, report.getBatches());
+        assertEquals(0, report.getFailedBatches());
+        assertFalse(report.isTruncated());
+        assertEquals(10, report.getPersonRowsBefore());
+        assertEquals(7, report.getPersonRowsAfter());
+        assertEquals(3, report.getArchiveRowsAfter());
+        assertEquals(report, archivalService.getLastReport().orElseThrow());
+    }
+
+    @Test
+    void archiveHiddenPersons_FailedBatch_IsSkippedAndCounted() {
+        when(personArchiveRepository.findArchivableIds(0L, 2)).thenReturn(Arrays.asList(1L, 2L));
+        when(personArchiveRepository.findArchivableIds(2L, 2)).thenReturn(Collections.emptyList());
+        when(personArchiveRepository.moveToArchive(eq(Arrays.asList(1L, 2L)), any()))
+                .thenThrow(new DataIntegrityViolationException("referenced by an invoice"));
+
+        ArchivalReportDTO report = archivalService.archiveHiddenPersons();
+
+        assertEquals(0, report.getRowsMoved());
+        assertEquals(0, report.getBatches());
+        assertEquals(1, report.getFailedBatches());
+    }
+
+    @Test
+    void archiveHiddenPersons_StopsAtMaxDuration() {
+        properties.setMaxDuration(Duration.ZERO);
+        when(personArchiveRepository.findArchivableIds(0L, 2)).thenReturn(Arrays.asList(1L, 2L));
+        when(personArchiveRepository.moveToArchive(any(), any())).thenReturn(2);
+
+        ArchivalReportDTO report = archivalService.archiveHiddenPersons();
+
+        assertTrue(report.isTruncated());
+        assertEquals(2, report.getRowsMoved());
+        verify(personArchiveRepository, never()).findArchivableIds(eq(2L), anyInt());
+    }
+
+    @Test
+    void getLastReport_BeforeFirstRun_IsEmpty() {
+        assertTrue(archivalService.getLastReport().isEmpty());
+    }
+}
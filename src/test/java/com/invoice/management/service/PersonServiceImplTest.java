@@ -1,12 +1,16 @@
 package com.invoice.management.service;
 
+import com.invoice.management.constant.ChangeEventType;
+import com.invoice.management.dto.ChangeEventDTO;
 import com.invoice.management.dto.InvoiceDTO;
 import com.invoice.management.dto.PaginatedResponse;
 import com.invoice.management.dto.PersonDTO;
 import com.invoice.management.dto.PersonStatisticsDTO;
 import com.invoice.management.dto.mapper.PersonMapper;
-import com.invoice.management.entity.InvoiceEntity;
+import com.invoice.management.entity.PersonArchiveEntity;
 import com.invoice.management.entity.PersonEntity;
+import com.invoice.management.entity.repository.PersonArchiveRepository;
+import com.invoice.management.entity.repository.PersonIdentityRepository;
 import com.invoice.management.entity.repository.PersonRepository;
 import com.invoice.management.exception.PersonNotFoundException;
 import com.invoice.management.utils.TestDataFactory;
@@ -15,6 +19,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
@@ -24,6 +29,7 @@ import java.util.*;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -32,17 +38,30 @@ class PersonServiceImplTest {
     @Mock
     private PersonRepository personRepository;
 
+    @Mock
+    private PersonIdentityRepository personIdentityRepository;
+
+    @Mock
+    private PersonArchiveRepository personArchiveRepository;
+
     @Mock
     private PersonMapper personMapper;
 
     @Mock
     private InvoiceService invoiceService;
 
+    @Mock
+    private RevenueRollupService revenueRollupService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     private PersonServiceImpl personService;
 
     @BeforeEach
     void setUp() {
-        personService = new PersonServiceImpl(personRepository, personMapper, invoiceService);
+        personService = new PersonServiceImpl(personRepository, personIdentityRepository, personArchiveRepository, personMapper, invoiceService,
+                revenueRollupService, eventPublisher);
     }
 
     @Test
@@ -120,6 +139,147 @@ class PersonServiceImplTest {
         verify(personRepository).save(existingEntity);
     }
 
+    @Test
+    void updatePerson_PublishesHiddenAndCreatedVersions() {
+        PersonEntity existingEntity = createPersonEntity(1L, "12345678");
+        PersonEntity newEntity = createPersonEntity(0L, "12345678");
+        PersonDTO inputDTO = TestDataFactory.createValidPersonDTO();
+
+        when(personRepository.findById(1L)).thenReturn(Optional.of(existingEntity));
+        when(personMapper.toEntity(inputDTO)).thenReturn(newEntity);
+        when(personRepository.save(any(PersonEntity.class))).thenAnswer(invocation -> assignId(invocation.getArgument(0), 2L));
+
+        personService.updatePerson(1L, inputDTO);
+
+        verify(eventPublisher).publishEvent(argThat((Object event) -> event instanceof ChangeEventDTO change
+                && change.getType() == ChangeEventType.PERSON_HIDDEN && change.getEntityId() == 1L));
+        verify(eventPublisher).publishEvent(argThat((Object event) -> event instanceof ChangeEventDTO change
+                && change.getType() == ChangeEventType.PERSON_CREATED && change.getEntityId() == 2L));
+    }
+
+    @Test
+    void addPerson_PointsIdentityAtNewPerson() {
+        PersonDTO inputDTO = TestDataFactory.createValidPersonDTO();
+        PersonEntity entity = createPersonEntity(5L, "12345678");
+
+        when(personMapper.toEntity(inputDTO)).thenReturn(entity);
+        when(personRepository.save(entity)).thenReturn(entity);
+
+        personService.addPerson(inputDTO);
+
+        verify(personIdentityRepository).upsertCurrentVersion("12345678", 5L);
+    }
+
+    @Test
+    void updatePerson_SameIdentificationNumber_MovesPointerToNewVersion() {
+        PersonEntity existingEntity = createPersonEntity(1L, "12345678");
+        PersonEntity newEntity = createPersonEntity(2L, "12345678");
+        PersonDTO inputDTO = TestDataFactory.createValidPersonDTO();
+
+        when(personRepository.findById(1L)).thenReturn(Optional.of(existingEntity));
+        when(personMapper.toEntity(inputDTO)).thenReturn(newEntity);
+        when(personRepository.save(any(PersonEntity.class))).thenAnswer(invocation -> assignId(invocation.getArgument(0), 2L));
+
+        personService.updatePerson(1L, inputDTO);
+
+        verify(personIdentityRepository).upsertCurrentVersion("12345678", 2L);
+        verify(personIdentityRepository, never()).clearCurrentVersion(any(), anyLong());
+    }
+
+    @Test
+    void updatePerson_ChangedIdentificationNumber_ClearsOldPointer() {
+        PersonEntity existingEntity = createPersonEntity(1L, "11111111");
+        PersonEntity newEntity = createPersonEntity(2L, "22222222");
+        PersonDTO inputDTO = TestDataFactory.createValidPersonDTO("Renamed", "22222222");
+
+        when(personRepository.findById(1L)).thenReturn(Optional.of(existingEntity));
+        when(personMapper.toEntity(inputDTO)).thenReturn(newEntity);
+        when(personRepository.save(any(PersonEntity.class))).thenAnswer(invocation -> assignId(invocation.getArgument(0), 2L));
+
+        personService.updatePerson(1L, inputDTO);
+
+        assertTrue(existingEntity.isHidden());
+        verify(personIdentityRepository).clearCurrentVersion("11111111", 1L);
+        verify(personIdentityRepository).upsertCurrentVersion("22222222", 2L);
+    }
+
+    @Test
+    void removePerson_ClearsPointerOfCurrentVersion() {
+        PersonEntity person = createPersonEntity(1L, "12345678");
+
+        when(personRepository.findById(1L)).thenReturn(Optional.of(person));
+
+        personService.removePerson(1L);
+
+        verify(personIdentityRepository).clearCurrentVersion("12345678", 1L);
+    }
+
+    @Test
+    void getPersonByIdentificationNumber_UsesPointer() {
+        PersonEntity person = createPersonEntity(7L, "12345678");
+        PersonDTO dto = TestDataFactory.createValidPersonDTO();
+
+        when(personIdentityRepository.findCurrentVersion("12345678")).thenReturn(Optional.of(person));
+        when(personMapper.toDTO(person)).thenReturn(dto);
+
+        assertEquals(dto, personService.getPersonByIdentificationNumber("12345678"));
+        verify(personRepository, never()).findFirstByIdentificationNumberAndHiddenFalseOrderByIdDesc(any());
+    }
+
+    @Test
+    void getPersonByIdentificationNumber_MissingPointer_RebuildsIt() {
+        PersonEntity person = createPersonEntity(7L, "12345678");
+
+        when(personIdentityRepository.findCurrentVersion("12345678")).thenReturn(Optional.empty());
+        when(personRepository.findFirstByIdentificationNumberAndHiddenFalseOrderByIdDesc("12345678"))
+                .thenReturn(Optional.of(person));
+        when(personMapper.toDTO(person)).thenReturn(new PersonDTO());
+
+        personService.getPersonByIdentificationNumber("12345678");
+
+        verify(personIdentityRepository).repairCurrentVersion("12345678", 7L);
+        verify(personIdentityRepository, never()).upsertCurrentVersion(any(), anyLong());
+    }
+
+    @Test
+    void getPersonByIdentificationNumber_NoVisibleVersion_ThrowsPersonNotFoundException() {
+        when(personIdentityRepository.findCurrentVersion("12345678")).thenReturn(Optional.empty());
+        when(personRepository.findFirstByIdentificationNumberAndHiddenFalseOrderByIdDesc("12345678"))
+                .thenReturn(Optional.empty());
+
+        assertThrows(PersonNotFoundException.class, () -> personService.getPersonByIdentificationNumber("12345678"));
+    }
+
+    @Test
+    void getPersonHistory_ReturnsAllVersionsIncludingArchivedNewestFirst() {
+        PersonEntity current = createPersonEntity(3L, "12345678");
+        PersonEntity previous = createPersonEntity(1L, "12345678");
+        previous.setHidden(true);
+        PersonArchiveEntity archived = new PersonArchiveEntity();
+        archived.setId(2L);
+
+        when(personRepository.findByIdentificationNumberOrderByIdDesc("12345678"))
+                .thenReturn(Arrays.asList(current, previous));
+        when(personArchiveRepository.findByIdentificationNumberOrderByIdDesc("12345678"))
+                .thenReturn(Collections.singletonList(archived));
+        when(personMapper.toDTO(any(PersonEntity.class))).thenAnswer(invocation -> dtoWithId(
+                invocation.<PersonEntity>getArgument(0).getId()));
+        when(personMapper.toDTO(any(PersonArchiveEntity.class))).thenAnswer(invocation -> dtoWithId(
+                invocation.<PersonArchiveEntity>getArgument(0).getId()));
+
+        List<PersonDTO> history = personService.getPersonHistory("12345678");
+
+        assertEquals(Arrays.asList(3L, 2L, 1L), history.stream().map(PersonDTO::getId).toList());
+    }
+
+    @Test
+    void getPersonHistory_UnknownIdentificationNumber_ThrowsPersonNotFoundException() {
+        when(personRepository.findByIdentificationNumberOrderByIdDesc("12345678")).thenReturn(Collections.emptyList());
+        when(personArchiveRepository.findByIdentificationNumberOrderByIdDesc("12345678")).thenReturn(Collections.emptyList());
+
+        assertThrows(PersonNotFoundException.class, () -> personService.getPersonHistory("12345678"));
+    }
+
     @Test
     void getPersons_ReturnsPagedResult() {
         Map<String, String> params = new HashMap<>();
@@ -188,29 +348,10 @@ class PersonServiceImplTest {
         int limit = 10;
         String sort = "name,asc";
 
-        PersonEntity person1 = new PersonEntity();
-        person1.setId(1L);
-        person1.setName("Person 1");
-        person1.setSales(Arrays.asList(
-                createInvoiceEntity(100L),
-                createInvoiceEntity(200L)
-        ));
-
-        PersonEntity person2 = new PersonEntity();
-        person2.setId(2L);
-        person2.setName("Person 2");
-        person2.setSales(Collections.singletonList(
-                createInvoiceEntity(300L)
-        ));
-
-        PersonEntity personWithZeroRevenue = new PersonEntity();
-        personWithZeroRevenue.setId(3L);
-        personWithZeroRevenue.setName("Person 3");
-        personWithZeroRevenue.setSales(Collections.emptyList());
-
-        List<PersonEntity> personList = Arrays.asList(person2, person1, personWithZeroRevenue);
-
-        when(personRepository.findAll()).thenReturn(personList);
+        // Person 1 sold for 100 and 200, Person 2 for 300, Person 3 nothing and is therefore not in the rollup
+        when(revenueRollupService.getSellerRevenues()).thenReturn(new ArrayList<>(List.of(
+                new PersonStatisticsDTO(2L, "Person 2", 300L),
+                new PersonStatisticsDTO(1L, "Person 1", 300L))));
 
         Map<String, Object> result = personService.getPersonStatistics(page, limit, sort);
 
@@ -245,13 +386,30 @@ class PersonServiceImplTest {
         assertEquals("Person 1", top5ByRevenue.get(1).getPersonName());
         assertEquals(300L, top5ByRevenue.get(1).getRevenue());
 
-        verify(personRepository).findAll();
+        verify(revenueRollupService).getSellerRevenues();
+        verify(personRepository, never()).findAll();
+    }
+
+    // Helper method for creating PersonEntity
+    private PersonEntity createPersonEntity(long id, String identificationNumber) {
+        PersonEntity person = new PersonEntity();
+        person.setId(id);
+        person.setIdentificationNumber(identificationNumber);
+        return person;
+    }
+
+    // Helper method for creating PersonDTO
+    private PersonDTO dtoWithId(long id) {
+        PersonDTO dto = new PersonDTO();
+        dto.setId(id);
+        return dto;
     }
 
-    // Helper method for creating InvoiceEntity
-    private InvoiceEntity createInvoiceEntity(Long price) {
-        InvoiceEntity invoice = new InvoiceEntity();
-        invoice.setPrice(price);
-        return invoice;
+    // Helper method simulating the ID assigned on insert
+    private PersonEntity assignId(PersonEntity person, long id) {
+        if (person.getId() == 0) {
+            person.setId(id);
+        }
+        return person;
     }
 }
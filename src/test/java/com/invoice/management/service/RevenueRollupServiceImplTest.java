@@ -0,0 +1,197 @@
+package com.invoice.management.service;
+
+import com.invoice.management.configuration.RevenueRollupProperties;
+import com.invoice.management.constant.ChangeEventType;
+import com.invoice.management.dto.ChangeEventDTO;
+import com.invoice.management.dto.PersonStatisticsDTO;
+import com.invoice.management.entity.repository.InvoiceRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RevenueRollupServiceImplTest {
+
+    @Mock
+    private InvoiceRepository invoiceRepository;
+
+    @TempDir
+    private Path tempDir;
+
+    private RevenueRollupProperties properties;
+    private RevenueRollupServiceImpl rollupService;
+
+    @BeforeEach
+    void setUp() {
+        properties = new RevenueRollupProperties();
+        properties.setSnapshotPath(tempDir.resolve("revenue-rollup.bin").toString());
+        rollupService = new RevenueRollupServiceImpl(invoiceRepository, properties);
+    }
+
+    @Test
+    void getSellerRevenues_WithoutSnapshot_BuildsFromAllInvoices() {
+        when(invoiceRepository.findMaxId()).thenReturn(10L);
+        when(invoiceRepository.sumPriceBySeller()).thenReturn(List.of(
+                new PersonStatisticsDTO(1L, "Seller 1", 300L),
+                new PersonStatisticsDTO(2L, "Seller 2", 0L)));
+
+        List<PersonStatisticsDTO> revenues = rollupService.getSellerRevenues();
+
+        assertEquals(1, revenues.size());
+        assertEquals(300L, revenues.get(0).getRevenue());
+        rollupService.getSellerRevenues();
+        verify(invoiceRepository, times(1)).sumPriceBySeller();
+    }
+
+    @Test
+    void snapshot_RoundTripsSellersAndHighWaterMark() throws Exception {
+        Path path = tempDir.resolve("round-trip.bin");
+        RevenueRollupSnapshot snapshot = new RevenueRollupSnapshot(42L, Instant.ofEpochMilli(1_000L), List.of(
+                new PersonStatisticsDTO(1L, "Seller 1", 300L),
+                new PersonStatisticsDTO(2L, "Příliš žluťoučký", 5L)));
+
+        snapshot.write(path);
+        RevenueRollupSnapshot read = RevenueRollupSnapshot.read(path).orElseThrow();
+
+        assertEquals(42L, read.highWaterMark());
+        assertEquals(Instant.ofEpochMilli(1_000L), read.writtenAt());
+        assertEquals(2, read.sellers().size());
+        assertEquals("Příliš žluťoučký", read.sellers().get(1).getPersonName());
+        assertEquals(5L, read.sellers().get(1).getRevenue());
+    }
+
+    @Test
+    void getSellerRevenues_WithSnapshot_RecomputesOnlySellersOfNewerInvoices() throws Exception {
+        new RevenueRollupSnapshot(10L, Instant.now(), List.of(
+                new PersonStatisticsDTO(1L, "Seller 1", 300L),
+                new PersonStatisticsDTO(2L, "Seller 2", 100L)))
+                .write(Path.of(properties.getSnapshotPath()));
+        when(invoiceRepository.findMaxId()).thenReturn(12L);
+        when(invoiceRepository.findSellerIdsBetween(10L, 12L)).thenReturn(List.of(2L));
+        when(invoiceRepository.sumPriceBySellers(List.of(2L))).thenReturn(List.of(new PersonStatisticsDTO(2L, "Seller 2", 250L)));
+
+        List<PersonStatisticsDTO> revenues = sorted(rollupService.getSellerRevenues());
+
+        assertEquals(300L, revenues.get(0).getRevenue());
+        assertEquals(250L, revenues.get(1).getRevenue());
+        verify(invoiceRepository, never()).sumPriceBySeller();
+    }
+
+    @Test
+    void getSellerRevenues_WithStaleSnapshot_Rebuilds() throws Exception {
+        properties.setMaxSnapshotAge(Duration.ofHours(1));
+        new RevenueRollupSnapshot(10L, Instant.now().minus(Duration.ofHours(2)), List.of(new PersonStatisticsDTO(1L, "Seller 1", 300L)))
+                .write(Path.of(properties.getSnapshotPath()));
+        when(invoiceRepository.findMaxId()).thenReturn(10L);
+        when(invoiceRepository.sumPriceBySeller()).thenReturn(List.of(new PersonStatisticsDTO(1L, "Seller 1", 200L)));
+
+        assertEquals(200L, rollupService.getSellerRevenues().get(0).getRevenue());
+    }
+
+    @Test
+    void getSellerRevenues_WithCorruptSnapshot_Rebuilds() throws Exception {
+        Files.write(Path.of(properties.getSnapshotPath()), new byte[]{1, 2, 3});
+        when(invoiceRepository.findMaxId()).thenReturn(0L);
+        when(invoiceRepository.sumPriceBySeller()).thenReturn(List.of());
+
+        assertTrue(rollupService.getSellerRevenues().isEmpty());
+        verify(invoiceRepository).sumPriceBySeller();
+    }
+
+    @Test
+    void writeSnapshot_ThenRestart_RestoresWithoutAggregatingAllInvoices() {
+        when(invoiceRepository.findMaxId()).thenReturn(10L);
+        when(invoiceRepository.sumPriceBySeller()).thenReturn(List.of(new PersonStatisticsDTO(1L, "Seller 1", 300L)));
+        rollupService.warmUp();
+        rollupService.writeSnapshot();
+
+        RevenueRollupServiceImpl restarted = new RevenueRollupServiceImpl(invoiceRepository, properties);
+        List<PersonStatisticsDTO> revenues = restarted.getSellerRevenues();
+
+        assertEquals(1, revenues.size());
+        assertEquals(300L, revenues.get(0).getRevenue());
+        verify(invoiceRepository, times(1)).sumPriceBySeller();
+        verify(invoiceRepository, never()).findSellerIdsBetween(anyLong(), anyLong());
+    }
+
+    @Test
+    void onChange_SellerChanged_RecomputesBothSellers() {
+        when(invoiceRepository.findMaxId()).thenReturn(10L);
+        when(invoiceRepository.sumPriceBySeller()).thenReturn(List.of(
+                new PersonStatisticsDTO(1L, "Seller 1", 300L),
+                new PersonStatisticsDTO(2L, "Seller 2", 100L)));
+        rollupService.warmUp();
+        when(invoiceRepository.sumPriceBySellers(anyCollection())).thenReturn(List.of(new PersonStatisticsDTO(2L, "Seller 2", 400L)));
+
+        ChangeEventDTO event = ChangeEventDTO.invoice(ChangeEventType.INVOICE_UPDATED, 5L, 2L, 3L);
+        event.setPreviousSellerId(1L);
+        rollupService.onChange(event);
+
+        verify(invoiceRepository).sumPriceBySellers(argThat(ids -> ids.size() == 2 && ids.containsAll(Set.of(1L, 2L))));
+        List<PersonStatisticsDTO> revenues = rollupService.getSellerRevenues();
+        assertEquals(1, revenues.size());
+        assertEquals(400L, revenues.get(0).getRevenue());
+    }
+
+    @Test
+    void onChange_BeforeLoad_IsLeftToTheLoad() {
+        rollupService.onChange(ChangeEventDTO.invoice(ChangeEventType.INVOICE_CREATED, 5L, 2L, 3L));
+
+        verifyNoInteractions(invoiceRepository);
+    }
+
+    @Test
+    void invalidateSellers_DuringRebuild_IsNotBlockedNorOverwrittenByOlderAggregate() {
+        when(invoiceRepository.findMaxId()).thenReturn(10L);
+        when(invoiceRepository.sumPriceBySellers(anyCollection())).thenReturn(List.of(new PersonStatisticsDTO(1L, "Seller 1", 500L)));
+        when(invoiceRepository.sumPriceBySeller()).thenAnswer(invocation -> {
+            // An invoice of seller 1 commits on another thread while the full aggregate is running
+            CompletableFuture.runAsync(() -> rollupService.invalidateSellers(Set.of(1L))).get(5, TimeUnit.SECONDS);
+            return List.of(new PersonStatisticsDTO(1L, "Seller 1", 300L), new PersonStatisticsDTO(2L, "Seller 2", 100L));
+        });
+
+        rollupService.warmUp();
+
+        List<PersonStatisticsDTO> revenues = sorted(rollupService.getSellerRevenues());
+        assertEquals(2, revenues.size());
+        assertEquals(500L, revenues.get(0).getRevenue());
+        assertEquals(100L, revenues.get(1).getRevenue());
+    }
+
+    @Test
+    void discard_DuringRebuild_LeavesRollupUnloaded() {
+        when(invoiceRepository.findMaxId()).thenReturn(10L);
+        when(invoiceRepository.sumPriceBySeller())
+                .thenAnswer(invocation -> {
+                    CompletableFuture.runAsync(rollupService::discard).get(5, TimeUnit.SECONDS);
+                    return List.of(new PersonStatisticsDTO(1L, "Seller 1", 300L));
+                })
+                .thenReturn(List.of(new PersonStatisticsDTO(1L, "Seller 1", 400L)));
+
+        rollupService.warmUp();
+
+        assertEquals(400L, rollupService.getSellerRevenues().get(0).getRevenue());
+        verify(invoiceRepository, times(2)).sumPriceBySeller();
+    }
+
+    private static List<PersonStatisticsDTO> sorted(List<PersonStatisticsDTO> revenues) {
+        revenues.sort(Comparator.comparing(PersonStatisticsDTO::getPersonId));
+        return revenues;
+    }
+}
@@ -0,0 +1,132 @@
+package com.invoice.management.smoke;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.invoice.management.dto.InvoiceDTO;
+import com.invoice.management.dto.PersonDTO;
+import com.invoice.management.utils.TestDataFactory;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDate;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Black-box smoke tests of an already running build of the application, over real HTTP.
+ * Every request touches a path that relies on reflection or proxies (Jackson binding of the Lombok DTOs,
+ * the MapStruct mappers, Hibernate entities and criteria queries, the {@code ValidDueDate} validator,
+ * sparse fieldsets), so the suite is what vets a GraalVM native executable, and runs unchanged against
+ * the JVM build for comparison.
+ *
+ * <p>Excluded from the default build; run with {@code mvn test -Psmoke-test -Dsmoke.url=http://localhost:8080}.
+ * The data it creates uses random identification numbers, so it can run repeatedly against the same database.</p>
+ */
+@Tag("smoke")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class DeployedApplicationSmokeTest {
+
+    private static final String BASE_URL = System.getProperty("smoke.url", "http://localhost:8080");
+
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    private JsonNode seller;
+    private JsonNode buyer;
+
+    @BeforeAll
+    void createPersons() throws Exception {
+        seller = created(post("/api/persons", TestDataFactory.createValidPersonDTO("Smoke Seller", randomIdentificationNumber())));
+        buyer = created(post("/api/persons", TestDataFactory.createValidPersonDTO("Smoke Buyer", randomIdentificationNumber())));
+    }
+
+    @Test
+    void createAndGetInvoice_RoundTripsThroughEntityAndMapper() throws Exception {
+        JsonNode invoice = created(post("/api/invoices", invoice(LocalDate.now().plusDays(14))));
+
+        HttpResponse<String> response = get("/api/invoices/" + invoice.get("_id").asLong());
+        assertEquals(200, response.statusCode());
+        JsonNode body = objectMapper.readTree(response.body());
+        assertEquals(invoice, body);
+        assertEquals(seller.get("_id"), body.get("seller").get("_id"));
+        assertEquals(LocalDate.now().plusDays(14).toString(), body.get("dueDate").asText());
+    }
+
+    @Test
+    void createInvoice_WithDueDateBeforeIssueDate_IsRejectedByValidator() throws Exception {
+        InvoiceDTO invoice = invoice(LocalDate.now().plusDays(1));
+        invoice.setIssued(LocalDate.now());
+        invoice.setDueDate(LocalDate.now().minusDays(1));
+
+        HttpResponse<String> response = post("/api/invoices", invoice);
+
+        assertEquals(400, response.statusCode());
+        assertTrue(response.body().contains("Due date"), response.body());
+    }
+
+    @Test
+    void getInvoices_WithFilterAndFields_ReturnsSelectedPropertiesOnly() throws Exception {
+        created(post("/api/invoices", invoice(LocalDate.now().plusDays(30))));
+
+        HttpResponse<String> response = get("/api/invoices?sellerID=" + seller.get("_id").asLong() + "&fields=_id,price,seller.name");
+
+        assertEquals(200, response.statusCode());
+        JsonNode first = objectMapper.readTree(response.body()).get("items").get(0);
+        assertEquals("Smoke Seller", first.get("seller").get("name").asText());
+        assertNull(first.get("product"), response.body());
+    }
+
+    @Test
+    void getStatistics_ReturnsAggregates() throws Exception {
+        assertEquals(200, get("/api/invoices/statistics").statusCode());
+        assertEquals(200, get("/api/persons/statistics").statusCode());
+    }
+
+    @Test
+    void getPerson_WhenUnknown_ReturnsErrorResponse() throws Exception {
+        HttpResponse<String> response = get("/api/persons/" + Long.MAX_VALUE);
+
+        assertEquals(404, response.statusCode());
+        assertTrue(objectMapper.readTree(response.body()).has("message"), response.body());
+    }
+
+    private InvoiceDTO invoice(LocalDate dueDate) throws Exception {
+        InvoiceDTO invoice = TestDataFactory.createValidInvoiceDTO();
+        invoice.setInvoiceNumber(null);
+        invoice.setDueDate(dueDate);
+        invoice.setSeller(objectMapper.treeToValue(seller, PersonDTO.class));
+        invoice.setBuyer(objectMapper.treeToValue(buyer, PersonDTO.class));
+        return invoice;
+    }
+
+    private JsonNode created(HttpResponse<String> response) throws Exception {
+        assertEquals(201, response.statusCode(), response.body());
+        return objectMapper.readTree(response.body());
+    }
+
+    private HttpResponse<String> get(String path) throws Exception {
+        return httpClient.send(HttpRequest.newBuilder(URI.create(BASE_URL + path)).GET().build(),
+                HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpResponse<String> post(String path, Object body) throws Exception {
+        return httpClient.send(HttpRequest.newBuilder(URI.create(BASE_URL + path))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)))
+                        .build(),
+                HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static String randomIdentificationNumber() {
+        return String.valueOf(ThreadLocalRandom.current().nextInt(10_000_000, 100_000_000));
+    }
+}
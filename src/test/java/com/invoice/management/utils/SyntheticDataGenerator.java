@@ -0,0 +1,240 @@
+package com.invoice.management.utils;
+
+import com.invoice.management.constant.Countries;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Deterministic, seeded generator that bulk-loads a large dataset through plain JDBC batches.
+ * Works against the embedded H2 test database as well as a local MySQL instance,
+ * depending on the DataSource behind the given JdbcTemplate.
+ *
+ * <p>Persons are generated as identities with a chain of versions, mirroring how
+ * {@code PersonServiceImpl.updatePerson} hides the old row and inserts a new one,
+ * and each identity points at its live version in {@code person_identity}.
+ * Invoices pick sellers and buyers from a Zipf-like distribution, so a few persons
+ * own most of the invoices, and issue dates are skewed towards recent years.</p>
+ */
+public class SyntheticDataGenerator {
+
+    private static final int BATCH_SIZE = 1000;
+    private static final double ZIPF_EXPONENT = 1.1;
+    private static final int MAX_VERSIONS = 30;
+
+    private static final String INSERT_PERSON = "INSERT INTO person (id, name, identification_number, tax_number, "
+            + "account_number, bank_code, iban, telephone, mail, street, zip, city, country, note, hidden) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String INSERT_IDENTITY = "INSERT INTO person_identity (identification_number, current_version_id) "
+            + "VALUES (?, ?)";
+
+    private static final String INSERT_INVOICE = "INSERT INTO invoice (id, invoice_number, issued, due_date, product, "
+            + "price, vat, note, buyer_id, seller_id) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Random random;
+
+    /**
+     * Creates a generator writing through the given JdbcTemplate.
+     *
+     * @param jdbcTemplate the JdbcTemplate of the target database
+     * @param seed         the random seed; the same seed always produces the same dataset
+     */
+    public SyntheticDataGenerator(JdbcTemplate jdbcTemplate, long seed) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.random = new Random(seed);
+    }
+
+    /**
+     * Generates and inserts the dataset.
+     *
+     * @param identities the number of distinct persons (identification numbers)
+     * @param invoices   the number of invoices
+     * @param years      the number of years of invoice history, counted back from today
+     * @return a summary of the generated data
+     */
+    public Dataset generate(int identities, int invoices, int years) {
+        long nextPersonId = nextId("person");
+        long firstInvoiceId = nextId("invoice");
+
+        List<Object[]> personRows = new ArrayList<>();
+        List<List<Long>> versionsByIdentity = new ArrayList<>(identities);
+        List<Long> livePersonIds = new ArrayList<>(identities);
+        List<String> identificationNumbers = new ArrayList<>(identities);
+
+        for (int identity = 0; identity < identities; identity++) {
+            String identificationNumber = String.format("%08d", 10_000_000 + identity);
+            int versionCount = versionCount();
+            List<Long> versions = new ArrayList<>(versionCount);
+
+            for (int version = 0; version < versionCount; version++) {
+                long id = nextPersonId++;
+                boolean hidden = version < versionCount - 1;
+                personRows.add(personRow(id, identity, version, identificationNumber, hidden));
+                versions.add(id);
+            }
+
+            versionsByIdentity.add(versions);
+            livePersonIds.add(versions.get(versions.size() - 1));
+            identificationNumbers.add(identificationNumber);
+        }
+        batchInsert(INSERT_PERSON, personRows);
+        restartIdentity("person", nextPersonId);
+
+        List<Object[]> identityRows = new ArrayList<>(identities);
+        for (int identity = 0; identity < identities; identity++) {
+            identityRows.add(new Object[]{identificationNumbers.get(identity), livePersonIds.get(identity)});
+        }
+        batchInsert(INSERT_IDENTITY, identityRows);
+
+        double[] cumulativeWeights = zipfCumulativeWeights(identities);
+        LocalDate today = LocalDate.now();
+        List<Object[]> invoiceRows = new ArrayList<>(Math.min(invoices, BATCH_SIZE));
+        long invoiceId = firstInvoiceId;
+
+        for (int i = 0; i < invoices; i++) {
+            int seller = sample(cumulativeWeights);
+            int buyer = sample(cumulativeWeights);
+            if (buyer == seller) {
+                buyer = (buyer + 1) % identities;
+            }
+
+            // Square of a uniform value skews issue dates towards today
+            double age = random.nextDouble();
+            LocalDate issued = today.minusDays((long) (age * age * years * 365));
+            LocalDate dueDate = issued.plusDays(14 + random.nextInt(47));
+
+            invoiceRows.add(new Object[]{
+                    invoiceId++,
+                    i + 1,
+                    Date.valueOf(issued),
+                    Date.valueOf(dueDate),
+                    "Product " + random.nextInt(500),
+                    (long) Math.exp(4 + random.nextGaussian() * 1.5),
+                    random.nextBoolean() ? 21 : 15,
+                    null,
+                    anyVersion(versionsByIdentity.get(buyer)),
+                    anyVersion(versionsByIdentity.get(seller))
+            });
+
+            if (invoiceRows.size() == BATCH_SIZE) {
+                batchInsert(INSERT_INVOICE, invoiceRows);
+                invoiceRows.clear();
+            }
+        }
+        batchInsert(INSERT_INVOICE, invoiceRows);
+        restartIdentity("invoice", invoiceId);
+
+        return new Dataset(livePersonIds, identificationNumbers, personRows.size(), firstInvoiceId, invoiceId - 1);
+    }
+
+    private Object[] personRow(long id, int identity, int version, String identificationNumber, boolean hidden) {
+        return new Object[]{
+                id,
+                "Company " + identity + (version > 0 ? " v" + version : ""),
+                identificationNumber,
+                "CZ" + identificationNumber,
+                String.valueOf(1_000_000_000L + identity),
+                "0800",
+                "CZ6555101000001234567890",
+                "+420123456789",
+                "company" + identity + "@example.com",
+                "Street " + identity,
+                "12345",
+                "City " + (identity % 100),
+                (identity % 5 == 0 ? Countries.SLOVAKIA : Countries.CZECHIA).name(),
+                null,
+                hidden
+        };
+    }
+
+    /**
+     * Most persons are never edited, a few are edited many times.
+     */
+    private int versionCount() {
+        int versions = 1;
+        while (versions < MAX_VERSIONS && random.nextDouble() < 0.4) {
+            versions++;
+        }
+        return versions;
+    }
+
+    private long anyVersion(List<Long> versions) {
+        return versions.get(random.nextInt(versions.size()));
+    }
+
+    private double[] zipfCumulativeWeights(int size) {
+        double[] cumulative = new double[size];
+        double sum = 0;
+        for (int rank = 0; rank < size; rank++) {
+            sum += 1.0 / Math.pow(rank + 1, ZIPF_EXPONENT);
+            cumulative[rank] = sum;
+        }
+        for (int rank = 0; rank < size; rank++) {
+            cumulative[rank] /= sum;
+        }
+        return cumulative;
+    }
+
+    private int sample(double[] cumulativeWeights) {
+        double value = random.nextDouble();
+        int low = 0;
+        int high = cumulativeWeights.length - 1;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (cumulativeWeights[middle] < value) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private long nextId(String table) {
+        Long maxId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM " + table, Long.class);
+        return maxId == null ? 1 : maxId + 1;
+    }
+
+    /**
+     * Moves the identity counter past the explicitly inserted IDs, so rows created later
+     * through JPA do not collide with the generated ones.
+     */
+    private void restartIdentity(String table, long nextId) {
+        String product = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                connection.getMetaData().getDatabaseProductName());
+        if ("H2".equals(product)) {
+            jdbcTemplate.execute("ALTER TABLE " + table + " ALTER COLUMN id RESTART WITH " + nextId);
+        } else {
+            jdbcTemplate.execute("ALTER TABLE " + table + " AUTO_INCREMENT = " + nextId);
+        }
+    }
+
+    private void batchInsert(String sql, List<Object[]> rows) {
+        for (int start = 0; start < rows.size(); start += BATCH_SIZE) {
+            jdbcTemplate.batchUpdate(sql, rows.subList(start, Math.min(start + BATCH_SIZE, rows.size())));
+        }
+    }
+
+    /**
+     * Summary of a generated dataset.
+     *
+     * @param livePersonIds         the IDs of the current (not hidden) version of each person
+     * @param identificationNumbers the identification numbers, in the same order as livePersonIds
+     * @param personRows            the total number of person rows, including hidden versions
+     * @param firstInvoiceId        the ID of the first generated invoice
+     * @param lastInvoiceId         the ID of the last generated invoice
+     */
+    public record Dataset(List<Long> livePersonIds,
+                          List<String> identificationNumbers,
+                          int personRows,
+                          long firstInvoiceId,
+                          long lastInvoiceId) {
+    }
+}
@@ -9,10 +9,14 @@ import java.time.LocalDate;
 public class TestDataFactory {
 
     public static PersonDTO createValidPersonDTO() {
+        return createValidPersonDTO("Test Person", "12345678");
+    }
+
+    public static PersonDTO createValidPersonDTO(String name, String identificationNumber) {
         return new PersonDTO(
                 null,
-                "Test Person",
-                "12345678",
+                name,
+                identificationNumber,
                 "CZ12345678",
                 "1234567890",
                 "0800",
@@ -39,7 +43,8 @@ public class TestDataFactory {
                 21,
                 "Test note",
                 createValidPersonDTO(),
-                createValidPersonDTO()
+                createValidPersonDTO(),
+                null
         );
     }
 }
@@ -0,0 +1,190 @@
+package com.invoice.management.web;
+
+import com.invoice.management.configuration.CompressionProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.DelegatingServletOutputStream;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.util.StreamUtils;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link CompressionFilter}.
+ */
+class CompressionFilterTest {
+
+    private static final String BODY = "{\"items\":[" + "{\"product\":\"Consulting\",\"price\":1000},".repeat(100) + "{}]}";
+
+    private CompressionProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        properties = new CompressionProperties();
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void doFilter_WithGzipAcceptedAndLargeJson_CompressesBody() throws Exception {
+        MockHttpServletResponse response = serve(new CompressionFilter(properties, meterRegistry), "/api/invoices", "gzip, deflate", BODY);
+
+        assertEquals("gzip", response.getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertEquals(HttpHeaders.ACCEPT_ENCODING, response.getHeader(HttpHeaders.VARY));
+        assertEquals(response.getContentAsByteArray().length, response.getContentLength());
+        assertEquals(BODY, gunzip(response.getContentAsByteArray()));
+        assertEquals(BODY.length() - response.getContentLength(),
+                meterRegistry.get("http.compression.bytes.saved").counter().count());
+        assertEquals(1, meterRegistry.get("http.compression.cpu").timer().count());
+    }
+
+    @Test
+    void doFilter_WithSmallBody_SendsItUncompressed() throws Exception {
+        MockHttpServletResponse response = serve(new CompressionFilter(properties, meterRegistry), "/api/invoices", "gzip", "{}");
+
+        assertNull(response.getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertEquals("{}", response.getContentAsString());
+        assertEquals(2, response.getContentLength());
+        assertEquals(1, meterRegistry.get("http.compression.responses").tag("outcome", "too-small").counter().count());
+    }
+
+    @Test
+    void doFilter_WithGzipRefused_PassesResponseThrough() throws Exception {
+        MockHttpServletResponse response = serve(new CompressionFilter(properties, meterRegistry), "/api/invoices", "gzip;q=0, br", BODY);
+
+        assertNull(response.getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertEquals(BODY, response.getContentAsString());
+    }
+
+    @Test
+    void doFilter_WithCpuBudgetSpent_SendsBodyUncompressed() throws Exception {
+        properties.setCpuBudget(0);
+        MockHttpServletResponse response = serve(new CompressionFilter(properties, meterRegistry), "/api/invoices", "gzip", BODY);
+
+        assertNull(response.getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertEquals(BODY, response.getContentAsString());
+        assertEquals(1, meterRegistry.get("http.compression.responses").tag("outcome", "cpu-budget").counter().count());
+    }
+
+    @Test
+    void doFilter_OnCachedPathWithSameBody_ReusesCompressedBytes() throws Exception {
+        CompressionFilter filter = new CompressionFilter(properties, meterRegistry);
+
+        MockHttpServletResponse first = serve(filter, "/api/persons/statistics", "gzip", BODY);
+        MockHttpServletResponse second = serve(filter, "/api/persons/statistics", "gzip", BODY);
+
+        assertArrayEquals(first.getContentAsByteArray(), second.getContentAsByteArray());
+        assertEquals(1, meterRegistry.get("http.compression.responses").tag("outcome", "cached").counter().count());
+        assertEquals(1, meterRegistry.get("http.compression.cpu").timer().count());
+    }
+
+    @Test
+    void doFilter_WhenBodyOutgrowsBuffer_SendsItUncompressed() throws Exception {
+        properties.setMaxBufferSize(DataSize.ofBytes(100));
+        MockHttpServletResponse response = serve(new CompressionFilter(properties, meterRegistry), "/api/invoices", "gzip", BODY);
+
+        assertNull(response.getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertEquals(BODY, response.getContentAsString());
+    }
+
+    @Test
+    void bufferedResponse_WithWriteListener_FallsThroughToRealStream() throws Exception {
+        MockHttpServletResponse target = new MockHttpServletResponse();
+        NonBlockingOutputStream realStream = new NonBlockingOutputStream(target.getOutputStream());
+        HttpServletResponse response = new HttpServletResponseWrapper(target) {
+            @Override
+            public ServletOutputStream getOutputStream() {
+                return realStream;
+            }
+        };
+        BufferedResponseWrapper wrapper = new BufferedResponseWrapper(response, 1024);
+        ServletOutputStream out = wrapper.getOutputStream();
+        out.write("{\"items\":".getBytes(StandardCharsets.UTF_8));
+        assertTrue(out.isReady());
+
+        WriteListener listener = new WriteListener() {
+            @Override
+            public void onWritePossible() {
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+            }
+        };
+        out.setWriteListener(listener);
+        realStream.ready = false;
+        out.write("[]}".getBytes(StandardCharsets.UTF_8));
+
+        assertSame(listener, realStream.listener);
+        assertFalse(out.isReady());
+        assertNull(wrapper.takeBody());
+        assertEquals("{\"items\":[]}", target.getContentAsString());
+    }
+
+    @Test
+    void acceptsGzip_HonoursQualityAndWildcard() {
+        assertTrue(CompressionFilter.acceptsGzip("br;q=1.0, gzip;q=0.8"));
+        assertTrue(CompressionFilter.acceptsGzip("*"));
+        assertFalse(CompressionFilter.acceptsGzip("gzip;q=0"));
+        assertFalse(CompressionFilter.acceptsGzip("identity"));
+        assertFalse(CompressionFilter.acceptsGzip(null));
+    }
+
+    private static MockHttpServletResponse serve(CompressionFilter filter, String path, String acceptEncoding, String body) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+        request.addHeader(HttpHeaders.ACCEPT_ENCODING, acceptEncoding);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        FilterChain chain = (req, res) -> {
+            HttpServletResponse servletResponse = (HttpServletResponse) res;
+            byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+            servletResponse.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            servletResponse.setContentLength(bytes.length);
+            servletResponse.getOutputStream().write(bytes);
+            servletResponse.getOutputStream().flush();
+        };
+        filter.doFilter(request, response, chain);
+        return response;
+    }
+
+    private static class NonBlockingOutputStream extends DelegatingServletOutputStream {
+
+        private boolean ready = true;
+        private WriteListener listener;
+
+        NonBlockingOutputStream(OutputStream target) {
+            super(target);
+        }
+
+        @Override
+        public boolean isReady() {
+            return ready;
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+            listener = writeListener;
+        }
+    }
+
+    private static String gunzip(byte[] compressed) throws IOException {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            return StreamUtils.copyToString(in, StandardCharsets.UTF_8);
+        }
+    }
+}